@@ -0,0 +1,206 @@
+package bench;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import config.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Base de datos para los benchmarks.
+ * <p>
+ * Por defecto levanta un MariaDB embebido (MariaDB4j: sin instalación ni
+ * contenedor) en un puerto libre, crea el esquema con sql/Scripts/create_database.sql
+ * y procedimientos.sql y lo carga con {@link GeneradorDatos}. Si se define {@code -Dbench.db.url}
+ * (ej: jdbc:mysql://localhost:3306/) se usa ese servidor MySQL en su lugar, con
+ * {@code -Dbench.db.user} y {@code -Dbench.db.pass}. ATENCIÓN: el script borra y
+ * vuelve a crear la base tpi_prog2_empleados.
+ * <p>
+ * Luego escribe un config.properties temporal apuntando a esa BD y lo indica con
+ * {@code -Dtfi.config}, de modo que los DAOs y Services se usan sin cambios,
+ * pasando por {@link DatabaseConnection} (y su pool) igual que en la aplicación.
+ * <p>
+ * JMH ejecuta cada benchmark (y cada combinación de @Param) en un JVM propio, por
+ * lo que la preparación ocurre una vez por fork.
+ */
+public final class BaseDeDatosEmbebida {
+
+    public static final String PROPERTY_DB_URL = "bench.db.url";
+    public static final String PROPERTY_DB_USER = "bench.db.user";
+    public static final String PROPERTY_DB_PASS = "bench.db.pass";
+
+    private static final String DB_NAME = "tpi_prog2_empleados";
+    /** Scripts de sql/Scripts, en orden de ejecución. */
+    private static final String[] SCRIPTS_CREACION = {"create_database.sql", "procedimientos.sql"};
+    private static final String DIRECTIVA_DELIMITER = "DELIMITER ";
+    private static final String DELIMITADOR_POR_DEFECTO = ";";
+    private static final String USUARIO_EMBEBIDO = "root";
+
+    private static DB embebida;
+    private static String urlServidor;
+    private static String usuario;
+    private static String password;
+    private static boolean preparada;
+
+    private BaseDeDatosEmbebida() {
+    }
+
+    /**
+     * Crea el esquema, carga {@code filas} empleados y configura DatabaseConnection.
+     * Debe llamarse antes de usar cualquier DAO o Service (la configuración de
+     * DatabaseConnection se lee una única vez).
+     *
+     * @param filas          cantidad de empleados (con sus legajos) a generar.
+     * @param poolHabilitado valor de db.pool.enabled, para medir el costo de abrir conexiones.
+     */
+    public static synchronized void preparar(long filas, boolean poolHabilitado) throws Exception {
+        if (preparada) {
+            throw new IllegalStateException("La BD de benchmarks ya fue preparada en este JVM");
+        }
+        iniciarServidor();
+
+        try (Connection conn = DriverManager.getConnection(urlServidor + "?useSSL=false"
+                + "&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true", usuario, password)) {
+            for (String script : SCRIPTS_CREACION) {
+                ejecutarScript(conn, leerScript(script));
+            }
+            conn.setCatalog(DB_NAME);
+            long inicio = System.currentTimeMillis();
+            GeneradorDatos.poblar(conn, filas);
+            System.out.println("BD de benchmarks cargada con " + filas + " empleados en "
+                    + (System.currentTimeMillis() - inicio) + " ms");
+        }
+
+        System.setProperty(DatabaseConnection.SYSTEM_PROPERTY_CONFIG_FILE,
+                escribirConfiguracion(poolHabilitado).toString());
+        preparada = true;
+    }
+
+    /**
+     * Abre una conexión física a la BD de benchmarks, sin pasar por
+     * DatabaseConnection, para medir opciones del driver. Todas usan la misma URL.
+     *
+     * @param propiedades propiedades JDBC adicionales (ej: cachePrepStmts).
+     */
+    public static Connection abrirConexion(Properties propiedades) throws SQLException {
+        if (!preparada) {
+            throw new IllegalStateException("La BD de benchmarks todavía no fue preparada");
+        }
+        Properties conexion = new Properties();
+        conexion.setProperty("user", usuario);
+        conexion.setProperty("password", password);
+        conexion.setProperty("useSSL", "false");
+        conexion.setProperty("allowPublicKeyRetrieval", "true");
+        conexion.putAll(propiedades);
+        return DriverManager.getConnection(urlServidor + DB_NAME, conexion);
+    }
+
+    /**
+     * Cierra el pool de la aplicación y detiene el MariaDB embebido (si se levantó).
+     */
+    public static synchronized void detener() throws Exception {
+        if (preparada) {
+            DatabaseConnection.shutdown();
+        }
+        if (embebida != null) {
+            embebida.stop();
+            embebida = null;
+        }
+    }
+
+    // --- HELPERS ---
+
+    private static void iniciarServidor() throws Exception {
+        String urlExterna = System.getProperty(PROPERTY_DB_URL);
+        if (urlExterna != null && !urlExterna.trim().isEmpty()) {
+            urlServidor = urlExterna.trim();
+            usuario = System.getProperty(PROPERTY_DB_USER, "root");
+            password = System.getProperty(PROPERTY_DB_PASS, "");
+            System.out.println("Benchmarks contra servidor externo: " + urlServidor);
+            return;
+        }
+
+        DBConfigurationBuilder configuracion = DBConfigurationBuilder.newBuilder();
+        configuracion.setPort(0); // 0 = puerto libre
+        configuracion.addArg("--character-set-server=utf8mb4");
+        configuracion.addArg("--collation-server=utf8mb4_unicode_ci");
+        if (USUARIO_EMBEBIDO.equals(System.getProperty("user.name"))) {
+            configuracion.addArg("--user=root"); // mariadbd se niega a correr como root sin esta opción (ej: CI)
+        }
+        embebida = DB.newEmbeddedDB(configuracion.build());
+        embebida.start();
+
+        urlServidor = "jdbc:mysql://localhost:" + embebida.getConfiguration().getPort() + "/";
+        usuario = USUARIO_EMBEBIDO;
+        password = "";
+        System.out.println("MariaDB embebido iniciado en " + urlServidor);
+    }
+
+    private static String leerScript(String script) throws IOException {
+        try (InputStream input = BaseDeDatosEmbebida.class.getClassLoader().getResourceAsStream(script)) {
+            if (input == null) {
+                throw new IOException("No se encontró " + script + " en el classpath");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Ejecuta el script sentencia por sentencia, sin los comentarios de línea "--".
+     * Una sentencia termina en la línea que acaba con el delimitador (';' o el
+     * indicado con DELIMITER, como en el cliente mysql, para los procedimientos).
+     */
+    private static void ejecutarScript(Connection conn, String script) throws SQLException {
+        String delimitador = DELIMITADOR_POR_DEFECTO;
+        StringBuilder sentencia = new StringBuilder();
+        try (Statement stmt = conn.createStatement()) {
+            for (String linea : script.split("\\R")) {
+                String recortada = linea.trim();
+                if (recortada.startsWith("--")) {
+                    continue;
+                }
+                if (recortada.toUpperCase().startsWith(DIRECTIVA_DELIMITER)) {
+                    delimitador = recortada.substring(DIRECTIVA_DELIMITER.length()).trim();
+                    continue;
+                }
+                if (!recortada.endsWith(delimitador)) {
+                    sentencia.append(linea).append('\n');
+                    continue;
+                }
+                sentencia.append(recortada, 0, recortada.length() - delimitador.length());
+                if (!sentencia.toString().trim().isEmpty()) {
+                    stmt.execute(sentencia.toString());
+                }
+                sentencia.setLength(0);
+            }
+        }
+    }
+
+    private static Path escribirConfiguracion(boolean poolHabilitado) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("db.url", urlServidor);
+        properties.setProperty("db.name", DB_NAME);
+        properties.setProperty("db.user", usuario);
+        properties.setProperty("db.pass", password);
+        properties.setProperty("db.jdbc.useSSL", "false");
+        properties.setProperty("db.jdbc.allowPublicKeyRetrieval", "true");
+        properties.setProperty("db.pool.enabled", String.valueOf(poolHabilitado));
+
+        Path archivo = Files.createTempFile("tfi-bench-", ".properties");
+        archivo.toFile().deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Generado por bench.BaseDeDatosEmbebida");
+        }
+        return archivo;
+    }
+}
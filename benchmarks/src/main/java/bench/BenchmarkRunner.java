@@ -0,0 +1,36 @@
+package bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de target/benchmarks.jar.
+ * <p>
+ * Acepta las mismas opciones que JMH (ej: {@code -p filas=1000000}, un filtro
+ * como {@code EmpleadoDAOBenchmark.leer}) y, salvo que se indique otro formato
+ * con {@code -rf}, guarda los resultados en JSON en jmh-result.json para poder
+ * compararlos entre versiones y detectar regresiones.
+ */
+public final class BenchmarkRunner {
+
+    private static final String RESULTADO_POR_DEFECTO = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaDeComandos = new CommandLineOptions(args);
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(lineaDeComandos);
+
+        if (!lineaDeComandos.getResultFormat().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON);
+        }
+        if (!lineaDeComandos.getResult().hasValue()) {
+            opciones.result(RESULTADO_POR_DEFECTO);
+        }
+        new Runner(opciones.build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import dao.EmpleadoDAOImpl;
+import dao.IndiceNombres;
+import dao.LegajoDAOImpl;
+import dao.UnicidadDAO;
+import entities.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.EmpleadoServiceImpl;
+import service.LegajoServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmpleadoServiceImpl#buscarPorNombre}: índice de trigramas en memoria
+ * (por fragmento) contra la búsqueda por prefijo en SQL (índice deshabilitado).
+ * Se busca el comienzo de un apellido generado, como haría un usuario.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusquedaNombreBenchmark {
+
+    /** Empleados cargados (10^6 se puede pedir con -p filas=1000000). */
+    @Param({"1000", "10000", "100000"})
+    public long filas;
+
+    @Param({"true", "false"})
+    public boolean indice;
+
+    private EmpleadoServiceImpl empleadoService;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BaseDeDatosEmbebida.preparar(filas, true);
+        LegajoServiceImpl legajoService = new LegajoServiceImpl(new LegajoDAOImpl(), new UnicidadDAO());
+        empleadoService = new EmpleadoServiceImpl(new EmpleadoDAOImpl(), legajoService, new UnicidadDAO(),
+                null, indice ? new IndiceNombres() : null);
+        empleadoService.reconstruirIndiceNombres();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BaseDeDatosEmbebida.detener();
+    }
+
+    @Benchmark
+    public List<Empleado> buscarPorNombre() throws Exception {
+        String apellido = GeneradorDatos.apellido(ThreadLocalRandom.current().nextLong(filas));
+        return empleadoService.buscarPorNombre(apellido.substring(0, Math.min(4, apellido.length())));
+    }
+}
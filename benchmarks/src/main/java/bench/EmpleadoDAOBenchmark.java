@@ -0,0 +1,126 @@
+package bench;
+
+import dao.AlmacenMemoria;
+import dao.EmpleadoDAO;
+import dao.EmpleadoDAOImpl;
+import dao.EmpleadoDAOMemoria;
+import entities.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas de {@link EmpleadoDAO}: por id, por DNI, listado completo
+ * (SELECT_BASE_JOIN + mapRowToEmpleado) y {@value #IDS_POR_LOTE} ids en un lote
+ * (IN) contra la misma cantidad de lecturas individuales.
+ * <p>
+ * El parámetro {@code pool} compara la conexión del pool contra abrir una
+ * conexión física por operación, para separar el costo de la conexión del de
+ * la consulta y el mapeo. El parámetro {@code backend} mide las mismas lecturas
+ * sobre {@link EmpleadoDAOMemoria} (cargado desde la BD, sin respaldo), como
+ * línea de base sin red ni SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmpleadoDAOBenchmark {
+
+    /** Empleados cargados (10^6 se puede pedir con -p filas=1000000). */
+    @Param({"1000", "10000", "100000"})
+    public long filas;
+
+    @Param({"true", "false"})
+    public boolean pool;
+
+    @Param({"jdbc", "memoria"})
+    public String backend;
+
+    private static final int IDS_POR_LOTE = 100;
+
+    private EmpleadoDAO empleadoDAO;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BaseDeDatosEmbebida.preparar(filas, pool);
+        empleadoDAO = new EmpleadoDAOImpl();
+        if ("memoria".equals(backend)) {
+            AlmacenMemoria almacen = new AlmacenMemoria();
+            almacen.cargarDesde(empleadoDAO);
+            empleadoDAO = new EmpleadoDAOMemoria(almacen);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BaseDeDatosEmbebida.detener();
+    }
+
+    @Benchmark
+    public Empleado leer() throws Exception {
+        return empleadoDAO.leer(GeneradorDatos.id(indiceActivoAleatorio()));
+    }
+
+    @Benchmark
+    public Empleado buscarPorDni() throws Exception {
+        return empleadoDAO.buscarPorDni(GeneradorDatos.dni(indiceActivoAleatorio()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Empleado> leerTodos() throws Exception {
+        return empleadoDAO.leerTodos();
+    }
+
+    @Benchmark
+    public Map<Long, Empleado> leerPorIds() throws Exception {
+        return empleadoDAO.leerPorIds(idsAleatorios());
+    }
+
+    @Benchmark
+    public List<Empleado> leerUnoPorUno() throws Exception {
+        List<Empleado> empleados = new ArrayList<>(IDS_POR_LOTE);
+        for (Long id : idsAleatorios()) {
+            empleados.add(empleadoDAO.leer(id));
+        }
+        return empleados;
+    }
+
+    private List<Long> idsAleatorios() {
+        List<Long> ids = new ArrayList<>(IDS_POR_LOTE);
+        for (int i = 0; i < IDS_POR_LOTE; i++) {
+            ids.add(GeneradorDatos.id(indiceActivoAleatorio()));
+        }
+        return ids;
+    }
+
+    /**
+     * Índice de un empleado sin baja lógica (los eliminados no los devuelven las lecturas).
+     */
+    private long indiceActivoAleatorio() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long indice;
+        do {
+            indice = random.nextLong(filas);
+        } while (GeneradorDatos.esEliminado(indice));
+        return indice;
+    }
+}
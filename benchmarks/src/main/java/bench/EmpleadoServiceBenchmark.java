@@ -0,0 +1,125 @@
+package bench;
+
+import dao.EmpleadoDAO;
+import dao.EmpleadoDAOImpl;
+import dao.LegajoDAOImpl;
+import dao.UnicidadDAO;
+import entities.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.EmpleadoServiceImpl;
+import service.LegajoServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escrituras transaccionales de {@link EmpleadoServiceImpl}: alta (Empleado +
+ * Legajo), modificación y baja lógica, incluyendo la verificación de unicidad
+ * y el commit. El alta se mide también con el procedimiento almacenado (un solo
+ * viaje al servidor) para comparar la latencia por alta de ambos caminos. El
+ * Service se arma sin caché para medir siempre el camino a la BD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmpleadoServiceBenchmark {
+
+    /** Empleados precargados que se modifican en actualizar(). */
+    private static final int MUESTRA_ACTUALIZAR = 1000;
+
+    /** Empleados cargados (10^6 se puede pedir con -p filas=1000000). */
+    @Param({"1000", "10000", "100000"})
+    public long filas;
+
+    private EmpleadoServiceImpl empleadoService;
+
+    /** Próximo índice libre para altas (los índices menores ya están en la BD). */
+    private AtomicLong siguienteIndice;
+
+    private List<Empleado> muestra;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BaseDeDatosEmbebida.preparar(filas, true);
+
+        UnicidadDAO unicidadDAO = new UnicidadDAO();
+        EmpleadoDAO empleadoDAO = new EmpleadoDAOImpl();
+        LegajoServiceImpl legajoService = new LegajoServiceImpl(new LegajoDAOImpl(), unicidadDAO);
+        empleadoService = new EmpleadoServiceImpl(empleadoDAO, legajoService, unicidadDAO);
+        siguienteIndice = new AtomicLong(filas);
+
+        muestra = new ArrayList<>();
+        for (long i = 0; i < filas && muestra.size() < MUESTRA_ACTUALIZAR; i++) {
+            if (!GeneradorDatos.esEliminado(i)) {
+                muestra.add(empleadoDAO.leer(GeneradorDatos.id(i)));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BaseDeDatosEmbebida.detener();
+    }
+
+    /**
+     * Empleado recién dado de alta (fuera de la medición) para que cada
+     * invocación de eliminar() tenga una fila activa propia.
+     */
+    @State(Scope.Thread)
+    public static class EmpleadoParaEliminar {
+
+        private long id;
+
+        @Setup(Level.Invocation)
+        public void crear(EmpleadoServiceBenchmark benchmark) throws Exception {
+            Empleado empleado = GeneradorDatos.empleado(benchmark.siguienteIndice.getAndIncrement());
+            benchmark.empleadoService.insertar(empleado);
+            id = empleado.getId();
+        }
+    }
+
+    @Benchmark
+    public long insertar() throws Exception {
+        Empleado empleado = GeneradorDatos.empleado(siguienteIndice.getAndIncrement());
+        empleadoService.insertar(empleado);
+        return empleado.getId();
+    }
+
+    @Benchmark
+    public long insertarConProcedimiento() throws Exception {
+        Empleado empleado = GeneradorDatos.empleado(siguienteIndice.getAndIncrement());
+        empleadoService.insertarConProcedimiento(empleado);
+        return empleado.getId();
+    }
+
+    @Benchmark
+    public void actualizar() throws Exception {
+        Empleado empleado = muestra.get(ThreadLocalRandom.current().nextInt(muestra.size()));
+        // Alterna el área para que el UPDATE modifique la fila en cada invocación
+        empleado.setArea("Desarrollo".equals(empleado.getArea()) ? "Soporte" : "Desarrollo");
+        empleadoService.actualizar(empleado);
+    }
+
+    @Benchmark
+    public void eliminar(EmpleadoParaEliminar estado) throws Exception {
+        empleadoService.eliminar(estado.id);
+    }
+}
@@ -0,0 +1,256 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import entities.Empleado;
+import entities.EstadoLegajo;
+import entities.Legajo;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Generador de datos de prueba a escala.
+ * <p>
+ * Replica la forma de sql/Scripts/insert_data.sql (mismas áreas, prefijos de
+ * legajo, categorías y proporción de bajas lógicas y legajos INACTIVOS) para
+ * cualquier cantidad de empleados, típicamente entre 10^3 y 10^6.
+ * <p>
+ * Cada fila se deriva sólo de su índice (base 0), así los benchmarks pueden
+ * calcular DNIs o ids existentes sin consultar la BD. El empleado i tiene id i + 1
+ * y su legajo apunta a ese id.
+ * <p>
+ * Uso por línea de comandos (genera un script SQL equivalente a insert_data.sql):
+ * <pre>
+ *   java -cp target/benchmarks.jar bench.GeneradorDatos 100000 &gt; datos_100k.sql
+ * </pre>
+ */
+public final class GeneradorDatos {
+
+    // --- Plantillas tomadas de insert_data.sql ---
+    private static final String[] NOMBRES = {
+            "Juan", "María", "Carlos", "Ana", "Luis", "Sofia", "Diego", "Valeria", "Miguel", "Laura",
+            "Andrés", "Carmen", "Roberto", "Elena", "Javier", "Lucía", "Pedro", "Marta", "Gabriela", "Fernando"
+    };
+    private static final String[] APELLIDOS = {
+            "Pérez", "Gómez", "López", "Rodríguez", "Martínez", "García", "Fernández", "Dominguez", "Silva",
+            "Torres", "Ramírez", "Vargas", "Castro", "Mendoza", "Ríos", "Hernández", "Gutiérrez", "Suárez",
+            "Molina", "Luna"
+    };
+    private static final String[][] AREAS = { // {área, prefijo de nro_legajo}
+            {"Desarrollo", "DEV"}, {"Ventas", "VTS"}, {"RRHH", "RRHH"},
+            {"Contabilidad", "CONT"}, {"Marketing", "MKT"}, {"Soporte", "SOP"}
+    };
+    private static final String[] CATEGORIAS = {"Trainee", "Junior", "Semi-Senior", "Senior"};
+    private static final String[] OBSERVACIONES = {
+            "Tech Lead - Especialista en Java y Microservicios", "Asistente Comercial",
+            "Especialista en Reclutamiento IT", "Soporte Nivel 1", null
+    };
+
+    /**
+     * En insert_data.sql, de cada 20 empleados 3 tienen baja lógica (con legajo
+     * INACTIVO) y 1 está activo con el legajo INACTIVO (licencia).
+     */
+    private static final int CICLO = 20;
+    private static final int PRIMER_ELIMINADO = 15;
+    private static final int ULTIMO_ELIMINADO = 17;
+    private static final int LICENCIA = 18;
+
+    /** Base de los DNIs generados (8 dígitos, fuera del rango de insert_data.sql). */
+    private static final long DNI_BASE = 40_000_000L;
+    private static final LocalDate FECHA_BASE = LocalDate.of(2015, 1, 1);
+    private static final int DIAS_RANGO_INGRESO = 3650;
+
+    private static final int TAMANIO_LOTE = 1000;
+
+    private static final String INSERT_EMPLEADO_SQL =
+            "INSERT INTO empleado (id, nombre, apellido, dni, email, fecha_ingreso, area, eliminado) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LEGAJO_SQL =
+            "INSERT INTO legajo (nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id, eliminado) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private GeneradorDatos() {
+    }
+
+    // --- Valores derivados del índice ---
+
+    public static String nombre(long i) {
+        return NOMBRES[(int) (i % NOMBRES.length)];
+    }
+
+    public static String apellido(long i) {
+        return APELLIDOS[(int) ((i / NOMBRES.length) % APELLIDOS.length)];
+    }
+
+    public static String dni(long i) {
+        return String.valueOf(DNI_BASE + i);
+    }
+
+    public static String email(long i) {
+        return sinAcentos(nombre(i) + "." + apellido(i)).toLowerCase(Locale.ROOT) + "." + i + "@empresa.com";
+    }
+
+    public static String area(long i) {
+        return AREAS[(int) (i % AREAS.length)][0];
+    }
+
+    public static LocalDate fechaIngreso(long i) {
+        return FECHA_BASE.plusDays((i * 37) % DIAS_RANGO_INGRESO);
+    }
+
+    /** Ej: DEV-2020-0000042 (como máximo 17 caracteres, nro_legajo admite 20). */
+    public static String nroLegajo(long i) {
+        return String.format(Locale.ROOT, "%s-%d-%07d",
+                AREAS[(int) (i % AREAS.length)][1], fechaIngreso(i).getYear(), i);
+    }
+
+    public static String categoria(long i) {
+        return CATEGORIAS[(int) ((i / AREAS.length) % CATEGORIAS.length)];
+    }
+
+    public static String observaciones(long i) {
+        return OBSERVACIONES[(int) (i % OBSERVACIONES.length)];
+    }
+
+    public static boolean esEliminado(long i) {
+        long posicion = i % CICLO;
+        return posicion >= PRIMER_ELIMINADO && posicion <= ULTIMO_ELIMINADO;
+    }
+
+    public static String estado(long i) {
+        return esEliminado(i) || i % CICLO == LICENCIA ? "INACTIVO" : "ACTIVO";
+    }
+
+    /** Id que recibe en la BD el empleado con índice i. */
+    public static long id(long i) {
+        return i + 1;
+    }
+
+    /**
+     * Arma (sin persistir) el Empleado con índice i y su Legajo, por ejemplo para
+     * darlo de alta con el Service usando índices mayores o iguales a las filas cargadas.
+     */
+    public static Empleado empleado(long i) {
+        Legajo legajo = new Legajo(nroLegajo(i), categoria(i), EstadoLegajo.valueOf(estado(i)),
+                fechaIngreso(i), observaciones(i));
+        return new Empleado(nombre(i), apellido(i), dni(i), email(i), fechaIngreso(i), area(i), legajo);
+    }
+
+    // --- Carga por JDBC ---
+
+    /**
+     * Inserta {@code filas} empleados con sus legajos en la BD de la conexión
+     * (que ya debe tener las tablas creadas y vacías), en lotes de 1000 filas
+     * con un commit por lote.
+     *
+     * @param conn  conexión a la BD (no se cierra).
+     * @param filas cantidad de empleados a generar (> 0).
+     */
+    public static void poblar(Connection conn, long filas) throws SQLException {
+        if (filas <= 0) {
+            throw new IllegalArgumentException("La cantidad de filas debe ser mayor a 0");
+        }
+        boolean autoCommitOriginal = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement empleadoStmt = conn.prepareStatement(INSERT_EMPLEADO_SQL);
+             PreparedStatement legajoStmt = conn.prepareStatement(INSERT_LEGAJO_SQL)) {
+
+            for (long i = 0; i < filas; i++) {
+                empleadoStmt.setLong(1, id(i));
+                empleadoStmt.setString(2, nombre(i));
+                empleadoStmt.setString(3, apellido(i));
+                empleadoStmt.setString(4, dni(i));
+                empleadoStmt.setString(5, email(i));
+                empleadoStmt.setDate(6, Date.valueOf(fechaIngreso(i)));
+                empleadoStmt.setString(7, area(i));
+                empleadoStmt.setBoolean(8, esEliminado(i));
+                empleadoStmt.addBatch();
+
+                legajoStmt.setString(1, nroLegajo(i));
+                legajoStmt.setString(2, categoria(i));
+                legajoStmt.setString(3, estado(i));
+                legajoStmt.setDate(4, Date.valueOf(fechaIngreso(i)));
+                legajoStmt.setString(5, observaciones(i));
+                legajoStmt.setLong(6, id(i));
+                legajoStmt.setBoolean(7, esEliminado(i));
+                legajoStmt.addBatch();
+
+                if ((i + 1) % TAMANIO_LOTE == 0 || i == filas - 1) {
+                    empleadoStmt.executeBatch(); // Primero los empleados (FK de legajo)
+                    legajoStmt.executeBatch();
+                    conn.commit();
+                }
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommitOriginal);
+        }
+    }
+
+    // --- Script SQL ---
+
+    /**
+     * Escribe un script SQL (mismo formato que insert_data.sql) con {@code filas}
+     * empleados y sus legajos, en INSERTs multi-fila de 1000 filas.
+     */
+    public static void escribirSql(Writer out, long filas) throws IOException {
+        out.write("-- Datos generados por bench.GeneradorDatos (" + filas + " empleados)\n");
+        out.write("USE tpi_prog2_empleados;\n\n");
+        for (long desde = 0; desde < filas; desde += TAMANIO_LOTE) {
+            long hasta = Math.min(desde + TAMANIO_LOTE, filas);
+
+            out.write("INSERT INTO empleado (id, nombre, apellido, dni, email, fecha_ingreso, area, eliminado)\nVALUES");
+            for (long i = desde; i < hasta; i++) {
+                out.write(String.format(Locale.ROOT, "%s\n    (%d, %s, %s, %s, %s, %s, %s, %s)",
+                        i == desde ? "" : ",", id(i), literal(nombre(i)), literal(apellido(i)), literal(dni(i)),
+                        literal(email(i)), literal(fechaIngreso(i).toString()), literal(area(i)),
+                        esEliminado(i) ? "TRUE" : "FALSE"));
+            }
+            out.write(";\n\n");
+
+            out.write("INSERT INTO legajo (nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id, eliminado)\nVALUES");
+            for (long i = desde; i < hasta; i++) {
+                out.write(String.format(Locale.ROOT, "%s\n    (%s, %s, %s, %s, %s, %d, %s)",
+                        i == desde ? "" : ",", literal(nroLegajo(i)), literal(categoria(i)), literal(estado(i)),
+                        literal(fechaIngreso(i).toString()), literal(observaciones(i)), id(i),
+                        esEliminado(i) ? "TRUE" : "FALSE"));
+            }
+            out.write(";\n\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * Genera el script por salida estándar: {@code GeneradorDatos <filas>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: java -cp benchmarks.jar bench.GeneradorDatos <filas>");
+            System.exit(1);
+        }
+        long filas = Long.parseLong(args[0]);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        escribirSql(out, filas);
+    }
+
+    // --- HELPERS ---
+
+    private static String literal(String valor) {
+        return valor == null ? "NULL" : "'" + valor.replace("'", "''") + "'";
+    }
+
+    private static String sinAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import dao.LegajoDAO;
+import dao.LegajoDAOImpl;
+import entities.EstadoLegajo;
+import entities.Legajo;
+import entities.LegajoResumen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LegajoDAO#buscarPorEstado}: ACTIVO devuelve ~80% de la tabla e
+ * INACTIVO ~20% (misma proporción que insert_data.sql). Se compara la entidad
+ * completa contra el resumen que se lee sólo del índice de cobertura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegajoDAOBenchmark {
+
+    /** Empleados cargados (10^6 se puede pedir con -p filas=1000000). */
+    @Param({"1000", "10000", "100000"})
+    public long filas;
+
+    @Param({"ACTIVO", "INACTIVO"})
+    public EstadoLegajo estado;
+
+    private LegajoDAO legajoDAO;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BaseDeDatosEmbebida.preparar(filas, true);
+        legajoDAO = new LegajoDAOImpl();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BaseDeDatosEmbebida.detener();
+    }
+
+    @Benchmark
+    public List<Legajo> buscarPorEstado() throws Exception {
+        return legajoDAO.buscarPorEstado(estado);
+    }
+
+    @Benchmark
+    public List<LegajoResumen> buscarResumenPorEstado() throws Exception {
+        return legajoDAO.buscarResumenPorEstado(estado);
+    }
+}
@@ -0,0 +1,123 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection.prepareStatement con la caché de QueryInfo del driver
+ * (cachePrepStmts=true, sentencias preparadas en el cliente): la caché de cada
+ * conexión (PerConnectionLRUFactory, la del driver por defecto) contra la
+ * compartida por todas las conexiones de la misma URL (PerVmLRUFactory).
+ * <p>
+ * Se abren {@code conexiones} conexiones, como las de un pool, y cada operación
+ * prepara y cierra una de {@code sentencias} consultas distintas en una conexión
+ * al azar. Las conexiones se vuelven a abrir en cada iteración, como cuando el
+ * pool las renueva: con la caché por conexión, cada conexión nueva parsea otra
+ * vez cada sentencia; con la compartida, sólo se parsea la primera vez en el JVM.
+ * <p>
+ * PerVmLRUFactory no existe en el driver 9.5.0 publicado, así que por defecto
+ * sólo se mide la caché por conexión. Para compararlas hay que compilar el driver
+ * de lib/mysql-connector-j-9.5.0, indicar su versión con
+ * {@code -Dmysql.connector.version} y correr con
+ * {@code -p cacheFactory=com.mysql.cj.PerConnectionLRUFactory,com.mysql.cj.PerVmLRUFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class PreparacionSentenciasBenchmark {
+
+    @Param({"com.mysql.cj.PerConnectionLRUFactory"})
+    public String cacheFactory;
+
+    @Param({"200"})
+    public int conexiones;
+
+    /** Consultas distintas; no superar prepStmtCacheSize para medir sólo la caché, no sus desalojos. */
+    @Param({"100"})
+    public int sentencias;
+
+    private static final int PREP_STMT_CACHE_SIZE = 250;
+
+    private String[] sql;
+    private Connection[] abiertas;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        try {
+            Class.forName(cacheFactory);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("El driver en el classpath no incluye " + cacheFactory
+                    + "; compilar el de lib/mysql-connector-j-9.5.0", e);
+        }
+        BaseDeDatosEmbebida.preparar(1000, false);
+        sql = new String[sentencias];
+        StringBuilder placeholders = new StringBuilder("?");
+        for (int i = 0; i < sentencias; i++) {
+            // Listas IN de distinto largo: un caso típico de muchos textos SQL distintos
+            sql[i] = "SELECT e.id, e.nombre, e.apellido, e.dni FROM empleado e WHERE e.eliminado = FALSE AND e.id IN ("
+                    + placeholders + ")";
+            placeholders.append(", ?");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void abrirConexiones() throws SQLException {
+        cerrarConexiones();
+        Properties propiedades = new Properties();
+        propiedades.setProperty("cachePrepStmts", "true");
+        propiedades.setProperty("prepStmtCacheSize", String.valueOf(PREP_STMT_CACHE_SIZE));
+        propiedades.setProperty("queryInfoCacheFactory", cacheFactory);
+        abiertas = new Connection[conexiones];
+        for (int i = 0; i < conexiones; i++) {
+            abiertas[i] = BaseDeDatosEmbebida.abrirConexion(propiedades);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        cerrarConexiones();
+        BaseDeDatosEmbebida.detener();
+    }
+
+    @Benchmark
+    public int prepararSentencia() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Connection conn = abiertas[random.nextInt(conexiones)];
+        try (PreparedStatement ps = conn.prepareStatement(sql[random.nextInt(sentencias)])) {
+            return ps.getParameterMetaData().getParameterCount();
+        }
+    }
+
+    private void cerrarConexiones() throws SQLException {
+        if (abiertas == null) {
+            return;
+        }
+        for (Connection conn : abiertas) {
+            conn.close();
+        }
+        abiertas = null;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+import com.mysql.cj.conf.PropertyDefinitions;
+
+/**
+ * Factory of {@link QueryInfo} caches shared by all the connections with the same database URL in this VM, so that each SQL text is parsed once instead of
+ * once per connection. Select it with <code>queryInfoCacheFactory=com.mysql.cj.PerVmLRUFactory</code>.
+ *
+ * Each cache is a {@link ConcurrentHashMap} with CLOCK (second chance) eviction, an approximation of LRU that takes no locks: a read only marks the entry as
+ * referenced, and a put that takes the cache over its capacity walks the entries in insertion order, evicting the first one that wasn't referenced since the
+ * last pass and clearing the mark of the others. The capacity is the largest 'prepStmtCacheSize' any connection sharing the cache has ever asked for, while
+ * 'prepStmtCacheSqlLimit' still applies per connection. The capacity never shrinks, so a single connection opened with a large 'prepStmtCacheSize' raises it
+ * for the lifetime of the VM; the system property {@value com.mysql.cj.conf.PropertyDefinitions#SYSP_perVmQueryInfoCacheMaxSize} caps it. The connection lock
+ * given to {@link #getInstance(Lock, String, int, int)} isn't used.
+ *
+ * Caches are never removed: the VM keeps one per distinct database URL used with this factory, each holding up to its capacity of entries, even after all
+ * its connections are closed. Applications that build many distinct URLs (e.g. one per tenant database) should keep the default factory.
+ *
+ * A connection only reuses a cached {@link QueryInfo} that was built with its own settings (see {@link QueryInfo#isReusableIn(Session, String)}).
+ *
+ * Hit, miss and eviction counts are available from {@link #getCache(String)}.
+ */
+public class PerVmLRUFactory implements CacheAdapterFactory<String, QueryInfo> {
+
+    private static final int MAX_CAPACITY = Integer.getInteger(PropertyDefinitions.SYSP_perVmQueryInfoCacheMaxSize, 0);
+
+    private static final ConcurrentHashMap<String, SharedLRU> cachesByUrl = new ConcurrentHashMap<>();
+
+    @Override
+    public CacheAdapter<String, QueryInfo> getInstance(Lock lock, String url, int cacheMaxSize, int maxKeySize) {
+        SharedLRU cache = cachesByUrl.computeIfAbsent(url, k -> new SharedLRU(MAX_CAPACITY));
+        cache.ensureCapacity(cacheMaxSize);
+        return new PerVmLRU(cache, maxKeySize);
+    }
+
+    /**
+     * Returns the cache shared by the connections with the given database URL.
+     *
+     * @param url
+     *            the database URL, as returned by {@link com.mysql.cj.conf.HostInfo#getDatabaseUrl()}
+     * @return the cache, or null if no connection with this URL used this factory
+     */
+    public static SharedLRU getCache(String url) {
+        return cachesByUrl.get(url);
+    }
+
+    /**
+     * The view of a shared cache given to one connection, applying that connection's limit on the SQL length.
+     */
+    class PerVmLRU implements CacheAdapter<String, QueryInfo> {
+
+        private final SharedLRU cache;
+        private final int cacheSqlLimit;
+
+        protected PerVmLRU(SharedLRU cache, int maxKeySize) {
+            this.cache = cache;
+            this.cacheSqlLimit = maxKeySize;
+        }
+
+        @Override
+        public QueryInfo get(String key) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return null;
+            }
+            return this.cache.get(key);
+        }
+
+        @Override
+        public void put(String key, QueryInfo value) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return;
+            }
+            this.cache.put(key, value);
+        }
+
+        @Override
+        public void invalidate(String key) {
+            this.cache.invalidate(key);
+        }
+
+        @Override
+        public void invalidateAll(Set<String> keys) {
+            for (String key : keys) {
+                this.cache.invalidate(key);
+            }
+        }
+
+        @Override
+        public void invalidateAll() {
+            this.cache.invalidateAll();
+        }
+
+    }
+
+    /**
+     * A bounded {@link QueryInfo} cache shared by the connections of one database URL.
+     */
+    public static class SharedLRU {
+
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+        /** Entries in insertion order, plus some that were replaced or invalidated and are dropped when the clock hand reaches them. */
+        private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger clockSize = new AtomicInteger();
+        private final AtomicInteger capacity = new AtomicInteger();
+        /** Upper bound of the capacity, or 0 for no bound. */
+        private final int maxCapacity;
+
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder evictionCount = new LongAdder();
+
+        SharedLRU(int maxCapacity) {
+            this.maxCapacity = Math.max(0, maxCapacity);
+        }
+
+        void ensureCapacity(int cacheMaxSize) {
+            int requested = this.maxCapacity > 0 ? Math.min(cacheMaxSize, this.maxCapacity) : cacheMaxSize;
+            this.capacity.accumulateAndGet(requested, Math::max);
+        }
+
+        QueryInfo get(String key) {
+            Entry entry = this.entries.get(key);
+            if (entry == null) {
+                this.missCount.increment();
+                return null;
+            }
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            this.hitCount.increment();
+            return entry.value;
+        }
+
+        void put(String key, QueryInfo value) {
+            if (this.capacity.get() <= 0) {
+                return;
+            }
+            Entry entry = new Entry(key, value);
+            if (this.entries.put(key, entry) == null) {
+                this.size.incrementAndGet();
+            }
+            this.clock.offer(entry);
+            this.clockSize.incrementAndGet();
+            evict();
+        }
+
+        void invalidate(String key) {
+            if (this.entries.remove(key) != null) {
+                this.size.decrementAndGet();
+            }
+        }
+
+        void invalidateAll() {
+            for (String key : this.entries.keySet()) {
+                invalidate(key);
+            }
+        }
+
+        /**
+         * Advances the clock hand while the cache is over its capacity, or while dead entries make up most of the clock.
+         */
+        private void evict() {
+            int cap = this.capacity.get();
+            // Bounded so that readers marking entries concurrently can't keep a thread here.
+            for (int steps = 2 * this.clockSize.get() + 1; steps > 0; steps--) {
+                boolean full = this.size.get() > cap;
+                if (!full && this.clockSize.get() <= 2 * cap) {
+                    return;
+                }
+                Entry entry = this.clock.poll();
+                if (entry == null) {
+                    return;
+                }
+                this.clockSize.decrementAndGet();
+                if (this.entries.get(entry.key) != entry) {
+                    continue; // replaced or invalidated
+                }
+                if (full && !entry.referenced) {
+                    if (this.entries.remove(entry.key, entry)) {
+                        this.size.decrementAndGet();
+                        this.evictionCount.increment();
+                    }
+                    continue;
+                }
+                if (full) {
+                    entry.referenced = false;
+                }
+                this.clock.offer(entry);
+                this.clockSize.incrementAndGet();
+            }
+        }
+
+        /**
+         * @return number of lookups that found an entry
+         */
+        public long getHitCount() {
+            return this.hitCount.sum();
+        }
+
+        /**
+         * @return number of lookups that found no entry
+         */
+        public long getMissCount() {
+            return this.missCount.sum();
+        }
+
+        /**
+         * @return number of entries evicted to stay within the capacity
+         */
+        public long getEvictionCount() {
+            return this.evictionCount.sum();
+        }
+
+        /**
+         * @return hits divided by lookups, or 0 if there were no lookups
+         */
+        public double getHitRate() {
+            long hits = this.hitCount.sum();
+            long lookups = hits + this.missCount.sum();
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        /**
+         * @return number of cached entries
+         */
+        public int size() {
+            return this.size.get();
+        }
+
+        /**
+         * @return maximum number of cached entries
+         */
+        public int getCapacity() {
+            return this.capacity.get();
+        }
+
+        @Override
+        public String toString() {
+            return "PerVmLRU[size=" + size() + ", capacity=" + getCapacity() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions="
+                    + getEvictionCount() + "]";
+        }
+
+    }
+
+    private static class Entry {
+
+        final String key;
+        final QueryInfo value;
+        volatile boolean referenced = false;
+
+        Entry(String key, QueryInfo value) {
+            this.key = key;
+            this.value = value;
+        }
+
+    }
+
+}
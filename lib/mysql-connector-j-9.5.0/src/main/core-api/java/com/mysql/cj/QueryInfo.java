@@ -28,6 +28,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionFactory;
@@ -65,6 +66,9 @@ public class QueryInfo {
 
     private String sql;
     private String encoding;
+    private boolean noBackslashEscapes = false;
+    private boolean rewriteBatchedStatements = false;
+    private boolean dontCheckOnDuplicateKeyUpdateInSQL = false;
     private QueryReturnType queryReturnType = null;
     private int queryLength = 0;
     private int queryStartPos = 0;
@@ -104,6 +108,9 @@ public class QueryInfo {
         boolean noBackslashEscapes = session.getServerSession().isNoBackslashEscapesSet();
         boolean rewriteBatchedStatements = session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue();
         boolean dontCheckOnDuplicateKeyUpdateInSQL = session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).getValue();
+        this.noBackslashEscapes = noBackslashEscapes;
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
+        this.dontCheckOnDuplicateKeyUpdateInSQL = dontCheckOnDuplicateKeyUpdateInSQL;
 
         this.queryReturnType = getQueryReturnType(this.sql, noBackslashEscapes);
         this.queryLength = this.sql.length();
@@ -454,6 +461,9 @@ public class QueryInfo {
 
         this.sql = null;
         this.encoding = this.baseQueryInfo.encoding;
+        this.noBackslashEscapes = this.baseQueryInfo.noBackslashEscapes;
+        this.rewriteBatchedStatements = this.baseQueryInfo.rewriteBatchedStatements;
+        this.dontCheckOnDuplicateKeyUpdateInSQL = this.baseQueryInfo.dontCheckOnDuplicateKeyUpdateInSQL;
         this.queryReturnType = this.baseQueryInfo.queryReturnType;
         this.queryLength = 0;
         this.queryStartPos = this.baseQueryInfo.queryStartPos;
@@ -532,6 +542,23 @@ public class QueryInfo {
         }
     }
 
+    /**
+     * Checks whether this {@link QueryInfo} was built with the settings that the given session would use now, and so can be reused by it. A cached
+     * {@link QueryInfo} may come from another connection, or from before the session changed its SQL mode.
+     *
+     * @param session
+     *            the {@link Session} that is preparing the query
+     * @param encoding
+     *            the characters encoding the session would use to extract the query static parts
+     * @return true if parsing the query again in this session would produce the same {@link QueryInfo}
+     */
+    public boolean isReusableIn(Session session, String encoding) {
+        return Objects.equals(this.encoding, encoding) && this.noBackslashEscapes == session.getServerSession().isNoBackslashEscapesSet()
+                && this.rewriteBatchedStatements == session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue()
+                && this.dontCheckOnDuplicateKeyUpdateInSQL == session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL)
+                        .getValue();
+    }
+
     /**
      * Returns the number of queries identified in the original SQL string. Different queries are identified by the presence of the query delimiter character,
      * i.e., a semicolon.
@@ -48,6 +48,11 @@ public class PropertyDefinitions {
      * Operational system properties.
      */
     public static final String SYSP_disableAbandonedConnectionCleanup = "com.mysql.cj.disableAbandonedConnectionCleanup";
+    public static final String SYSP_packetBufferPoolGlobalMaxBytes = "com.mysql.cj.packetBufferPoolGlobalMaxBytes";
+    public static final String SYSP_perVmQueryInfoCacheMaxSize = "com.mysql.cj.perVmQueryInfoCacheMaxSize";
+    public static final String SYSP_queryTimeoutCancelThreads = "com.mysql.cj.queryTimeoutCancelThreads";
+    public static final String SYSP_queryTimeoutCancelThreadsPerHost = "com.mysql.cj.queryTimeoutCancelThreadsPerHost";
+    public static final String SYSP_queryTimeoutControlConnectionsPerHost = "com.mysql.cj.queryTimeoutControlConnectionsPerHost";
 
     /*
      * Testsuite system properties.
@@ -707,6 +712,10 @@ public class PropertyDefinitions {
                         Messages.getString("ConnectionProperties.largeRowSizeThreshold"), "5.1.1", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
                         Integer.MAX_VALUE),
 
+                new MemorySizePropertyDefinition(PropertyKey.packetBufferPoolSize, 0, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.packetBufferPoolSize"), "9.6.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.maintainTimeStats, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.maintainTimeStats"), "3.1.9", CATEGORY_PERFORMANCE, Integer.MAX_VALUE),
 
@@ -167,6 +167,7 @@ public enum PropertyKey {
     ociConfigProfile("ociConfigProfile", true), //
     openTelemetry("openTelemetry", true), //
     overrideSupportsIntegrityEnhancementFacility("overrideSupportsIntegrityEnhancementFacility", true), //
+    packetBufferPoolSize("packetBufferPoolSize", true), //
     packetDebugBufferSize("packetDebugBufferSize", true), //
     padCharsWithSpace("padCharsWithSpace", true), //
     paranoid("paranoid", false), //
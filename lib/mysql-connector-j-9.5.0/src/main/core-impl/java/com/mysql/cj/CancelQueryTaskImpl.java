@@ -20,11 +20,14 @@
 
 package com.mysql.cj;
 
-import java.util.TimerTask;
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
 
 import com.mysql.cj.Query.CancelStatus;
 import com.mysql.cj.conf.HostInfo;
 import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.OperationCancelledException;
 import com.mysql.cj.protocol.a.NativeMessageBuilder;
 import com.mysql.cj.telemetry.TelemetryAttribute;
@@ -35,15 +38,15 @@ import com.mysql.cj.telemetry.TelemetrySpanName;
 //TODO should not be protocol-specific
 
 /**
- * Thread used to implement query timeouts...Eventually we could be more
- * efficient and have one thread with timers, but this is a straightforward
- * and simple way to implement a feature that isn't used all that often.
+ * Query timeout. It is scheduled on the shared timer of {@link QueryTimeoutService} when the statement starts executing and, unless it's cancelled first,
+ * sends KILL QUERY for the statement's connection from one of the service's cancellation threads, through a pooled control session when there is one.
  */
-public class CancelQueryTaskImpl extends TimerTask implements CancelQueryTask {
+public class CancelQueryTaskImpl implements CancelQueryTask, Runnable {
 
     Query queryToCancel;
     Throwable caughtWhileCancelling = null;
     boolean queryTimeoutKillsConnection = false;
+    private ScheduledFuture<?> scheduledFuture = null;
 
     public CancelQueryTaskImpl(Query cancellee) {
         this.queryToCancel = cancellee;
@@ -51,99 +54,139 @@ public class CancelQueryTaskImpl extends TimerTask implements CancelQueryTask {
         this.queryTimeoutKillsConnection = session.getPropertySet().getBooleanProperty(PropertyKey.queryTimeoutKillsConnection).getValue();
     }
 
+    /**
+     * Starts the timeout.
+     *
+     * @param timeoutMillis
+     *            milliseconds after which the query is cancelled
+     */
+    void schedule(long timeoutMillis) {
+        this.scheduledFuture = QueryTimeoutService.schedule(this, timeoutMillis);
+    }
+
     @Override
     public boolean cancel() {
-        boolean res = super.cancel();
+        ScheduledFuture<?> future = this.scheduledFuture;
+        boolean res = future != null && future.cancel(false);
         this.queryToCancel = null;
         return res;
     }
 
+    /**
+     * Called by the timer when the timeout expires. The cancellation itself blocks on the network, so it runs on a cancellation thread instead.
+     */
     @Override
     public void run() {
-        Thread cancelThread = new Thread() {
-
-            @Override
-            public void run() {
-                Query localQueryToCancel = CancelQueryTaskImpl.this.queryToCancel;
-                if (localQueryToCancel == null) {
-                    return;
-                }
-                NativeSession session = (NativeSession) localQueryToCancel.getSession();
-                if (session == null) {
-                    return;
-                }
-
-                try {
-                    localQueryToCancel.getCancelTimeoutLock().lock();
-                    try {
-                        long origConnId = session.getThreadId();
-                        HostInfo hostInfo = session.getHostInfo();
-                        String database = hostInfo.getDatabase();
-                        String user = hostInfo.getUser();
-                        String password = hostInfo.getPassword();
-
-                        NativeSession newSession = null;
-                        try {
-                            newSession = new NativeSession(hostInfo, session.getPropertySet());
-
-                            TelemetrySpan span = newSession.getTelemetryHandler().startSpan(TelemetrySpanName.CANCEL_QUERY);
-                            try (TelemetryScope scope = span.makeCurrent()) {
-                                span.setAttribute(TelemetryAttribute.DB_NAME, database);
-                                span.setAttribute(TelemetryAttribute.DB_OPERATION, TelemetryAttribute.OPERATION_KILL);
-                                span.setAttribute(TelemetryAttribute.DB_STATEMENT, TelemetryAttribute.OPERATION_KILL + TelemetryAttribute.STATEMENT_SUFFIX);
-                                span.setAttribute(TelemetryAttribute.DB_SYSTEM, TelemetryAttribute.DB_SYSTEM_DEFAULT);
-                                span.setAttribute(TelemetryAttribute.DB_USER, user);
-                                span.setAttribute(TelemetryAttribute.THREAD_ID, () -> Thread.currentThread().getId());
-                                span.setAttribute(TelemetryAttribute.THREAD_NAME, () -> Thread.currentThread().getName());
-
-                                newSession.connect(hostInfo, user, password, database, 30000, new TransactionEventHandler() {
-
-                                    @Override
-                                    public void transactionCompleted() {
-                                    }
-
-                                    @Override
-                                    public void transactionBegun() {
-                                    }
-
-                                });
-                                newSession.getProtocol().sendCommand(new NativeMessageBuilder(newSession.getServerSession().supportsQueryAttributes())
-                                        .buildComQuery(newSession.getSharedSendPacket(), newSession, "KILL QUERY " + origConnId), false, 0);
-                            } catch (Throwable t) {
-                                span.setError(t);
-                                throw t;
-                            } finally {
-                                span.end();
-                            }
-                        } finally {
-                            try {
-                                newSession.forceClose();
-                            } catch (Throwable t) {
-                                // no-op.
-                            }
-                        }
-                        localQueryToCancel.setCancelStatus(CancelStatus.CANCELED_BY_TIMEOUT);
-                    } finally {
-                        localQueryToCancel.getCancelTimeoutLock().unlock();
-                    }
+        Query localQueryToCancel = this.queryToCancel;
+        if (localQueryToCancel == null) {
+            return;
+        }
+        NativeSession session = (NativeSession) localQueryToCancel.getSession();
+        if (session == null || session.isClosed()) {
+            return;
+        }
+        HostInfo hostInfo = session.getHostInfo();
+        if (!QueryTimeoutService.execute(hostInfo, this::cancelQuery)) {
+            this.caughtWhileCancelling = ExceptionFactory.createException(
+                    "Query timeout expired, but it couldn't be cancelled because too many cancellations are pending for " + hostInfo.getHostPortPair());
+        }
+    }
 
-                    if (CancelQueryTaskImpl.this.queryTimeoutKillsConnection) {
-                        session.invokeCleanupListeners(new OperationCancelledException(Messages.getString("Statement.ConnectionKilledDueToTimeout")));
-                    }
-                } catch (NullPointerException npe) {
-                    // Case when connection closed while starting to cancel.
-                    // We can't easily synchronize this, because then one thread can't cancel() a running query.
-                    // Ignore, we shouldn't re-throw this, because the connection's already closed, so the statement has been timed out.
-                } catch (Throwable t) {
-                    CancelQueryTaskImpl.this.caughtWhileCancelling = t;
-                } finally {
-                    setQueryToCancel(null);
-                }
+    private void cancelQuery() {
+        Query localQueryToCancel = this.queryToCancel;
+        if (localQueryToCancel == null) {
+            return;
+        }
+        NativeSession session = (NativeSession) localQueryToCancel.getSession();
+        if (session == null || session.isClosed()) {
+            return;
+        }
+
+        try {
+            localQueryToCancel.getCancelTimeoutLock().lock();
+            try {
+                killQuery(session);
+                localQueryToCancel.setCancelStatus(CancelStatus.CANCELED_BY_TIMEOUT);
+            } finally {
+                localQueryToCancel.getCancelTimeoutLock().unlock();
             }
 
-        };
+            if (this.queryTimeoutKillsConnection) {
+                session.invokeCleanupListeners(new OperationCancelledException(Messages.getString("Statement.ConnectionKilledDueToTimeout")));
+            }
+        } catch (NullPointerException npe) {
+            // Case when connection closed while starting to cancel.
+            // We can't easily synchronize this, because then one thread can't cancel() a running query.
+            // Ignore, we shouldn't re-throw this, because the connection's already closed, so the statement has been timed out.
+        } catch (Throwable t) {
+            this.caughtWhileCancelling = t;
+        } finally {
+            setQueryToCancel(null);
+        }
+    }
 
-        cancelThread.start();
+    private void killQuery(NativeSession session) throws IOException {
+        long origConnId = session.getThreadId();
+        HostInfo hostInfo = session.getHostInfo();
+        PropertySet propertySet = session.getPropertySet();
+
+        NativeSession controlSession = QueryTimeoutService.acquireControlSession(hostInfo, propertySet);
+        if (controlSession != null) {
+            try {
+                sendKillQuery(controlSession, hostInfo, origConnId, false);
+                QueryTimeoutService.releaseControlSession(hostInfo, propertySet, controlSession, true);
+                return;
+            } catch (Throwable t) {
+                // The server may have closed the idle control session; retry with a new one.
+                QueryTimeoutService.releaseControlSession(hostInfo, propertySet, controlSession, false);
+            }
+        }
+
+        controlSession = QueryTimeoutService.createControlSession(hostInfo, propertySet);
+        boolean sent = false;
+        try {
+            sendKillQuery(controlSession, hostInfo, origConnId, true);
+            sent = true;
+        } finally {
+            QueryTimeoutService.releaseControlSession(hostInfo, propertySet, controlSession, sent);
+        }
+    }
+
+    private static void sendKillQuery(NativeSession controlSession, HostInfo hostInfo, long connectionId, boolean connect) throws IOException {
+        String database = hostInfo.getDatabase();
+        String user = hostInfo.getUser();
+
+        TelemetrySpan span = controlSession.getTelemetryHandler().startSpan(TelemetrySpanName.CANCEL_QUERY);
+        try (TelemetryScope scope = span.makeCurrent()) {
+            span.setAttribute(TelemetryAttribute.DB_NAME, database);
+            span.setAttribute(TelemetryAttribute.DB_OPERATION, TelemetryAttribute.OPERATION_KILL);
+            span.setAttribute(TelemetryAttribute.DB_STATEMENT, TelemetryAttribute.OPERATION_KILL + TelemetryAttribute.STATEMENT_SUFFIX);
+            span.setAttribute(TelemetryAttribute.DB_SYSTEM, TelemetryAttribute.DB_SYSTEM_DEFAULT);
+            span.setAttribute(TelemetryAttribute.DB_USER, user);
+            span.setAttribute(TelemetryAttribute.THREAD_ID, () -> Thread.currentThread().getId());
+            span.setAttribute(TelemetryAttribute.THREAD_NAME, () -> Thread.currentThread().getName());
+
+            if (connect) {
+                controlSession.connect(hostInfo, user, hostInfo.getPassword(), database, 30000, new TransactionEventHandler() {
+
+                    @Override
+                    public void transactionCompleted() {
+                    }
+
+                    @Override
+                    public void transactionBegun() {
+                    }
+
+                });
+            }
+            controlSession.getProtocol().sendCommand(new NativeMessageBuilder(controlSession.getServerSession().supportsQueryAttributes())
+                    .buildComQuery(controlSession.getSharedSendPacket(), controlSession, "KILL QUERY " + connectionId), false, 0);
+        } catch (Throwable t) {
+            span.setError(t);
+            throw t;
+        } finally {
+            span.end();
+        }
     }
 
     @Override
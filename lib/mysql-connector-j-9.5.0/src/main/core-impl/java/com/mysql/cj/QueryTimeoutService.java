@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.conf.PropertyDefinitions;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+
+/**
+ * VM-wide machinery behind query timeouts, shared by all sessions:
+ * <ul>
+ * <li>a single timer thread on which every {@link CancelQueryTaskImpl} is scheduled;</li>
+ * <li>a pool of threads that send the KILL QUERY statements, created on demand up to the number set with the system property
+ * {@value com.mysql.cj.conf.PropertyDefinitions#SYSP_queryTimeoutCancelThreads} (32 by default). Cancellations for one host use at most
+ * {@value com.mysql.cj.conf.PropertyDefinitions#SYSP_queryTimeoutCancelThreadsPerHost} of them (4 by default) and wait in a queue of that host beyond that,
+ * so a host that doesn't answer, whose cancellations block in connect for up to 30 seconds each, doesn't delay the cancellations of other hosts;</li>
+ * <li>per host, user and connection settings, a few idle control sessions kept after sending a KILL QUERY so that the next timeout doesn't open a new
+ * connection. Their number is set with the system property
+ * {@value com.mysql.cj.conf.PropertyDefinitions#SYSP_queryTimeoutControlConnectionsPerHost} (2 by default; 0 opens a new connection for each cancellation)
+ * and they are closed after being idle for 30 seconds.</li>
+ * </ul>
+ * A cancellation is refused, and the query isn't cancelled, when its host already has {@value #MAX_PENDING_CANCELS_PER_HOST} cancellations waiting or when
+ * all the threads are busy.
+ * All threads are daemon threads that end when there is nothing to do.
+ */
+public final class QueryTimeoutService {
+
+    private static final int CANCEL_THREADS = Math.max(1, Integer.getInteger(PropertyDefinitions.SYSP_queryTimeoutCancelThreads, 32));
+    private static final int CANCEL_THREADS_PER_HOST = Math.max(1, Integer.getInteger(PropertyDefinitions.SYSP_queryTimeoutCancelThreadsPerHost, 4));
+    private static final int MAX_PENDING_CANCELS_PER_HOST = 100;
+    private static final int CONTROL_SESSIONS_PER_HOST = Math.max(0, Integer.getInteger(PropertyDefinitions.SYSP_queryTimeoutControlConnectionsPerHost, 2));
+    private static final long CONTROL_SESSION_IDLE_MILLIS = 30000;
+    private static final long THREAD_KEEP_ALIVE_MILLIS = 60000;
+
+    private static final ScheduledThreadPoolExecutor timer;
+    private static final ThreadPoolExecutor cancelExecutor;
+    private static final ConcurrentHashMap<String, CancelLane> cancelLanes = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<ControlSessionKey, ControlSessionPool> controlSessions = new ConcurrentHashMap<>();
+    private static final LongAdder controlSessionsCreated = new LongAdder();
+    private static final LongAdder controlSessionsReused = new LongAdder();
+
+    /**
+     * Connection properties that change how a control session connects or authenticates. Sessions are only shared between connections that agree on all of
+     * them.
+     */
+    private static final PropertyKey[] CONTROL_SESSION_KEY_PROPERTIES = { PropertyKey.sslMode, PropertyKey.useSSL, PropertyKey.requireSSL,
+            PropertyKey.verifyServerCertificate, PropertyKey.trustCertificateKeyStoreUrl, PropertyKey.trustCertificateKeyStoreType,
+            PropertyKey.trustCertificateKeyStorePassword, PropertyKey.fallbackToSystemTrustStore, PropertyKey.clientCertificateKeyStoreUrl,
+            PropertyKey.clientCertificateKeyStoreType, PropertyKey.clientCertificateKeyStorePassword, PropertyKey.fallbackToSystemKeyStore,
+            PropertyKey.tlsVersions, PropertyKey.tlsCiphersuites, PropertyKey.sslContextProvider, PropertyKey.fipsCompliantJsse,
+            PropertyKey.allowPublicKeyRetrieval, PropertyKey.serverRSAPublicKeyFile, PropertyKey.defaultAuthenticationPlugin, PropertyKey.authenticationPlugins,
+            PropertyKey.disabledAuthenticationPlugins, PropertyKey.password1, PropertyKey.password2, PropertyKey.password3,
+            PropertyKey.passwordCharacterEncoding, PropertyKey.socketFactory, PropertyKey.localSocketAddress, PropertyKey.socksProxyHost,
+            PropertyKey.socksProxyPort, PropertyKey.socksProxyRemoteDns, PropertyKey.connectTimeout, PropertyKey.socketTimeout, PropertyKey.tcpKeepAlive,
+            PropertyKey.useCompression, PropertyKey.connectionAttributes };
+
+    static {
+        timer = new ScheduledThreadPoolExecutor(1, threadFactory("mysql-cj-query-timeout-timer"));
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setKeepAliveTime(THREAD_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS);
+        timer.allowCoreThreadTimeOut(true);
+
+        cancelExecutor = new ThreadPoolExecutor(0, CANCEL_THREADS, THREAD_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                threadFactory("mysql-cj-query-cancellation"));
+    }
+
+    private QueryTimeoutService() {
+    }
+
+    /**
+     * Schedules a task on the shared timer.
+     *
+     * @param task
+     *            task to run; should hand any blocking work to {@link #execute(Runnable)}
+     * @param delayMillis
+     *            delay in milliseconds
+     * @return the future to cancel the task with
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        return timer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a cancellation on a cancellation thread, after the cancellations for the same host submitted before it.
+     *
+     * @param hostInfo
+     *            host of the session whose query is being cancelled
+     * @param task
+     *            cancellation to run
+     * @return false if the cancellation was refused because too many are pending for the host or all the threads are busy
+     */
+    public static boolean execute(HostInfo hostInfo, Runnable task) {
+        return cancelLanes.computeIfAbsent(hostInfo.getHost() + ":" + hostInfo.getPort(), k -> new CancelLane()).submit(task);
+    }
+
+    /**
+     * Takes an idle control session for the given host, user and connection settings, if there is one.
+     *
+     * @param hostInfo
+     *            host and credentials of the session whose query is being cancelled
+     * @param propertySet
+     *            properties of the session whose query is being cancelled
+     * @return an open session, removed from the pool, or null if a new one has to be created with {@link #createControlSession(HostInfo, PropertySet)}
+     */
+    public static NativeSession acquireControlSession(HostInfo hostInfo, PropertySet propertySet) {
+        ControlSessionPool pool = controlSessions.get(new ControlSessionKey(hostInfo, propertySet));
+        NativeSession controlSession = pool == null ? null : pool.poll();
+        if (controlSession != null) {
+            controlSessionsReused.increment();
+        }
+        return controlSession;
+    }
+
+    /**
+     * Creates a control session, not yet connected.
+     *
+     * @param hostInfo
+     *            host and credentials of the session whose query is being cancelled
+     * @param propertySet
+     *            properties of the session whose query is being cancelled
+     * @return a new session
+     */
+    public static NativeSession createControlSession(HostInfo hostInfo, PropertySet propertySet) {
+        controlSessionsCreated.increment();
+        return new NativeSession(hostInfo, propertySet);
+    }
+
+    /**
+     * Gives back a control session once its KILL QUERY was sent. It is kept for reuse if it's still usable and the pool for its host isn't full, otherwise it
+     * is closed.
+     *
+     * @param hostInfo
+     *            host and credentials the session was created with
+     * @param propertySet
+     *            properties the session was created with
+     * @param controlSession
+     *            the session; may be null
+     * @param reusable
+     *            false if the session failed and must be closed
+     */
+    public static void releaseControlSession(HostInfo hostInfo, PropertySet propertySet, NativeSession controlSession, boolean reusable) {
+        if (controlSession == null) {
+            return;
+        }
+        if (reusable && CONTROL_SESSIONS_PER_HOST > 0 && !controlSession.isClosed()) {
+            ControlSessionPool pool = controlSessions.computeIfAbsent(new ControlSessionKey(hostInfo, propertySet), k -> new ControlSessionPool());
+            if (pool.offer(controlSession)) {
+                scheduleEviction(pool);
+                return;
+            }
+        }
+        closeControlSession(controlSession);
+    }
+
+    /**
+     * @return number of control sessions created since the driver was loaded
+     */
+    public static long getControlSessionCreationCount() {
+        return controlSessionsCreated.sum();
+    }
+
+    /**
+     * @return number of cancellations that reused an idle control session since the driver was loaded
+     */
+    public static long getControlSessionReuseCount() {
+        return controlSessionsReused.sum();
+    }
+
+    /**
+     * Closing sessions may block on the network, so the timer only hands the eviction to a cancellation thread. If none is free, it tries again later.
+     */
+    private static void scheduleEviction(ControlSessionPool pool) {
+        schedule(() -> {
+            try {
+                cancelExecutor.execute(pool::evictIdle);
+            } catch (RejectedExecutionException e) {
+                scheduleEviction(pool);
+            }
+        }, CONTROL_SESSION_IDLE_MILLIS);
+    }
+
+    private static void closeControlSession(NativeSession controlSession) {
+        try {
+            controlSession.forceClose();
+        } catch (Throwable t) {
+            // no-op.
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            // As in AbandonedConnectionCleanupThread, tie the thread's context ClassLoader to the driver's instead of inheriting it from whichever application
+            // thread happened to start it.
+            ClassLoader classLoader = QueryTimeoutService.class.getClassLoader();
+            t.setContextClassLoader(classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader);
+            return t;
+        };
+    }
+
+    /**
+     * Cancellations for one host, run in submission order by at most {@link #CANCEL_THREADS_PER_HOST} threads at a time.
+     */
+    private static final class CancelLane {
+
+        private final Lock lock = new ReentrantLock();
+        private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+        private int running = 0;
+
+        boolean submit(Runnable task) {
+            boolean startWorker;
+            this.lock.lock();
+            try {
+                if (this.pending.size() >= MAX_PENDING_CANCELS_PER_HOST) {
+                    return false;
+                }
+                this.pending.addLast(task);
+                startWorker = this.running < CANCEL_THREADS_PER_HOST;
+                if (startWorker) {
+                    this.running++;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            if (!startWorker) {
+                return true;
+            }
+
+            try {
+                cancelExecutor.execute(this::drain);
+                return true;
+            } catch (RejectedExecutionException e) {
+                this.lock.lock();
+                try {
+                    this.running--;
+                    // A worker of this lane may have taken the task already; otherwise it's refused.
+                    return !this.pending.removeLastOccurrence(task);
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                this.lock.lock();
+                try {
+                    task = this.pending.pollFirst();
+                    if (task == null) {
+                        this.running--;
+                        return;
+                    }
+                } finally {
+                    this.lock.unlock();
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    // Cancellations keep their own failures; go on with the next one.
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Identifies the control sessions that can cancel queries of a given host, user and connection settings.
+     */
+    private static final class ControlSessionKey {
+
+        private final String host;
+        private final int port;
+        private final String user;
+        private final String password;
+        private final String database;
+        private final String[] properties;
+
+        ControlSessionKey(HostInfo hostInfo, PropertySet propertySet) {
+            this.host = hostInfo.getHost();
+            this.port = hostInfo.getPort();
+            this.user = hostInfo.getUser();
+            this.password = hostInfo.getPassword();
+            this.database = hostInfo.getDatabase();
+            this.properties = new String[CONTROL_SESSION_KEY_PROPERTIES.length];
+            for (int i = 0; i < CONTROL_SESSION_KEY_PROPERTIES.length; i++) {
+                this.properties[i] = propertySet.getProperty(CONTROL_SESSION_KEY_PROPERTIES[i]).getStringValue();
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ControlSessionKey)) {
+                return false;
+            }
+            ControlSessionKey other = (ControlSessionKey) obj;
+            return this.port == other.port && Objects.equals(this.host, other.host) && Objects.equals(this.user, other.user)
+                    && Objects.equals(this.password, other.password) && Objects.equals(this.database, other.database)
+                    && Arrays.equals(this.properties, other.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(this.host, this.port, this.user, this.database) + Arrays.hashCode(this.properties);
+        }
+
+    }
+
+    /**
+     * Idle control sessions of one host, user and connection settings, most recently used first.
+     */
+    private static final class ControlSessionPool {
+
+        private final Lock lock = new ReentrantLock();
+        private final ArrayDeque<NativeSession> idleSessions = new ArrayDeque<>();
+        private final ArrayDeque<Long> idleSince = new ArrayDeque<>();
+
+        NativeSession poll() {
+            this.lock.lock();
+            try {
+                this.idleSince.pollFirst();
+                return this.idleSessions.pollFirst();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        boolean offer(NativeSession controlSession) {
+            this.lock.lock();
+            try {
+                if (this.idleSessions.size() >= CONTROL_SESSIONS_PER_HOST) {
+                    return false;
+                }
+                this.idleSessions.addFirst(controlSession);
+                this.idleSince.addFirst(System.currentTimeMillis());
+                return true;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Closes the sessions that have been idle for too long; they are at the tail.
+         */
+        void evictIdle() {
+            long idleLimit = System.currentTimeMillis() - CONTROL_SESSION_IDLE_MILLIS;
+            while (true) {
+                NativeSession expired;
+                this.lock.lock();
+                try {
+                    Long since = this.idleSince.peekLast();
+                    if (since == null || since > idleLimit) {
+                        return;
+                    }
+                    this.idleSince.pollLast();
+                    expired = this.idleSessions.pollLast();
+                } finally {
+                    this.lock.unlock();
+                }
+                closeControlSession(expired);
+            }
+        }
+
+    }
+
+}
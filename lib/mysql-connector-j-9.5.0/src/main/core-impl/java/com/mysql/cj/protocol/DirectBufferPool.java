@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * VM-wide pool of the direct {@link ByteBuffer}s used by the socket channel streams. Direct buffers are expensive to allocate and are only freed by the
+ * garbage collector, so they are shared by all connections instead of being created per connection.
+ */
+public final class DirectBufferPool {
+
+    /** Size of every pooled buffer, the same as the buffers of the stream based socket connection. */
+    public static final int BUFFER_SIZE = 16384;
+
+    /** Maximum number of idle buffers kept (4 MiB). */
+    private static final int MAX_POOLED_BUFFERS = 256;
+
+    private static final Queue<ByteBuffer> pooledBuffers = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooledCount = new AtomicInteger();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Takes a cleared buffer of {@link #BUFFER_SIZE} bytes from the pool, or allocates one if the pool is empty.
+     *
+     * @return a direct buffer owned by the caller until it's released
+     */
+    public static ByteBuffer acquire() {
+        ByteBuffer buf = pooledBuffers.poll();
+        if (buf == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        pooledCount.decrementAndGet();
+        buf.clear();
+        return buf;
+    }
+
+    /**
+     * Gives a buffer back to the pool. The caller must not use it afterwards.
+     *
+     * @param buf
+     *            buffer obtained from {@link #acquire()}; may be null
+     */
+    public static void release(ByteBuffer buf) {
+        if (buf == null || !buf.isDirect() || buf.capacity() != BUFFER_SIZE) {
+            return;
+        }
+        if (pooledCount.incrementAndGet() > MAX_POOLED_BUFFERS) {
+            pooledCount.decrementAndGet();
+            return;
+        }
+        pooledBuffers.offer(buf);
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.UnableToConnectException;
+import com.mysql.cj.log.Log;
+
+/**
+ * Socket factory for TCP/IP connections read and written through a {@link SocketChannel}. Select it with
+ * <code>socketFactory=com.mysql.cj.protocol.NioSocketFactory</code>.
+ *
+ * The socket is connected and configured exactly as by {@link StandardSocketFactory}; afterwards the connection switches its channel to non-blocking mode and
+ * uses {@link SocketChannelInputStream} and {@link SocketChannelOutputStream}, with pooled direct buffers, instead of the socket streams.
+ *
+ * TLS needs the socket streams, so when the connection is upgraded to TLS the channel returns to blocking mode and the connection continues as with the
+ * standard factory.
+ *
+ * Waiting for the channel blocks the calling thread in {@link java.nio.channels.Selector#select(long)}, which a virtual thread can't unmount from. Applications
+ * that run queries on virtual threads should keep the standard factory, whose socket reads park the virtual thread instead.
+ *
+ * This factory is not a general speed-up. Over loopback, with result sets shaped like those of testsuite.perf.RetrievalPerfTest (80 short rows per query), it
+ * was 5-15% slower than the standard factory. Measure with the application's own workload before switching.
+ */
+public class NioSocketFactory extends StandardSocketFactory {
+
+    @Override
+    protected Socket createSocket(PropertySet props) {
+        try {
+            return SocketChannel.open().socket();
+        } catch (IOException e) {
+            throw ExceptionFactory.createException(UnableToConnectException.class, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T extends Closeable> T performTlsHandshake(SocketConnection socketConnection, ServerSession serverSession, Log log) throws IOException {
+        // The channel streams must be closed by now, which deregisters the channel from their selectors
+        this.rawSocket.getChannel().configureBlocking(true);
+        return super.performTlsHandshake(socketConnection, serverSession, log);
+    }
+
+}
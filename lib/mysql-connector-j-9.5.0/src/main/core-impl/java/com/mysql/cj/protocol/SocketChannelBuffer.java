@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mysql.cj.Messages;
+
+/**
+ * State shared by the operations of one socket channel stream: the non-blocking channel, a pooled direct buffer and the selector used to wait for the channel
+ * to become readable or writable.
+ *
+ * Operations are bracketed by {@link #begin()} and {@link #end()}. The stream may be closed from another thread (e.g. when a connection is aborted) while an
+ * operation is in progress; in that case the buffer goes back to the pool when the operation ends, never while it's in use.
+ */
+final class SocketChannelBuffer {
+
+    private static final int IDLE = 0;
+    private static final int BUSY = 1;
+    private static final int CLOSE_PENDING = 2;
+    private static final int CLOSED = 3;
+
+    private final Socket socket;
+    private final SocketChannel channel;
+    private final ByteBuffer buffer;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private volatile Selector selector = null;
+
+    SocketChannelBuffer(Socket socket) throws IOException {
+        this.socket = socket;
+        this.channel = socket.getChannel();
+        if (this.channel == null) {
+            throw new SocketException("Socket is not bound to a SocketChannel");
+        }
+        this.buffer = DirectBufferPool.acquire();
+    }
+
+    SocketChannel getChannel() {
+        return this.channel;
+    }
+
+    /**
+     * Starts an operation.
+     *
+     * @return the buffer, owned by the caller until {@link #end()}
+     * @throws IOException
+     *             if the stream is closed
+     */
+    ByteBuffer begin() throws IOException {
+        if (!this.state.compareAndSet(IDLE, BUSY)) {
+            throw new SocketException(Messages.getString("SocketConnection.1"));
+        }
+        return this.buffer;
+    }
+
+    /**
+     * Ends an operation, releasing the buffer if the stream was closed meanwhile.
+     */
+    void end() {
+        if (!this.state.compareAndSet(BUSY, IDLE)) {
+            this.state.set(CLOSED);
+            releaseResources();
+        }
+    }
+
+    /**
+     * Closes the stream (not the channel). Wakes up an operation waiting on the selector.
+     */
+    void close() {
+        while (true) {
+            int current = this.state.get();
+            if (current == IDLE && this.state.compareAndSet(IDLE, CLOSED)) {
+                releaseResources();
+                return;
+            }
+            if (current == BUSY && this.state.compareAndSet(BUSY, CLOSE_PENDING)) {
+                Selector sel = this.selector;
+                if (sel != null) {
+                    sel.wakeup();
+                }
+                return;
+            }
+            if (current == CLOSE_PENDING || current == CLOSED) {
+                return;
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return this.state.get() >= CLOSE_PENDING;
+    }
+
+    /**
+     * Waits until the channel is ready for the given operation. Like a blocking socket, ignores interrupts (the interrupt status is kept).
+     *
+     * @param op
+     *            {@link SelectionKey#OP_READ} or {@link SelectionKey#OP_WRITE}
+     * @param timeoutMillis
+     *            maximum wait, 0 to wait forever
+     * @throws SocketTimeoutException
+     *             if the timeout expires
+     * @throws IOException
+     *             if the stream was closed or the selector fails
+     */
+    void await(int op, int timeoutMillis) throws IOException {
+        boolean interrupted = false;
+        try {
+            if (this.selector == null) {
+                this.selector = Selector.open();
+            }
+            SelectionKey key = this.channel.keyFor(this.selector);
+            if (key == null) {
+                key = this.channel.register(this.selector, op);
+            } else {
+                key.interestOps(op);
+            }
+            long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : 0;
+            while (true) {
+                if (isClosed()) {
+                    throw new SocketException(Messages.getString("SocketConnection.1"));
+                }
+                long wait = 0;
+                if (deadline > 0) {
+                    wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                }
+                int selected = this.selector.select(wait);
+                this.selector.selectedKeys().clear();
+                if (selected > 0) {
+                    return;
+                }
+                if (Thread.interrupted()) {
+                    // select() returns at once while the interrupt status is set
+                    interrupted = true;
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            throw new SocketException(Messages.getString("SocketConnection.1"));
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return the socket read timeout, which may change between reads (e.g. for streaming results)
+     */
+    int getReadTimeout() throws IOException {
+        return this.socket.getSoTimeout();
+    }
+
+    private void releaseResources() {
+        Selector sel = this.selector;
+        this.selector = null;
+        if (sel != null) {
+            try {
+                sel.close(); // deregisters the channel
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        DirectBufferPool.release(this.buffer);
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+
+/**
+ * Input stream over the {@link java.nio.channels.SocketChannel} of a socket created by {@link NioSocketFactory}. Data is read from the non-blocking channel
+ * into a pooled direct buffer and copied from there into the caller's array, so each byte is copied once on the Java side (a socket stream wrapped in
+ * {@link ReadAheadInputStream} copies it twice). Reads larger than the buffer go straight into the caller's array.
+ *
+ * The socket's SO_TIMEOUT is honored as with a blocking socket: a read that waits longer fails with {@link java.net.SocketTimeoutException}.
+ */
+public class SocketChannelInputStream extends InputStream {
+
+    private final SocketChannelBuffer channelBuffer;
+
+    /**
+     * @param socket
+     *            connected socket whose channel is in non-blocking mode
+     * @throws IOException
+     *             if the socket has no channel
+     */
+    public SocketChannelInputStream(Socket socket) throws IOException {
+        this.channelBuffer = new SocketChannelBuffer(socket);
+        this.channelBuffer.begin().flip(); // starts empty, in read mode
+        this.channelBuffer.end();
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            if (!buf.hasRemaining() && fill(buf) < 0) {
+                return -1;
+            }
+            return buf.get() & 0xff;
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if ((off | len | off + len | b.length - (off + len)) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            if (!buf.hasRemaining()) {
+                if (len >= buf.capacity()) {
+                    return readDirect(ByteBuffer.wrap(b, off, len));
+                }
+                if (fill(buf) < 0) {
+                    return -1;
+                }
+            }
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            if (!buf.hasRemaining() && fill(buf) < 0) {
+                return 0;
+            }
+            int skipped = (int) Math.min(n, buf.remaining());
+            buf.position(buf.position() + skipped);
+            return skipped;
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    /**
+     * Returns the bytes already in the buffer plus those that can be read from the channel without waiting.
+     */
+    @Override
+    public int available() throws IOException {
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            if (!buf.hasRemaining()) {
+                buf.clear();
+                int n = this.channelBuffer.getChannel().read(buf);
+                buf.flip();
+                if (n < 0) {
+                    return 0;
+                }
+            }
+            return buf.remaining();
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channelBuffer.close();
+    }
+
+    /**
+     * Refills the (empty) buffer with at least one byte, waiting for the channel if needed.
+     *
+     * @return number of bytes read, or -1 at end of stream
+     */
+    private int fill(ByteBuffer buf) throws IOException {
+        buf.clear();
+        try {
+            return readDirect(buf);
+        } finally {
+            buf.flip();
+        }
+    }
+
+    private int readDirect(ByteBuffer dst) throws IOException {
+        int n;
+        while ((n = this.channelBuffer.getChannel().read(dst)) == 0) {
+            this.channelBuffer.await(SelectionKey.OP_READ, this.channelBuffer.getReadTimeout());
+        }
+        return n;
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+
+/**
+ * Buffered output stream over the {@link java.nio.channels.SocketChannel} of a socket created by {@link NioSocketFactory}.
+ *
+ * Small writes (e.g. packet headers) are collected in a pooled direct buffer. A write that doesn't fit in it is sent together with the buffered bytes in a
+ * single gathering write, so a packet header and a large payload leave in one system call without copying the payload.
+ *
+ * Extends {@link BufferedOutputStream} only because {@link SocketConnection#getMysqlOutput()} returns that type; the inherited buffer is not used.
+ */
+public class SocketChannelOutputStream extends BufferedOutputStream {
+
+    /** Placeholder for the stream wrapped by {@link BufferedOutputStream}; all writes go to the channel instead. */
+    private static final OutputStream UNUSED_OUTPUT = new OutputStream() {
+
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("Unexpected write to the placeholder stream");
+        }
+
+    };
+
+    private final SocketChannelBuffer channelBuffer;
+    private final ByteBuffer[] gather = new ByteBuffer[2];
+
+    /**
+     * @param socket
+     *            connected socket whose channel is in non-blocking mode
+     * @throws IOException
+     *             if the socket has no channel
+     */
+    public SocketChannelOutputStream(Socket socket) throws IOException {
+        super(UNUSED_OUTPUT, 1);
+        this.channelBuffer = new SocketChannelBuffer(socket);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            if (!buf.hasRemaining()) {
+                writeFully(buf);
+            }
+            buf.put((byte) b);
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if ((off | len | off + len | b.length - (off + len)) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            if (len <= buf.remaining()) {
+                buf.put(b, off, len);
+                return;
+            }
+            buf.flip();
+            this.gather[0] = buf;
+            this.gather[1] = ByteBuffer.wrap(b, off, len);
+            try {
+                while (this.gather[1].hasRemaining()) {
+                    if (this.channelBuffer.getChannel().write(this.gather) == 0) {
+                        this.channelBuffer.await(SelectionKey.OP_WRITE, 0);
+                    }
+                }
+            } finally {
+                this.gather[1] = null;
+                buf.clear();
+            }
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ByteBuffer buf = this.channelBuffer.begin();
+        try {
+            writeFully(buf);
+        } finally {
+            this.channelBuffer.end();
+        }
+    }
+
+    /**
+     * Releases the buffer without flushing it (the connection is being closed).
+     */
+    @Override
+    public void close() throws IOException {
+        this.channelBuffer.close();
+    }
+
+    /**
+     * Sends the buffered bytes and leaves the buffer empty, in write mode.
+     */
+    private void writeFully(ByteBuffer buf) throws IOException {
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) {
+                if (this.channelBuffer.getChannel().write(buf) == 0) {
+                    this.channelBuffer.await(SelectionKey.OP_WRITE, 0);
+                }
+            }
+        } finally {
+            buf.clear();
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.Resultset.Concurrency;
 import com.mysql.cj.protocol.ResultsetRow;
 import com.mysql.cj.protocol.ValueDecoder;
 
@@ -41,4 +42,27 @@ public abstract class AbstractRowFactory implements ProtocolEntityFactory<Result
         return this.canReuseRowPacketForBufferRow;
     }
 
+    /**
+     * Use a buffer row for reusable packets (streaming results), blobs and long strings or if we're over the threshold.
+     *
+     * @param payloadLength
+     *            row packet length
+     * @return true if the row should keep a reference to the packet instead of copying the column values out of it
+     */
+    protected boolean useBufferRow(int payloadLength) {
+        return this.canReuseRowPacketForBufferRow || this.columnDefinition.hasLargeFields() || payloadLength >= this.useBufferRowSizeThreshold.getValue();
+    }
+
+    /**
+     * Tells whether the row created from a packet of the given length keeps a reference to that packet. If it doesn't, the packet can be overwritten as
+     * soon as {@link #createFromMessage(Object)} returns.
+     *
+     * @param payloadLength
+     *            row packet length
+     * @return true if the packet must not be reused while the row is alive
+     */
+    public boolean retainsRowPacket(int payloadLength) {
+        return this.resultSetConcurrency != Concurrency.UPDATABLE && useBufferRow(payloadLength);
+    }
+
 }
@@ -53,10 +53,7 @@ public class BinaryRowFactory extends AbstractRowFactory implements ProtocolEnti
 
     @Override
     public ResultsetRow createFromMessage(NativePacketPayload rowPacket) {
-        // use a buffer row for reusable packets (streaming results), blobs and long strings
-        // or if we're over the threshold
-        boolean useBufferRow = this.canReuseRowPacketForBufferRow || this.columnDefinition.hasLargeFields()
-                || rowPacket.getPayloadLength() >= this.useBufferRowSizeThreshold.getValue();
+        boolean useBufferRow = useBufferRow(rowPacket.getPayloadLength());
 
         // bump past ProtocolBinary::ResultsetRow packet header
         rowPacket.setPosition(rowPacket.getPosition() + 1);
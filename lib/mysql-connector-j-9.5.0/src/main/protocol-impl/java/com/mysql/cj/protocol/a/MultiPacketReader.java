@@ -36,8 +36,22 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
 
     private MessageReader<NativePacketHeader, NativePacketPayload> packetReader;
 
+    /** Source of the array that receives each continuation packet; null to allocate it. */
+    private PacketBufferPool bufferPool;
+
     public MultiPacketReader(MessageReader<NativePacketHeader, NativePacketPayload> packetReader) {
+        this(packetReader, null);
+    }
+
+    /**
+     * @param packetReader
+     *            reader of the individual packets
+     * @param bufferPool
+     *            pool providing the temporary array for continuation packets, released once the message is assembled. May be null.
+     */
+    public MultiPacketReader(MessageReader<NativePacketHeader, NativePacketPayload> packetReader, PacketBufferPool bufferPool) {
         this.packetReader = packetReader;
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -68,7 +82,7 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
                 multiPacketLength = hdr.getMessageSize();
 
                 if (multiPacket == null) {
-                    multiPacket = new NativePacketPayload(multiPacketLength);
+                    multiPacket = newContinuationPacket(multiPacketLength);
                 }
 
                 multiPacketSeq++;
@@ -82,6 +96,7 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
 
             } while (multiPacketLength == NativeConstants.MAX_PACKET_SIZE);
 
+            releaseContinuationPacket(multiPacket);
             buf.setPosition(0);
         }
 
@@ -106,7 +121,7 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
                 multiPacketLength = hdr.getMessageSize();
 
                 if (multiPacket == null) {
-                    multiPacket = new NativePacketPayload(multiPacketLength);
+                    multiPacket = newContinuationPacket(multiPacketLength);
                 }
 
                 multiPacketSeq++;
@@ -120,12 +135,28 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
 
             } while (multiPacketLength == NativeConstants.MAX_PACKET_SIZE);
 
+            releaseContinuationPacket(multiPacket);
             buf.setPosition(0);
         }
 
         return buf;
     }
 
+    private NativePacketPayload newContinuationPacket(int length) {
+        if (this.bufferPool == null) {
+            return new NativePacketPayload(length);
+        }
+        NativePacketPayload packet = new NativePacketPayload(this.bufferPool.acquire(length));
+        packet.setPayloadLength(length);
+        return packet;
+    }
+
+    private void releaseContinuationPacket(NativePacketPayload packet) {
+        if (this.bufferPool != null && packet != null) {
+            this.bufferPool.release(packet.getByteBuffer());
+        }
+    }
+
     @Override
     public byte getMessageSequence() {
         return this.packetReader.getMessageSequence();
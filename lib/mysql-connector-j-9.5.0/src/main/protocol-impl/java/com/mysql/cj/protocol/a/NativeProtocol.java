@@ -166,6 +166,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     /** Use this when reading in rows to avoid thousands of new() calls, because the byte arrays just get copied out of the packet anyway */
     protected NativePacketPayload reusablePacket = null;
 
+    /** Arrays for received packets that outgrow the reused ones; null if 'packetBufferPoolSize' is 0. */
+    protected PacketBufferPool packetBufferPool = null;
+
     /**
      * Packet used for 'LOAD DATA LOCAL INFILE'
      * We use a SoftReference, so that we don't penalize intermittent use of this feature
@@ -265,10 +268,14 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.useServerPrepStmts = this.propertySet.getBooleanProperty(PropertyKey.useServerPrepStmts);
 
         this.reusablePacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
+        int packetBufferPoolSize = this.propertySet.getMemorySizeProperty(PropertyKey.packetBufferPoolSize).getValue();
+        if (packetBufferPoolSize > 0) {
+            this.packetBufferPool = new PacketBufferPool(packetBufferPoolSize);
+        }
 
         try {
             this.packetSender = new SimplePacketSender(this.socketConnection.getMysqlOutput());
-            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket);
+            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket, this.packetBufferPool);
         } catch (IOException ioEx) {
             throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, getPacketSentTimeHolder(), getPacketReceivedTimeHolder(),
                     ioEx, getExceptionInterceptor());
@@ -357,7 +364,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
             // i/o streams were replaced, build new packet sender/reader
             this.packetSender = new SimplePacketSender(this.socketConnection.getMysqlOutput());
-            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket);
+            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket, this.packetBufferPool);
 
         } catch (FeatureNotAvailableException e) {
             throw new CJConnectionFeatureNotAvailableException(getPropertySet(), this.serverSession, getPacketSentTimeHolder(), e);
@@ -497,7 +504,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
 
         // do it after other decorators to have trace and debug applied to individual packets
-        messageReader = new MultiPacketReader(messageReader);
+        messageReader = new MultiPacketReader(messageReader, this.packetBufferPool);
 
         this.packetReader = messageReader;
         this.packetDebugRingBuffer = debugRingBuffer;
@@ -1234,6 +1241,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         } finally {
             this.socketConnection.forceClose();
             this.localInfileInputStream = null;
+            if (this.packetBufferPool != null) {
+                this.packetBufferPool.clear();
+            }
         }
     }
 
@@ -1321,6 +1331,18 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         if (this.compressedPacketSender != null) {
             this.compressedPacketSender.stop();
         }
+        if (this.packetBufferPool != null) {
+            this.packetBufferPool.clear();
+        }
+    }
+
+    /**
+     * Returns the pool of received packet arrays, whose counters show how many arrays were allocated and reused.
+     *
+     * @return the pool, or null if 'packetBufferPoolSize' is 0
+     */
+    public PacketBufferPool getPacketBufferPool() {
+        return this.packetBufferPool;
     }
 
     @Override
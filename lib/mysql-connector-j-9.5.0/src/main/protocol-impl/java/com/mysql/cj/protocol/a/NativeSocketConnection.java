@@ -34,9 +34,12 @@ import com.mysql.cj.exceptions.SSLParamsException;
 import com.mysql.cj.log.Log;
 import com.mysql.cj.protocol.AbstractSocketConnection;
 import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.NioSocketFactory;
 import com.mysql.cj.protocol.PacketSentTimeHolder;
 import com.mysql.cj.protocol.ReadAheadInputStream;
 import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.SocketChannelInputStream;
+import com.mysql.cj.protocol.SocketChannelOutputStream;
 import com.mysql.cj.protocol.SocketConnection;
 
 public class NativeSocketConnection extends AbstractSocketConnection implements SocketConnection {
@@ -63,6 +66,13 @@ public class NativeSocketConnection extends AbstractSocketConnection implements
 
             this.socketFactory.beforeHandshake();
 
+            if (this.socketFactory instanceof NioSocketFactory) {
+                this.mysqlSocket.getChannel().configureBlocking(false);
+                this.mysqlInput = new FullReadInputStream(new SocketChannelInputStream(this.mysqlSocket));
+                this.mysqlOutput = new SocketChannelOutputStream(this.mysqlSocket);
+                return;
+            }
+
             InputStream rawInputStream;
             if (propSet.getBooleanProperty(PropertyKey.useReadAheadInput).getValue()) {
                 rawInputStream = new ReadAheadInputStream(this.mysqlSocket.getInputStream(), 16384,
@@ -88,6 +98,12 @@ public class NativeSocketConnection extends AbstractSocketConnection implements
 
     @Override
     public void performTlsHandshake(ServerSession serverSession, Log log) throws SSLParamsException, FeatureNotAvailableException, IOException {
+        if (this.mysqlOutput instanceof SocketChannelOutputStream) {
+            // TLS runs on the socket streams: release the channel streams, the factory puts the channel back in blocking mode
+            this.mysqlOutput.flush();
+            this.mysqlInput.close();
+            this.mysqlOutput.close();
+        }
         this.mysqlSocket = this.socketFactory.performTlsHandshake(this, serverSession, log);
 
         this.mysqlInput = new FullReadInputStream(
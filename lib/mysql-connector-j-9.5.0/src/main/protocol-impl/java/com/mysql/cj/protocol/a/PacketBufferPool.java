@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.conf.PropertyDefinitions;
+
+/**
+ * Size-classed pool of the byte arrays backing {@link NativePacketPayload}s, owned by one {@link NativeProtocol}.
+ *
+ * Arrays are handed out in power-of-two size classes, from 512 bytes up to 16 MiB (the largest single packet payload), so that an array released by one
+ * message can be reused by any later message of a similar size. Requests above the largest class get an exact-size array that is never pooled.
+ *
+ * The bytes kept in the pool are bounded by the per-connection limit given at construction time (the 'packetBufferPoolSize' connection property) and,
+ * optionally, by a VM-wide limit shared by all pools, set with the system property
+ * {@value com.mysql.cj.conf.PropertyDefinitions#SYSP_packetBufferPoolGlobalMaxBytes}. Arrays that don't fit are left to the garbage collector.
+ *
+ * Only arrays whose contents are no longer referenced may be released: the pool doesn't clear them and hands them out as they are. Instances are
+ * thread-safe, although a protocol normally uses its pool from one thread at a time.
+ */
+public class PacketBufferPool {
+
+    private static final int MIN_CLASS_SHIFT = 9;
+    private static final int MAX_CLASS_SHIFT = 24;
+
+    private static final long GLOBAL_MAX_BYTES = Long.getLong(PropertyDefinitions.SYSP_packetBufferPoolGlobalMaxBytes, 0);
+    private static final AtomicLong globalRetainedBytes = new AtomicLong();
+
+    private final Lock lock = new ReentrantLock();
+    private final long maxRetainedBytes;
+    private final List<ArrayDeque<byte[]>> freeArrays;
+    private long retainedBytes = 0;
+
+    private long allocationCount = 0;
+    private long allocatedBytes = 0;
+    private long reuseCount = 0;
+    private long reusedBytes = 0;
+    private long releaseCount = 0;
+    private long discardCount = 0;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param maxRetainedBytes
+     *            maximum number of bytes kept in the pool; 0 disables pooling (arrays are still handed out and counted)
+     */
+    public PacketBufferPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = Math.max(0, maxRetainedBytes);
+        this.freeArrays = new ArrayList<>(MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1);
+        for (int i = MIN_CLASS_SHIFT; i <= MAX_CLASS_SHIFT; i++) {
+            this.freeArrays.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Returns an array of at least the given length, reusing a pooled one if possible. Its contents are undefined.
+     *
+     * @param minLength
+     *            minimum array length
+     * @return a byte array whose length is the size class of minLength, or exactly minLength if it's above the largest class
+     */
+    public byte[] acquire(int minLength) {
+        this.lock.lock();
+        try {
+            int sizeClass = sizeClassOf(minLength);
+            if (sizeClass < 0) {
+                return allocate(minLength);
+            }
+            byte[] buf = this.freeArrays.get(sizeClass).pollFirst();
+            if (buf == null) {
+                return allocate(1 << (sizeClass + MIN_CLASS_SHIFT));
+            }
+            this.retainedBytes -= buf.length;
+            globalRetainedBytes.addAndGet(-buf.length);
+            this.reuseCount++;
+            this.reusedBytes += buf.length;
+            return buf;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an array to the pool. Arrays that aren't of a pooled size, or that would exceed the pool limits, are discarded.
+     *
+     * @param buf
+     *            array that is no longer referenced by any message or row; may be null
+     */
+    public void release(byte[] buf) {
+        this.lock.lock();
+        try {
+            if (buf == null) {
+                return;
+            }
+            int sizeClass = sizeClassOf(buf.length);
+            if (sizeClass < 0 || buf.length != 1 << (sizeClass + MIN_CLASS_SHIFT) || this.retainedBytes + buf.length > this.maxRetainedBytes
+                    || !reserveGlobal(buf.length)) {
+                this.discardCount++;
+                return;
+            }
+            this.freeArrays.get(sizeClass).addFirst(buf);
+            this.retainedBytes += buf.length;
+            this.releaseCount++;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops all pooled arrays, giving their bytes back to the VM-wide limit. Called when the connection is closed.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            for (ArrayDeque<byte[]> free : this.freeArrays) {
+                free.clear();
+            }
+            globalRetainedBytes.addAndGet(-this.retainedBytes);
+            this.retainedBytes = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of arrays allocated because none could be reused
+     */
+    public long getAllocationCount() {
+        this.lock.lock();
+        try {
+            return this.allocationCount;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return total size of the arrays allocated because none could be reused
+     */
+    public long getAllocatedBytes() {
+        this.lock.lock();
+        try {
+            return this.allocatedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of requests served with a pooled array
+     */
+    public long getReuseCount() {
+        this.lock.lock();
+        try {
+            return this.reuseCount;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return total size of the pooled arrays handed out again
+     */
+    public long getReusedBytes() {
+        this.lock.lock();
+        try {
+            return this.reusedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of arrays accepted back into the pool
+     */
+    public long getReleaseCount() {
+        this.lock.lock();
+        try {
+            return this.releaseCount;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of released arrays left to the garbage collector (not a pooled size, or over the limits)
+     */
+    public long getDiscardCount() {
+        this.lock.lock();
+        try {
+            return this.discardCount;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return bytes currently kept in this pool
+     */
+    public long getRetainedBytes() {
+        this.lock.lock();
+        try {
+            return this.retainedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return bytes currently kept in all pools of this VM
+     */
+    public static long getGlobalRetainedBytes() {
+        return globalRetainedBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        this.lock.lock();
+        try {
+            return "PacketBufferPool[allocations=" + this.allocationCount + ", allocatedBytes=" + this.allocatedBytes + ", reuses=" + this.reuseCount
+                    + ", reusedBytes=" + this.reusedBytes + ", releases=" + this.releaseCount + ", discards=" + this.discardCount + ", retainedBytes="
+                    + this.retainedBytes + "]";
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private byte[] allocate(int length) {
+        this.allocationCount++;
+        this.allocatedBytes += length;
+        return new byte[length];
+    }
+
+    private static boolean reserveGlobal(int length) {
+        if (GLOBAL_MAX_BYTES <= 0) {
+            globalRetainedBytes.addAndGet(length);
+            return true;
+        }
+        long current;
+        do {
+            current = globalRetainedBytes.get();
+            if (current + length > GLOBAL_MAX_BYTES) {
+                return false;
+            }
+        } while (!globalRetainedBytes.compareAndSet(current, current + length));
+        return true;
+    }
+
+    /**
+     * Index of the smallest size class that fits the given length, or -1 if it's above the largest class.
+     */
+    private static int sizeClassOf(int length) {
+        if (length <= 1 << MIN_CLASS_SHIFT) {
+            return 0;
+        }
+        int shift = Integer.SIZE - Integer.numberOfLeadingZeros(length - 1);
+        return shift > MAX_CLASS_SHIFT ? -1 : shift - MIN_CLASS_SHIFT;
+    }
+
+}
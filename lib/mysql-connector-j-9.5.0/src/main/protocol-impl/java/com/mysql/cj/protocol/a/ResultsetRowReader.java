@@ -38,6 +38,9 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
 
     protected RuntimeProperty<Integer> useBufferRowSizeThreshold;
 
+    /** Packet reused for rows whose values are copied out of it, so that reading them doesn't allocate a packet array per row. */
+    private NativePacketPayload copiedRowPacket = null;
+
     public ResultsetRowReader(NativeProtocol prot) {
         this.protocol = prot;
 
@@ -62,8 +65,7 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
         NativePacketHeader hdr = this.protocol.getPacketReader().readHeader();
 
         // read the entire packet(s)
-        rowPacket = this.protocol.getPacketReader()
-                .readMessage(rf.canReuseRowPacketForBufferRow() ? Optional.ofNullable(this.protocol.getReusablePacket()) : Optional.empty(), hdr);
+        rowPacket = this.protocol.getPacketReader().readMessage(getRowPacketForReuse(rf, hdr.getMessageSize()), hdr);
         this.protocol.checkErrorMessage(rowPacket);
         // Didn't read an error, so re-position to beginning of packet in order to read result set data
         rowPacket.setPosition(rowPacket.getPosition() - 1);
@@ -78,4 +80,18 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
         return sf.createFromMessage(rowPacket);
     }
 
+    private Optional<NativePacketPayload> getRowPacketForReuse(AbstractRowFactory rf, int packetLength) {
+        if (rf.canReuseRowPacketForBufferRow()) {
+            return Optional.ofNullable(this.protocol.getReusablePacket());
+        }
+        // The length of a multi-packet row is only known after reading it, so it may end up in a buffer row
+        if (packetLength >= NativeConstants.MAX_PACKET_SIZE || rf.retainsRowPacket(packetLength)) {
+            return Optional.empty();
+        }
+        if (this.copiedRowPacket == null) {
+            this.copiedRowPacket = new NativePacketPayload(NativeProtocol.INITIAL_PACKET_SIZE);
+        }
+        return Optional.of(this.copiedRowPacket);
+    }
+
 }
@@ -43,9 +43,25 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
     NativePacketHeader lastHeader = null;
     NativePacketPayload lastMessage = null;
 
+    /** Source of the arrays for messages that don't fit in the reused one; null to allocate them. */
+    private PacketBufferPool bufferPool;
+
     public SimplePacketReader(SocketConnection socketConnection, RuntimeProperty<Integer> maxAllowedPacket) {
+        this(socketConnection, maxAllowedPacket, null);
+    }
+
+    /**
+     * @param socketConnection
+     *            {@link SocketConnection}
+     * @param maxAllowedPacket
+     *            maximum packet size accepted
+     * @param bufferPool
+     *            pool used to grow reused messages; their previous array is released to it. May be null.
+     */
+    public SimplePacketReader(SocketConnection socketConnection, RuntimeProperty<Integer> maxAllowedPacket, PacketBufferPool bufferPool) {
         this.socketConnection = socketConnection;
         this.maxAllowedPacket = maxAllowedPacket;
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -115,7 +131,14 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
                 if (message.getByteBuffer().length < packetLength) {
                     // Note: We actually check the length of the buffer, rather than getBufLength(), because getBufLength()
                     // is not necessarily the actual length of the byte array used as the buffer
-                    message.setByteBuffer(new byte[packetLength]);
+                    if (this.bufferPool == null) {
+                        message.setByteBuffer(new byte[packetLength]);
+                    } else {
+                        // The caller gave up the previous contents by passing the message for reuse
+                        byte[] previous = message.getByteBuffer();
+                        message.setByteBuffer(this.bufferPool.acquire(packetLength));
+                        this.bufferPool.release(previous);
+                    }
                 }
 
                 // Set the new length
@@ -44,10 +44,7 @@ public class TextRowFactory extends AbstractRowFactory implements ProtocolEntity
 
     @Override
     public ResultsetRow createFromMessage(NativePacketPayload rowPacket) {
-        // use a buffer row for reusable packets (streaming results), blobs and long strings
-        // or if we're over the threshold
-        boolean useBufferRow = this.canReuseRowPacketForBufferRow || this.columnDefinition.hasLargeFields()
-                || rowPacket.getPayloadLength() >= this.useBufferRowSizeThreshold.getValue();
+        boolean useBufferRow = useBufferRow(rowPacket.getPayloadLength());
 
         if (this.resultSetConcurrency == Concurrency.UPDATABLE || !useBufferRow) {
             byte[][] rowBytes = new byte[this.columnDefinition.getFields().length][];
@@ -663,7 +663,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         if (this.cachePrepStmts.getValue()) {
             QueryInfo pStmtInfo = this.queryInfoCache.get(nativeSql);
 
-            if (pStmtInfo == null) {
+            if (pStmtInfo == null || !pStmtInfo.isReusableIn(this.session, this.propertySet.getStringProperty(PropertyKey.characterEncoding).getValue())) {
                 pStmt = ClientPreparedStatement.getInstance(getMultiHostSafeProxy(), nativeSql, this.database);
 
                 this.queryInfoCache.put(nativeSql, pStmt.getQueryInfo());
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.PerVmLRUFactory.SharedLRU;
+
+/**
+ * Tests for {@link PerVmLRUFactory}.
+ */
+public class PerVmLRUFactoryTest {
+
+    // the cache never holds more entries than its capacity
+    @Test
+    public void capacityRespected() {
+        SharedLRU cache = newCache(4);
+        for (int i = 0; i < 10; i++) {
+            cache.put("SELECT " + i, null);
+        }
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.getEvictionCount());
+    }
+
+    // an entry read since the last pass of the clock hand survives it, the next unreferenced one is evicted instead
+    @Test
+    public void referencedEntriesSurviveOnePass() throws Exception {
+        SharedLRU cache = newCache(3);
+        cache.put("a", null);
+        cache.put("b", null);
+        cache.put("c", null);
+        cache.get("a");
+        cache.put("d", null);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(contains(cache, "a"));
+        assertFalse(contains(cache, "b"));
+        assertTrue(contains(cache, "c"));
+        assertTrue(contains(cache, "d"));
+
+        // "a" lost its mark in that pass, so it's the next one to go once "c" and "d" are read
+        cache.get("c");
+        cache.get("d");
+        cache.put("e", null);
+        assertFalse(contains(cache, "a"));
+        assertEquals(3, cache.size());
+    }
+
+    // replaced and invalidated entries don't make the clock grow without bound
+    @Test
+    public void clockSizeBounded() throws Exception {
+        SharedLRU cache = newCache(4);
+        for (int i = 0; i < 10000; i++) {
+            cache.put("SELECT " + i % 3, null);
+            cache.put("SELECT " + i, null);
+            cache.invalidate("SELECT " + i);
+        }
+        assertTrue(clockSize(cache) <= 2 * 4 + 1, "clock size " + clockSize(cache));
+        assertTrue(cache.size() <= 4);
+    }
+
+    // concurrent puts and invalidations keep the size consistent with the entries, so the cache is empty after invalidateAll and fills up again
+    @Test
+    public void sizeConsistentAfterInvalidateAll() throws Exception {
+        SharedLRU cache = newCache(16);
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        String key = "SELECT " + (i * 7 + seed) % 40;
+                        if (i % 3 == 0) {
+                            cache.invalidate(key);
+                        } else {
+                            cache.put(key, null);
+                            cache.get(key);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertTrue(cache.size() <= 16, "size " + cache.size());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        for (int i = 0; i < 20; i++) {
+            cache.put("SELECT " + i, null);
+        }
+        assertEquals(16, cache.size());
+    }
+
+    // connections with the same URL share one cache, whose capacity is the largest they asked for, and each applies its own SQL length limit
+    @Test
+    public void sharedByUrl() {
+        String url = "jdbc:mysql://per-vm-lru-test:3306/db";
+        PerVmLRUFactory factory = new PerVmLRUFactory();
+        CacheAdapter<String, QueryInfo> first = factory.getInstance(null, url, 10, 5);
+        CacheAdapter<String, QueryInfo> second = factory.getInstance(null, url, 20, 100);
+        SharedLRU cache = PerVmLRUFactory.getCache(url);
+        assertEquals(20, cache.getCapacity());
+
+        first.put("SELECT 1", null); // over the first connection's limit
+        assertEquals(0, cache.size());
+        second.put("SELECT 1", null);
+        assertEquals(1, cache.size());
+        first.invalidateAll();
+        assertEquals(0, cache.size());
+        assertSame(cache, PerVmLRUFactory.getCache(url));
+    }
+
+    // the capacity cap bounds what connections ask for, and smaller requests still raise the capacity up to it
+    @Test
+    public void capacityCapped() {
+        SharedLRU cache = new SharedLRU(15);
+        cache.ensureCapacity(10);
+        assertEquals(10, cache.getCapacity());
+        cache.ensureCapacity(1000);
+        assertEquals(15, cache.getCapacity());
+        for (int i = 0; i < 20; i++) {
+            cache.put("SELECT " + i, null);
+        }
+        assertEquals(15, cache.size());
+    }
+
+    private static SharedLRU newCache(int capacity) {
+        SharedLRU cache = new SharedLRU(0);
+        cache.ensureCapacity(capacity);
+        return cache;
+    }
+
+    // looks at the map directly: get() would mark the entry as referenced
+    private static boolean contains(SharedLRU cache, String key) throws Exception {
+        return ((Map<?, ?>) field(cache, "entries")).containsKey(key);
+    }
+
+    private static int clockSize(SharedLRU cache) throws Exception {
+        return ((AtomicInteger) field(cache, "clockSize")).get();
+    }
+
+    private static Object field(SharedLRU cache, String name) throws Exception {
+        Field field = SharedLRU.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(cache);
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the non-blocking socket channel streams used by {@link NioSocketFactory}.
+ */
+public class SocketChannelStreamsTest {
+
+    private static final int PAYLOAD_LENGTH = 100000;
+
+    @Test
+    public void roundTrip() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            startEcho(serverSocket, 4 + PAYLOAD_LENGTH);
+            Socket socket = connect(serverSocket);
+            try {
+                FullReadInputStream in = new FullReadInputStream(new SocketChannelInputStream(socket));
+                SocketChannelOutputStream out = new SocketChannelOutputStream(socket);
+
+                // a small buffered write followed by a large one exercises the gathering write
+                byte[] payload = new byte[PAYLOAD_LENGTH];
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] = (byte) (i * 7);
+                }
+                out.write(new byte[] { 1, 2, 3 });
+                out.write(4);
+                out.write(payload, 0, payload.length);
+                out.flush();
+
+                byte[] header = new byte[4];
+                in.readFully(header);
+                assertArrayEquals(new byte[] { 1, 2, 3, 4 }, header);
+                byte[] echoed = new byte[PAYLOAD_LENGTH];
+                in.readFully(echoed);
+                assertArrayEquals(payload, echoed);
+            } finally {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void readTimeout() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            startEcho(serverSocket, 0);
+            Socket socket = connect(serverSocket);
+            try {
+                FullReadInputStream in = new FullReadInputStream(new SocketChannelInputStream(socket));
+
+                assertThrows(SocketTimeoutException.class, in::read);
+            } finally {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void forcedClose() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            startEcho(serverSocket, 0);
+            Socket socket = connect(serverSocket);
+            FullReadInputStream in = new FullReadInputStream(new SocketChannelInputStream(socket));
+            SocketChannelOutputStream out = new SocketChannelOutputStream(socket);
+
+            new NetworkResources(socket, in, out).forceClose();
+            assertThrows(SocketException.class, in::read);
+        }
+    }
+
+    /**
+     * Accepts one connection, echoes the first {@code length} bytes it receives and keeps the connection open until the client closes it.
+     */
+    private static void startEcho(ServerSocket serverSocket, int length) {
+        Thread echo = new Thread(() -> {
+            try (Socket s = serverSocket.accept()) {
+                InputStream in = s.getInputStream();
+                OutputStream out = s.getOutputStream();
+                byte[] b = new byte[8192];
+                int total = 0;
+                int n;
+                while (total < length && (n = in.read(b)) > 0) {
+                    out.write(b, 0, n);
+                    total += n;
+                }
+                out.flush();
+                s.getInputStream().read(); // wait for the client to close
+            } catch (Exception e) {
+                // client went away
+            }
+        });
+        echo.setDaemon(true);
+        echo.start();
+    }
+
+    /**
+     * Opens a non-blocking channel socket to the echo server, with a short read timeout.
+     */
+    private static Socket connect(ServerSocket serverSocket) throws Exception {
+        Socket socket = SocketChannel.open().socket();
+        socket.connect(new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort()), 5000);
+        socket.getChannel().configureBlocking(false);
+        socket.setSoTimeout(200);
+        return socket;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PacketBufferPool}.
+ */
+public class PacketBufferPoolTest {
+
+    // requests are rounded up to power-of-two size classes, starting at 512 bytes
+    @Test
+    public void sizeClasses() {
+        PacketBufferPool pool = new PacketBufferPool(0);
+        assertEquals(512, pool.acquire(1).length);
+        assertEquals(512, pool.acquire(512).length);
+        assertEquals(1024, pool.acquire(513).length);
+        assertEquals(1 << 24, pool.acquire(NativeConstants.MAX_PACKET_SIZE).length);
+        assertEquals((1 << 24) + 1, pool.acquire((1 << 24) + 1).length); // above the largest class: exact size
+        assertEquals(5, pool.getAllocationCount());
+        assertEquals(0, pool.getReuseCount());
+    }
+
+    // a released array is handed out again for any request of its size class
+    @Test
+    public void reuseReleasedArray() {
+        PacketBufferPool pool = new PacketBufferPool(4096);
+        byte[] buf = pool.acquire(1000);
+        pool.release(buf);
+        assertEquals(1024, pool.getRetainedBytes());
+        assertSame(buf, pool.acquire(600));
+        assertEquals(0, pool.getRetainedBytes());
+        assertNotSame(buf, pool.acquire(600));
+        assertEquals(2, pool.getAllocationCount());
+        assertEquals(1, pool.getReuseCount());
+        assertEquals(1024, pool.getReusedBytes());
+    }
+
+    // arrays not of a pooled size, or over the pool limit, are discarded
+    @Test
+    public void discardOverLimit() {
+        PacketBufferPool pool = new PacketBufferPool(1024);
+        pool.release(new byte[1000]);
+        pool.release(new byte[1024]);
+        pool.release(new byte[512]);
+        pool.release(null);
+        assertEquals(1, pool.getReleaseCount());
+        assertEquals(2, pool.getDiscardCount());
+        assertEquals(1024, pool.getRetainedBytes());
+    }
+
+    // clear() drops the pooled arrays and gives their bytes back to the VM-wide count
+    @Test
+    public void clear() {
+        long globalBefore = PacketBufferPool.getGlobalRetainedBytes();
+        PacketBufferPool pool = new PacketBufferPool(1 << 20);
+        pool.release(new byte[2048]);
+        pool.release(new byte[4096]);
+        assertEquals(globalBefore + 6144, PacketBufferPool.getGlobalRetainedBytes());
+        pool.clear();
+        assertEquals(0, pool.getRetainedBytes());
+        assertEquals(globalBefore, PacketBufferPool.getGlobalRetainedBytes());
+        assertEquals(512, pool.acquire(512).length);
+        assertEquals(1, pool.getAllocationCount());
+    }
+
+}
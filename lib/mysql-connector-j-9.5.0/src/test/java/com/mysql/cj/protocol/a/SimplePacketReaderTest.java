@@ -21,6 +21,7 @@
 package com.mysql.cj.protocol.a;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -212,6 +213,33 @@ public class SimplePacketReaderTest {
         }
     }
 
+    // a reused payload that is too small grows with an array from the pool, and gives its previous array back
+    @Test
+    public void growReusedPayloadFromPool() throws IOException {
+        RuntimeProperty<Integer> maxAllowedPacket = new JdbcPropertySetImpl().getProperty(PropertyKey.maxAllowedPacket);
+        byte[] data = new byte[600];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        SocketConnection connection = new FixedBufferSocketConnection(data);
+        PacketBufferPool pool = new PacketBufferPool(1024 * 1024);
+        MessageReader<NativePacketHeader, NativePacketPayload> reader = new SimplePacketReader(connection, maxAllowedPacket, pool);
+        byte[] previous = new byte[512];
+        NativePacketPayload reused = new NativePacketPayload(previous);
+
+        NativePacketPayload b = reader.readMessage(Optional.of(reused), new NativePacketHeader(new byte[] { 88, 2, 0, 0 }));
+        assertSame(reused, b);
+        assertEquals(600, b.getPayloadLength());
+        assertEquals(1024, b.getByteBuffer().length);
+        for (int i = 0; i < 600; i++) {
+            assertEquals((byte) i, b.getByteBuffer()[i]);
+        }
+        assertEquals(1, pool.getAllocationCount());
+        assertEquals(1, pool.getReleaseCount());
+        assertEquals(512, pool.getRetainedBytes());
+        assertSame(previous, pool.acquire(100));
+    }
+
     // TODO any boundary conditions or large packet issues?
 
     public static class FixedBufferSocketConnection extends MockSocketConnection {
@@ -20,10 +20,14 @@
 
 package testsuite.regression;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
@@ -39,6 +43,12 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.Disabled;
@@ -47,6 +57,7 @@ import org.junit.jupiter.api.Test;
 import com.mysql.cj.conf.PropertyDefinitions.SslMode;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
+import com.mysql.cj.util.Util;
 
 import testsuite.BaseTestCase;
 
@@ -504,4 +515,80 @@ public class StressRegressionTest extends BaseTestCase {
         assertTrue(timeElapsedPostFix < timeElapsedPriorFix);
     }
 
+    /**
+     * Tests that thousands of virtual threads sharing a small pool of connections never block on a monitor while the driver does socket I/O, which would pin
+     * their carrier threads.
+     *
+     * Needs Java 21 or later and the JVM option -Djdk.tracePinnedThreads=short (or full), which makes the JVM report every virtual thread that parks while
+     * pinned.
+     */
+    @Test
+    public void testVirtualThreadPinning() throws Exception {
+        assumeTrue(Util.getJVMVersion() >= 21 && System.getProperty("jdk.tracePinnedThreads") != null,
+                "This test requires Java 21 or later and the JVM option -Djdk.tracePinnedThreads.");
+
+        final int poolSize = 8;
+        final int numTasks = 5000;
+
+        createTable("testVirtualThreadPinning", "(id INT PRIMARY KEY, val VARCHAR(32))");
+        this.stmt.executeUpdate("INSERT INTO testVirtualThreadPinning VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+        props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+        BlockingQueue<Connection> pool = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add(getConnectionWithProps(props));
+        }
+
+        // The JVM prints the pinned stack traces to System.out.
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream pinnedTraces = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(pinnedTraces, true));
+        AtomicInteger completed = new AtomicInteger();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() only exists since Java 21.
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            for (int i = 0; i < numTasks; i++) {
+                final int id = i % 3 + 1;
+                executor.execute(() -> {
+                    try {
+                        Connection c = pool.take();
+                        try (PreparedStatement ps = c.prepareStatement("SELECT val, SLEEP(0.001) FROM testVirtualThreadPinning WHERE id = ?")) {
+                            ps.setQueryTimeout(30);
+                            ps.setInt(1, id);
+                            try (ResultSet r = ps.executeQuery()) {
+                                assertTrue(r.next());
+                            }
+                            completed.incrementAndGet();
+                        } finally {
+                            pool.put(c);
+                        }
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "Virtual threads didn't finish; carrier threads may be exhausted.");
+        } finally {
+            System.setOut(stdout);
+            for (Connection c : pool) {
+                c.close();
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            fail("Query failed in a virtual thread.", failures.get(0));
+        }
+        assertEquals(numTasks, completed.get());
+
+        String traces = pinnedTraces.toString();
+        for (String line : traces.split("\\R")) {
+            // Lines of frames holding a monitor end with "<== monitors:n".
+            assertFalse(line.contains("<== monitors") && line.contains("com.mysql.cj."), "Driver pinned a carrier thread:" + System.lineSeparator() + traces);
+        }
+    }
+
 }
@@ -74,7 +74,10 @@ import org.junit.jupiter.api.Test;
 import com.mysql.cj.CharsetMappingWrapper;
 import com.mysql.cj.MysqlConnection;
 import com.mysql.cj.MysqlType;
+import com.mysql.cj.NativeSession;
 import com.mysql.cj.Query;
+import com.mysql.cj.QueryTimeoutService;
+import com.mysql.cj.conf.PropertyDefinitions;
 import com.mysql.cj.conf.PropertyDefinitions.SslMode;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
@@ -636,6 +639,90 @@ public class StatementsTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests that query timeouts are scheduled on the shared timer and that a second timeout on the same host reuses the control session of the first one.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQueryTimeoutReusesControlSession() throws Exception {
+        assumeTrue(Integer.getInteger(PropertyDefinitions.SYSP_queryTimeoutControlConnectionsPerHost, 2) > 0, "Control sessions aren't pooled.");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+        props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+
+        try (Connection timeoutConn = getConnectionWithProps(props)) {
+            final Statement timeoutStmt = timeoutConn.createStatement();
+            timeoutStmt.setQueryTimeout(1);
+
+            assertThrows(MySQLTimeoutException.class, () -> {
+                timeoutStmt.execute("SELECT SLEEP(30)");
+                return null;
+            });
+            long created = QueryTimeoutService.getControlSessionCreationCount();
+            long reused = QueryTimeoutService.getControlSessionReuseCount();
+
+            assertThrows(MySQLTimeoutException.class, () -> {
+                timeoutStmt.execute("SELECT SLEEP(30)");
+                return null;
+            });
+            assertEquals(created, QueryTimeoutService.getControlSessionCreationCount(), "The second timeout opened a new control session.");
+            assertEquals(reused + 1, QueryTimeoutService.getControlSessionReuseCount());
+
+            long timerThreads = Thread.getAllStackTraces().keySet().stream().filter(t -> "mysql-cj-query-timeout-timer".equals(t.getName())).count();
+            assertEquals(1, timerThreads);
+        }
+    }
+
+    /**
+     * Tests that a query timeout whose pooled control session was closed by the server retries once with a new control session.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQueryTimeoutRetriesWithNewControlSession() throws Exception {
+        assumeTrue(Integer.getInteger(PropertyDefinitions.SYSP_queryTimeoutControlConnectionsPerHost, 2) > 0, "Control sessions aren't pooled.");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+        props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+
+        try (Connection timeoutConn = getConnectionWithProps(props)) {
+            final Statement timeoutStmt = timeoutConn.createStatement();
+            timeoutStmt.setQueryTimeout(1);
+
+            assertThrows(MySQLTimeoutException.class, () -> {
+                timeoutStmt.execute("SELECT SLEEP(30)");
+                return null;
+            });
+
+            // Kill the idle control sessions from the server side.
+            NativeSession session = (NativeSession) ((JdbcConnection) timeoutConn).getSession();
+            List<NativeSession> idleSessions = new ArrayList<>();
+            NativeSession controlSession;
+            while ((controlSession = QueryTimeoutService.acquireControlSession(session.getHostInfo(), session.getPropertySet())) != null) {
+                idleSessions.add(controlSession);
+            }
+            assertFalse(idleSessions.isEmpty(), "The first timeout didn't keep its control session.");
+            for (NativeSession idleSession : idleSessions) {
+                this.stmt.execute("KILL " + idleSession.getThreadId());
+                QueryTimeoutService.releaseControlSession(session.getHostInfo(), session.getPropertySet(), idleSession, true);
+            }
+            long created = QueryTimeoutService.getControlSessionCreationCount();
+            long reused = QueryTimeoutService.getControlSessionReuseCount();
+
+            long begin = System.currentTimeMillis();
+            assertThrows(MySQLTimeoutException.class, () -> {
+                timeoutStmt.execute("SELECT SLEEP(30)");
+                return null;
+            });
+            assertTrue(System.currentTimeMillis() - begin < 30000, "Probably wasn't actually cancelled");
+            assertEquals(reused + 1, QueryTimeoutService.getControlSessionReuseCount());
+            assertEquals(created + 1, QueryTimeoutService.getControlSessionCreationCount());
+        }
+    }
+
     @Test
     public void testClose() throws SQLException {
         Statement closeStmt = null;
@@ -36,6 +36,9 @@ CREATE TABLE IF NOT EXISTS empleado
     fecha_actualizacion TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
         ON UPDATE CURRENT_TIMESTAMP,
 
+    -- Control de concurrencia optimista: cada UPDATE exige la versión leída y la incrementa
+    version             INT         NOT NULL DEFAULT 0,
+
     -- Clave primaria
     PRIMARY KEY (id),
 
@@ -47,9 +50,17 @@ CREATE TABLE IF NOT EXISTS empleado
 
     -- Índices para optimización de consultas
     INDEX idx_empleado_nombre_apellido (nombre, apellido),
+    -- Búsqueda por prefijo de apellido (el índice anterior sólo sirve para el nombre)
+    INDEX idx_empleado_apellido_nombre (apellido, nombre),
     INDEX idx_empleado_area (area),
-    INDEX idx_empleado_eliminado (eliminado),
-    INDEX idx_empleado_fecha_ingreso (fecha_ingreso)
+    -- Bajas lógicas por antigüedad (archivado); también cubre los filtros por eliminado
+    INDEX idx_empleado_eliminado (eliminado, fecha_actualizacion),
+    INDEX idx_empleado_fecha_ingreso (fecha_ingreso),
+    -- Índices de cobertura para los reportes agrupados (sólo empleados activos)
+    INDEX idx_empleado_reporte_area (eliminado, area),
+    INDEX idx_empleado_reporte_ingreso (eliminado, fecha_ingreso),
+    -- Feed de cambios: recorre (fecha_actualizacion, id) en orden (InnoDB agrega la PK)
+    INDEX idx_empleado_fecha_actualizacion (fecha_actualizacion)
 ) ENGINE = InnoDB;
 
 -- -----------------------------------------------------
@@ -76,6 +87,9 @@ CREATE TABLE IF NOT EXISTS legajo
     fecha_actualizacion TIMESTAMP                   NOT NULL DEFAULT CURRENT_TIMESTAMP
         ON UPDATE CURRENT_TIMESTAMP,
 
+    -- Control de concurrencia optimista
+    version             INT                         NOT NULL DEFAULT 0,
+
     -- Relación con Empleado (1-1)
     empleado_id         BIGINT                      NOT NULL,
 
@@ -96,6 +110,10 @@ CREATE TABLE IF NOT EXISTS legajo
     INDEX idx_legajo_eliminado (eliminado),
     INDEX idx_legajo_fecha_alta (fecha_alta),
     INDEX idx_legajo_estado_categoria (estado, categoria),
+    -- Índice de cobertura para los listados de resumen (id, nro_legajo, estado, categoria)
+    INDEX idx_legajo_resumen (eliminado, estado, categoria, nro_legajo),
+    -- Feed de cambios
+    INDEX idx_legajo_fecha_actualizacion (fecha_actualizacion),
 
     -- Clave foránea (relación con empleado)
     CONSTRAINT fk_legajo_empleado_id
@@ -105,4 +123,71 @@ CREATE TABLE IF NOT EXISTS legajo
             ON DELETE CASCADE
             -- La PK de empleado no debería modificarse
             ON UPDATE NO ACTION
-) ENGINE = InnoDB;
\ No newline at end of file
+) ENGINE = InnoDB;
+
+-- -----------------------------------------------------
+-- Tabla de marcas de sincronización
+-- Última fila del feed de cambios leída por cada sistema externo
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS sincronizacion_marca
+(
+    consumidor          VARCHAR(50)                  NOT NULL,
+    origen              ENUM ('EMPLEADO', 'LEGAJO')  NOT NULL,
+
+    -- Posición: fecha_actualizacion e id de la última fila entregada
+    -- (DATETIME para que no se actualice sola como un TIMESTAMP)
+    marca_fecha         DATETIME                     NOT NULL,
+    marca_id            BIGINT                       NOT NULL,
+
+    -- Auditoría
+    fecha_actualizacion TIMESTAMP                    NOT NULL DEFAULT CURRENT_TIMESTAMP
+        ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (consumidor, origen)
+) ENGINE = InnoDB;
+
+-- -----------------------------------------------------
+-- Tablas históricas (archivado)
+-- Empleados y legajos dados de baja hace más del período de retención.
+-- Mismas columnas que las tablas principales, sin AUTO_INCREMENT ni
+-- restricciones de unicidad (el DNI o el nro_legajo pueden reutilizarse).
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS empleado_historico
+(
+    id                  BIGINT      NOT NULL,
+    eliminado           BOOLEAN     NOT NULL,
+    nombre              VARCHAR(80) NOT NULL,
+    apellido            VARCHAR(80) NOT NULL,
+    dni                 VARCHAR(15) NOT NULL,
+    email               VARCHAR(120),
+    fecha_ingreso       DATE,
+    area                VARCHAR(50),
+    fecha_creacion      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version             INT         NOT NULL,
+
+    -- Momento en que se movió a la tabla histórica
+    fecha_archivado     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id),
+    INDEX idx_empleado_historico_dni (dni)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS legajo_historico
+(
+    id                  BIGINT                      NOT NULL,
+    eliminado           BOOLEAN                     NOT NULL,
+    nro_legajo          VARCHAR(20)                 NOT NULL,
+    categoria           VARCHAR(30),
+    estado              ENUM ('ACTIVO', 'INACTIVO') NOT NULL,
+    fecha_alta          DATE                        NOT NULL,
+    observaciones       VARCHAR(255),
+    fecha_creacion      TIMESTAMP                   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP                   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version             INT                         NOT NULL,
+    empleado_id         BIGINT                      NOT NULL,
+    fecha_archivado     TIMESTAMP                   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id),
+    INDEX idx_legajo_historico_empleado_id (empleado_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,57 @@
+-- -----------------------------------------------------
+-- PROCEDIMIENTOS ALMACENADOS
+-- TFI Programación 2 - UTN
+-- Ejecutar después de create_database.sql
+-- -----------------------------------------------------
+
+USE tpi_prog2_empleados;
+
+-- -----------------------------------------------------
+-- Alta de un Empleado con su Legajo en un solo viaje al servidor.
+-- Inserta ambas filas en una transacción propia (si falla cualquiera de los
+-- dos INSERT se hace rollback y se propaga el error, ej. 1062 con el nombre de
+-- la constraint violada) y devuelve una fila con los dos ids generados.
+-- Debe llamarse con autocommit activo: START TRANSACTION confirmaría
+-- implícitamente una transacción abierta por el llamador.
+-- -----------------------------------------------------
+DROP PROCEDURE IF EXISTS sp_alta_empleado_legajo;
+
+DELIMITER $$
+
+CREATE PROCEDURE sp_alta_empleado_legajo(
+    IN p_nombre        VARCHAR(80),
+    IN p_apellido      VARCHAR(80),
+    IN p_dni           VARCHAR(15),
+    IN p_email         VARCHAR(120),
+    IN p_fecha_ingreso DATE,
+    IN p_area          VARCHAR(50),
+    IN p_nro_legajo    VARCHAR(20),
+    IN p_categoria     VARCHAR(30),
+    IN p_estado        VARCHAR(10),
+    IN p_fecha_alta    DATE,
+    IN p_observaciones VARCHAR(255)
+)
+BEGIN
+    DECLARE v_empleado_id BIGINT;
+
+    DECLARE EXIT HANDLER FOR SQLEXCEPTION
+        BEGIN
+            ROLLBACK;
+            RESIGNAL;
+        END;
+
+    START TRANSACTION;
+
+    INSERT INTO empleado (nombre, apellido, dni, email, fecha_ingreso, area)
+    VALUES (p_nombre, p_apellido, p_dni, p_email, p_fecha_ingreso, p_area);
+    SET v_empleado_id = LAST_INSERT_ID();
+
+    INSERT INTO legajo (nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id)
+    VALUES (p_nro_legajo, p_categoria, p_estado, p_fecha_alta, p_observaciones, v_empleado_id);
+
+    COMMIT;
+
+    SELECT v_empleado_id AS empleado_id, LAST_INSERT_ID() AS legajo_id;
+END $$
+
+DELIMITER ;
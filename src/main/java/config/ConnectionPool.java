@@ -0,0 +1,751 @@
+package config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool acotado de conexiones JDBC.
+ * <p>
+ * Reutiliza conexiones físicas para evitar el handshake (TCP + autenticación +
+ * variables de sesión) de {@link java.sql.DriverManager#getConnection} en cada
+ * operación. Las conexiones entregadas respetan el contrato de {@link Connection}:
+ * al llamar a {@code close()} la conexión física vuelve al pool en lugar de cerrarse.
+ * <p>
+ * Características:
+ * - Tamaño mínimo/máximo configurable (db.pool.minSize / db.pool.maxSize).
+ * - Validación de la conexión al prestarla si estuvo ociosa o si en su último préstamo
+ *   falló alguna operación ({@link Connection#isValid(int)}).
+ * - Los Statements y ResultSets entregados también se envuelven: un error de
+ *   comunicación (SQLState 08xxx) en cualquiera de ellos descarta la conexión física.
+ * - Desalojo de conexiones ociosas (idleTimeout) y renovación por antigüedad (maxLifetime).
+ * - Tiempo máximo de espera para obtener una conexión (acquireTimeout).
+ * - Detección de fugas: avisa por stderr si una conexión no se devuelve a tiempo.
+ * - Reutilización de PreparedStatements por conexión física para las sentencias
+ *   registradas en {@link StatementRegistry} (db.pool.statementCacheSize).
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Crea conexiones físicas nuevas (normalmente vía DriverManager).
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Si una conexión ociosa se usó hace menos de este tiempo (y sin errores) se presta
+     * sin validar, ahorrando el round trip de {@link Connection#isValid(int)} en ráfagas de uso.
+     */
+    private static final long VALIDATION_SKIP_WINDOW_MS = 500;
+
+    private static final String HOUSEKEEPER_THREAD_NAME = "db-pool-housekeeper";
+    private static final String SQL_STATE_CONNECTION_PREFIX = "08";
+
+    private static final String ERROR_POOL_CLOSED = "El pool de conexiones está cerrado";
+    private static final String ERROR_ACQUIRE_TIMEOUT =
+            "Tiempo de espera agotado (%d ms) al obtener una conexión del pool (activas: %d, máximo: %d)";
+    private static final String ERROR_ACQUIRE_INTERRUPTED = "Interrumpido mientras se esperaba una conexión del pool";
+    private static final String ERROR_LOGICAL_CLOSED = "La conexión ya fue devuelta al pool";
+    private static final String ERROR_CLOSE_PHYSICAL = "Error al cerrar una conexión física del pool: ";
+    private static final String ERROR_RESET_CONNECTION = "Error al restablecer una conexión del pool: ";
+    private static final String ERROR_FILL_POOL = "No se pudo completar el tamaño mínimo del pool: ";
+    private static final String WARNING_LEAK =
+            "ADVERTENCIA: posible fuga de conexión. Prestada hace %d ms y aún no devuelta al pool.";
+
+    private final ConnectionPoolConfig config;
+    private final ConnectionFactory connectionFactory;
+
+    /** Limita la cantidad de conexiones prestadas simultáneamente a maxSize. */
+    private final Semaphore permits;
+    /** Conexiones físicas disponibles. LIFO: se reutiliza la más recientemente usada. */
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    /** Conexiones físicas actualmente prestadas (usado para la detección de fugas). */
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    /** Total de conexiones físicas abiertas (ociosas + prestadas). */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    /** Statements preparados (primera vez en una conexión física) y reutilizados. */
+    private final AtomicLong statementPrepares = new AtomicLong();
+    private final AtomicLong statementReuses = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Crea el pool y abre las conexiones mínimas configuradas.
+     *
+     * @param config            configuración del pool.
+     * @param connectionFactory fábrica de conexiones físicas.
+     */
+    public ConnectionPool(ConnectionPoolConfig config, ConnectionFactory connectionFactory) {
+        if (config == null || connectionFactory == null) {
+            throw new IllegalArgumentException("La configuración y la fábrica de conexiones no pueden ser null");
+        }
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        fillToMinimum();
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, HOUSEKEEPER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.getHousekeepingPeriodMs();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // --- API pública ---
+
+    /**
+     * Obtiene una conexión del pool, esperando como máximo acquireTimeoutMs.
+     * La conexión devuelta debe cerrarse (try-with-resources) para devolverla al pool.
+     *
+     * @return una conexión lógica lista para usar.
+     * @throws SQLException si el pool está cerrado, se agota el tiempo de espera
+     *                      o no se puede abrir una conexión física nueva.
+     */
+    public Connection getConnection() throws SQLException {
+        ensureOpen();
+        acquirePermit();
+        try {
+            PooledConnection pooled = takeIdleValidConnection();
+            if (pooled == null) {
+                pooled = openPhysicalConnection();
+            }
+            pooled.markBorrowed(config.getLeakDetectionThresholdMs() > 0);
+            borrowed.add(pooled);
+            return pooled.newLogicalConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Cierra el pool: detiene las tareas de mantenimiento y cierra todas las
+     * conexiones ociosas. Las conexiones prestadas se cierran al devolverse.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closePhysical(pooled);
+        }
+    }
+
+    /**
+     * Cantidad de conexiones prestadas en este momento.
+     */
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * Cantidad de conexiones ociosas disponibles en este momento.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Cantidad total de conexiones físicas abiertas.
+     */
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Cantidad de PreparedStatements registrados que se prepararon en alguna
+     * conexión física (fallos del caché de statements).
+     */
+    public long getStatementPrepareCount() {
+        return statementPrepares.get();
+    }
+
+    /**
+     * Cantidad de veces que se reutilizó un PreparedStatement ya preparado
+     * (aciertos del caché de statements: parseo y prepare evitados).
+     */
+    public long getStatementReuseCount() {
+        return statementReuses.get();
+    }
+
+    /**
+     * Configuración con la que se creó el pool.
+     */
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+
+    // --- Préstamo y devolución ---
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException(String.format(ERROR_ACQUIRE_TIMEOUT,
+                        config.getAcquireTimeoutMs(), getActiveCount(), config.getMaxSize()), "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ERROR_ACQUIRE_INTERRUPTED, "08001", e);
+        }
+    }
+
+    /**
+     * Toma la conexión ociosa más reciente que siga siendo válida.
+     * Las conexiones vencidas o inválidas se cierran y se descartan.
+     *
+     * @return una conexión válida, o null si no hay ninguna disponible.
+     */
+    private PooledConnection takeIdleValidConnection() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (pooled.isExpired(now, config.getMaxLifetimeMs())) {
+                closePhysical(pooled);
+                continue;
+            }
+            boolean skipValidation = now - pooled.getLastReturnedAt() <= VALIDATION_SKIP_WINDOW_MS
+                    && !pooled.hasFailedDuringBorrow();
+            if (!skipValidation && !pooled.isValid(config.getValidationTimeoutSeconds())) {
+                closePhysical(pooled);
+                continue;
+            }
+            return pooled;
+        }
+        return null;
+    }
+
+    private PooledConnection openPhysicalConnection() throws SQLException {
+        totalConnections.incrementAndGet();
+        try {
+            return newPooledConnection();
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve una conexión física al pool. Llamado al cerrar la conexión lógica.
+     * Si la conexión quedó rota, vencida o el pool está cerrado, se cierra físicamente.
+     */
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            boolean reusable = !closed
+                    && !pooled.isBroken()
+                    && !pooled.isExpired(System.currentTimeMillis(), config.getMaxLifetimeMs())
+                    && totalConnections.get() <= config.getMaxSize()
+                    && pooled.resetState();
+            if (reusable) {
+                pooled.markReturned();
+                idle.offerFirst(pooled);
+            } else {
+                closePhysical(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledConnection newPooledConnection() throws SQLException {
+        Connection physical = connectionFactory.create();
+        StatementCache statementCache = config.getStatementCacheSize() > 0
+                ? new StatementCache(physical, config.getStatementCacheSize(), statementPrepares, statementReuses)
+                : null;
+        return new PooledConnection(this, physical, statementCache);
+    }
+
+    private void closePhysical(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.getPhysical().close();
+        } catch (SQLException e) {
+            System.err.println(ERROR_CLOSE_PHYSICAL + e.getMessage());
+        }
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException(ERROR_POOL_CLOSED, "08003");
+        }
+    }
+
+    // --- Mantenimiento periódico ---
+
+    /**
+     * Tarea periódica: desaloja ociosas/vencidas, repone el mínimo y detecta fugas.
+     */
+    private void housekeep() {
+        try {
+            evictIdleConnections();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            // Nunca dejar morir el hilo de mantenimiento
+            System.err.println(ERROR_FILL_POOL + e.getMessage());
+        }
+    }
+
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> candidates = new ArrayList<>(idle);
+        for (PooledConnection pooled : candidates) {
+            boolean expired = pooled.isExpired(now, config.getMaxLifetimeMs());
+            boolean idleTooLong = config.getIdleTimeoutMs() > 0
+                    && now - pooled.getLastReturnedAt() > config.getIdleTimeoutMs()
+                    && totalConnections.get() > config.getMinSize();
+            // remove() garantiza que no se desaloje una conexión que otro hilo acaba de tomar
+            if ((expired || idleTooLong) && idle.remove(pooled)) {
+                closePhysical(pooled);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed) {
+            int current = totalConnections.get();
+            if (current >= config.getMinSize()) {
+                return;
+            }
+            if (!totalConnections.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            try {
+                PooledConnection pooled = newPooledConnection();
+                pooled.markReturned();
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                System.err.println(ERROR_FILL_POOL + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = config.getLeakDetectionThresholdMs();
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : borrowed) {
+            long heldFor = now - pooled.getBorrowedAt();
+            if (heldFor > threshold && pooled.markLeakReported()) {
+                System.err.println(String.format(WARNING_LEAK, heldFor));
+                Throwable origin = pooled.getBorrowOrigin();
+                if (origin != null) {
+                    origin.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Envoltorio de una conexión física administrada por el pool.
+     * Guarda los tiempos de vida y el estado que hay que restablecer al devolverla.
+     */
+    static final class PooledConnection {
+
+        private final ConnectionPool pool;
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private final long createdAt;
+
+        private volatile long lastReturnedAt;
+        private volatile long borrowedAt;
+        private volatile Throwable borrowOrigin;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+        /** Alguna operación falló con SQLException durante el último préstamo. */
+        private volatile boolean failedDuringBorrow;
+
+        // Estado de sesión modificado durante el préstamo (se restablece al devolver)
+        private boolean autoCommitChanged;
+        private boolean readOnlyChanged;
+        private boolean isolationChanged;
+        private int defaultIsolation = -1;
+
+        private PooledConnection(ConnectionPool pool, Connection physical, StatementCache statementCache) {
+            this.pool = pool;
+            this.physical = physical;
+            this.statementCache = statementCache;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = createdAt;
+        }
+
+        Connection getPhysical() {
+            return physical;
+        }
+
+        /**
+         * Devuelve el PreparedStatement cacheado para una sentencia registrada, o
+         * null si la sentencia no es reutilizable (no registrada, caché deshabilitado
+         * o statement ya en uso).
+         */
+        PreparedStatement checkoutStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            if (statementCache == null || !StatementRegistry.isRegistered(sql)) {
+                return null;
+            }
+            return statementCache.checkout(sql, autoGeneratedKeys);
+        }
+
+        long getLastReturnedAt() {
+            return lastReturnedAt;
+        }
+
+        long getBorrowedAt() {
+            return borrowedAt;
+        }
+
+        Throwable getBorrowOrigin() {
+            return borrowOrigin;
+        }
+
+        boolean isBroken() {
+            return broken;
+        }
+
+        void markBroken() {
+            broken = true;
+        }
+
+        boolean hasFailedDuringBorrow() {
+            return failedDuringBorrow;
+        }
+
+        /**
+         * Registra un error de la conexión, de un Statement o de un ResultSet. Si es de
+         * comunicación la conexión queda rota; si no, igual se valida en el próximo préstamo.
+         */
+        void recordFailure(SQLException e) {
+            failedDuringBorrow = true;
+            if (isConnectionError(e)) {
+                broken = true;
+            }
+        }
+
+        boolean isExpired(long now, long maxLifetimeMs) {
+            return maxLifetimeMs > 0 && now - createdAt > maxLifetimeMs;
+        }
+
+        boolean isValid(int timeoutSeconds) {
+            try {
+                return physical.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void markBorrowed(boolean captureOrigin) {
+            borrowedAt = System.currentTimeMillis();
+            borrowOrigin = captureOrigin ? new Exception("Conexión prestada en:") : null;
+            leakReported = false;
+            failedDuringBorrow = false;
+        }
+
+        void markReturned() {
+            lastReturnedAt = System.currentTimeMillis();
+            borrowOrigin = null;
+        }
+
+        /**
+         * Marca la fuga como reportada. Devuelve true sólo la primera vez.
+         */
+        synchronized boolean markLeakReported() {
+            if (leakReported) {
+                return false;
+            }
+            leakReported = true;
+            return true;
+        }
+
+        Connection newLogicalConnection() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LogicalConnectionHandler(this));
+        }
+
+        /**
+         * Registra los cambios de estado de sesión realizados por el usuario de la conexión.
+         */
+        void trackStateChange(String methodName) throws SQLException {
+            switch (methodName) {
+                case "setAutoCommit" -> autoCommitChanged = true;
+                case "setReadOnly" -> readOnlyChanged = true;
+                case "setTransactionIsolation" -> {
+                    if (!isolationChanged) {
+                        defaultIsolation = physical.getTransactionIsolation();
+                        isolationChanged = true;
+                    }
+                }
+                default -> {
+                    // Otros métodos no alteran el estado que el pool restablece
+                }
+            }
+        }
+
+        /**
+         * Deja la conexión como recién abierta: sin transacción pendiente,
+         * auto-commit activo, lectura/escritura y aislamiento por defecto.
+         *
+         * @return true si la conexión quedó reutilizable.
+         */
+        boolean resetState() {
+            try {
+                if (autoCommitChanged && !physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (readOnlyChanged) {
+                    physical.setReadOnly(false);
+                }
+                if (isolationChanged) {
+                    physical.setTransactionIsolation(defaultIsolation);
+                }
+                physical.clearWarnings();
+                autoCommitChanged = false;
+                readOnlyChanged = false;
+                isolationChanged = false;
+                return true;
+            } catch (SQLException e) {
+                System.err.println(ERROR_RESET_CONNECTION + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Conexión lógica entregada al usuario del pool. Delegan todas las llamadas
+     * en la conexión física salvo {@code close()}, que la devuelve al pool.
+     * Cada préstamo crea un handler nuevo, así una referencia vieja no puede
+     * seguir usando la conexión física después de devolverla.
+     */
+    private static final class LogicalConnectionHandler implements InvocationHandler {
+
+        /** Mínimo de statements registrados antes de buscar los ya cerrados. */
+        private static final int MIN_PRUNE_STATEMENTS = 16;
+
+        private final PooledConnection pooled;
+        /** Statements entregados en este préstamo; los cerrados se quitan en {@link #track}. */
+        private final Set<Statement> openStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int pruneThreshold = MIN_PRUNE_STATEMENTS;
+        private boolean logicallyClosed;
+
+        private LogicalConnectionHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    closeLogical();
+                    return null;
+                case "isClosed":
+                    return logicallyClosed || pooled.getPhysical().isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.getPhysical() + "]";
+                default:
+                    break;
+            }
+
+            if (logicallyClosed) {
+                throw new SQLException(ERROR_LOGICAL_CLOSED, "08003");
+            }
+
+            try {
+                pooled.trackStateChange(name);
+                Object result = null;
+                if ("prepareStatement".equals(name)) {
+                    result = checkoutCachedStatement(method, args);
+                }
+                if (result == null) {
+                    result = invokeTarget(pooled.getPhysical(), method, args);
+                }
+                if (result instanceof Statement statement) {
+                    Statement tracked = (Statement) wrap(statement, method.getReturnType(), pooled, proxy, null);
+                    track(tracked);
+                    QueryDeadline.apply(tracked);
+                    return tracked;
+                }
+                return result;
+            } catch (SQLException e) {
+                pooled.recordFailure(e);
+                throw e;
+            }
+        }
+
+        /**
+         * Intercepta prepareStatement(sql) y prepareStatement(sql, autoGeneratedKeys)
+         * para reutilizar el statement de la conexión física cuando es posible.
+         */
+        private PreparedStatement checkoutCachedStatement(Method method, Object[] args) throws SQLException {
+            Class<?>[] types = method.getParameterTypes();
+            if (types.length == 1) {
+                return pooled.checkoutStatement((String) args[0], Statement.NO_GENERATED_KEYS);
+            }
+            if (types.length == 2 && types[1] == int.class) {
+                return pooled.checkoutStatement((String) args[0], (Integer) args[1]);
+            }
+            return null;
+        }
+
+        /**
+         * Registra un statement para cerrarlo al devolver la conexión. En un préstamo
+         * largo (ej. una importación masiva) el usuario cierra la mayoría, así que al
+         * llegar al umbral se quitan los cerrados y el umbral pasa a ser el doble de
+         * los que siguen abiertos: el conjunto no crece sin límite y el costo de
+         * recorrerlo se reparte entre los registros.
+         */
+        private void track(Statement statement) {
+            if (openStatements.size() >= pruneThreshold) {
+                openStatements.removeIf(LogicalConnectionHandler::isClosedQuietly);
+                pruneThreshold = Math.max(MIN_PRUNE_STATEMENTS, openStatements.size() * 2);
+            }
+            openStatements.add(statement);
+        }
+
+        private static boolean isClosedQuietly(Statement statement) {
+            try {
+                return statement.isClosed();
+            } catch (SQLException e) {
+                return true;
+            }
+        }
+
+        /**
+         * Cierra los Statements que el usuario haya dejado abiertos y devuelve la
+         * conexión física al pool. Llamadas repetidas no tienen efecto.
+         */
+        private void closeLogical() {
+            if (logicallyClosed) {
+                return;
+            }
+            logicallyClosed = true;
+            for (Statement statement : openStatements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    pooled.markBroken();
+                }
+            }
+            openStatements.clear();
+            pooled.pool.release(pooled);
+        }
+
+    }
+
+    /**
+     * Statement o ResultSet entregado durante un préstamo: delega todo en el objeto
+     * real y registra en la PooledConnection las SQLException que lance, para que
+     * un error de comunicación descarte la conexión física en lugar de devolverla
+     * al pool. Los ResultSets que devuelve se envuelven de la misma forma.
+     */
+    private static final class TrackingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final PooledConnection pooled;
+        private final Object logicalConnection;
+        private final Object owner;
+
+        private TrackingHandler(Object target, PooledConnection pooled, Object logicalConnection, Object owner) {
+            this.target = target;
+            this.pooled = pooled;
+            this.logicalConnection = logicalConnection;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    if (target instanceof Statement) {
+                        return logicalConnection;
+                    }
+                    break;
+                case "getStatement":
+                    if (target instanceof ResultSet && owner != null) {
+                        return owner;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                Object result = invokeTarget(target, method, args);
+                if (result instanceof ResultSet resultSet && method.getReturnType() == ResultSet.class) {
+                    return wrap(resultSet, ResultSet.class, pooled, logicalConnection,
+                            target instanceof Statement ? proxy : owner);
+                }
+                return result;
+            } catch (SQLException e) {
+                pooled.recordFailure(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Envuelve un Statement o ResultSet con un {@link TrackingHandler}.
+     *
+     * @param type interfaz JDBC que declara el método que lo devolvió (ej. PreparedStatement).
+     */
+    private static Object wrap(Object target, Class<?> type, PooledConnection pooled, Object logicalConnection,
+                               Object owner) {
+        return Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[]{type},
+                new TrackingHandler(target, pooled, logicalConnection, owner));
+    }
+
+    /**
+     * Invoca el método sobre el objeto real, relanzando la excepción original.
+     */
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isConnectionError(SQLException e) {
+        String sqlState = e.getSQLState();
+        return sqlState != null && sqlState.startsWith(SQL_STATE_CONNECTION_PREFIX);
+    }
+}
@@ -0,0 +1,140 @@
+package config;
+
+import java.util.Properties;
+
+/**
+ * Parámetros de configuración del {@link ConnectionPool}.
+ * <p>
+ * Se leen de las claves {@code db.pool.*} de config.properties. Si una clave no
+ * está presente se usa el valor por defecto indicado en cada constante.
+ */
+public final class ConnectionPoolConfig {
+
+    // --- Claves de config.properties ---
+    static final String PROPERTY_ENABLED = "db.pool.enabled";
+    static final String PROPERTY_MIN_SIZE = "db.pool.minSize";
+    static final String PROPERTY_MAX_SIZE = "db.pool.maxSize";
+    static final String PROPERTY_IDLE_TIMEOUT_MS = "db.pool.idleTimeoutMs";
+    static final String PROPERTY_MAX_LIFETIME_MS = "db.pool.maxLifetimeMs";
+    static final String PROPERTY_ACQUIRE_TIMEOUT_MS = "db.pool.acquireTimeoutMs";
+    static final String PROPERTY_LEAK_DETECTION_MS = "db.pool.leakDetectionThresholdMs";
+    static final String PROPERTY_VALIDATION_TIMEOUT_S = "db.pool.validationTimeoutSeconds";
+    static final String PROPERTY_HOUSEKEEPING_MS = "db.pool.housekeepingPeriodMs";
+    static final String PROPERTY_STATEMENT_CACHE_SIZE = "db.pool.statementCacheSize";
+
+    // --- Valores por defecto ---
+    private static final boolean DEFAULT_ENABLED = true;
+    private static final int DEFAULT_MIN_SIZE = 2;
+    private static final int DEFAULT_MAX_SIZE = 10;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60 * 1000L;
+    private static final long DEFAULT_MAX_LIFETIME_MS = 30 * 60 * 1000L;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 30 * 1000L;
+    private static final long DEFAULT_LEAK_DETECTION_MS = 0L; // 0 = deshabilitado
+    private static final int DEFAULT_VALIDATION_TIMEOUT_S = 2;
+    private static final long DEFAULT_HOUSEKEEPING_MS = 30 * 1000L;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64; // 0 = deshabilitado
+
+    private static final String ERROR_INVALID_NUMBER = "Valor numérico inválido para la propiedad '%s': %s";
+    private static final String ERROR_INVALID_SIZES =
+            "Configuración de pool inválida: se requiere 0 <= minSize <= maxSize y maxSize > 0";
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long acquireTimeoutMs;
+    private final long leakDetectionThresholdMs;
+    private final int validationTimeoutSeconds;
+    private final long housekeepingPeriodMs;
+    private final int statementCacheSize;
+
+    private ConnectionPoolConfig(Properties properties) {
+        this.enabled = Boolean.parseBoolean(
+                properties.getProperty(PROPERTY_ENABLED, String.valueOf(DEFAULT_ENABLED)).trim());
+        this.minSize = (int) readLong(properties, PROPERTY_MIN_SIZE, DEFAULT_MIN_SIZE);
+        this.maxSize = (int) readLong(properties, PROPERTY_MAX_SIZE, DEFAULT_MAX_SIZE);
+        this.idleTimeoutMs = readLong(properties, PROPERTY_IDLE_TIMEOUT_MS, DEFAULT_IDLE_TIMEOUT_MS);
+        this.maxLifetimeMs = readLong(properties, PROPERTY_MAX_LIFETIME_MS, DEFAULT_MAX_LIFETIME_MS);
+        this.acquireTimeoutMs = readLong(properties, PROPERTY_ACQUIRE_TIMEOUT_MS, DEFAULT_ACQUIRE_TIMEOUT_MS);
+        this.leakDetectionThresholdMs = readLong(properties, PROPERTY_LEAK_DETECTION_MS, DEFAULT_LEAK_DETECTION_MS);
+        this.validationTimeoutSeconds =
+                (int) readLong(properties, PROPERTY_VALIDATION_TIMEOUT_S, DEFAULT_VALIDATION_TIMEOUT_S);
+        this.housekeepingPeriodMs = readLong(properties, PROPERTY_HOUSEKEEPING_MS, DEFAULT_HOUSEKEEPING_MS);
+        this.statementCacheSize =
+                (int) readLong(properties, PROPERTY_STATEMENT_CACHE_SIZE, DEFAULT_STATEMENT_CACHE_SIZE);
+
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException(ERROR_INVALID_SIZES);
+        }
+    }
+
+    /**
+     * Construye la configuración a partir de las propiedades cargadas de config.properties.
+     *
+     * @param properties propiedades de la aplicación.
+     * @return configuración del pool.
+     * @throws IllegalArgumentException si algún valor es inválido.
+     */
+    public static ConnectionPoolConfig fromProperties(Properties properties) {
+        return new ConnectionPoolConfig(properties);
+    }
+
+    private static long readLong(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_NUMBER, key, value), e);
+        }
+    }
+
+    // Getters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+
+    public long getAcquireTimeoutMs() {
+        return acquireTimeoutMs;
+    }
+
+    public long getLeakDetectionThresholdMs() {
+        return leakDetectionThresholdMs;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public long getHousekeepingPeriodMs() {
+        return housekeepingPeriodMs;
+    }
+
+    /**
+     * Cantidad máxima de PreparedStatements reutilizables por conexión física
+     * (0 deshabilita la reutilización, ver {@link StatementRegistry}).
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+}
@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DatabaseConnection {
 
@@ -18,15 +19,97 @@ public class DatabaseConnection {
     // --- Ruta de Búsqueda (File System - Raíz del proyecto) ---
     private static final String CONFIG_PATH_ROOT = "config.properties";
 
+    /**
+     * Propiedad de sistema con la ruta de un config.properties alternativo
+     * (ej: -Dtfi.config=/tmp/bench.properties). Si está definida tiene prioridad
+     * sobre las demás ubicaciones; la usan los benchmarks para apuntar a la BD embebida.
+     */
+    public static final String SYSTEM_PROPERTY_CONFIG_FILE = "tfi.config";
+
     private static final String PROPERTY_DB_URL = "db.url";
     private static final String PROPERTY_DB_NAME = "db.name";
     private static final String PROPERTY_DB_USER = "db.user";
     private static final String PROPERTY_DB_PASSWORD = "db.pass";
     private static final String JDBC_DRIVER_CLASS = "com.mysql.cj.jdbc.Driver";
 
+    /**
+     * Réplica de sólo lectura (opcional). Si db.replica.url está vacía todas las
+     * lecturas van al primario. El nombre de la BD es el mismo (db.name) y el
+     * usuario y la contraseña, si no se indican, también.
+     */
+    private static final String PROPERTY_REPLICA_URL = "db.replica.url";
+    private static final String PROPERTY_REPLICA_USER = "db.replica.user";
+    private static final String PROPERTY_REPLICA_PASSWORD = "db.replica.pass";
+
+    /**
+     * Después de una escritura, las lecturas siguen yendo al primario durante este
+     * tiempo (lectura de lo recién escrito). Debe superar el retraso esperado de la réplica.
+     */
+    private static final String PROPERTY_REPLICA_STALENESS_MS = "db.replica.stalenessBudgetMs";
+    private static final String DEFAULT_REPLICA_STALENESS_MS = "2000";
+
+    /**
+     * Prefijo para pasar propiedades adicionales al driver desde config.properties
+     * (ej: db.jdbc.useSSL=false se envía al driver como useSSL=false).
+     */
+    private static final String PROPERTY_JDBC_PREFIX = "db.jdbc.";
+    private static final String DRIVER_PROPERTY_USER = "user";
+    private static final String DRIVER_PROPERTY_PASSWORD = "password";
+
+    /**
+     * Propiedades del driver que la aplicación activa por defecto.
+     * - rewriteBatchedStatements: executeBatch() envía los INSERT de un lote como un
+     *   único INSERT multi-fila (un round trip por lote en lugar de uno por fila).
+     * - useServerPrepStmts: prepara las sentencias en el servidor (se parsean una
+     *   sola vez y luego sólo viajan los parámetros en formato binario).
+     * - cachePrepStmts / prepStmtCacheSize / prepStmtCacheSqlLimit: el driver
+     *   conserva los statements preparados por conexión, así el prepare en el
+     *   servidor se reutiliza entre llamadas mientras la conexión viva en el pool.
+     */
+    private static final String[][] DRIVER_DEFAULTS = {
+            {"rewriteBatchedStatements", "true"},
+            {"useServerPrepStmts", "true"},
+            {"cachePrepStmts", "true"},
+            {"prepStmtCacheSize", "250"},
+            {"prepStmtCacheSqlLimit", "2048"}
+    };
+
     private static final Properties CONFIG_PROPERTIES = new Properties();
     private static final String DB_URL;
 
+    /**
+     * Pool de conexiones compartido por toda la aplicación.
+     * Es null si el pool está deshabilitado (db.pool.enabled=false).
+     */
+    private static final ConnectionPool POOL;
+
+    /**
+     * Propiedades enviadas al driver al abrir cada conexión física (usuario,
+     * contraseña, valores por defecto y claves db.jdbc.*).
+     */
+    private static final Properties DRIVER_PROPERTIES;
+
+    /**
+     * URL de la réplica, o null si no hay réplica configurada.
+     */
+    private static final String REPLICA_URL;
+    private static final Properties REPLICA_DRIVER_PROPERTIES;
+    private static final long REPLICA_STALENESS_MS;
+
+    /**
+     * Pool de conexiones a la réplica (mismo tamaño que el del primario). Es
+     * null si no hay réplica o si el pool está deshabilitado.
+     */
+    private static final ConnectionPool REPLICA_POOL;
+
+    /** Momento (System.nanoTime) de la última escritura confirmada en el primario. */
+    private static volatile long lastWriteNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+
+    /** Lecturas atendidas por la réplica, por el primario y réplica no disponible. */
+    private static final AtomicLong REPLICA_READS = new AtomicLong();
+    private static final AtomicLong PRIMARY_READS = new AtomicLong();
+    private static final AtomicLong REPLICA_FALLBACKS = new AtomicLong();
+
     // Bloque estático: se ejecuta una sola vez cuando arranca la app
     static {
         try (InputStream input = findConfigFile()) { // No cambia
@@ -34,6 +117,13 @@ public class DatabaseConnection {
             loadProperties(input);
             loadJdbcDriver();
             DB_URL = buildDatabaseUrl();
+            DRIVER_PROPERTIES = buildDriverProperties();
+            POOL = createPool();
+            REPLICA_URL = buildReplicaUrl();
+            REPLICA_DRIVER_PROPERTIES = buildReplicaDriverProperties();
+            REPLICA_STALENESS_MS = Long.parseLong(
+                    getProperty(PROPERTY_REPLICA_STALENESS_MS, DEFAULT_REPLICA_STALENESS_MS));
+            REPLICA_POOL = createReplicaPool();
 
         } catch (IOException | ClassNotFoundException e) {
             e.printStackTrace();
@@ -44,12 +134,20 @@ public class DatabaseConnection {
     }
 
     /**
-     * MÉTODO MODIFICADO: Intenta cargar el config desde 3 ubicaciones.
+     * MÉTODO MODIFICADO: Intenta cargar el config desde 3 ubicaciones
+     * (o desde la ruta indicada en -Dtfi.config, si está definida).
      *
      * @return Un InputStream del archivo encontrado.
      * @throws IOException si no se encuentra el archivo en NINGUNA ubicación.
      */
     private static InputStream findConfigFile() throws IOException {
+        // 0. Si se indicó un archivo explícito (-Dtfi.config=...), se usa ese y no se busca en otro lado
+        String explicitPath = System.getProperty(SYSTEM_PROPERTY_CONFIG_FILE);
+        if (explicitPath != null && !explicitPath.trim().isEmpty()) {
+            System.out.println("Configuración indicada por -D" + SYSTEM_PROPERTY_CONFIG_FILE + ": " + explicitPath);
+            return new FileInputStream(explicitPath.trim());
+        }
+
         ClassLoader classLoader = DatabaseConnection.class.getClassLoader();
 
         // 1. Intenta la ruta IDEAL ("src/resources/config.properties")
@@ -104,10 +202,226 @@ public class DatabaseConnection {
                 + CONFIG_PROPERTIES.getProperty(PROPERTY_DB_NAME);
     }
 
+    /**
+     * Arma las propiedades del driver: credenciales, valores por defecto de la
+     * aplicación y, por último, las claves db.jdbc.* (que pueden sobrescribirlos).
+     */
+    private static Properties buildDriverProperties() {
+        Properties driverProperties = new Properties();
+        for (String[] defaultProperty : DRIVER_DEFAULTS) {
+            driverProperties.setProperty(defaultProperty[0], defaultProperty[1]);
+        }
+        for (String key : CONFIG_PROPERTIES.stringPropertyNames()) {
+            if (key.startsWith(PROPERTY_JDBC_PREFIX)) {
+                driverProperties.setProperty(key.substring(PROPERTY_JDBC_PREFIX.length()),
+                        CONFIG_PROPERTIES.getProperty(key).trim());
+            }
+        }
+        String user = CONFIG_PROPERTIES.getProperty(PROPERTY_DB_USER);
+        if (user != null) {
+            driverProperties.setProperty(DRIVER_PROPERTY_USER, user);
+        }
+        String password = CONFIG_PROPERTIES.getProperty(PROPERTY_DB_PASSWORD);
+        if (password != null) {
+            driverProperties.setProperty(DRIVER_PROPERTY_PASSWORD, password);
+        }
+        return driverProperties;
+    }
+
+    /**
+     * Crea el pool de conexiones según las claves db.pool.* de config.properties.
+     *
+     * @return el pool, o null si está deshabilitado.
+     */
+    private static ConnectionPool createPool() {
+        ConnectionPoolConfig poolConfig = ConnectionPoolConfig.fromProperties(CONFIG_PROPERTIES);
+        if (!poolConfig.isEnabled()) {
+            System.out.println("Pool de conexiones deshabilitado (" + ConnectionPoolConfig.PROPERTY_ENABLED + "=false).");
+            return null;
+        }
+        return new ConnectionPool(poolConfig, DatabaseConnection::openPhysicalConnection);
+    }
+
+    private static String buildReplicaUrl() {
+        String replicaUrl = getProperty(PROPERTY_REPLICA_URL, null);
+        return replicaUrl == null ? null : replicaUrl + CONFIG_PROPERTIES.getProperty(PROPERTY_DB_NAME);
+    }
+
+    /**
+     * Propiedades del driver para la réplica: las mismas del primario, con el
+     * usuario y la contraseña de db.replica.* si están definidos.
+     */
+    private static Properties buildReplicaDriverProperties() {
+        Properties replicaProperties = new Properties();
+        replicaProperties.putAll(DRIVER_PROPERTIES);
+        String user = getProperty(PROPERTY_REPLICA_USER, null);
+        if (user != null) {
+            replicaProperties.setProperty(DRIVER_PROPERTY_USER, user);
+        }
+        String password = CONFIG_PROPERTIES.getProperty(PROPERTY_REPLICA_PASSWORD);
+        if (password != null) {
+            replicaProperties.setProperty(DRIVER_PROPERTY_PASSWORD, password);
+        }
+        return replicaProperties;
+    }
+
+    /**
+     * Crea el pool de la réplica con la misma configuración db.pool.* del primario.
+     *
+     * @return el pool, o null si no hay réplica o el pool está deshabilitado.
+     */
+    private static ConnectionPool createReplicaPool() {
+        if (REPLICA_URL == null) {
+            return null;
+        }
+        System.out.println("Lecturas enrutadas a la réplica: " + REPLICA_URL);
+        ConnectionPoolConfig poolConfig = ConnectionPoolConfig.fromProperties(CONFIG_PROPERTIES);
+        if (!poolConfig.isEnabled()) {
+            return null;
+        }
+        return new ConnectionPool(poolConfig, DatabaseConnection::openReplicaConnection);
+    }
+
+    /**
+     * Obtiene una conexión a la base de datos.
+     * <p>
+     * Si el pool está habilitado, la conexión proviene del pool y al cerrarla
+     * (close()) se devuelve al pool en lugar de cerrarse físicamente.
+     *
+     * @return una conexión lista para usar.
+     * @throws SQLException si no se puede obtener la conexión.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-                DB_URL,
-                CONFIG_PROPERTIES.getProperty(PROPERTY_DB_USER),
-                CONFIG_PROPERTIES.getProperty(PROPERTY_DB_PASSWORD));
+        if (POOL != null) {
+            return POOL.getConnection();
+        }
+        return openPhysicalConnection();
+    }
+
+    /**
+     * Obtiene una conexión para una lectura fuera de transacción (getById,
+     * getAll, búsquedas, listados).
+     * <p>
+     * Si hay una réplica configurada la conexión es de la réplica, salvo que la
+     * última escritura haya sido hace menos de db.replica.stalenessBudgetMs: en ese
+     * caso se usa el primario para que se lea lo recién escrito. Si la réplica
+     * no responde también se usa el primario.
+     * <p>
+     * Las lecturas dentro de una transacción usan la conexión de la transacción
+     * (primario), no este método.
+     *
+     * @return una conexión (de sólo lectura si es de la réplica).
+     * @throws SQLException si no se puede obtener ninguna conexión.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        if (REPLICA_URL != null && !isWithinStalenessBudget()) {
+            try {
+                Connection replica = REPLICA_POOL != null ? REPLICA_POOL.getConnection() : openReplicaConnection();
+                REPLICA_READS.incrementAndGet();
+                return replica;
+            } catch (SQLException e) {
+                REPLICA_FALLBACKS.incrementAndGet();
+            }
+        }
+        PRIMARY_READS.incrementAndGet();
+        return getConnection();
+    }
+
+    /**
+     * Registra que se confirmó una escritura en el primario. Lo llaman
+     * TransactionManager al hacer commit y los DAOs en sus escrituras con autocommit.
+     * La ventana es global (no por usuario): cualquier escritura envía las
+     * lecturas al primario durante db.replica.stalenessBudgetMs.
+     */
+    public static void registrarEscritura() {
+        lastWriteNanos = System.nanoTime();
+    }
+
+    private static boolean isWithinStalenessBudget() {
+        return System.nanoTime() - lastWriteNanos < REPLICA_STALENESS_MS * 1_000_000L;
+    }
+
+    /**
+     * Indica si hay una réplica configurada (db.replica.url).
+     */
+    public static boolean isReplicaEnabled() {
+        return REPLICA_URL != null;
+    }
+
+    /**
+     * @return lecturas de {@link #getReadConnection()} atendidas por la réplica.
+     */
+    public static long getReplicaReadCount() {
+        return REPLICA_READS.get();
+    }
+
+    /**
+     * @return lecturas de {@link #getReadConnection()} atendidas por el primario
+     *         (sin réplica, dentro de la ventana posterior a una escritura o réplica caída).
+     */
+    public static long getPrimaryReadCount() {
+        return PRIMARY_READS.get();
+    }
+
+    /**
+     * @return veces que la réplica no pudo dar una conexión y se leyó del primario.
+     */
+    public static long getReplicaFallbackCount() {
+        return REPLICA_FALLBACKS.get();
+    }
+
+    /**
+     * Devuelve una propiedad de config.properties (por ejemplo, la configuración
+     * del caché), o el valor por defecto si no está definida.
+     *
+     * @param key          clave de la propiedad.
+     * @param defaultValue valor a devolver si la clave no existe.
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = CONFIG_PROPERTIES.getProperty(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
+    /**
+     * Abre una conexión física nueva con DriverManager (sin pasar por el pool).
+     */
+    static Connection openPhysicalConnection() throws SQLException {
+        return DriverManager.getConnection(DB_URL, DRIVER_PROPERTIES);
+    }
+
+    /**
+     * Abre una conexión física a la réplica. Se marca de sólo lectura en el
+     * servidor (SET SESSION TRANSACTION READ ONLY), así una escritura enrutada por
+     * error falla en lugar de aplicarse sólo en la réplica.
+     */
+    static Connection openReplicaConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(REPLICA_URL, REPLICA_DRIVER_PROPERTIES);
+        try {
+            conn.setReadOnly(true);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * Devuelve el pool de conexiones (por ejemplo, para consultar sus contadores),
+     * o null si está deshabilitado.
+     */
+    public static ConnectionPool getPool() {
+        return POOL;
+    }
+
+    /**
+     * Cierra el pool de conexiones (si está habilitado). Se llama al salir de la aplicación.
+     */
+    public static void shutdown() {
+        if (POOL != null) {
+            POOL.close();
+        }
+        if (REPLICA_POOL != null) {
+            REPLICA_POOL.close();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Plazo de las consultas del hilo actual.
+ * <p>
+ * Quien ejecuta una llamada con tiempo límite (ej. {@code EjecutorAsincrono})
+ * fija el plazo en el hilo que la ejecuta; el pool aplica el tiempo restante
+ * con {@link Statement#setQueryTimeout(int)} a cada Statement que entrega en
+ * ese hilo. Al vencerse, el driver cancela la consulta en el servidor (KILL
+ * QUERY) y la conexión sigue siendo usable, en lugar de interrumpir el hilo en
+ * medio de una lectura del socket, lo que cerraría la conexión.
+ * <p>
+ * Sólo aplica a las conexiones del pool (db.pool.enabled=true).
+ */
+public final class QueryDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private QueryDeadline() {
+        // Evita la instanciación
+    }
+
+    /**
+     * Fija el plazo del hilo actual.
+     *
+     * @param deadlineMillis instante límite (System.currentTimeMillis()).
+     */
+    public static void set(long deadlineMillis) {
+        DEADLINE.set(deadlineMillis);
+    }
+
+    /**
+     * Quita el plazo del hilo actual.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Aplica al Statement el tiempo que le queda al plazo del hilo, redondeado
+     * hacia arriba a segundos (al menos 1). No hace nada si el hilo no tiene plazo
+     * o si el Statement ya tiene un timeout menor.
+     */
+    static void apply(Statement statement) throws SQLException {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return;
+        }
+        long remainingMs = deadline - System.currentTimeMillis();
+        int seconds = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (remainingMs + 999) / 1000));
+        int current = statement.getQueryTimeout();
+        if (current == 0 || seconds < current) {
+            statement.setQueryTimeout(seconds);
+        }
+    }
+}
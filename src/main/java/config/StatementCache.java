@@ -0,0 +1,217 @@
+package config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de PreparedStatements de una conexión física del pool.
+ * <p>
+ * Las sentencias registradas en {@link StatementRegistry} se preparan una sola vez
+ * por conexión física y se reutilizan en los préstamos siguientes: el DAO sigue
+ * usando {@code try (PreparedStatement stmt = conn.prepareStatement(SQL))}, pero
+ * el {@code close()} del statement entregado sólo limpia los parámetros y lo deja
+ * disponible. Así se ahorra el parseo y el prepare en cada llamada.
+ * <p>
+ * Acotado: al superar el tamaño máximo se cierra el statement usado hace más
+ * tiempo. No es thread-safe: una conexión prestada la usa un solo hilo.
+ */
+final class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final AtomicLong prepareCounter;
+    private final AtomicLong reuseCounter;
+
+    /** Statements preparados por clave (SQL + generated keys), en orden de acceso. */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param physical       conexión física dueña de los statements.
+     * @param maxSize        cantidad máxima de statements en caché.
+     * @param prepareCounter contador (compartido por el pool) de statements preparados.
+     * @param reuseCounter   contador (compartido por el pool) de statements reutilizados.
+     */
+    StatementCache(Connection physical, int maxSize, AtomicLong prepareCounter, AtomicLong reuseCounter) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.prepareCounter = prepareCounter;
+        this.reuseCounter = reuseCounter;
+    }
+
+    /**
+     * Devuelve un PreparedStatement para la sentencia, reutilizando el de la
+     * conexión física si ya existe y no está en uso.
+     *
+     * @return el statement (su close() lo devuelve al caché), o null si el
+     *         statement cacheado ya está en uso en este préstamo.
+     */
+    PreparedStatement checkout(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            PreparedStatement statement = (autoGeneratedKeys == Statement.NO_GENERATED_KEYS)
+                    ? physical.prepareStatement(sql)
+                    : physical.prepareStatement(sql, autoGeneratedKeys);
+            prepareCounter.incrementAndGet();
+            entry = new Entry(key, statement, statement.getFetchSize(), statement.getMaxRows(),
+                    statement.getQueryTimeout());
+            entries.put(key, entry);
+            evictIfNeeded();
+        } else if (entry.inUse) {
+            // Uso anidado de la misma sentencia: el llamador prepara una nueva
+            return null;
+        } else {
+            reuseCounter.incrementAndGet();
+        }
+        entry.inUse = true;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatementHandler(entry));
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest.inUse) {
+                continue;
+            }
+            iterator.remove();
+            closeQuietly(eldest.statement);
+        }
+    }
+
+    /**
+     * Deja el statement listo para el próximo uso: sin parámetros, batch ni
+     * warnings, y con el fetchSize, maxRows y queryTimeout que tenía al prepararse
+     * (ej. leerPagina cambia el fetchSize). Si no se puede limpiar, se descarta
+     * del caché y se cierra.
+     */
+    private void checkin(Entry entry) {
+        try {
+            PreparedStatement statement = entry.statement;
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            statement.setFetchSize(entry.defaultFetchSize);
+            statement.setMaxRows(entry.defaultMaxRows);
+            statement.setQueryTimeout(entry.defaultQueryTimeout);
+            entry.inUse = false;
+        } catch (SQLException e) {
+            entries.remove(entry.key);
+            closeQuietly(entry.statement);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // El statement se descarta de todas formas
+        }
+    }
+
+    /**
+     * Clave del caché: la misma sentencia con y sin RETURN_GENERATED_KEYS son
+     * statements distintos para el driver.
+     */
+    private static final class Key {
+
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        private Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final PreparedStatement statement;
+        private final int defaultFetchSize;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+        private boolean inUse;
+
+        private Entry(Key key, PreparedStatement statement, int defaultFetchSize, int defaultMaxRows,
+                      int defaultQueryTimeout) {
+            this.key = key;
+            this.statement = statement;
+            this.defaultFetchSize = defaultFetchSize;
+            this.defaultMaxRows = defaultMaxRows;
+            this.defaultQueryTimeout = defaultQueryTimeout;
+        }
+    }
+
+    /**
+     * Statement entregado al DAO: delega todo en el statement cacheado salvo
+     * {@code close()}, que lo devuelve al caché en vez de cerrarlo.
+     */
+    private final class CachedStatementHandler implements InvocationHandler {
+
+        private final Entry entry;
+        private boolean logicallyClosed;
+
+        private CachedStatementHandler(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!logicallyClosed) {
+                        logicallyClosed = true;
+                        checkin(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return logicallyClosed || entry.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (logicallyClosed) {
+                throw new SQLException("El statement ya fue cerrado", "HY010");
+            }
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
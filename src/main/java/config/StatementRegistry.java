@@ -0,0 +1,48 @@
+package config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de las sentencias SQL fijas de los DAO que el pool puede reutilizar.
+ * <p>
+ * Cada DAO registra sus constantes SQL (INSERT_SQL, SELECT_BY_ID_SQL, etc.) en un
+ * bloque estático. Cuando una conexión del pool recibe {@code prepareStatement}
+ * con una de esas sentencias, devuelve el PreparedStatement ya preparado en esa
+ * conexión física en lugar de preparar uno nuevo (ver {@link StatementCache}).
+ * <p>
+ * Sólo se registran sentencias constantes: el SQL armado dinámicamente (por
+ * ejemplo, listas IN de tamaño variable) no se registra para que el caché no
+ * crezca con variantes que no se repiten.
+ */
+public final class StatementRegistry {
+
+    private static final Set<String> REGISTERED_SQL = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private StatementRegistry() {
+        // Evita la instanciación
+    }
+
+    /**
+     * Registra sentencias SQL fijas como reutilizables.
+     *
+     * @param sqls sentencias SQL constantes de un DAO.
+     */
+    public static void register(String... sqls) {
+        for (String sql : sqls) {
+            if (sql != null) {
+                REGISTERED_SQL.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Indica si la sentencia fue registrada como reutilizable.
+     */
+    public static boolean isRegistered(String sql) {
+        return sql != null && REGISTERED_SQL.contains(sql);
+    }
+}
@@ -1,13 +1,35 @@
 package config;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Administra el ciclo de vida de una transacción sobre una Connection.
+ * <p>
+ * Además de start/commit/rollback manuales, {@link #executeInTransaction}
+ * ejecuta un bloque de trabajo completo en una transacción y lo reintenta
+ * cuando el servidor la aborta por un conflicto transitorio (deadlock o espera
+ * de bloqueo agotada), según una {@link TransactionPolicy}.
  */
 public class TransactionManager implements AutoCloseable {
 
+    // --- Errores transitorios de MySQL que justifican reintentar la transacción ---
+    /** ER_LOCK_DEADLOCK: el servidor eligió esta transacción como víctima y la revirtió. */
+    private static final int ERROR_CODE_DEADLOCK = 1213;
+    /** ER_LOCK_WAIT_TIMEOUT: se agotó innodb_lock_wait_timeout esperando un bloqueo. */
+    private static final int ERROR_CODE_LOCK_WAIT_TIMEOUT = 1205;
+    /** SQLState estándar de "serialization failure" (deadlock en otros motores). */
+    private static final String SQL_STATE_SERIALIZATION_FAILURE = "40001";
+
     private static final String ERROR_CONNECTION_NULL = "La conexión no puede ser null";
     private static final String ERROR_CLOSED_CONNECTION =
             "No se puede iniciar la transacción: conexión cerrada";
@@ -16,6 +38,48 @@ public class TransactionManager implements AutoCloseable {
     private static final String ERROR_ROLLBACK = "Error durante el rollback: ";
     private static final String ERROR_CLOSE_CONNECTION = "Error al cerrar la conexión: ";
 
+    private static final String ERROR_WORK_NULL = "El trabajo transaccional no puede ser null";
+    private static final String ERROR_POLICY_NULL = "La política de transacción no puede ser null";
+
+    // --- Métricas (globales, de todas las transacciones de executeInTransaction) ---
+    private static final AtomicLong EXECUTIONS = new AtomicLong();
+    private static final AtomicLong COMMITS = new AtomicLong();
+    private static final AtomicLong RETRIES = new AtomicLong();
+    private static final AtomicLong DEADLOCKS = new AtomicLong();
+    private static final AtomicLong LOCK_WAIT_TIMEOUTS = new AtomicLong();
+    private static final AtomicLong EXHAUSTED = new AtomicLong();
+
+    /**
+     * Acciones registradas con {@link #alConfirmar} por el intento en curso de
+     * executeInTransaction en este hilo (null fuera de una transacción).
+     */
+    private static final ThreadLocal<List<Runnable>> AL_CONFIRMAR = new ThreadLocal<>();
+    /**
+     * Acciones registradas con {@link #alRevertir} por el intento en curso de
+     * executeInTransaction en este hilo (null fuera de una transacción).
+     */
+    private static final ThreadLocal<List<Runnable>> AL_REVERTIR = new ThreadLocal<>();
+
+    /**
+     * Si es true, executeInTransaction abre la conexión recién cuando el trabajo
+     * la usa (ver {@link #setConexionDiferida}).
+     */
+    private static volatile boolean conexionDiferida;
+
+    /**
+     * Trabajo a ejecutar dentro de una transacción.
+     *
+     * @param <T> tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface TransactionalWork<T> {
+        /**
+         * @param conn conexión con la transacción iniciada; no debe hacer commit,
+         *             rollback ni cerrarla.
+         */
+        T execute(Connection conn) throws Exception;
+    }
+
     private final Connection connection;
     private boolean transactionActive;
 
@@ -53,6 +117,253 @@ public class TransactionManager implements AutoCloseable {
         transactionActive = true;
     }
 
+    /**
+     * Inicia una transacción aplicando antes el nivel de aislamiento y el modo de
+     * sólo lectura de la política. El pool restablece ambos valores al devolver
+     * la conexión.
+     *
+     * @throws SQLException si la conexión no está disponible o está cerrada.
+     */
+    public void startTransaction(TransactionPolicy policy) throws SQLException {
+        if (connection.isClosed()) {
+            throw new SQLException(ERROR_CLOSED_CONNECTION);
+        }
+        if (policy.getIsolation() != TransactionPolicy.DEFAULT_ISOLATION) {
+            connection.setTransactionIsolation(policy.getIsolation());
+        }
+        if (policy.isReadOnly()) {
+            connection.setReadOnly(true);
+        }
+        startTransaction();
+    }
+
+    // --- Ejecución con reintentos ---
+
+    /**
+     * {@link #executeInTransaction(TransactionalWork, TransactionPolicy)} con
+     * {@link TransactionPolicy#defaults()}.
+     */
+    public static <T> T executeInTransaction(TransactionalWork<T> work) throws Exception {
+        return executeInTransaction(work, TransactionPolicy.defaults());
+    }
+
+    /**
+     * Ejecuta {@code work} en una transacción nueva (conexión de
+     * {@link DatabaseConnection}) y hace commit si termina sin excepción.
+     * <p>
+     * Si la transacción falla por un deadlock (1213), una espera de bloqueo
+     * agotada (1205) o SQLState 40001, se hace rollback y se vuelve a ejecutar
+     * {@code work} completo en una transacción nueva, hasta
+     * {@code policy.getMaxAttempts()} intentos y con backoff exponencial con
+     * jitter entre ellos. Por eso {@code work} no debe tener efectos fuera de la
+     * transacción (caché, índices) ni depender de lo que dejó un intento anterior:
+     * esos efectos van después de que este método devuelva, o se registran con
+     * {@link #alConfirmar} / {@link #alRevertir}.
+     * <p>
+     * Cualquier otra excepción (y la última transitoria, si se agotan los
+     * intentos) hace rollback y se propaga sin envolver.
+     *
+     * @return el resultado de {@code work}.
+     */
+    public static <T> T executeInTransaction(TransactionalWork<T> work, TransactionPolicy policy) throws Exception {
+        if (work == null) {
+            throw new IllegalArgumentException(ERROR_WORK_NULL);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException(ERROR_POLICY_NULL);
+        }
+        EXECUTIONS.incrementAndGet();
+        for (int attempt = 1; ; attempt++) {
+            List<Runnable> alConfirmar = new ArrayList<>();
+            List<Runnable> alRevertir = new ArrayList<>();
+            T result;
+            try {
+                result = executeAttempt(work, policy, alConfirmar, alRevertir);
+            } catch (Exception e) {
+                // El rollback ya se hizo en el close() del TransactionManager
+                revertir(alRevertir);
+                SQLException transientError = findTransientCause(e);
+                if (transientError == null) {
+                    throw e;
+                }
+                if (transientError.getErrorCode() == ERROR_CODE_LOCK_WAIT_TIMEOUT) {
+                    LOCK_WAIT_TIMEOUTS.incrementAndGet();
+                } else {
+                    DEADLOCKS.incrementAndGet();
+                }
+                if (attempt >= policy.getMaxAttempts()) {
+                    EXHAUSTED.incrementAndGet();
+                    throw e;
+                }
+                RETRIES.incrementAndGet();
+                if (!sleepBeforeRetry(policy.backoffMs(attempt, ThreadLocalRandom.current().nextDouble()))) {
+                    throw e;
+                }
+                continue;
+            }
+            COMMITS.incrementAndGet();
+            if (!policy.isReadOnly()) {
+                DatabaseConnection.registrarEscritura(); // Lecturas siguientes, al primario
+            }
+            alConfirmar.forEach(Runnable::run);
+            return result;
+        }
+    }
+
+    /**
+     * Ejecuta un intento en una transacción nueva y hace commit. Con
+     * {@link #setConexionDiferida conexión diferida}, la conexión se abre recién
+     * cuando el trabajo la usa; si no la usa, no hay commit ni rollback en la BD.
+     */
+    private static <T> T executeAttempt(TransactionalWork<T> work, TransactionPolicy policy,
+                                        List<Runnable> alConfirmar, List<Runnable> alRevertir) throws Exception {
+        if (conexionDiferida) {
+            ConexionDiferida conexion = new ConexionDiferida(policy);
+            try {
+                T result = executeWork(work, conexion.getProxy(), alConfirmar, alRevertir);
+                conexion.commit();
+                return result;
+            } finally {
+                conexion.close();
+            }
+        }
+        try (TransactionManager txManager = new TransactionManager(DatabaseConnection.getConnection())) {
+            txManager.startTransaction(policy);
+            T result = executeWork(work, txManager.getConnection(), alConfirmar, alRevertir);
+            txManager.commit();
+            return result;
+        }
+    }
+
+    /**
+     * Hace que executeInTransaction abra la conexión recién en la primera llamada
+     * del trabajo a la Connection que recibe. Lo usa el backend de DAOs sólo en
+     * memoria (dao.backend=memoria sin respaldo), cuyos métodos *Tx no usan la
+     * conexión: así sus transacciones no necesitan una BD. Los trabajos que sí
+     * usan la conexión (ej. reportes) siguen funcionando igual.
+     */
+    public static void setConexionDiferida(boolean diferida) {
+        conexionDiferida = diferida;
+    }
+
+    /**
+     * Registra una acción a ejecutar cuando la transacción en curso de este hilo
+     * (la de {@link #executeInTransaction}) se confirme. Si la transacción se
+     * revierte o se reintenta, la acción se descarta: el intento siguiente vuelve
+     * a registrar la suya. Fuera de executeInTransaction la acción se ejecuta
+     * enseguida (autocommit).
+     * <p>
+     * Sirve para reflejar en estructuras en memoria (ej. {@code AlmacenMemoria})
+     * sólo lo que quedó confirmado en la BD. La acción no debe lanzar excepciones.
+     */
+    public static void alConfirmar(Runnable accion) {
+        List<Runnable> pendientes = AL_CONFIRMAR.get();
+        if (pendientes == null) {
+            accion.run();
+        } else {
+            pendientes.add(accion);
+        }
+    }
+
+    /**
+     * Registra una acción que deshace un cambio hecho fuera de la BD por la
+     * transacción en curso de este hilo (la de {@link #executeInTransaction}). Si
+     * la transacción se revierte o se reintenta, las acciones se ejecutan en orden
+     * inverso al de registro; si se confirma, se descartan. Fuera de
+     * executeInTransaction la acción se descarta (autocommit: no hay nada que revertir).
+     * <p>
+     * Sirve para las estructuras en memoria que se modifican dentro de la
+     * transacción (ej. {@code AlmacenMemoria} sin respaldo JDBC). La acción no
+     * debe lanzar excepciones.
+     */
+    public static void alRevertir(Runnable accion) {
+        List<Runnable> pendientes = AL_REVERTIR.get();
+        if (pendientes != null) {
+            pendientes.add(accion);
+        }
+    }
+
+    /**
+     * Ejecuta el trabajo de un intento con sus propias listas de acciones
+     * {@link #alConfirmar} y {@link #alRevertir}.
+     */
+    private static <T> T executeWork(TransactionalWork<T> work, Connection conn, List<Runnable> alConfirmar,
+                                     List<Runnable> alRevertir) throws Exception {
+        List<Runnable> externas = AL_CONFIRMAR.get();
+        List<Runnable> externasRevertir = AL_REVERTIR.get();
+        AL_CONFIRMAR.set(alConfirmar);
+        AL_REVERTIR.set(alRevertir);
+        try {
+            return work.execute(conn);
+        } finally {
+            restaurar(AL_CONFIRMAR, externas);
+            restaurar(AL_REVERTIR, externasRevertir);
+        }
+    }
+
+    private static void restaurar(ThreadLocal<List<Runnable>> acciones, List<Runnable> externas) {
+        if (externas == null) {
+            acciones.remove();
+        } else {
+            acciones.set(externas);
+        }
+    }
+
+    /**
+     * Ejecuta las acciones {@link #alRevertir} de un intento fallido, de la última a la primera.
+     */
+    private static void revertir(List<Runnable> alRevertir) {
+        for (int i = alRevertir.size() - 1; i >= 0; i--) {
+            alRevertir.get(i).run();
+        }
+    }
+
+    /**
+     * Indica si la excepción (o alguna de sus causas) es un conflicto transitorio
+     * que justifica reintentar la transacción completa.
+     */
+    public static boolean isTransient(Throwable error) {
+        return findTransientCause(error) != null;
+    }
+
+    private static SQLException findTransientCause(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (sqlException.getErrorCode() == ERROR_CODE_DEADLOCK
+                        || sqlException.getErrorCode() == ERROR_CODE_LOCK_WAIT_TIMEOUT
+                        || SQL_STATE_SERIALIZATION_FAILURE.equals(sqlException.getSQLState())) {
+                    return sqlException;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return false si el hilo fue interrumpido durante la espera (no se reintenta).
+     */
+    private static boolean sleepBeforeRetry(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Devuelve una copia de los contadores de {@link #executeInTransaction}.
+     */
+    public static Stats getStats() {
+        return new Stats(EXECUTIONS.get(), COMMITS.get(), RETRIES.get(), DEADLOCKS.get(),
+                LOCK_WAIT_TIMEOUTS.get(), EXHAUSTED.get());
+    }
+
     /**
      * Hace commit de la transacción activa.
      *
@@ -88,7 +399,7 @@ public class TransactionManager implements AutoCloseable {
      * <ul>
      *     <li>Realizar rollback si hay una transacción activa.</li>
      *     <li>Restaurar el auto-commit.</li>
-     *     <li>Cerrar la conexión.</li>
+     *     <li>Cerrar la conexión (si proviene del pool, se devuelve al pool).</li>
      * </ul>
      * Cualquier excepción SQL se registra en stderr y no se propaga.
      */
@@ -118,4 +429,133 @@ public class TransactionManager implements AutoCloseable {
     private void resetTransactionState() {
         transactionActive = false;
     }
+
+    /**
+     * Connection de un intento con conexión diferida: abre la conexión real (y
+     * su transacción, con la política del intento) en la primera llamada a
+     * cualquier método y se la delega. Si nunca se usa, no abre ninguna.
+     */
+    private static final class ConexionDiferida implements InvocationHandler, AutoCloseable {
+
+        private final TransactionPolicy policy;
+        private final Connection proxy;
+        private TransactionManager txManager;
+
+        private ConexionDiferida(TransactionPolicy policy) {
+            this.policy = policy;
+            this.proxy = (Connection) Proxy.newProxyInstance(TransactionManager.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, this);
+        }
+
+        private Connection getProxy() {
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionDiferida[" + (txManager == null ? "sin abrir" : txManager.getConnection()) + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(abrir(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Connection abrir() throws SQLException {
+            if (txManager == null) {
+                TransactionManager nuevo = new TransactionManager(DatabaseConnection.getConnection());
+                try {
+                    nuevo.startTransaction(policy);
+                } catch (SQLException e) {
+                    nuevo.close();
+                    throw e;
+                }
+                txManager = nuevo;
+            }
+            return txManager.getConnection();
+        }
+
+        private void commit() throws SQLException {
+            if (txManager != null) {
+                txManager.commit();
+            }
+        }
+
+        /**
+         * Hace rollback si la transacción sigue activa y devuelve la conexión, si se abrió.
+         */
+        @Override
+        public void close() {
+            if (txManager != null) {
+                txManager.close();
+            }
+        }
+    }
+
+    /**
+     * Copia inmutable de los contadores de {@link #executeInTransaction}.
+     */
+    public static final class Stats {
+
+        private final long executions;
+        private final long commits;
+        private final long retries;
+        private final long deadlocks;
+        private final long lockWaitTimeouts;
+        private final long exhausted;
+
+        private Stats(long executions, long commits, long retries, long deadlocks,
+                      long lockWaitTimeouts, long exhausted) {
+            this.executions = executions;
+            this.commits = commits;
+            this.retries = retries;
+            this.deadlocks = deadlocks;
+            this.lockWaitTimeouts = lockWaitTimeouts;
+            this.exhausted = exhausted;
+        }
+
+        /** Llamadas a executeInTransaction (cada una cuenta una vez, con o sin reintentos). */
+        public long getExecutions() {
+            return executions;
+        }
+
+        public long getCommits() {
+            return commits;
+        }
+
+        /** Intentos repetidos por un conflicto transitorio. */
+        public long getRetries() {
+            return retries;
+        }
+
+        public long getDeadlocks() {
+            return deadlocks;
+        }
+
+        public long getLockWaitTimeouts() {
+            return lockWaitTimeouts;
+        }
+
+        /** Ejecuciones que fallaron por un conflicto transitorio después de agotar los intentos. */
+        public long getExhausted() {
+            return exhausted;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Transacciones [Ejecuciones: %d, Commits: %d, Reintentos: %d, Deadlocks: %d, "
+                            + "Esperas de bloqueo agotadas: %d, Fallidas tras reintentar: %d]",
+                    executions, commits, retries, deadlocks, lockWaitTimeouts, exhausted);
+        }
+    }
 }
\ No newline at end of file
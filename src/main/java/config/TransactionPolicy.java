@@ -0,0 +1,138 @@
+package config;
+
+/**
+ * Parámetros de una transacción ejecutada con
+ * {@link TransactionManager#executeInTransaction}: reintentos ante deadlocks y
+ * esperas de bloqueo agotadas, backoff entre intentos, nivel de aislamiento y
+ * modo de sólo lectura.
+ * <p>
+ * Es inmutable: los métodos {@code with...} devuelven una copia modificada.
+ * Los valores de reintento por defecto se leen de las claves {@code db.tx.*}
+ * de config.properties.
+ */
+public final class TransactionPolicy {
+
+    // --- Claves de config.properties ---
+    static final String PROPERTY_MAX_ATTEMPTS = "db.tx.maxAttempts";
+    static final String PROPERTY_BACKOFF_INITIAL_MS = "db.tx.backoffInitialMs";
+    static final String PROPERTY_BACKOFF_MAX_MS = "db.tx.backoffMaxMs";
+
+    // --- Valores por defecto ---
+    private static final String DEFAULT_MAX_ATTEMPTS = "3";
+    private static final String DEFAULT_BACKOFF_INITIAL_MS = "20";
+    private static final String DEFAULT_BACKOFF_MAX_MS = "500";
+
+    /** Sin cambio de aislamiento: se usa el de la conexión (REPEATABLE READ en MySQL). */
+    public static final int DEFAULT_ISOLATION = -1;
+
+    private static final String ERROR_INVALID_POLICY =
+            "Política de transacción inválida: se requiere maxAttempts > 0 y 0 <= backoffInitialMs <= backoffMaxMs";
+
+    private static volatile TransactionPolicy defaults;
+
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+    private final int isolation;
+    private final boolean readOnly;
+
+    private TransactionPolicy(int maxAttempts, long backoffInitialMs, long backoffMaxMs,
+                              int isolation, boolean readOnly) {
+        if (maxAttempts <= 0 || backoffInitialMs < 0 || backoffMaxMs < backoffInitialMs) {
+            throw new IllegalArgumentException(ERROR_INVALID_POLICY);
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.isolation = isolation;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Política de lectura/escritura con los reintentos de config.properties
+     * (db.tx.maxAttempts, db.tx.backoffInitialMs, db.tx.backoffMaxMs) y el
+     * aislamiento por defecto de la conexión.
+     */
+    public static TransactionPolicy defaults() {
+        TransactionPolicy policy = defaults;
+        if (policy == null) {
+            policy = new TransactionPolicy(
+                    Integer.parseInt(DatabaseConnection.getProperty(PROPERTY_MAX_ATTEMPTS, DEFAULT_MAX_ATTEMPTS)),
+                    Long.parseLong(DatabaseConnection.getProperty(PROPERTY_BACKOFF_INITIAL_MS,
+                            DEFAULT_BACKOFF_INITIAL_MS)),
+                    Long.parseLong(DatabaseConnection.getProperty(PROPERTY_BACKOFF_MAX_MS, DEFAULT_BACKOFF_MAX_MS)),
+                    DEFAULT_ISOLATION, false);
+            defaults = policy;
+        }
+        return policy;
+    }
+
+    /**
+     * Igual que {@link #defaults()} pero de sólo lectura (el servidor no asigna
+     * id de transacción ni registra cambios).
+     */
+    public static TransactionPolicy readOnlyDefaults() {
+        return defaults().withReadOnly(true);
+    }
+
+    /**
+     * @param maxAttempts intentos totales (1 = sin reintentos).
+     */
+    public TransactionPolicy withMaxAttempts(int maxAttempts) {
+        return new TransactionPolicy(maxAttempts, backoffInitialMs, backoffMaxMs, isolation, readOnly);
+    }
+
+    /**
+     * @param initialMs espera máxima antes del primer reintento; se duplica en cada intento.
+     * @param maxMs     tope de la espera entre intentos.
+     */
+    public TransactionPolicy withBackoff(long initialMs, long maxMs) {
+        return new TransactionPolicy(maxAttempts, initialMs, maxMs, isolation, readOnly);
+    }
+
+    /**
+     * @param isolation nivel de {@link java.sql.Connection} (ej. TRANSACTION_READ_COMMITTED)
+     *                  o {@link #DEFAULT_ISOLATION}.
+     */
+    public TransactionPolicy withIsolation(int isolation) {
+        return new TransactionPolicy(maxAttempts, backoffInitialMs, backoffMaxMs, isolation, readOnly);
+    }
+
+    public TransactionPolicy withReadOnly(boolean readOnly) {
+        return new TransactionPolicy(maxAttempts, backoffInitialMs, backoffMaxMs, isolation, readOnly);
+    }
+
+    /**
+     * Espera antes del reintento número {@code retry} (1 = primer reintento):
+     * backoff exponencial con "full jitter", un valor aleatorio entre 0 y
+     * min(backoffMaxMs, backoffInitialMs * 2^(retry-1)), para que las
+     * transacciones que chocaron no vuelvan a chocar al reintentar a la vez.
+     */
+    long backoffMs(int retry, double random) {
+        long limit = backoffInitialMs << Math.min(retry - 1, 30);
+        if (limit < 0 || limit > backoffMaxMs) {
+            limit = backoffMaxMs;
+        }
+        return (long) (limit * random);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBackoffInitialMs() {
+        return backoffInitialMs;
+    }
+
+    public long getBackoffMaxMs() {
+        return backoffMaxMs;
+    }
+
+    public int getIsolation() {
+        return isolation;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+}
@@ -0,0 +1,689 @@
+package dao;
+
+import entities.Empleado;
+import entities.Legajo;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tablas empleado y legajo en memoria, compartidas por {@link EmpleadoDAOMemoria}
+ * y {@link LegajoDAOMemoria}.
+ * <p>
+ * Cada fila se guarda como una copia que no se modifica nunca (una actualización
+ * reemplaza la copia), y se indexa en ConcurrentHashMap por id, dni, email,
+ * nro_legajo y empleado_id. Las lecturas no toman bloqueos: ven la fila anterior
+ * o la nueva, nunca una a medio escribir. Las escrituras se serializan con un
+ * único lock, para verificar las constraints y actualizar todos los índices de
+ * forma atómica.
+ * <p>
+ * Hay dos tipos de escritura:
+ * - Las operaciones (crear, actualizar, eliminar) aplican las mismas reglas que
+ *   sql/Scripts/create_database.sql: UNIQUE de dni, email, nro_legajo y
+ *   empleado_id (también contra filas dadas de baja), la FK de legajo.empleado_id
+ *   y el control de versión. Los errores son SQLException con el mismo SQLState,
+ *   código y nombre de constraint que MySQL, así el Service los traduce igual.
+ * - {@code reflejar*}: copian sin verificar una fila que ya está en la BD
+ *   (carga inicial, escritura directa a JDBC). Sólo reemplazan una fila con otra
+ *   de versión igual o mayor, así una lectura atrasada no pisa una escritura nueva.
+ * <p>
+ * Sin respaldo JDBC, las operaciones de una transacción se aplican enseguida y,
+ * si se revierte, se deshacen con {@code deshacer*}. Hasta entonces las demás
+ * lecturas ya ven esos cambios (como READ UNCOMMITTED).
+ * <p>
+ * Las claves únicas se comparan sin distinguir mayúsculas ni espacios a los
+ * costados, como la collation utf8mb4_unicode_ci.
+ */
+public class AlmacenMemoria {
+
+    private static final String SQL_STATE_INTEGRIDAD = "23000";
+    /** ER_DUP_ENTRY */
+    private static final int ERROR_CODE_DUPLICADO = 1062;
+    /** ER_NO_REFERENCED_ROW_2 */
+    private static final int ERROR_CODE_FK = 1452;
+
+    // --- Tabla empleado ---
+    /** id → fila (sin Legajo), incluidas las dadas de baja. */
+    private final ConcurrentHashMap<Long, Empleado> empleados = new ConcurrentHashMap<>();
+    /** ids de los Empleados activos, ordenados (paginación y recorridos). */
+    private final ConcurrentSkipListSet<Long> empleadosActivos = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Long> empleadoPorDni = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> empleadoPorEmail = new ConcurrentHashMap<>();
+    private final AtomicLong secuenciaEmpleado = new AtomicLong();
+
+    // --- Tabla legajo ---
+    /** id → fila, incluidas las dadas de baja. */
+    private final ConcurrentHashMap<Long, Legajo> legajos = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Long> legajosActivos = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Long> legajoPorNro = new ConcurrentHashMap<>();
+    /** empleado_id → id del Legajo (UNIQUE empleado_id). */
+    private final ConcurrentHashMap<Long, Long> legajoPorEmpleado = new ConcurrentHashMap<>();
+    /** id del Legajo → empleado_id (el Legajo no lo expone, por la unidireccionalidad). */
+    private final ConcurrentHashMap<Long, Long> empleadoDeLegajo = new ConcurrentHashMap<>();
+    private final AtomicLong secuenciaLegajo = new AtomicLong();
+
+    private final ReentrantLock escritura = new ReentrantLock();
+
+    // --- LECTURAS (sin bloqueo) ---
+
+    /**
+     * Devuelve una copia del Empleado activo con su Legajo activo, o null.
+     */
+    public Empleado empleado(long id) {
+        Empleado fila = empleados.get(id);
+        if (fila == null || fila.isEliminado()) {
+            return null;
+        }
+        Empleado copia = copiar(fila);
+        copia.setLegajo(legajoDeEmpleado(id));
+        return copia;
+    }
+
+    /**
+     * Devuelve una copia del Legajo activo, o null.
+     */
+    public Legajo legajo(long id) {
+        Legajo fila = legajos.get(id);
+        return fila == null || fila.isEliminado() ? null : copiar(fila);
+    }
+
+    /**
+     * Devuelve el Empleado activo con ese DNI, o null.
+     */
+    public Empleado empleadoPorDni(String dni) {
+        Long id = empleadoPorDni.get(clave(dni));
+        Empleado empleado = id == null ? null : empleado(id);
+        // La fila pudo cambiar de DNI entre la lectura del índice y la de la fila
+        return empleado != null && clave(dni).equals(clave(empleado.getDni())) ? empleado : null;
+    }
+
+    /**
+     * Devuelve el Legajo activo con ese número, o null.
+     */
+    public Legajo legajoPorNro(String nroLegajo) {
+        Long id = legajoPorNro.get(clave(nroLegajo));
+        Legajo legajo = id == null ? null : legajo(id);
+        return legajo != null && clave(nroLegajo).equals(clave(legajo.getNumeroLegajo())) ? legajo : null;
+    }
+
+    /**
+     * Devuelve el id del Empleado dueño de un Legajo, o 0 si el Legajo no existe.
+     */
+    public long empleadoIdDeLegajo(long legajoId) {
+        Long empleadoId = empleadoDeLegajo.get(legajoId);
+        return empleadoId == null ? 0 : empleadoId;
+    }
+
+    /**
+     * Vista ordenada (y de sólo lectura por convención) de los ids de Empleados activos.
+     */
+    public NavigableSet<Long> idsEmpleadosActivos() {
+        return empleadosActivos;
+    }
+
+    /**
+     * Vista ordenada (y de sólo lectura por convención) de los ids de Legajos activos.
+     */
+    public NavigableSet<Long> idsLegajosActivos() {
+        return legajosActivos;
+    }
+
+    /**
+     * Devuelve una copia de la fila del Empleado (sin Legajo), aunque esté dada de baja.
+     * Para recorridos que sólo necesitan los datos propios del Empleado.
+     */
+    Empleado filaEmpleado(long id) {
+        Empleado fila = empleados.get(id);
+        return fila == null ? null : copiar(fila);
+    }
+
+    /**
+     * Devuelve la fila del Legajo sin copiarla; el llamador no debe modificarla.
+     */
+    Legajo filaLegajo(long id) {
+        return legajos.get(id);
+    }
+
+    public int cantidadEmpleados() {
+        return empleadosActivos.size();
+    }
+
+    // --- OPERACIONES (verifican las constraints) ---
+
+    /**
+     * Da de alta un Empleado (sin su Legajo) y le asigna un id nuevo.
+     *
+     * @throws SQLException 1062 si el DNI o el email ya existen.
+     */
+    public void crearEmpleado(Empleado empleado) throws SQLException {
+        escritura.lock();
+        try {
+            verificarEmpleado(empleado, 0);
+            insertarEmpleado(empleado);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Da de alta varios Empleados (sin Legajo) de forma atómica: si alguno viola
+     * una constraint (contra la tabla o contra otro del mismo lote) no se da de
+     * alta ninguno.
+     */
+    public void crearEmpleados(List<Empleado> nuevos) throws SQLException {
+        escritura.lock();
+        try {
+            Set<String> dnis = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            for (Empleado empleado : nuevos) {
+                verificarEmpleado(empleado, 0);
+                if (!dnis.add(clave(empleado.getDni()))) {
+                    throw duplicado(empleado.getDni(), "empleado.uq_empleado_dni");
+                }
+                if (empleado.getEmail() != null && !emails.add(clave(empleado.getEmail()))) {
+                    throw duplicado(empleado.getEmail(), "empleado.uq_empleado_email");
+                }
+            }
+            for (Empleado empleado : nuevos) {
+                insertarEmpleado(empleado);
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Da de alta un Empleado y su Legajo de forma atómica y les asigna los ids.
+     */
+    public void crearEmpleadoConLegajo(Empleado empleado) throws SQLException {
+        Legajo legajo = empleado.getLegajo();
+        escritura.lock();
+        try {
+            verificarEmpleado(empleado, 0);
+            verificarLegajo(legajo, 0);
+            insertarEmpleado(empleado);
+            insertarLegajo(legajo, empleado.getId());
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Actualiza el Empleado si la fila sigue en la versión del objeto y avanza la
+     * versión de la fila (NO la del objeto).
+     *
+     * @return la fila reemplazada (para {@link #deshacerEmpleado}).
+     * @throws ConflictoVersionException si la fila está en otra versión.
+     */
+    public Empleado actualizarEmpleado(Empleado empleado) throws SQLException {
+        escritura.lock();
+        try {
+            Empleado actual = empleados.get(empleado.getId());
+            if (actual == null) {
+                throw new SQLException("No se pudo actualizar el Empleado. ID no encontrado: " + empleado.getId());
+            }
+            if (actual.getVersion() != empleado.getVersion()) {
+                throw new ConflictoVersionException("Empleado", empleado.getId(),
+                        empleado.getVersion(), actual.getVersion());
+            }
+            verificarEmpleado(empleado, empleado.getId());
+            Empleado fila = copiar(empleado);
+            fila.setEliminado(actual.isEliminado());
+            fila.setVersion(actual.getVersion() + 1);
+            guardarEmpleado(fila);
+            return actual;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Baja lógica del Empleado (también avanza su versión).
+     *
+     * @return la fila reemplazada (para {@link #deshacerEmpleado}).
+     */
+    public Empleado eliminarEmpleado(long id) throws SQLException {
+        escritura.lock();
+        try {
+            Empleado actual = empleados.get(id);
+            if (actual == null) {
+                throw new SQLException("No se pudo eliminar (baja lógica) el Empleado. ID no encontrado: " + id);
+            }
+            guardarEmpleado(baja(copiar(actual)));
+            return actual;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Da de alta un Legajo asociado a un Empleado y le asigna un id nuevo.
+     *
+     * @throws SQLException 1062 si el número o el Empleado ya tienen Legajo; 1452
+     *                      si el Empleado no existe.
+     */
+    public void crearLegajo(Legajo legajo, long empleadoId) throws SQLException {
+        escritura.lock();
+        try {
+            verificarLegajo(legajo, 0);
+            verificarEmpleadoDeLegajo(empleadoId);
+            insertarLegajo(legajo, empleadoId);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Da de alta varios Legajos de forma atómica (ver {@link #crearEmpleados}).
+     */
+    public void crearLegajos(List<Legajo> nuevos, List<Long> empleadoIds) throws SQLException {
+        escritura.lock();
+        try {
+            Set<String> nros = new HashSet<>();
+            Set<Long> duenios = new HashSet<>();
+            for (int i = 0; i < nuevos.size(); i++) {
+                Legajo legajo = nuevos.get(i);
+                long empleadoId = empleadoIds.get(i);
+                verificarLegajo(legajo, 0);
+                verificarEmpleadoDeLegajo(empleadoId);
+                if (!nros.add(clave(legajo.getNumeroLegajo()))) {
+                    throw duplicado(legajo.getNumeroLegajo(), "legajo.uq_legajo_nro_legajo");
+                }
+                if (!duenios.add(empleadoId)) {
+                    throw duplicado(String.valueOf(empleadoId), "legajo.uq_legajo_empleado_id");
+                }
+            }
+            for (int i = 0; i < nuevos.size(); i++) {
+                insertarLegajo(nuevos.get(i), empleadoIds.get(i));
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Actualiza el Legajo si la fila sigue en la versión del objeto y avanza la
+     * versión de la fila (NO la del objeto). El empleado_id no cambia.
+     *
+     * @return la fila reemplazada (para {@link #deshacerLegajo}).
+     * @throws ConflictoVersionException si la fila está en otra versión.
+     */
+    public Legajo actualizarLegajo(Legajo legajo) throws SQLException {
+        escritura.lock();
+        try {
+            Legajo actual = legajos.get(legajo.getId());
+            if (actual == null) {
+                throw new SQLException("No se pudo actualizar el Legajo. ID no encontrado: " + legajo.getId());
+            }
+            if (actual.getVersion() != legajo.getVersion()) {
+                throw new ConflictoVersionException("Legajo", legajo.getId(),
+                        legajo.getVersion(), actual.getVersion());
+            }
+            verificarLegajo(legajo, legajo.getId());
+            Legajo fila = copiar(legajo);
+            fila.setEliminado(actual.isEliminado());
+            fila.setVersion(actual.getVersion() + 1);
+            guardarLegajo(fila, empleadoDeLegajo.get(legajo.getId()));
+            return actual;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Baja lógica del Legajo (también avanza su versión).
+     *
+     * @return la fila reemplazada (para {@link #deshacerLegajo}).
+     */
+    public Legajo eliminarLegajo(long id) throws SQLException {
+        escritura.lock();
+        try {
+            Legajo actual = legajos.get(id);
+            if (actual == null) {
+                throw new SQLException("No se pudo eliminar (baja lógica) el Legajo. ID no encontrado: " + id);
+            }
+            Legajo fila = copiar(actual);
+            fila.setEliminado(true);
+            fila.setVersion(actual.getVersion() + 1);
+            guardarLegajo(fila, empleadoDeLegajo.get(id));
+            return actual;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // --- DESHACER (transacciones revertidas, sin respaldo JDBC) ---
+
+    /**
+     * Deshace una escritura de una transacción revertida: vuelve a poner la fila
+     * {@code anterior} o, si es null (un alta), quita la fila y sus claves. El id
+     * no se reutiliza, como un AUTO_INCREMENT. No hace nada si otra escritura ya
+     * reemplazó la fila que se deshace.
+     */
+    void deshacerEmpleado(long id, Empleado anterior) {
+        escritura.lock();
+        try {
+            Empleado actual = empleados.get(id);
+            int versionEscrita = anterior == null ? 0 : anterior.getVersion() + 1;
+            if (actual == null || actual.getVersion() != versionEscrita) {
+                return;
+            }
+            if (anterior != null) {
+                guardarEmpleado(anterior);
+                return;
+            }
+            empleados.remove(id);
+            quitarClave(empleadoPorDni, actual.getDni(), id);
+            quitarClave(empleadoPorEmail, actual.getEmail(), id);
+            empleadosActivos.remove(id);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Deshace una escritura de un Legajo (ver {@link #deshacerEmpleado}).
+     */
+    void deshacerLegajo(long id, Legajo anterior) {
+        escritura.lock();
+        try {
+            Legajo actual = legajos.get(id);
+            int versionEscrita = anterior == null ? 0 : anterior.getVersion() + 1;
+            if (actual == null || actual.getVersion() != versionEscrita) {
+                return;
+            }
+            if (anterior != null) {
+                guardarLegajo(anterior, null);
+                return;
+            }
+            legajos.remove(id);
+            quitarClave(legajoPorNro, actual.getNumeroLegajo(), id);
+            Long empleadoId = empleadoDeLegajo.remove(id);
+            if (empleadoId != null) {
+                legajoPorEmpleado.remove(empleadoId, id);
+            }
+            legajosActivos.remove(id);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Id de la fila que usa el valor de un campo único (también si está dada de
+     * baja), o null si está libre.
+     */
+    Long idConValorUnico(UnicidadDAO.CampoUnico campo, String valor) {
+        if (valor == null) {
+            return null;
+        }
+        switch (campo) {
+            case DNI:
+                return empleadoPorDni.get(clave(valor));
+            case EMAIL:
+                return empleadoPorEmail.get(clave(valor));
+            case NRO_LEGAJO:
+                return legajoPorNro.get(clave(valor));
+            default:
+                return null;
+        }
+    }
+
+    // --- REFLEJO DE FILAS YA GUARDADAS EN LA BD (sin verificar) ---
+
+    /**
+     * Copia un Empleado leído o escrito en la BD y, si lo tiene, su Legajo.
+     */
+    public void reflejarEmpleado(Empleado empleado) {
+        escritura.lock();
+        try {
+            Empleado actual = empleados.get(empleado.getId());
+            if (actual == null || actual.getVersion() <= empleado.getVersion()) {
+                guardarEmpleado(copiar(empleado));
+            }
+            if (empleado.getLegajo() != null) {
+                reflejarLegajo(empleado.getLegajo(), empleado.getId());
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Copia un Legajo leído o escrito en la BD.
+     *
+     * @param empleadoId dueño del Legajo, o 0 para conservar el que ya tiene en
+     *                   memoria (si no lo tiene, el Legajo no se copia).
+     */
+    public void reflejarLegajo(Legajo legajo, long empleadoId) {
+        escritura.lock();
+        try {
+            Long duenio = empleadoId > 0 ? Long.valueOf(empleadoId) : empleadoDeLegajo.get(legajo.getId());
+            Legajo actual = legajos.get(legajo.getId());
+            if (duenio != null && (actual == null || actual.getVersion() <= legajo.getVersion())) {
+                guardarLegajo(copiar(legajo), duenio);
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Refleja la baja lógica de un Empleado ya confirmada en la BD.
+     */
+    public void reflejarBajaEmpleado(long id) {
+        escritura.lock();
+        try {
+            Empleado actual = empleados.get(id);
+            if (actual != null && !actual.isEliminado()) {
+                guardarEmpleado(baja(copiar(actual)));
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Refleja la baja lógica de un Legajo ya confirmada en la BD.
+     */
+    public void reflejarBajaLegajo(long id) {
+        escritura.lock();
+        try {
+            Legajo actual = legajos.get(id);
+            if (actual != null && !actual.isEliminado()) {
+                Legajo fila = copiar(actual);
+                fila.setEliminado(true);
+                fila.setVersion(actual.getVersion() + 1);
+                guardarLegajo(fila, empleadoDeLegajo.get(id));
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Carga todos los Empleados activos (y sus Legajos) de otro DAO, en modo streaming.
+     *
+     * @return cantidad de Empleados cargados.
+     */
+    public long cargarDesde(EmpleadoDAO origen) throws SQLException, IOException {
+        return origen.recorrerTodos(this::reflejarEmpleado);
+    }
+
+    // --- HELPERS (se llaman con el lock de escritura tomado) ---
+
+    private void verificarEmpleado(Empleado empleado, long idPropio) throws SQLException {
+        verificarUnico(empleadoPorDni, empleado.getDni(), idPropio, "empleado.uq_empleado_dni");
+        verificarUnico(empleadoPorEmail, empleado.getEmail(), idPropio, "empleado.uq_empleado_email");
+    }
+
+    private void verificarLegajo(Legajo legajo, long idPropio) throws SQLException {
+        verificarUnico(legajoPorNro, legajo.getNumeroLegajo(), idPropio, "legajo.uq_legajo_nro_legajo");
+    }
+
+    private void verificarEmpleadoDeLegajo(long empleadoId) throws SQLException {
+        if (!empleados.containsKey(empleadoId)) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Cannot add or update a child row: a foreign key constraint fails "
+                            + "(`legajo`, CONSTRAINT `fk_legajo_empleado_id` FOREIGN KEY (`empleado_id`) "
+                            + "REFERENCES `empleado` (`id`))", SQL_STATE_INTEGRIDAD, ERROR_CODE_FK);
+        }
+        if (legajoPorEmpleado.containsKey(empleadoId)) {
+            throw duplicado(String.valueOf(empleadoId), "legajo.uq_legajo_empleado_id");
+        }
+    }
+
+    /**
+     * Un valor null no ocupa la clave (igual que UNIQUE en MySQL).
+     */
+    private void verificarUnico(ConcurrentHashMap<String, Long> indice, String valor, long idPropio,
+                                String constraint) throws SQLException {
+        if (valor == null) {
+            return;
+        }
+        Long duenio = indice.get(clave(valor));
+        if (duenio != null && duenio != idPropio) {
+            throw duplicado(valor, constraint);
+        }
+    }
+
+    private void insertarEmpleado(Empleado empleado) {
+        empleado.setId(secuenciaEmpleado.incrementAndGet());
+        Empleado fila = copiar(empleado);
+        fila.setEliminado(false);
+        fila.setVersion(0);
+        guardarEmpleado(fila);
+    }
+
+    private void insertarLegajo(Legajo legajo, long empleadoId) {
+        legajo.setId(secuenciaLegajo.incrementAndGet());
+        Legajo fila = copiar(legajo);
+        fila.setEliminado(false);
+        fila.setVersion(0);
+        guardarLegajo(fila, empleadoId);
+    }
+
+    /**
+     * Reemplaza la fila y actualiza los índices (quita las claves viejas que ya no usa).
+     */
+    private void guardarEmpleado(Empleado fila) {
+        long id = fila.getId();
+        secuenciaEmpleado.accumulateAndGet(id, Math::max);
+        Empleado anterior = empleados.put(id, fila);
+        if (anterior != null) {
+            quitarClave(empleadoPorDni, anterior.getDni(), id);
+            quitarClave(empleadoPorEmail, anterior.getEmail(), id);
+        }
+        ponerClave(empleadoPorDni, fila.getDni(), id);
+        ponerClave(empleadoPorEmail, fila.getEmail(), id);
+        if (fila.isEliminado()) {
+            empleadosActivos.remove(id);
+        } else {
+            empleadosActivos.add(id);
+        }
+    }
+
+    private void guardarLegajo(Legajo fila, Long empleadoId) {
+        long id = fila.getId();
+        secuenciaLegajo.accumulateAndGet(id, Math::max);
+        Legajo anterior = legajos.put(id, fila);
+        if (anterior != null) {
+            quitarClave(legajoPorNro, anterior.getNumeroLegajo(), id);
+        }
+        ponerClave(legajoPorNro, fila.getNumeroLegajo(), id);
+        if (empleadoId != null) {
+            empleadoDeLegajo.put(id, empleadoId);
+            legajoPorEmpleado.put(empleadoId, id);
+        }
+        if (fila.isEliminado()) {
+            legajosActivos.remove(id);
+        } else {
+            legajosActivos.add(id);
+        }
+    }
+
+    private Legajo legajoDeEmpleado(long empleadoId) {
+        Long legajoId = legajoPorEmpleado.get(empleadoId);
+        return legajoId == null ? null : legajo(legajoId);
+    }
+
+    private static Empleado baja(Empleado fila) {
+        fila.setEliminado(true);
+        fila.setVersion(fila.getVersion() + 1);
+        return fila;
+    }
+
+    private static void ponerClave(ConcurrentHashMap<String, Long> indice, String valor, long id) {
+        if (valor != null) {
+            indice.put(clave(valor), id);
+        }
+    }
+
+    private static void quitarClave(ConcurrentHashMap<String, Long> indice, String valor, long id) {
+        if (valor != null) {
+            indice.remove(clave(valor), id);
+        }
+    }
+
+    static String clave(String valor) {
+        return valor == null ? "" : valor.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static SQLException duplicado(String valor, String constraint) {
+        return new SQLIntegrityConstraintViolationException(
+                "Duplicate entry '" + valor + "' for key '" + constraint + "'",
+                SQL_STATE_INTEGRIDAD, ERROR_CODE_DUPLICADO);
+    }
+
+    /**
+     * Copia los datos propios de un Empleado (sin su Legajo).
+     */
+    static Empleado copiar(Empleado original) {
+        Empleado copia = new Empleado(original.getNombre(), original.getApellido(), original.getDni(),
+                original.getEmail(), original.getFechaIngreso(), original.getArea(), null);
+        copia.setId(original.getId());
+        copia.setEliminado(original.isEliminado());
+        copia.setVersion(original.getVersion());
+        return copia;
+    }
+
+    static Legajo copiar(Legajo original) {
+        Legajo copia = new Legajo();
+        copia.setId(original.getId());
+        copia.setEliminado(original.isEliminado());
+        copia.setVersion(original.getVersion());
+        copia.setNumeroLegajo(original.getNumeroLegajo());
+        copia.setCategoria(original.getCategoria());
+        copia.setEstado(original.getEstado());
+        copia.setFechaAlta(original.getFechaAlta());
+        copia.setObservaciones(original.getObservaciones());
+        return copia;
+    }
+
+    /**
+     * Copias de una lista de ids de Empleados activos (los que ya no lo son se omiten).
+     */
+    List<Empleado> empleados(Iterable<Long> ids, int limite) {
+        List<Empleado> resultado = new ArrayList<>();
+        for (Long id : ids) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            Empleado empleado = empleado(id);
+            if (empleado != null) {
+                resultado.add(empleado);
+            }
+        }
+        return resultado;
+    }
+}
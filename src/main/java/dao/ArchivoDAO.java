@@ -0,0 +1,177 @@
+package dao;
+
+import config.StatementRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Archivado de bajas lógicas: mueve los Empleados dados de baja hace más de un
+ * período de retención (y sus Legajos) a empleado_historico / legajo_historico,
+ * para que las tablas principales, sus índices y el buffer pool contengan sólo
+ * filas que todavía se consultan.
+ * <p>
+ * La baja lógica deja fecha_actualizacion en el momento de la baja (la fila no
+ * se vuelve a editar), así que la antigüedad se mide con esa columna y se
+ * resuelve con un rango de idx_empleado_eliminado (eliminado, fecha_actualizacion).
+ * <p>
+ * Todos los métodos trabajan sobre la conexión transaccional del llamador y NO
+ * la cierran: el Service define el tamaño de cada transacción.
+ */
+public class ArchivoDAO {
+
+    private static final String EMPLEADO_COLUMNS =
+            "id, eliminado, nombre, apellido, dni, email, fecha_ingreso, area, " +
+                    "fecha_creacion, fecha_actualizacion, version";
+
+    private static final String LEGAJO_COLUMNS =
+            "id, eliminado, nro_legajo, categoria, estado, fecha_alta, observaciones, " +
+                    "fecha_creacion, fecha_actualizacion, version, empleado_id";
+
+    /**
+     * Bloquea el siguiente bloque de Empleados a archivar, los más antiguos primero.
+     */
+    private static final String SELECT_ARCHIVABLES_SQL =
+            "SELECT id FROM empleado " +
+                    "WHERE eliminado = TRUE AND fecha_actualizacion < CURRENT_TIMESTAMP - INTERVAL ? DAY " +
+                    "ORDER BY fecha_actualizacion, id LIMIT ? FOR UPDATE";
+
+    // --- SENTENCIAS DE ARCHIVADO (WHERE ... IN) ---
+    // La lista IN se arma según el tamaño del bloque, por eso no se registran
+    // en el StatementRegistry.
+
+    private static final String INSERT_LEGAJO_HISTORICO_PREFIX_SQL =
+            "INSERT INTO legajo_historico (" + LEGAJO_COLUMNS + ") " +
+                    "SELECT " + LEGAJO_COLUMNS + " FROM legajo WHERE empleado_id IN ";
+
+    private static final String INSERT_EMPLEADO_HISTORICO_PREFIX_SQL =
+            "INSERT INTO empleado_historico (" + EMPLEADO_COLUMNS + ") " +
+                    "SELECT " + EMPLEADO_COLUMNS + " FROM empleado WHERE id IN ";
+
+    /**
+     * Borrado físico de los Empleados ya copiados. Sus Legajos se borran por el
+     * ON DELETE CASCADE de fk_legajo_empleado_id.
+     */
+    private static final String DELETE_EMPLEADOS_PREFIX_SQL =
+            "DELETE FROM empleado WHERE eliminado = TRUE AND id IN ";
+
+    // --- SENTENCIAS DE RESTAURACIÓN ---
+
+    /**
+     * Restaura el Empleado activo (eliminado = FALSE) y con una versión nueva;
+     * fecha_actualizacion toma el momento de la restauración, así el feed de
+     * cambios lo informa.
+     */
+    private static final String RESTORE_EMPLEADO_SQL =
+            "INSERT INTO empleado (" + EMPLEADO_COLUMNS + ") " +
+                    "SELECT id, FALSE, nombre, apellido, dni, email, fecha_ingreso, area, " +
+                    "fecha_creacion, CURRENT_TIMESTAMP, version + 1 FROM empleado_historico WHERE id = ?";
+
+    private static final String RESTORE_LEGAJO_SQL =
+            "INSERT INTO legajo (" + LEGAJO_COLUMNS + ") " +
+                    "SELECT id, FALSE, nro_legajo, categoria, estado, fecha_alta, observaciones, " +
+                    "fecha_creacion, CURRENT_TIMESTAMP, version + 1, empleado_id " +
+                    "FROM legajo_historico WHERE empleado_id = ?";
+
+    private static final String DELETE_LEGAJO_HISTORICO_SQL =
+            "DELETE FROM legajo_historico WHERE empleado_id = ?";
+
+    private static final String DELETE_EMPLEADO_HISTORICO_SQL =
+            "DELETE FROM empleado_historico WHERE id = ?";
+
+    // Las sentencias fijas se preparan una vez por conexión del pool y se reutilizan
+    static {
+        StatementRegistry.register(SELECT_ARCHIVABLES_SQL, RESTORE_EMPLEADO_SQL, RESTORE_LEGAJO_SQL,
+                DELETE_LEGAJO_HISTORICO_SQL, DELETE_EMPLEADO_HISTORICO_SQL);
+    }
+
+    /**
+     * Selecciona y bloquea (FOR UPDATE) el siguiente bloque de Empleados dados de
+     * baja hace más de {@code retencionDias} días. NO cierra la conexión.
+     *
+     * @return ids a archivar (vacía si no queda ninguno).
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    public List<Long> buscarArchivablesTx(int retencionDias, int limite, Connection conn) throws SQLException {
+        List<Long> ids = new ArrayList<>(limite);
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ARCHIVABLES_SQL)) {
+            stmt.setInt(1, retencionDias);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Copia los Empleados indicados y sus Legajos a las tablas históricas y los
+     * borra de las tablas principales. Debe llamarse en la misma transacción que
+     * {@link #buscarArchivablesTx}. NO cierra la conexión.
+     *
+     * @return cantidad de Empleados archivados.
+     * @throws SQLException Si hay un error de base de datos (el llamador hace rollback).
+     */
+    public int archivarTx(List<Long> empleadoIds, Connection conn) throws SQLException {
+        if (empleadoIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = placeholders(empleadoIds.size());
+        executeWithIds(conn, INSERT_LEGAJO_HISTORICO_PREFIX_SQL + placeholders, empleadoIds);
+        int copiados = executeWithIds(conn, INSERT_EMPLEADO_HISTORICO_PREFIX_SQL + placeholders, empleadoIds);
+        int borrados = executeWithIds(conn, DELETE_EMPLEADOS_PREFIX_SQL + placeholders, empleadoIds);
+        if (copiados != borrados) {
+            throw new SQLException("El archivado copió " + copiados + " empleados pero borró " + borrados + ".");
+        }
+        return borrados;
+    }
+
+    /**
+     * Devuelve un Empleado archivado (y su Legajo) a las tablas principales, activo
+     * otra vez. NO cierra la conexión.
+     *
+     * @return false si no hay ningún Empleado archivado con ese id.
+     * @throws SQLException Si hay un error de base de datos (ej. 1062 si el DNI,
+     *                      el email o el nro_legajo ya los usa otro Empleado).
+     */
+    public boolean restaurarTx(long empleadoId, Connection conn) throws SQLException {
+        if (executeWithId(conn, RESTORE_EMPLEADO_SQL, empleadoId) == 0) {
+            return false;
+        }
+        executeWithId(conn, RESTORE_LEGAJO_SQL, empleadoId);
+        executeWithId(conn, DELETE_LEGAJO_HISTORICO_SQL, empleadoId);
+        executeWithId(conn, DELETE_EMPLEADO_HISTORICO_SQL, empleadoId);
+        return true;
+    }
+
+    private int executeWithId(Connection conn, String sql, long id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            return stmt.executeUpdate();
+        }
+    }
+
+    private int executeWithIds(Connection conn, String sql, List<Long> ids) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setLong(i + 1, ids.get(i));
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
+    private String placeholders(int cantidad) {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < cantidad; i++) {
+            placeholders.add("?");
+        }
+        return placeholders.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package dao;
+
+import entities.EstadoLegajo;
+import entities.Legajo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Columnas de la tabla legajo que pueden pedirse en una proyección
+ * (ver {@link LegajoDAO#leer(long, Set)} y {@link LegajoDAO#buscarPorEstado(EstadoLegajo, Set)}).
+ * <p>
+ * Cada constante sabe leer su columna por posición y asignarla al Legajo con su
+ * setter, así el mapeo de entidades parciales no usa reflexión ni busca columnas
+ * por nombre. Los campos no pedidos quedan en su valor por defecto (null / 0).
+ */
+public enum CampoLegajo {
+
+    ID("id", (rs, col, legajo) -> legajo.setId(rs.getLong(col)),
+            (origen, destino) -> destino.setId(origen.getId())),
+    NRO_LEGAJO("nro_legajo", (rs, col, legajo) -> legajo.setNumeroLegajo(rs.getString(col)),
+            (origen, destino) -> destino.setNumeroLegajo(origen.getNumeroLegajo())),
+    CATEGORIA("categoria", (rs, col, legajo) -> legajo.setCategoria(rs.getString(col)),
+            (origen, destino) -> destino.setCategoria(origen.getCategoria())),
+    ESTADO("estado", (rs, col, legajo) -> {
+        String estado = rs.getString(col);
+        legajo.setEstado(estado != null ? EstadoLegajo.valueOf(estado) : null);
+    }, (origen, destino) -> destino.setEstado(origen.getEstado())),
+    FECHA_ALTA("fecha_alta", (rs, col, legajo) -> {
+        java.sql.Date fechaAlta = rs.getDate(col);
+        legajo.setFechaAlta(fechaAlta != null ? fechaAlta.toLocalDate() : null);
+    }, (origen, destino) -> destino.setFechaAlta(origen.getFechaAlta())),
+    OBSERVACIONES("observaciones", (rs, col, legajo) -> legajo.setObservaciones(rs.getString(col)),
+            (origen, destino) -> destino.setObservaciones(origen.getObservaciones()));
+
+    /**
+     * Lee una columna (por posición) del ResultSet y la asigna al Legajo.
+     */
+    @FunctionalInterface
+    interface LectorCampo {
+        void leer(ResultSet rs, int columna, Legajo destino) throws SQLException;
+    }
+
+    /**
+     * Copia el campo de un Legajo completo a uno parcial (proyecciones en memoria).
+     */
+    @FunctionalInterface
+    interface CopiaCampo {
+        void copiar(Legajo origen, Legajo destino);
+    }
+
+    private final String columna;
+    private final LectorCampo lector;
+    private final CopiaCampo copia;
+
+    CampoLegajo(String columna, LectorCampo lector, CopiaCampo copia) {
+        this.columna = columna;
+        this.lector = lector;
+        this.copia = copia;
+    }
+
+    /**
+     * Nombre de la columna en la tabla legajo.
+     */
+    public String getColumna() {
+        return columna;
+    }
+
+    /**
+     * Arma la lista de columnas del SELECT en el orden de declaración del enum,
+     * que es el mismo orden en que {@link #mapear} las lee.
+     */
+    static String columnas(Set<CampoLegajo> campos) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (CampoLegajo campo : campos) {
+            joiner.add(campo.columna);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Crea un Legajo parcial con los campos pedidos a partir de la fila actual.
+     * Los campos deben iterarse en el mismo orden usado en {@link #columnas}
+     * (un EnumSet lo garantiza).
+     */
+    static Legajo mapear(ResultSet rs, Set<CampoLegajo> campos) throws SQLException {
+        Legajo legajo = new Legajo();
+        int columna = 1;
+        for (CampoLegajo campo : campos) {
+            campo.lector.leer(rs, columna++, legajo);
+        }
+        return legajo;
+    }
+
+    /**
+     * Crea un Legajo parcial con los campos pedidos copiados de un Legajo completo
+     * (misma forma que {@link #mapear}, para DAOs que no leen de un ResultSet).
+     */
+    static Legajo proyectar(Legajo origen, Set<CampoLegajo> campos) {
+        Legajo legajo = new Legajo();
+        for (CampoLegajo campo : campos) {
+            campo.copia.copiar(origen, legajo);
+        }
+        return legajo;
+    }
+}
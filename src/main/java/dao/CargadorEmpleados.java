@@ -0,0 +1,172 @@
+package dao;
+
+import entities.Empleado;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupa las lecturas individuales de Empleados por id que llegan casi al mismo
+ * tiempo desde distintos hilos en una sola consulta
+ * {@link EmpleadoDAO#leerPorIds} (request coalescing).
+ * <p>
+ * La primera lectura de una ventana programa la consulta para dentro de
+ * {@code ventanaMs}; las que llegan mientras tanto se suman al mismo lote (un id
+ * repetido comparte el resultado). Si el lote llega a {@code maxLote} ids se
+ * consulta en ese momento, sin esperar el fin de la ventana. Cada lote se consulta
+ * en un hilo virtual propio, de modo que un lote lento no demora al siguiente.
+ * <p>
+ * Sirve cuando hay muchos lectores concurrentes (ej. la fachada asíncrona); con
+ * un único hilo sólo agrega la espera de la ventana.
+ */
+public class CargadorEmpleados implements AutoCloseable {
+
+    private static final String HILO_TEMPORIZADOR = "empleados-cargador";
+    private static final String ERROR_CERRADO = "El cargador de empleados está cerrado";
+
+    private final EmpleadoDAO empleadoDAO;
+    private final long ventanaMs;
+    private final int maxLote;
+
+    private final ScheduledExecutorService temporizador;
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Lote en formación: id → future compartido por todos los que lo pidieron. */
+    private Map<Long, CompletableFuture<Empleado>> loteActual = new HashMap<>();
+    private boolean cerrado;
+
+    /**
+     * @param empleadoDAO DAO usado para leer los lotes.
+     * @param ventanaMs   espera máxima para juntar lecturas en un lote (> 0).
+     * @param maxLote     cantidad de ids que dispara la consulta sin esperar la ventana (> 0).
+     */
+    public CargadorEmpleados(EmpleadoDAO empleadoDAO, long ventanaMs, int maxLote) {
+        if (empleadoDAO == null) {
+            throw new IllegalArgumentException("EmpleadoDAO no puede ser null");
+        }
+        if (ventanaMs <= 0 || maxLote <= 0) {
+            throw new IllegalArgumentException("La ventana y el tamaño máximo de lote deben ser mayores a 0");
+        }
+        this.empleadoDAO = empleadoDAO;
+        this.ventanaMs = ventanaMs;
+        this.maxLote = maxLote;
+        this.temporizador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, HILO_TEMPORIZADOR);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pide un Empleado para el próximo lote.
+     *
+     * @return future con el Empleado, con null si no existe o está eliminado, o
+     *         completado con la SQLException del lote.
+     */
+    public CompletableFuture<Empleado> cargarAsync(long id) {
+        Map<Long, CompletableFuture<Empleado>> lleno = null;
+        CompletableFuture<Empleado> resultado;
+        lock.lock();
+        try {
+            if (cerrado) {
+                return CompletableFuture.failedFuture(new SQLException(ERROR_CERRADO));
+            }
+            resultado = loteActual.get(id);
+            if (resultado != null) {
+                return resultado;
+            }
+            resultado = new CompletableFuture<>();
+            loteActual.put(id, resultado);
+            if (loteActual.size() == 1) {
+                Map<Long, CompletableFuture<Empleado>> lote = loteActual;
+                temporizador.schedule(() -> despachar(lote), ventanaMs, TimeUnit.MILLISECONDS);
+            }
+            if (loteActual.size() >= maxLote) {
+                lleno = loteActual;
+                loteActual = new HashMap<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (lleno != null) {
+            consultar(lleno);
+        }
+        return resultado;
+    }
+
+    /**
+     * Versión bloqueante de {@link #cargarAsync}, con la misma firma que
+     * {@link EmpleadoDAO#leer} (se puede usar como loader del EmpleadoCache).
+     */
+    public Empleado cargar(long id) throws SQLException {
+        try {
+            return cargarAsync(id).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba el lote de empleados", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e.getCause());
+        }
+    }
+
+    /**
+     * Fin de la ventana: consulta el lote si todavía no se despachó por tamaño.
+     */
+    private void despachar(Map<Long, CompletableFuture<Empleado>> lote) {
+        lock.lock();
+        try {
+            if (loteActual != lote) {
+                return; // Ya se consultó al llenarse
+            }
+            loteActual = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        consultar(lote);
+    }
+
+    private void consultar(Map<Long, CompletableFuture<Empleado>> lote) {
+        Thread.ofVirtual().start(() -> {
+            try {
+                Map<Long, Empleado> empleados = empleadoDAO.leerPorIds(new ArrayList<>(lote.keySet()));
+                for (Map.Entry<Long, CompletableFuture<Empleado>> entry : lote.entrySet()) {
+                    entry.getValue().complete(empleados.get(entry.getKey()));
+                }
+            } catch (Exception e) {
+                for (CompletableFuture<Empleado> future : lote.values()) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Consulta el lote pendiente y deja de aceptar lecturas.
+     */
+    @Override
+    public void close() {
+        Map<Long, CompletableFuture<Empleado>> pendiente;
+        lock.lock();
+        try {
+            cerrado = true;
+            pendiente = loteActual;
+            loteActual = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        temporizador.shutdownNow();
+        if (!pendiente.isEmpty()) {
+            consultar(pendiente);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dao;
+
+import java.sql.SQLException;
+
+/**
+ * La fila a actualizar existe pero su versión ya no es la que se leyó: otro
+ * usuario la modificó (o la dio de baja) entre la lectura y la actualización.
+ * <p>
+ * La lanzan los UPDATE con control de concurrencia optimista
+ * ({@code ... WHERE id = ? AND version = ?}) cuando no coincide ninguna fila.
+ * No es un error transitorio: reintentar con los mismos datos vuelve a fallar;
+ * hay que releer la entidad y volver a aplicar los cambios.
+ */
+public class ConflictoVersionException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String MENSAJE =
+            "El %s con ID %d fue modificado por otro usuario (versión leída: %d, versión actual: %d).";
+
+    private final String entidad;
+    private final long id;
+    private final int versionLeida;
+    private final int versionActual;
+
+    /**
+     * @param entidad       nombre de la entidad (ej. "Empleado").
+     * @param id            id de la fila.
+     * @param versionLeida  versión con la que se intentó actualizar.
+     * @param versionActual versión que tiene la fila en la BD.
+     */
+    public ConflictoVersionException(String entidad, long id, int versionLeida, int versionActual) {
+        super(String.format(MENSAJE, entidad, id, versionLeida, versionActual));
+        this.entidad = entidad;
+        this.id = id;
+        this.versionLeida = versionLeida;
+        this.versionActual = versionActual;
+    }
+
+    public String getEntidad() {
+        return entidad;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getVersionLeida() {
+        return versionLeida;
+    }
+
+    public int getVersionActual() {
+        return versionActual;
+    }
+}
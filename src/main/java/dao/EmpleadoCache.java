@@ -0,0 +1,366 @@
+package dao;
+
+import entities.Empleado;
+import entities.Legajo;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de lectura (read-through) de Empleados, acotado y con expiración.
+ * <p>
+ * Se ubica delante de {@link EmpleadoDAO} para evitar ir a MySQL en búsquedas
+ * repetidas del mismo empleado por id, DNI o nro_legajo.
+ * <p>
+ * Características:
+ * - Tamaño máximo: al superarlo se desaloja el empleado usado hace más tiempo (LRU).
+ * - TTL: una entrada vencida se descarta y se vuelve a leer de la BD.
+ * - Índices secundarios DNI → id y nro_legajo → id, así las tres búsquedas
+ *   comparten la misma entrada, y id de legajo → id para invalidar al dueño
+ *   cuando se modifica sólo el Legajo.
+ * - Copias defensivas: se guarda y se devuelve una copia, de modo que los cambios
+ *   que haga el llamador (ej. el menú de edición) no alteren el caché.
+ * - Contadores de aciertos, fallos, desalojos y expiraciones para dimensionarlo.
+ * <p>
+ * La invalidación la hace la capa de Servicio DESPUÉS del commit. Para que una
+ * lectura lenta iniciada antes del commit no vuelva a cargar un dato viejo, las
+ * cargas sólo se guardan si no hubo ninguna invalidación mientras se leía de la BD.
+ */
+public class EmpleadoCache {
+
+    /**
+     * Lee un Empleado de la BD cuando no está en el caché.
+     */
+    @FunctionalInterface
+    public interface Loader<K> {
+        Empleado load(K key) throws SQLException;
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    /** Entradas por id en orden de acceso (la primera es la menos usada recientemente). */
+    private final LinkedHashMap<Long, Entry> entriesById;
+    private final Map<String, Long> idByDni = new HashMap<>();
+    private final Map<String, Long> idByNroLegajo = new HashMap<>();
+    private final Map<Long, Long> idByLegajoId = new HashMap<>();
+
+    /** Se incrementa en cada invalidación; ver {@link #put(Empleado, long)}. */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * @param maxSize   cantidad máxima de empleados en caché (> 0).
+     * @param ttlMillis tiempo de vida de cada entrada en milisegundos (> 0).
+     */
+    public EmpleadoCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo del caché debe ser mayor a 0");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("El TTL del caché debe ser mayor a 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entriesById = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // --- Lecturas (read-through) ---
+
+    /**
+     * Devuelve el Empleado con ese id, desde el caché o leyéndolo con el loader.
+     */
+    public Empleado getById(long id, Loader<Long> loader) throws SQLException {
+        Empleado cached = lookup(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loadAndPut(id, loader);
+    }
+
+    /**
+     * Devuelve el Empleado con ese DNI, desde el caché o leyéndolo con el loader.
+     */
+    public Empleado getByDni(String dni, Loader<String> loader) throws SQLException {
+        Empleado cached = lookupSecondary(idByDni, dni);
+        if (cached != null) {
+            return cached;
+        }
+        return loadAndPut(dni, loader);
+    }
+
+    /**
+     * Devuelve el Empleado dueño del nro_legajo, desde el caché o leyéndolo con el loader.
+     */
+    public Empleado getByNroLegajo(String nroLegajo, Loader<String> loader) throws SQLException {
+        Empleado cached = lookupSecondary(idByNroLegajo, nroLegajo);
+        if (cached != null) {
+            return cached;
+        }
+        return loadAndPut(nroLegajo, loader);
+    }
+
+    // --- Invalidación ---
+
+    /**
+     * Quita del caché al Empleado (y sus claves secundarias).
+     * Debe llamarse después del commit que lo modificó o eliminó.
+     */
+    public synchronized void invalidate(long id) {
+        invalidationCount.incrementAndGet();
+        Entry entry = entriesById.remove(id);
+        if (entry != null) {
+            removeSecondaryKeys(entry);
+        }
+    }
+
+    /**
+     * Quita del caché al Empleado dueño del Legajo con ese id, si está.
+     * Debe llamarse después del commit que modificó el Legajo.
+     */
+    public synchronized void invalidateByLegajo(long legajoId) {
+        invalidationCount.incrementAndGet();
+        Long id = idByLegajoId.get(legajoId);
+        if (id == null) {
+            return;
+        }
+        Entry entry = entriesById.remove(id);
+        if (entry != null) {
+            removeSecondaryKeys(entry);
+        }
+    }
+
+    /**
+     * Vacía el caché por completo (los contadores se conservan).
+     */
+    public synchronized void invalidateAll() {
+        invalidationCount.incrementAndGet();
+        entriesById.clear();
+        idByDni.clear();
+        idByNroLegajo.clear();
+        idByLegajoId.clear();
+    }
+
+    // --- Estadísticas ---
+
+    /**
+     * Devuelve una foto de los contadores del caché.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), expirations.get(),
+                entriesById.size(), maxSize);
+    }
+
+    // --- Internos ---
+
+    private <K> Empleado loadAndPut(K key, Loader<K> loader) throws SQLException {
+        misses.incrementAndGet();
+        long invalidationsBefore = invalidationCount.get();
+        Empleado loaded = loader.load(key);
+        if (loaded == null) {
+            return null;
+        }
+        put(loaded, invalidationsBefore);
+        return copy(loaded);
+    }
+
+    private synchronized Empleado lookup(long id) {
+        Entry entry = entriesById.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entriesById.remove(id);
+            removeSecondaryKeys(entry);
+            expirations.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return copy(entry.empleado);
+    }
+
+    private Empleado lookupSecondary(Map<String, Long> index, String key) {
+        if (key == null) {
+            return null;
+        }
+        Long id;
+        synchronized (this) {
+            id = index.get(normalize(key));
+        }
+        return id == null ? null : lookup(id);
+    }
+
+    /**
+     * Guarda el Empleado sólo si no hubo invalidaciones desde que empezó la lectura
+     * en la BD; si las hubo, el dato leído podría ser anterior a un commit.
+     */
+    private synchronized void put(Empleado empleado, long invalidationsBefore) {
+        if (invalidationCount.get() != invalidationsBefore) {
+            return;
+        }
+        Entry previous = entriesById.remove(empleado.getId());
+        if (previous != null) {
+            removeSecondaryKeys(previous);
+        }
+
+        Entry entry = new Entry(copy(empleado), System.currentTimeMillis() + ttlMillis);
+        entriesById.put(empleado.getId(), entry);
+        if (entry.dniKey != null) {
+            idByDni.put(entry.dniKey, empleado.getId());
+        }
+        if (entry.nroLegajoKey != null) {
+            idByNroLegajo.put(entry.nroLegajoKey, empleado.getId());
+        }
+        if (empleado.getLegajo() != null) {
+            idByLegajoId.put(empleado.getLegajo().getId(), empleado.getId());
+        }
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> iterator = entriesById.values().iterator();
+        while (entriesById.size() > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            removeSecondaryKeys(eldest);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void removeSecondaryKeys(Entry entry) {
+        if (entry.dniKey != null) {
+            idByDni.remove(entry.dniKey, entry.empleado.getId());
+        }
+        if (entry.nroLegajoKey != null) {
+            idByNroLegajo.remove(entry.nroLegajoKey, entry.empleado.getId());
+        }
+        if (entry.empleado.getLegajo() != null) {
+            idByLegajoId.remove(entry.empleado.getLegajo().getId(), entry.empleado.getId());
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Copia un Empleado (y su Legajo) campo por campo.
+     */
+    private static Empleado copy(Empleado original) {
+        Empleado copia = new Empleado(original.getNombre(), original.getApellido(), original.getDni(),
+                original.getEmail(), original.getFechaIngreso(), original.getArea(), null);
+        copia.setId(original.getId());
+        copia.setEliminado(original.isEliminado());
+        copia.setVersion(original.getVersion());
+
+        Legajo legajo = original.getLegajo();
+        if (legajo != null) {
+            Legajo legajoCopia = new Legajo();
+            legajoCopia.setId(legajo.getId());
+            legajoCopia.setEliminado(legajo.isEliminado());
+            legajoCopia.setVersion(legajo.getVersion());
+            legajoCopia.setNumeroLegajo(legajo.getNumeroLegajo());
+            legajoCopia.setCategoria(legajo.getCategoria());
+            legajoCopia.setEstado(legajo.getEstado());
+            legajoCopia.setFechaAlta(legajo.getFechaAlta());
+            legajoCopia.setObservaciones(legajo.getObservaciones());
+            copia.setLegajo(legajoCopia);
+        }
+        return copia;
+    }
+
+    /**
+     * Entrada del caché: el Empleado, su vencimiento y sus claves secundarias normalizadas.
+     */
+    private static final class Entry {
+
+        private final Empleado empleado;
+        private final long expiresAt;
+        private final String dniKey;
+        private final String nroLegajoKey;
+
+        private Entry(Empleado empleado, long expiresAt) {
+            this.empleado = empleado;
+            this.expiresAt = expiresAt;
+            this.dniKey = empleado.getDni() != null ? normalize(empleado.getDni()) : null;
+            this.nroLegajoKey = empleado.getLegajo() != null && empleado.getLegajo().getNumeroLegajo() != null
+                    ? normalize(empleado.getLegajo().getNumeroLegajo())
+                    : null;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * Foto inmutable de los contadores del caché.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final int size;
+        private final int maxSize;
+
+        private Stats(long hits, long misses, long evictions, long expirations, int size, int maxSize) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Proporción de búsquedas resueltas desde el caché (0 si no hubo búsquedas).
+         */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Caché de Empleados [Tamaño: %d/%d, Aciertos: %d, Fallos: %d, Tasa de aciertos: %.1f%%, "
+                            + "Desalojos: %d, Expirados: %d]",
+                    size, maxSize, hits, misses, getHitRate() * 100, evictions, expirations);
+        }
+    }
+}
@@ -1,317 +1,146 @@
 package dao;
 
-import config.DatabaseConnection;
 import entities.Empleado;
-import entities.Legajo;
 
+import java.io.IOException;
 import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Types;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
- * Data Access Object (DAO) para la entidad Empleado.
- * Implementa GenericDAO<Empleado> y gestiona toda la persistencia de Empleado
- * en la base de datos.
- *
- * Características:
- * - Implementa GenericDAO<Empleado> para operaciones CRUD estándar
- * - Usa PreparedStatements en TODAS las consultas (protección contra SQL injection)
- * - Proporciona búsquedas especializadas
- *
- * RESPONSABILIDAD CLAVE: Esta clase maneja el LEFT JOIN con la tabla 'legajo'
- * para cargar la relación 1-a-1 (A->B) al leer Empleados.
+ * Contrato de acceso a datos de Empleado: las operaciones CRUD de
+ * {@link GenericDAO} más las búsquedas y lecturas por lotes que usa el Service.
+ * <p>
+ * Implementaciones:
+ * - {@link EmpleadoDAOImpl}: MySQL por JDBC (LEFT JOIN con legajo).
+ * - {@link EmpleadoDAOMemoria}: índices en memoria, opcionalmente con escritura
+ *   directa (write-through) a la implementación JDBC.
+ * <p>
+ * Todas las lecturas devuelven sólo Empleados activos (eliminado = FALSE), con
+ * su Legajo activo cargado (o null si no tiene).
  */
-public class EmpleadoDAO implements GenericDAO<Empleado> {
-
-    // --- QUERIES SQL (EMPLEADO) ---
-
-    private static final String INSERT_SQL =
-            "INSERT INTO empleado (nombre, apellido, dni, email, fecha_ingreso, area) " +
-                    "VALUES (?, ?, ?, ?, ?, ?)";
-
-    private static final String UPDATE_SQL =
-            "UPDATE empleado SET nombre = ?, apellido = ?, dni = ?, email = ?, fecha_ingreso = ?, area = ? " +
-                    "WHERE id = ?";
-
-    private static final String DELETE_SQL =
-            "UPDATE empleado SET eliminado = TRUE WHERE id = ?";
-
-    // --- QUERIES SQL (EMPLEADO + LEGAJO con JOIN) ---
-
-    private static final String SELECT_BASE_JOIN =
-            "SELECT e.id AS emp_id, e.nombre, e.apellido, e.dni, e.email, e.fecha_ingreso, e.area, " +
-                    "       l.id AS leg_id, l.nro_legajo, l.categoria, l.estado, l.fecha_alta, l.observaciones " +
-                    "FROM empleado e " +
-                    "LEFT JOIN legajo l ON e.id = l.empleado_id AND l.eliminado = FALSE ";
-
-    private static final String SELECT_BY_ID_SQL =
-            SELECT_BASE_JOIN +
-                    "WHERE e.id = ? AND e.eliminado = FALSE";
-
-    private static final String SELECT_ALL_SQL =
-            SELECT_BASE_JOIN +
-                    "WHERE e.eliminado = FALSE";
-
-    // --- QUERIES DE BÚSQUEDA ---
+public interface EmpleadoDAO extends GenericDAO<Empleado> {
 
     /**
-     * SQL para buscar un Empleado por DNI (búsqueda exacta).
-     * El DNI es UNIQUE en la BD. Incluye LEFT JOIN para cargar el Legajo.
+     * Tamaño de página por defecto para {@link #leerTodosStream()}.
      */
-    private static final String SELECT_BY_DNI_SQL =
-            SELECT_BASE_JOIN +
-                    "WHERE e.dni = ? AND e.eliminado = FALSE";
+    int DEFAULT_PAGE_SIZE = 500;
 
     /**
-     * SQL para buscar Empleados por Nombre o Apellido (búsqueda flexible).
-     * Usa LIKE '%filtro%'. Incluye LEFT JOIN para cargar el Legajo.
+     * Cantidad máxima de resultados por defecto de la búsqueda por nombre.
      */
-    private static final String SELECT_BY_NAME_SQL =
-            SELECT_BASE_JOIN +
-                    "WHERE (e.nombre LIKE ? OR e.apellido LIKE ?) AND e.eliminado = FALSE";
-
-    // --- MÉTODOS GENÉRICOS (GenericDAO) ---
-
-    @Override
-    public void crear(Empleado empleado) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
-
-            setEmpleadoParameters(stmt, empleado);
-            stmt.executeUpdate();
-            assignGeneratedId(stmt, empleado);
-        }
-    }
-
-    @Override
-    public void crearTx(Empleado empleado, Connection conn) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
-            setEmpleadoParameters(stmt, empleado);
-            stmt.executeUpdate();
-            assignGeneratedId(stmt, empleado);
-        }
-    }
-
-    @Override
-    public void actualizar(Empleado empleado) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            executeUpdate(empleado, conn);
-        }
-    }
-
-    @Override
-    public void actualizarTx(Empleado empleado, Connection conn) throws SQLException {
-        executeUpdate(empleado, conn);
-    }
-
-    @Override
-    public void eliminar(long id) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            executeSoftDelete(id, conn);
-        }
-    }
-
-    @Override
-    public void eliminarTx(long id, Connection conn) throws SQLException {
-        executeSoftDelete(id, conn);
-    }
-
-    @Override
-    public Empleado leer(long id) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
-
-            stmt.setLong(1, id);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapRowToEmpleado(rs);
-                }
-            }
-        }
-        return null;
-    }
-
-    @Override
-    public List<Empleado> leerTodos() throws SQLException {
-        List<Empleado> empleados = new ArrayList<>();
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                empleados.add(mapRowToEmpleado(rs));
-            }
-        }
-        return empleados;
-    }
-
-    // --- MÉTODOS DE BÚSQUEDA ESPECIALIZADOS ---
+    int DEFAULT_NAME_SEARCH_LIMIT = 50;
 
     /**
-     * Busca un Empleado por su DNI (búsqueda exacta).
-     * Dado que el DNI es ÚNICO, devuelve un solo Empleado o null.
+     * Inserta un lote de Empleados dentro de una transacción existente y asigna
+     * los IDs generados a cada Empleado, en el mismo orden de la lista.
+     * NO cierra la conexión.
+     *
+     * @throws SQLException Si falla alguna fila (el lote debe descartarse con rollback).
      */
-    public Empleado buscarPorDni(String dni) throws SQLException {
-        if (isNullOrBlank(dni)) {
-            return null;
-        }
-
-        String trimmedDni = dni.trim();
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_DNI_SQL)) {
-
-            stmt.setString(1, trimmedDni);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapRowToEmpleado(rs);
-                }
-            }
-        }
-        return null;
-    }
+    void crearLoteTx(List<Empleado> empleados, Connection conn) throws SQLException;
 
     /**
-     * Busca Empleados cuyo nombre o apellido coincidan con el filtro (búsqueda flexible).
+     * Inserta un Empleado y su Legajo en una sola operación atómica (si falla
+     * cualquiera no queda ninguno) y asigna los dos IDs generados. No debe
+     * llamarse dentro de una transacción.
      *
-     * @param filtro El texto a buscar (ej: "gar", "Mar").
-     * @return Una lista de Empleados que coinciden (puede estar vacía).
+     * @throws SQLException si falla algún alta (ej. 1062 con el nombre de la constraint violada).
      */
-    public List<Empleado> buscarPorNombreApellido(String filtro) throws SQLException {
-        List<Empleado> empleados = new ArrayList<>();
-        if (isNullOrBlank(filtro)) {
-            return empleados;
-        }
-
-        String searchPattern = "%" + filtro.trim() + "%";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_NAME_SQL)) {
-
-            stmt.setString(1, searchPattern); // e.nombre LIKE ?
-            stmt.setString(2, searchPattern); // e.apellido LIKE ?
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    empleados.add(mapRowToEmpleado(rs));
-                }
-            }
-        }
-        return empleados;
-    }
-
-    // --- HELPERS (parámetros, mapping, validación, reutilización de lógica) ---
-
-    private void setEmpleadoParameters(PreparedStatement stmt, Empleado empleado) throws SQLException {
-        stmt.setString(1, empleado.getNombre());
-        stmt.setString(2, empleado.getApellido());
-        stmt.setString(3, empleado.getDni());
-        stmt.setString(4, empleado.getEmail());
-
-        if (empleado.getFechaIngreso() != null) {
-            stmt.setDate(5, Date.valueOf(empleado.getFechaIngreso()));
-        } else {
-            stmt.setNull(5, Types.DATE);
-        }
+    void crearConLegajo(Empleado empleado) throws SQLException;
 
-        stmt.setString(6, empleado.getArea());
+    /**
+     * Recorre todos los Empleados activos de forma incremental con el tamaño de
+     * página por defecto.
+     */
+    default Stream<Empleado> leerTodosStream() {
+        return leerTodosStream(DEFAULT_PAGE_SIZE);
     }
 
     /**
-     * Extrae el ID autogenerado y lo asigna al Empleado.
+     * Recorre todos los Empleados activos de forma incremental, página por página
+     * (ver {@link #leerPagina(long, int)}).
+     *
+     * @param pageSize cantidad de filas por página.
+     * @return Stream perezoso de Empleados ordenados por id. Los errores de base de
+     *         datos se propagan como {@link UncheckedSQLException} al consumirlo.
      */
-    private void assignGeneratedId(PreparedStatement stmt, Empleado empleado) throws SQLException {
-        try (ResultSet rs = stmt.getGeneratedKeys()) {
-            if (rs.next()) {
-                empleado.setId(rs.getLong(1));
-            }
-        }
+    default Stream<Empleado> leerTodosStream(int pageSize) {
+        return KeysetPageIterator.stream(this::leerPagina, pageSize);
     }
 
     /**
-     * Ejecuta la lógica de actualización usando una conexión existente.
+     * Recorre todos los Empleados activos (con su Legajo), ordenados por id,
+     * entregándolos de a uno al procesador sin cargarlos todos en memoria.
+     *
+     * @return cantidad de Empleados recorridos.
+     * @throws IOException si el procesador falla (se corta el recorrido).
      */
-    private void executeUpdate(Empleado empleado, Connection conn) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
-            setEmpleadoParameters(stmt, empleado);
-            stmt.setLong(7, empleado.getId());
+    long recorrerTodos(ProcesadorFila<Empleado> procesador) throws SQLException, IOException;
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("No se pudo actualizar el Empleado. ID no encontrado: " + empleado.getId());
-            }
-        }
-    }
+    /**
+     * Busca un Empleado activo por su DNI (búsqueda exacta).
+     *
+     * @return el Empleado, o null si no existe.
+     */
+    Empleado buscarPorDni(String dni) throws SQLException;
 
     /**
-     * Ejecuta la baja lógica (soft delete) usando una conexión existente.
+     * Busca el Empleado activo dueño de un número de legajo (búsqueda exacta).
+     *
+     * @return el Empleado (con su Legajo), o null si no existe.
      */
-    private void executeSoftDelete(long id, Connection conn) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
-            stmt.setLong(1, id);
+    Empleado buscarPorNroLegajo(String nroLegajo) throws SQLException;
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("No se pudo eliminar (baja lógica) el Empleado. ID no encontrado: " + id);
-            }
-        }
-    }
+    /**
+     * Busca Empleados cuyo nombre o apellido comienza con el filtro, sin
+     * distinguir mayúsculas ni acentos.
+     *
+     * @param limite Cantidad máxima de resultados.
+     * @return Empleados ordenados por apellido y nombre (la lista puede estar vacía).
+     */
+    List<Empleado> buscarPorNombreApellido(String filtro, int limite) throws SQLException;
 
     /**
-     * Verifica si un String es nulo o está vacío tras hacer trim().
+     * Búsqueda por prefijo con el límite por defecto.
      */
-    private boolean isNullOrBlank(String value) {
-        return value == null || value.trim().isEmpty();
+    default List<Empleado> buscarPorNombreApellido(String filtro) throws SQLException {
+        return buscarPorNombreApellido(filtro, DEFAULT_NAME_SEARCH_LIMIT);
     }
 
     /**
-     * Mapea una fila del ResultSet a un Empleado (incluyendo su Legajo si existe).
+     * Lee varios Empleados activos por id.
+     *
+     * @param ids ids a leer (se ignoran los null y los repetidos).
+     * @return Empleados encontrados por id; los que no existen o están eliminados
+     *         no aparecen en el mapa.
      */
-    private Empleado mapRowToEmpleado(ResultSet rs) throws SQLException {
-        Empleado empleado = new Empleado();
-        empleado.setId(rs.getLong("emp_id"));
-        empleado.setNombre(rs.getString("nombre"));
-        empleado.setApellido(rs.getString("apellido"));
-        empleado.setDni(rs.getString("dni"));
-        empleado.setEmail(rs.getString("email"));
+    Map<Long, Empleado> leerPorIds(Collection<Long> ids) throws SQLException;
 
-        Date fechaIngreso = rs.getDate("fecha_ingreso");
-        if (fechaIngreso != null) {
-            empleado.setFechaIngreso(fechaIngreso.toLocalDate());
-        }
-        empleado.setArea(rs.getString("area"));
-
-        long legajoId = rs.getLong("leg_id");
-        if (legajoId > 0 && !rs.wasNull()) {
-            Legajo legajo = new Legajo();
-            legajo.setId(legajoId);
-            legajo.setNumeroLegajo(rs.getString("nro_legajo"));
-            legajo.setCategoria(rs.getString("categoria"));
-
-            String estadoStr = rs.getString("estado");
-            if (estadoStr != null) {
-                legajo.setEstado(entities.EstadoLegajo.valueOf(estadoStr));
-            }
-
-            Date fechaAlta = rs.getDate("fecha_alta");
-            if (fechaAlta != null) {
-                legajo.setFechaAlta(fechaAlta.toLocalDate());
-            }
-            legajo.setObservaciones(rs.getString("observaciones"));
+    /**
+     * Lee varios Empleados activos por DNI.
+     *
+     * @param dnis DNIs a buscar (se ignoran los vacíos; se quitan los espacios).
+     * @return Empleados encontrados, por DNI.
+     */
+    Map<String, Empleado> buscarPorDnis(Collection<String> dnis) throws SQLException;
 
-            empleado.setLegajo(legajo);
-        } else {
-            empleado.setLegajo(null);
-        }
+    /**
+     * Lee varios Empleados activos por número de legajo.
+     *
+     * @param nrosLegajo números de legajo a buscar (se ignoran los vacíos; se quitan los espacios).
+     * @return Empleados encontrados, por número de legajo (tal como está guardado).
+     */
+    Map<String, Empleado> buscarPorNrosLegajo(Collection<String> nrosLegajo) throws SQLException;
 
-        return empleado;
-    }
-}
\ No newline at end of file
+    /**
+     * Recorre id, nombre y apellido de todos los Empleados activos. Cada fila
+     * llega como un Empleado parcial (sin DNI, email ni Legajo).
+     *
+     * @return cantidad de filas recorridas.
+     */
+    long recorrerNombres(ProcesadorFila<Empleado> procesador) throws SQLException, IOException;
+}
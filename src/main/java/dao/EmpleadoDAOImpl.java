@@ -0,0 +1,826 @@
+package dao;
+
+import config.DatabaseConnection;
+import config.StatementRegistry;
+import entities.Empleado;
+import entities.Legajo;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Data Access Object (DAO) JDBC para la entidad Empleado.
+ * Implementa EmpleadoDAO y gestiona toda la persistencia de Empleado
+ * en la base de datos.
+ *
+ * Características:
+ * - Implementa EmpleadoDAO (y GenericDAO<Empleado>) para operaciones CRUD estándar
+ * - Usa PreparedStatements en TODAS las consultas (protección contra SQL injection)
+ * - Proporciona búsquedas especializadas
+ *
+ * RESPONSABILIDAD CLAVE: Esta clase maneja el LEFT JOIN con la tabla 'legajo'
+ * para cargar la relación 1-a-1 (A->B) al leer Empleados.
+ */
+public class EmpleadoDAOImpl implements EmpleadoDAO {
+
+    // --- QUERIES SQL (EMPLEADO) ---
+
+    private static final String INSERT_SQL =
+            "INSERT INTO empleado (nombre, apellido, dni, email, fecha_ingreso, area) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * SQL para actualizar un Empleado con control de concurrencia optimista: sólo
+     * modifica la fila si sigue en la versión leída, y la incrementa. No toma
+     * bloqueos entre la lectura y la edición (a diferencia de SELECT ... FOR UPDATE).
+     */
+    private static final String UPDATE_SQL =
+            "UPDATE empleado SET nombre = ?, apellido = ?, dni = ?, email = ?, fecha_ingreso = ?, area = ?, " +
+                    "version = version + 1 WHERE id = ? AND version = ?";
+
+    /**
+     * La baja lógica también incrementa la versión, para que una edición abierta
+     * antes de la baja no pueda pisarla.
+     */
+    private static final String DELETE_SQL =
+            "UPDATE empleado SET eliminado = TRUE, version = version + 1 WHERE id = ?";
+
+    /**
+     * SQL para leer la versión actual cuando un UPDATE no coincide con ninguna fila
+     * (distingue un conflicto de versión de un ID inexistente).
+     */
+    private static final String SELECT_VERSION_SQL =
+            "SELECT version FROM empleado WHERE id = ?";
+
+    // --- QUERIES SQL (EMPLEADO + LEGAJO con JOIN) ---
+
+    private static final String SELECT_BASE_JOIN =
+            "SELECT e.id AS emp_id, e.nombre, e.apellido, e.dni, e.email, e.fecha_ingreso, e.area, " +
+                    "       e.version AS emp_version, " +
+                    "       l.id AS leg_id, l.nro_legajo, l.categoria, l.estado, l.fecha_alta, l.observaciones, " +
+                    "       l.version AS leg_version " +
+                    "FROM empleado e " +
+                    "LEFT JOIN legajo l ON e.id = l.empleado_id AND l.eliminado = FALSE ";
+
+    private static final String SELECT_BY_ID_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.id = ? AND e.eliminado = FALSE";
+
+    private static final String SELECT_ALL_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.eliminado = FALSE";
+
+    /**
+     * SQL para leer una página de Empleados (keyset pagination sobre la PK).
+     */
+    private static final String SELECT_PAGE_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.eliminado = FALSE AND e.id > ? ORDER BY e.id LIMIT ?";
+
+    /**
+     * SQL para recorrer todos los Empleados en un único ResultSet en modo
+     * streaming (exportaciones). El ORDER BY sobre la PK no requiere ordenar.
+     */
+    private static final String SELECT_ALL_ORDERED_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.eliminado = FALSE ORDER BY e.id";
+
+    // --- QUERIES DE BÚSQUEDA ---
+
+    /**
+     * SQL para buscar un Empleado por DNI (búsqueda exacta).
+     * El DNI es UNIQUE en la BD. Incluye LEFT JOIN para cargar el Legajo.
+     */
+    private static final String SELECT_BY_DNI_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.dni = ? AND e.eliminado = FALSE";
+
+    /**
+     * SQL para buscar el Empleado dueño de un número de legajo (búsqueda exacta).
+     * Usa el índice UNIQUE de legajo.nro_legajo.
+     */
+    private static final String SELECT_BY_NRO_LEGAJO_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE l.nro_legajo = ? AND e.eliminado = FALSE";
+
+    /**
+     * SQL para buscar Empleados cuyo Nombre o Apellido COMIENZA con el filtro.
+     * Usa LIKE 'filtro%' (sin comodín inicial) para que MySQL pueda resolver cada
+     * condición con un rango de idx_empleado_nombre_apellido e idx_empleado_apellido.
+     * La collation utf8mb4_unicode_ci ya compara sin distinguir acentos ni mayúsculas.
+     */
+    private static final String SELECT_BY_NAME_PREFIX_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE (e.nombre LIKE ? OR e.apellido LIKE ?) AND e.eliminado = FALSE " +
+                    "ORDER BY e.apellido, e.nombre LIMIT ?";
+
+    /**
+     * SQL para recorrer id, nombre y apellido de los Empleados activos (carga del
+     * índice de nombres). Se resuelve desde idx_empleado_nombre_apellido.
+     */
+    private static final String SELECT_NOMBRES_SQL =
+            "SELECT id, nombre, apellido FROM empleado WHERE eliminado = FALSE";
+
+    // --- ALTA EN UN SOLO VIAJE (procedimiento de sql/Scripts/procedimientos.sql) ---
+
+    /**
+     * Inserta Empleado y Legajo en una transacción del servidor y devuelve una
+     * fila (empleado_id, legajo_id).
+     */
+    private static final String CALL_ALTA_CON_LEGAJO_SQL =
+            "CALL sp_alta_empleado_legajo(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // --- QUERIES DE LECTURA POR LOTES (WHERE ... IN) ---
+    // La lista IN se arma según la cantidad de valores, por eso no se registran
+    // en el StatementRegistry.
+
+    private static final String SELECT_BY_IDS_PREFIX_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.eliminado = FALSE AND e.id IN ";
+
+    private static final String SELECT_BY_DNIS_PREFIX_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.eliminado = FALSE AND e.dni IN ";
+
+    private static final String SELECT_BY_NROS_LEGAJO_PREFIX_SQL =
+            SELECT_BASE_JOIN +
+                    "WHERE e.eliminado = FALSE AND l.nro_legajo IN ";
+
+    private static final String SELECT_MAX_ALLOWED_PACKET_SQL = "SELECT @@max_allowed_packet";
+
+    /**
+     * Máximo de valores por lista IN. Los conjuntos más grandes se leen en
+     * varias consultas (misma cota que UnicidadDAO).
+     */
+    private static final int MAX_VALORES_POR_CONSULTA = 1000;
+
+    /**
+     * Fracción de max_allowed_packet que puede ocupar una consulta por lotes,
+     * con margen para el resto de la sentencia y la codificación de parámetros.
+     */
+    private static final int FRACCION_MAX_PACKET = 2;
+
+    /**
+     * max_allowed_packet del servidor (se consulta una vez); 0 mientras no se leyó.
+     */
+    private static volatile long maxAllowedPacket;
+
+    // Las sentencias fijas se preparan una vez por conexión del pool y se reutilizan
+    static {
+        StatementRegistry.register(INSERT_SQL, UPDATE_SQL, DELETE_SQL, SELECT_BY_ID_SQL, SELECT_ALL_SQL,
+                SELECT_PAGE_SQL, SELECT_BY_DNI_SQL, SELECT_BY_NRO_LEGAJO_SQL, SELECT_BY_NAME_PREFIX_SQL,
+                CALL_ALTA_CON_LEGAJO_SQL, SELECT_VERSION_SQL);
+    }
+
+    // --- MÉTODOS GENÉRICOS (GenericDAO) ---
+
+    @Override
+    public void crear(Empleado empleado) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            setEmpleadoParameters(stmt, empleado);
+            stmt.executeUpdate();
+            assignGeneratedId(stmt, empleado);
+        }
+        DatabaseConnection.registrarEscritura();
+    }
+
+    @Override
+    public void crearTx(Empleado empleado, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            setEmpleadoParameters(stmt, empleado);
+            stmt.executeUpdate();
+            assignGeneratedId(stmt, empleado);
+        }
+    }
+
+    /**
+     * Inserta un lote de Empleados dentro de una transacción existente usando
+     * addBatch/executeBatch. Con rewriteBatchedStatements (activado en
+     * DatabaseConnection) el driver envía el lote como un único INSERT multi-fila.
+     * Los IDs generados se asignan a cada Empleado en el mismo orden de la lista.
+     * NO cierra la conexión.
+     *
+     * @param empleados Empleados a insertar (sin ID).
+     * @param conn      La conexión transaccional externa.
+     * @throws SQLException Si falla alguna fila (el lote debe descartarse con rollback).
+     */
+    @Override
+    public void crearLoteTx(List<Empleado> empleados, Connection conn) throws SQLException {
+        if (empleados.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Empleado empleado : empleados) {
+                setEmpleadoParameters(stmt, empleado);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            assignGeneratedIds(stmt, empleados);
+        }
+    }
+
+    /**
+     * Inserta un Empleado y su Legajo con una sola llamada al procedimiento
+     * sp_alta_empleado_legajo: un único viaje al servidor en lugar de
+     * setAutoCommit + INSERT + INSERT + commit. El procedimiento inserta ambas
+     * filas en su propia transacción (si falla cualquiera no queda ninguna) y
+     * devuelve los dos ids generados, que se asignan al Empleado y al Legajo.
+     * <p>
+     * Usa una conexión propia en modo autocommit; no debe llamarse dentro de una
+     * transacción, ya que el START TRANSACTION del procedimiento la confirmaría.
+     *
+     * @throws SQLException si el procedimiento no está instalado o falla algún
+     *                      INSERT (ej. 1062 con el nombre de la constraint violada).
+     */
+    @Override
+    public void crearConLegajo(Empleado empleado) throws SQLException {
+        Legajo legajo = empleado.getLegajo();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CALL_ALTA_CON_LEGAJO_SQL)) {
+
+            setEmpleadoParameters(stmt, empleado);
+            setLegajoAltaParameters(stmt, legajo, 7);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("El alta de empleado no devolvió los ids generados.");
+                }
+                empleado.setId(rs.getLong("empleado_id"));
+                legajo.setId(rs.getLong("legajo_id"));
+            }
+        }
+        DatabaseConnection.registrarEscritura();
+    }
+
+    /**
+     * Actualiza el Empleado si la fila sigue en la versión que tiene el objeto y,
+     * como el UPDATE se confirma enseguida (autocommit), avanza esa versión.
+     *
+     * @throws ConflictoVersionException si otro usuario lo modificó desde que se leyó.
+     */
+    @Override
+    public void actualizar(Empleado empleado) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            executeUpdate(empleado, conn);
+        }
+        DatabaseConnection.registrarEscritura();
+        empleado.incrementarVersion();
+    }
+
+    /**
+     * Actualiza el Empleado dentro de una transacción si la fila sigue en la
+     * versión que tiene el objeto. NO modifica la versión del objeto: el llamador
+     * debe llamar a incrementarVersion() recién después del commit, para que un
+     * rollback (o un reintento) no la deje desfasada.
+     *
+     * @throws ConflictoVersionException si otro usuario lo modificó desde que se leyó.
+     */
+    @Override
+    public void actualizarTx(Empleado empleado, Connection conn) throws SQLException {
+        executeUpdate(empleado, conn);
+    }
+
+    @Override
+    public void eliminar(long id) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            executeSoftDelete(id, conn);
+        }
+        DatabaseConnection.registrarEscritura();
+    }
+
+    @Override
+    public void eliminarTx(long id, Connection conn) throws SQLException {
+        executeSoftDelete(id, conn);
+    }
+
+    @Override
+    public Empleado leer(long id) throws SQLException {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
+
+            stmt.setLong(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToEmpleado(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Empleado> leerTodos() throws SQLException {
+        List<Empleado> empleados = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                empleados.add(mapRowToEmpleado(rs));
+            }
+        }
+        return empleados;
+    }
+
+    @Override
+    public List<Empleado> leerPagina(long afterId, int limit) throws SQLException {
+        validatePageSize(limit);
+        List<Empleado> empleados = new ArrayList<>(limit);
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PAGE_SQL)) {
+
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+            stmt.setFetchSize(limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    empleados.add(mapRowToEmpleado(rs));
+                }
+            }
+        }
+        return empleados;
+    }
+
+    /**
+     * Recorre todos los Empleados activos (con su Legajo) en una sola consulta,
+     * entregándolos de a uno al procesador a medida que llegan del servidor.
+     * <p>
+     * El ResultSet se abre en modo streaming (forward-only, read-only y
+     * fetchSize = Integer.MIN_VALUE), de modo que el driver no carga el resultado
+     * completo en memoria: sirve para exportar tablas grandes con memoria constante.
+     * La conexión queda ocupada hasta terminar el recorrido.
+     *
+     * @param procesador recibe cada Empleado, ordenados por id.
+     * @return cantidad de Empleados recorridos.
+     * @throws IOException si el procesador falla (se corta el recorrido).
+     */
+    @Override
+    public long recorrerTodos(ProcesadorFila<Empleado> procesador) throws SQLException, IOException {
+        long filas = 0;
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_ORDERED_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(Integer.MIN_VALUE); // Connector/J: filas de a una, sin buffer completo
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    procesador.procesar(mapRowToEmpleado(rs));
+                    filas++;
+                }
+            }
+        }
+        return filas;
+    }
+
+    // --- MÉTODOS DE BÚSQUEDA ESPECIALIZADOS ---
+
+    /**
+     * Busca un Empleado por su DNI (búsqueda exacta).
+     * Dado que el DNI es ÚNICO, devuelve un solo Empleado o null.
+     */
+    @Override
+    public Empleado buscarPorDni(String dni) throws SQLException {
+        if (isNullOrBlank(dni)) {
+            return null;
+        }
+
+        String trimmedDni = dni.trim();
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_DNI_SQL)) {
+
+            stmt.setString(1, trimmedDni);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToEmpleado(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca el Empleado dueño de un número de legajo (búsqueda exacta).
+     * Dado que el nro_legajo es ÚNICO, devuelve un solo Empleado (con su Legajo) o null.
+     */
+    @Override
+    public Empleado buscarPorNroLegajo(String nroLegajo) throws SQLException {
+        if (isNullOrBlank(nroLegajo)) {
+            return null;
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_NRO_LEGAJO_SQL)) {
+
+            stmt.setString(1, nroLegajo.trim());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToEmpleado(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca Empleados cuyo nombre o apellido comienza con el filtro (búsqueda por
+     * prefijo, sin comodín inicial para poder usar los índices).
+     *
+     * @param filtro El comienzo del nombre o apellido a buscar (ej: "gar", "Mar").
+     * @param limite Cantidad máxima de resultados.
+     * @return Empleados ordenados por apellido y nombre (la lista puede estar vacía).
+     */
+    @Override
+    public List<Empleado> buscarPorNombreApellido(String filtro, int limite) throws SQLException {
+        List<Empleado> empleados = new ArrayList<>();
+        if (isNullOrBlank(filtro)) {
+            return empleados;
+        }
+        validatePageSize(limite);
+
+        String searchPattern = escapeLike(filtro.trim()) + "%";
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_NAME_PREFIX_SQL)) {
+
+            stmt.setString(1, searchPattern); // e.nombre LIKE ?
+            stmt.setString(2, searchPattern); // e.apellido LIKE ?
+            stmt.setInt(3, limite);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    empleados.add(mapRowToEmpleado(rs));
+                }
+            }
+        }
+        return empleados;
+    }
+
+    /**
+     * Lee varios Empleados activos (con su Legajo) con consultas WHERE id IN (...),
+     * en lugar de una consulta (y un round trip) por id.
+     *
+     * @param ids ids a leer (se ignoran los null y los repetidos).
+     * @return Empleados encontrados por id; los que no existen o están eliminados
+     *         no aparecen en el mapa.
+     */
+    @Override
+    public Map<Long, Empleado> leerPorIds(Collection<Long> ids) throws SQLException {
+        Map<Long, Empleado> porId = new HashMap<>();
+        leerPorValores(ids, SELECT_BY_IDS_PREFIX_SQL,
+                empleado -> porId.put(empleado.getId(), empleado));
+        return porId;
+    }
+
+    /**
+     * Lee varios Empleados activos por DNI con consultas WHERE dni IN (...).
+     *
+     * @param dnis DNIs a buscar (se ignoran los vacíos; se quitan los espacios).
+     * @return Empleados encontrados, por DNI.
+     */
+    @Override
+    public Map<String, Empleado> buscarPorDnis(Collection<String> dnis) throws SQLException {
+        Map<String, Empleado> porDni = new HashMap<>();
+        leerPorValores(normalizarValores(dnis), SELECT_BY_DNIS_PREFIX_SQL,
+                empleado -> porDni.put(empleado.getDni(), empleado));
+        return porDni;
+    }
+
+    /**
+     * Lee varios Empleados activos por número de legajo con consultas
+     * WHERE nro_legajo IN (...).
+     *
+     * @param nrosLegajo números de legajo a buscar (se ignoran los vacíos; se quitan los espacios).
+     * @return Empleados encontrados, por número de legajo (tal como está en la BD).
+     */
+    @Override
+    public Map<String, Empleado> buscarPorNrosLegajo(Collection<String> nrosLegajo) throws SQLException {
+        Map<String, Empleado> porNroLegajo = new HashMap<>();
+        leerPorValores(normalizarValores(nrosLegajo), SELECT_BY_NROS_LEGAJO_PREFIX_SQL,
+                empleado -> porNroLegajo.put(empleado.getLegajo().getNumeroLegajo(), empleado));
+        return porNroLegajo;
+    }
+
+    /**
+     * Recorre id, nombre y apellido de todos los Empleados activos en modo
+     * streaming. Cada fila llega como un Empleado parcial (sin DNI, email ni Legajo).
+     *
+     * @param procesador acción a aplicar a cada fila.
+     * @return cantidad de filas recorridas.
+     */
+    @Override
+    public long recorrerNombres(ProcesadorFila<Empleado> procesador) throws SQLException, IOException {
+        long filas = 0;
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_NOMBRES_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(Integer.MIN_VALUE); // Connector/J: filas de a una, sin buffer completo
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Empleado empleado = new Empleado();
+                    empleado.setId(rs.getLong(1));
+                    empleado.setNombre(rs.getString(2));
+                    empleado.setApellido(rs.getString(3));
+                    procesador.procesar(empleado);
+                    filas++;
+                }
+            }
+        }
+        return filas;
+    }
+
+    // --- HELPERS (parámetros, mapping, validación, reutilización de lógica) ---
+
+    private void setEmpleadoParameters(PreparedStatement stmt, Empleado empleado) throws SQLException {
+        stmt.setString(1, empleado.getNombre());
+        stmt.setString(2, empleado.getApellido());
+        stmt.setString(3, empleado.getDni());
+        stmt.setString(4, empleado.getEmail());
+
+        if (empleado.getFechaIngreso() != null) {
+            stmt.setDate(5, Date.valueOf(empleado.getFechaIngreso()));
+        } else {
+            stmt.setNull(5, Types.DATE);
+        }
+
+        stmt.setString(6, empleado.getArea());
+    }
+
+    /**
+     * Parámetros del Legajo para el alta con procedimiento, a partir de la
+     * posición {@code desde} (mismo orden que el INSERT de LegajoDAO, sin empleado_id).
+     */
+    private void setLegajoAltaParameters(PreparedStatement stmt, Legajo legajo, int desde) throws SQLException {
+        stmt.setString(desde, legajo.getNumeroLegajo());
+        stmt.setString(desde + 1, legajo.getCategoria());
+
+        if (legajo.getEstado() != null) {
+            stmt.setString(desde + 2, legajo.getEstado().name());
+        } else {
+            stmt.setNull(desde + 2, Types.VARCHAR);
+        }
+
+        if (legajo.getFechaAlta() != null) {
+            stmt.setDate(desde + 3, Date.valueOf(legajo.getFechaAlta()));
+        } else {
+            stmt.setNull(desde + 3, Types.DATE);
+        }
+
+        stmt.setString(desde + 4, legajo.getObservaciones());
+    }
+
+    /**
+     * Extrae el ID autogenerado y lo asigna al Empleado.
+     */
+    private void assignGeneratedId(PreparedStatement stmt, Empleado empleado) throws SQLException {
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            if (rs.next()) {
+                empleado.setId(rs.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * Extrae los IDs autogenerados de un lote y los asigna, en orden, a los Empleados.
+     */
+    private void assignGeneratedIds(PreparedStatement stmt, List<Empleado> empleados) throws SQLException {
+        int index = 0;
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next() && index < empleados.size()) {
+                empleados.get(index++).setId(rs.getLong(1));
+            }
+        }
+        if (index != empleados.size()) {
+            throw new SQLException("El lote de Empleados devolvió " + index
+                    + " IDs generados para " + empleados.size() + " filas.");
+        }
+    }
+
+    /**
+     * Ejecuta la lógica de actualización usando una conexión existente.
+     */
+    private void executeUpdate(Empleado empleado, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            setEmpleadoParameters(stmt, empleado);
+            stmt.setLong(7, empleado.getId());
+            stmt.setInt(8, empleado.getVersion());
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw versionConflictOrNotFound(empleado, conn);
+            }
+        }
+    }
+
+    /**
+     * Arma la excepción para un UPDATE que no coincidió con ninguna fila: si el
+     * Empleado existe, su versión cambió (conflicto); si no, el ID no existe.
+     */
+    private SQLException versionConflictOrNotFound(Empleado empleado, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_VERSION_SQL)) {
+            stmt.setLong(1, empleado.getId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new ConflictoVersionException("Empleado", empleado.getId(),
+                            empleado.getVersion(), rs.getInt(1));
+                }
+            }
+        }
+        return new SQLException("No se pudo actualizar el Empleado. ID no encontrado: " + empleado.getId());
+    }
+
+    /**
+     * Ejecuta la baja lógica (soft delete) usando una conexión existente.
+     */
+    private void executeSoftDelete(long id, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
+            stmt.setLong(1, id);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("No se pudo eliminar (baja lógica) el Empleado. ID no encontrado: " + id);
+            }
+        }
+    }
+
+    /**
+     * Valida el tamaño de página pedido a {@link #leerPagina(long, int)}.
+     */
+    private void validatePageSize(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+    }
+
+    /**
+     * Ejecuta prefijoSql + "(?, ?, ...)" en bloques y pasa cada fila al consumidor.
+     * Cada bloque tiene como máximo MAX_VALORES_POR_CONSULTA valores y un tamaño
+     * estimado menor a max_allowed_packet / FRACCION_MAX_PACKET. Todos los bloques
+     * usan la misma conexión.
+     */
+    private <K> void leerPorValores(Collection<K> valores, String prefijoSql, Consumer<Empleado> consumidor)
+            throws SQLException {
+        if (valores == null || valores.isEmpty()) {
+            return;
+        }
+        List<K> pendientes = new ArrayList<>(new LinkedHashSet<>(valores));
+        pendientes.remove(null);
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            long maxBytes = getMaxAllowedPacket(conn) / FRACCION_MAX_PACKET - prefijoSql.length();
+            int desde = 0;
+            while (desde < pendientes.size()) {
+                int hasta = desde;
+                long bytes = 0;
+                while (hasta < pendientes.size() && hasta - desde < MAX_VALORES_POR_CONSULTA) {
+                    long bytesValor = estimarBytes(pendientes.get(hasta));
+                    if (hasta > desde && bytes + bytesValor > maxBytes) {
+                        break;
+                    }
+                    bytes += bytesValor;
+                    hasta++;
+                }
+                leerBloque(conn, prefijoSql, pendientes.subList(desde, hasta), consumidor);
+                desde = hasta;
+            }
+        }
+    }
+
+    private <K> void leerBloque(Connection conn, String prefijoSql, List<K> bloque, Consumer<Empleado> consumidor)
+            throws SQLException {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < bloque.size(); i++) {
+            placeholders.add("?");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(prefijoSql + placeholders)) {
+            for (int i = 0; i < bloque.size(); i++) {
+                stmt.setObject(i + 1, bloque.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.accept(mapRowToEmpleado(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Bytes que ocupa un valor en la consulta: el placeholder y su parámetro
+     * (en el peor caso, 4 bytes por carácter en utf8mb4).
+     */
+    private long estimarBytes(Object valor) {
+        long parametro = valor instanceof String ? ((String) valor).length() * 4L + 2 : Long.BYTES;
+        return parametro + 3; // ", ?"
+    }
+
+    /**
+     * Lee max_allowed_packet del servidor la primera vez y lo recuerda.
+     */
+    private static long getMaxAllowedPacket(Connection conn) throws SQLException {
+        long valor = maxAllowedPacket;
+        if (valor == 0) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SELECT_MAX_ALLOWED_PACKET_SQL)) {
+                valor = rs.next() ? rs.getLong(1) : 0;
+            }
+            maxAllowedPacket = valor;
+        }
+        return valor;
+    }
+
+    private List<String> normalizarValores(Collection<String> valores) {
+        List<String> normalizados = new ArrayList<>();
+        if (valores != null) {
+            for (String valor : valores) {
+                if (!isNullOrBlank(valor)) {
+                    normalizados.add(valor.trim());
+                }
+            }
+        }
+        return normalizados;
+    }
+
+    /**
+     * Escapa los comodines de LIKE (%, _ y la barra invertida) para que el filtro se busque literal.
+     */
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Verifica si un String es nulo o está vacío tras hacer trim().
+     */
+    private boolean isNullOrBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Mapea una fila del ResultSet a un Empleado (incluyendo su Legajo si existe).
+     */
+    private Empleado mapRowToEmpleado(ResultSet rs) throws SQLException {
+        Empleado empleado = new Empleado();
+        empleado.setId(rs.getLong("emp_id"));
+        empleado.setNombre(rs.getString("nombre"));
+        empleado.setApellido(rs.getString("apellido"));
+        empleado.setDni(rs.getString("dni"));
+        empleado.setEmail(rs.getString("email"));
+
+        Date fechaIngreso = rs.getDate("fecha_ingreso");
+        if (fechaIngreso != null) {
+            empleado.setFechaIngreso(fechaIngreso.toLocalDate());
+        }
+        empleado.setArea(rs.getString("area"));
+        empleado.setVersion(rs.getInt("emp_version"));
+
+        long legajoId = rs.getLong("leg_id");
+        if (legajoId > 0 && !rs.wasNull()) {
+            Legajo legajo = new Legajo();
+            legajo.setId(legajoId);
+            legajo.setNumeroLegajo(rs.getString("nro_legajo"));
+            legajo.setCategoria(rs.getString("categoria"));
+
+            String estadoStr = rs.getString("estado");
+            if (estadoStr != null) {
+                legajo.setEstado(entities.EstadoLegajo.valueOf(estadoStr));
+            }
+
+            Date fechaAlta = rs.getDate("fecha_alta");
+            if (fechaAlta != null) {
+                legajo.setFechaAlta(fechaAlta.toLocalDate());
+            }
+            legajo.setObservaciones(rs.getString("observaciones"));
+            legajo.setVersion(rs.getInt("leg_version"));
+
+            empleado.setLegajo(legajo);
+        } else {
+            empleado.setLegajo(null);
+        }
+
+        return empleado;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,340 @@
+package dao;
+
+import config.TransactionManager;
+import entities.Empleado;
+import entities.Legajo;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link EmpleadoDAO} sobre un {@link AlmacenMemoria}: las
+ * lecturas por id, DNI y nro_legajo son búsquedas en ConcurrentHashMap, sin red
+ * ni SQL.
+ * <p>
+ * Modos de uso:
+ * - Sin respaldo (respaldo null): el almacén es la única fuente de datos y aplica
+ *   las constraints de la BD. Los métodos *Tx ignoran la conexión (puede ser
+ *   null) y escriben enseguida en el almacén; si la transacción se revierte, los
+ *   cambios se deshacen (ver {@link TransactionManager#alRevertir}). Con
+ *   {@link UnicidadDAOMemoria} y {@link TransactionManager#setConexionDiferida}
+ *   la capa de servicio funciona sin base de datos: sirve como línea de base
+ *   para medirla.
+ * - Con respaldo JDBC (write-through): cada escritura se hace primero en la BD,
+ *   que verifica las constraints, y luego se refleja en memoria; las de los
+ *   métodos *Tx recién cuando la transacción se confirma (ver
+ *   {@link TransactionManager#alConfirmar}). El almacén funciona como réplica
+ *   local de lectura: se carga al iniciar con {@link AlmacenMemoria#cargarDesde}
+ *   y, si {@link #leer(long)} no encuentra un id, lo busca en la BD. Supone que
+ *   esta aplicación es la única que modifica empleados y legajos.
+ */
+public class EmpleadoDAOMemoria implements EmpleadoDAO {
+
+    /**
+     * Orden de la búsqueda por nombre (el mismo ORDER BY apellido, nombre del SQL).
+     */
+    private static final Comparator<Empleado> POR_APELLIDO_NOMBRE = Comparator
+            .comparing((Empleado e) -> IndiceNombres.normalizar(e.getApellido()))
+            .thenComparing(e -> IndiceNombres.normalizar(e.getNombre()))
+            .thenComparingLong(Empleado::getId);
+
+    private final AlmacenMemoria almacen;
+    private final EmpleadoDAO respaldo;
+
+    /**
+     * Crea el DAO sin respaldo: los datos sólo existen en memoria.
+     */
+    public EmpleadoDAOMemoria(AlmacenMemoria almacen) {
+        this(almacen, null);
+    }
+
+    /**
+     * @param respaldo DAO donde se escribe primero cada cambio (write-through), o
+     *                 null para trabajar sólo en memoria.
+     */
+    public EmpleadoDAOMemoria(AlmacenMemoria almacen, EmpleadoDAO respaldo) {
+        if (almacen == null) {
+            throw new IllegalArgumentException("AlmacenMemoria no puede ser null");
+        }
+        this.almacen = almacen;
+        this.respaldo = respaldo;
+    }
+
+    // --- ESCRITURAS ---
+
+    @Override
+    public void crear(Empleado empleado) throws SQLException {
+        if (respaldo == null) {
+            almacen.crearEmpleado(empleado);
+            return;
+        }
+        respaldo.crear(empleado);
+        almacen.reflejarEmpleado(filaNueva(empleado));
+    }
+
+    @Override
+    public void crearTx(Empleado empleado, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            almacen.crearEmpleado(empleado);
+            long id = empleado.getId();
+            TransactionManager.alRevertir(() -> almacen.deshacerEmpleado(id, null));
+            return;
+        }
+        respaldo.crearTx(empleado, conn);
+        Empleado fila = filaNueva(empleado);
+        TransactionManager.alConfirmar(() -> almacen.reflejarEmpleado(fila));
+    }
+
+    @Override
+    public void crearLoteTx(List<Empleado> empleados, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            almacen.crearEmpleados(empleados);
+            List<Long> ids = new ArrayList<>(empleados.size());
+            for (Empleado empleado : empleados) {
+                ids.add(empleado.getId());
+            }
+            TransactionManager.alRevertir(() -> ids.forEach(id -> almacen.deshacerEmpleado(id, null)));
+            return;
+        }
+        respaldo.crearLoteTx(empleados, conn);
+        List<Empleado> filas = new ArrayList<>(empleados.size());
+        for (Empleado empleado : empleados) {
+            filas.add(filaNueva(empleado));
+        }
+        TransactionManager.alConfirmar(() -> filas.forEach(almacen::reflejarEmpleado));
+    }
+
+    @Override
+    public void crearConLegajo(Empleado empleado) throws SQLException {
+        if (respaldo == null) {
+            almacen.crearEmpleadoConLegajo(empleado);
+            return;
+        }
+        respaldo.crearConLegajo(empleado);
+        Empleado fila = filaNueva(empleado);
+        Legajo legajo = AlmacenMemoria.copiar(empleado.getLegajo());
+        legajo.setVersion(0);
+        fila.setLegajo(legajo);
+        almacen.reflejarEmpleado(fila);
+    }
+
+    @Override
+    public void actualizar(Empleado empleado) throws SQLException {
+        if (respaldo == null) {
+            almacen.actualizarEmpleado(empleado);
+            empleado.incrementarVersion();
+            return;
+        }
+        respaldo.actualizar(empleado); // Ya avanza la versión del objeto
+        almacen.reflejarEmpleado(AlmacenMemoria.copiar(empleado));
+    }
+
+    @Override
+    public void actualizarTx(Empleado empleado, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            Empleado anterior = almacen.actualizarEmpleado(empleado);
+            long id = empleado.getId();
+            TransactionManager.alRevertir(() -> almacen.deshacerEmpleado(id, anterior));
+            return;
+        }
+        respaldo.actualizarTx(empleado, conn);
+        Empleado fila = AlmacenMemoria.copiar(empleado);
+        fila.setVersion(empleado.getVersion() + 1); // La versión que quedó en la BD
+        TransactionManager.alConfirmar(() -> almacen.reflejarEmpleado(fila));
+    }
+
+    @Override
+    public void eliminar(long id) throws SQLException {
+        if (respaldo == null) {
+            almacen.eliminarEmpleado(id);
+            return;
+        }
+        respaldo.eliminar(id);
+        almacen.reflejarBajaEmpleado(id);
+    }
+
+    @Override
+    public void eliminarTx(long id, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            Empleado anterior = almacen.eliminarEmpleado(id);
+            TransactionManager.alRevertir(() -> almacen.deshacerEmpleado(id, anterior));
+            return;
+        }
+        respaldo.eliminarTx(id, conn);
+        TransactionManager.alConfirmar(() -> almacen.reflejarBajaEmpleado(id));
+    }
+
+    // --- LECTURAS ---
+
+    /**
+     * Lee el Empleado de memoria. Con respaldo, si no está (ej. un Empleado
+     * restaurado del archivo histórico), lo lee de la BD y lo agrega al almacén.
+     */
+    @Override
+    public Empleado leer(long id) throws SQLException {
+        Empleado empleado = almacen.empleado(id);
+        if (empleado != null || respaldo == null) {
+            return empleado;
+        }
+        empleado = respaldo.leer(id);
+        if (empleado != null) {
+            almacen.reflejarEmpleado(empleado);
+        }
+        return empleado;
+    }
+
+    @Override
+    public List<Empleado> leerTodos() {
+        return almacen.empleados(almacen.idsEmpleadosActivos(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Empleado> leerPagina(long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        return almacen.empleados(almacen.idsEmpleadosActivos().tailSet(afterId, false), limit);
+    }
+
+    @Override
+    public long recorrerTodos(ProcesadorFila<Empleado> procesador) throws IOException {
+        long filas = 0;
+        for (Long id : almacen.idsEmpleadosActivos()) {
+            Empleado empleado = almacen.empleado(id);
+            if (empleado != null) {
+                procesador.procesar(empleado);
+                filas++;
+            }
+        }
+        return filas;
+    }
+
+    @Override
+    public Empleado buscarPorDni(String dni) {
+        if (isNullOrBlank(dni)) {
+            return null;
+        }
+        return almacen.empleadoPorDni(dni);
+    }
+
+    @Override
+    public Empleado buscarPorNroLegajo(String nroLegajo) {
+        if (isNullOrBlank(nroLegajo)) {
+            return null;
+        }
+        Legajo legajo = almacen.legajoPorNro(nroLegajo);
+        return legajo == null ? null : almacen.empleado(almacen.empleadoIdDeLegajo(legajo.getId()));
+    }
+
+    /**
+     * Recorre todos los Empleados activos: no hay un índice por prefijo de nombre
+     * (para eso está {@link IndiceNombres}). Compara sin acentos ni mayúsculas,
+     * como la collation de la BD.
+     */
+    @Override
+    public List<Empleado> buscarPorNombreApellido(String filtro, int limite) {
+        List<Empleado> empleados = new ArrayList<>();
+        if (isNullOrBlank(filtro)) {
+            return empleados;
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        String prefijo = IndiceNombres.normalizar(filtro);
+        for (Long id : almacen.idsEmpleadosActivos()) {
+            Empleado fila = almacen.filaEmpleado(id);
+            if (fila != null && (IndiceNombres.normalizar(fila.getNombre()).startsWith(prefijo)
+                    || IndiceNombres.normalizar(fila.getApellido()).startsWith(prefijo))) {
+                empleados.add(fila);
+            }
+        }
+        empleados.sort(POR_APELLIDO_NOMBRE);
+        List<Long> ids = new ArrayList<>(Math.min(limite, empleados.size()));
+        for (Empleado empleado : empleados.subList(0, Math.min(limite, empleados.size()))) {
+            ids.add(empleado.getId());
+        }
+        return almacen.empleados(ids, limite);
+    }
+
+    @Override
+    public Map<Long, Empleado> leerPorIds(Collection<Long> ids) {
+        Map<Long, Empleado> porId = new HashMap<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                Empleado empleado = id == null ? null : almacen.empleado(id);
+                if (empleado != null) {
+                    porId.put(id, empleado);
+                }
+            }
+        }
+        return porId;
+    }
+
+    @Override
+    public Map<String, Empleado> buscarPorDnis(Collection<String> dnis) {
+        Map<String, Empleado> porDni = new HashMap<>();
+        if (dnis != null) {
+            for (String dni : dnis) {
+                Empleado empleado = buscarPorDni(dni);
+                if (empleado != null) {
+                    porDni.put(empleado.getDni(), empleado);
+                }
+            }
+        }
+        return porDni;
+    }
+
+    @Override
+    public Map<String, Empleado> buscarPorNrosLegajo(Collection<String> nrosLegajo) {
+        Map<String, Empleado> porNroLegajo = new HashMap<>();
+        if (nrosLegajo != null) {
+            for (String nroLegajo : nrosLegajo) {
+                Empleado empleado = buscarPorNroLegajo(nroLegajo);
+                if (empleado != null && empleado.getLegajo() != null) {
+                    porNroLegajo.put(empleado.getLegajo().getNumeroLegajo(), empleado);
+                }
+            }
+        }
+        return porNroLegajo;
+    }
+
+    @Override
+    public long recorrerNombres(ProcesadorFila<Empleado> procesador) throws IOException {
+        long filas = 0;
+        for (Long id : almacen.idsEmpleadosActivos()) {
+            Empleado fila = almacen.filaEmpleado(id);
+            if (fila != null && !fila.isEliminado()) {
+                Empleado empleado = new Empleado();
+                empleado.setId(fila.getId());
+                empleado.setNombre(fila.getNombre());
+                empleado.setApellido(fila.getApellido());
+                procesador.procesar(empleado);
+                filas++;
+            }
+        }
+        return filas;
+    }
+
+    // --- HELPERS ---
+
+    /**
+     * Fila recién insertada en la BD: activa y en la versión inicial.
+     */
+    private static Empleado filaNueva(Empleado empleado) {
+        Empleado fila = AlmacenMemoria.copiar(empleado);
+        fila.setEliminado(false);
+        fila.setVersion(0);
+        return fila;
+    }
+
+    private static boolean isNullOrBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -7,7 +7,7 @@ import java.util.List;
 /**
  * Interfaz Genérica DAO (Data Access Object).
  * Define el contrato estándar para todas las operaciones CRUD, usando los métodos solicitados por la consigna
- * (crear(T), leer(long id), etc.), que las clases DAO concretas (como EmpleadoDAO, LegajoDAO) deben implementar.
+ * (crear(T), leer(long id), etc.), que las clases DAO concretas (como EmpleadoDAOImpl, LegajoDAOImpl) deben implementar.
  * <p>
  * Se añaden métodos terminados en 'Tx' (Transacción) para la participación en una transacción más grande
  * controlada por otra capa (Servicio), no por una capa aislada.
@@ -127,4 +127,27 @@ public interface GenericDAO<T> {
      */
     List<T> leerTodos() throws SQLException;
 
+    /**
+     * Obtiene una página de entidades activas usando paginación por clave (keyset):
+     * devuelve como máximo {@code limit} entidades con id mayor a {@code afterId},
+     * ordenadas por id ascendente.
+     * <p>
+     * Para recorrer toda la tabla se pasa 0 en la primera llamada y luego el id de
+     * la última entidad recibida. A diferencia de OFFSET, el costo de cada página
+     * no crece con la posición (el motor posiciona el índice de la PK directamente).
+     * <p>
+     * Implementación por defecto:
+     * - Lanza {@link UnsupportedOperationException}.
+     * - Los DAO que soporten paginación deben sobrescribir este método.
+     *
+     * @param afterId id de la última entidad de la página anterior (0 para la primera página).
+     * @param limit   cantidad máxima de entidades a devolver (> 0).
+     * @return Una List<T> con la página solicitada (vacía si no hay más entidades).
+     * @throws SQLException                  Si ocurre un error de base de datos.
+     * @throws UnsupportedOperationException Si la implementación no soporta paginación.
+     */
+    default List<T> leerPagina(long afterId, int limit) throws SQLException {
+        throw new UnsupportedOperationException("Paginación no soportada por este DAO.");
+    }
+
 }
\ No newline at end of file
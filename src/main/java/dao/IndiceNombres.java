@@ -0,0 +1,386 @@
+package dao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de trigramas sobre nombre y apellido de los Empleados
+ * activos, para buscar por nombre sin recorrer la tabla con LIKE '%...%'.
+ * <p>
+ * Cada nombre se normaliza (minúsculas, sin acentos ni signos) y se parte en
+ * trigramas por palabra, con relleno al inicio y al final ("  g", " ga",
+ * "gar", ..., "ia ") para que las búsquedas por comienzo de palabra también
+ * tengan trigramas propios. Una búsqueda devuelve los ids ordenados por
+ * relevancia:
+ * - Primero, los que contienen el texto buscado tal cual (normalizado); entre
+ *   ellos, los que lo tienen al comienzo de una palabra.
+ * - Luego, por proporción de trigramas en común, lo que tolera errores de tipeo
+ *   ("gonzales" encuentra "González").
+ * <p>
+ * Lo mantiene la capa de Servicio: se carga con un recorrido completo al iniciar
+ * y se actualiza después de cada alta, modificación o baja confirmada.
+ * Es seguro para uso concurrente (muchas lecturas, pocas escrituras).
+ */
+public class IndiceNombres {
+
+    /**
+     * Proporción mínima de trigramas del texto buscado que debe tener un
+     * nombre para considerarse coincidencia.
+     */
+    private static final double SIMILITUD_MINIMA = 0.5;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Orden de los resultados: mayor puntaje primero, luego alfabético y por id. */
+    private static final Comparator<Candidato> ORDEN_RELEVANCIA = Comparator
+            .comparingDouble((Candidato c) -> -c.puntaje)
+            .thenComparing(c -> c.entrada.texto)
+            .thenComparingLong(c -> c.entrada.id);
+
+    /*
+     * Cada empleado ocupa un "slot" (posición en entradasPorSlot). Las listas de
+     * cada trigrama guardan slots (int) en lugar de ids, así una búsqueda cuenta
+     * coincidencias en un int[] sin crear objetos por candidato. Esos int[] se
+     * reutilizan entre búsquedas desde una reserva acotada (no uno por hilo: con
+     * hilos virtuales serían uno del tamaño de la tabla por cada hilo): al
+     * terminar cada búsqueda se vuelven a cero sólo los slots tocados, así su
+     * costo no depende del tamaño de la tabla.
+     */
+
+    /** Trigrama → slots de los empleados cuyo nombre lo contiene. */
+    private final Map<String, ListaEnteros> postings = new HashMap<>();
+    /** Id de empleado → slot. */
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    /** Slot → nombre normalizado y sus trigramas (null si el slot está libre). */
+    private Entrada[] entradasPorSlot = new Entrada[1024];
+    /** Slots liberados por bajas, para reutilizarlos. */
+    private final ListaEnteros slotsLibres = new ListaEnteros();
+    /** Cantidad de slots usados alguna vez (los libres quedan dentro de este rango). */
+    private int slotsUsados;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Máximo de Contadores libres que se conservan: las búsquedas que corren a la
+     * vez no superan en general la cantidad de núcleos (hilos de plataforma).
+     */
+    private static final int MAX_CONTADORES_LIBRES = Runtime.getRuntime().availableProcessors();
+
+    /** Contadores libres de búsquedas anteriores (ver {@link #tomarContadores()}). */
+    private final ConcurrentLinkedQueue<Contadores> contadoresLibres = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cantidadContadoresLibres = new AtomicInteger();
+
+    // --- Escrituras ---
+
+    /**
+     * Agrega o reemplaza el nombre indexado de un empleado.
+     */
+    public void indexar(long id, String nombre, String apellido) {
+        Entrada nueva = new Entrada(id, normalizar(unir(nombre, apellido)));
+        lock.writeLock().lock();
+        try {
+            quitarSinLock(id);
+            int slot = slotsLibres.size > 0 ? slotsLibres.valores[--slotsLibres.size] : nuevoSlot();
+            entradasPorSlot[slot] = nueva;
+            slotPorId.put(id, slot);
+            for (String trigrama : nueva.trigramas) {
+                postings.computeIfAbsent(trigrama, t -> new ListaEnteros()).agregar(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un empleado del índice (ej. después de su baja lógica).
+     */
+    public void quitar(long id) {
+        lock.writeLock().lock();
+        try {
+            quitarSinLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice (antes de una recarga completa).
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotPorId.clear();
+            Arrays.fill(entradasPorSlot, 0, slotsUsados, null);
+            slotsLibres.size = 0;
+            slotsUsados = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Lecturas ---
+
+    /**
+     * Busca empleados por nombre y/o apellido.
+     *
+     * @param texto  texto a buscar (una o más palabras, con o sin acentos).
+     * @param limite cantidad máxima de ids a devolver.
+     * @return ids ordenados por relevancia (la lista puede estar vacía).
+     */
+    public List<Long> buscar(String texto, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a 0");
+        }
+        String consulta = normalizar(texto);
+        if (consulta.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> trigramasConsulta = trigramas(consulta);
+        int minimo = (int) Math.ceil(trigramasConsulta.size() * SIMILITUD_MINIMA);
+
+        // Los mejores 'limite' candidatos; la cabeza del heap es el peor de ellos
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite + 1, ORDEN_RELEVANCIA.reversed());
+        Contadores propios = tomarContadores();
+        lock.readLock().lock();
+        try {
+            int[] comunes = propios.preparar(slotsUsados);
+            ListaEnteros tocados = propios.tocados;
+            for (String trigrama : trigramasConsulta) {
+                ListaEnteros slots = postings.get(trigrama);
+                if (slots == null) {
+                    continue;
+                }
+                for (int i = 0; i < slots.size; i++) {
+                    if (comunes[slots.valores[i]]++ == 0) {
+                        tocados.agregar(slots.valores[i]);
+                    }
+                }
+            }
+            for (int i = 0; i < tocados.size; i++) {
+                int slot = tocados.valores[i];
+                if (comunes[slot] < minimo) {
+                    continue;
+                }
+                Entrada entrada = entradasPorSlot[slot];
+                double puntaje = (double) comunes[slot] / trigramasConsulta.size()
+                        + bonificacion(entrada.texto, consulta);
+                mejores.add(new Candidato(entrada, puntaje));
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+        } finally {
+            propios.limpiar();
+            lock.readLock().unlock();
+            devolverContadores(propios);
+        }
+
+        List<Candidato> ordenados = new ArrayList<>(mejores);
+        ordenados.sort(ORDEN_RELEVANCIA);
+        List<Long> resultado = new ArrayList<>(ordenados.size());
+        for (Candidato candidato : ordenados) {
+            resultado.add(candidato.entrada.id);
+        }
+        return resultado;
+    }
+
+    /**
+     * Toma unos Contadores libres, o crea unos nuevos si no hay.
+     */
+    private Contadores tomarContadores() {
+        Contadores libres = contadoresLibres.poll();
+        if (libres == null) {
+            return new Contadores();
+        }
+        cantidadContadoresLibres.decrementAndGet();
+        return libres;
+    }
+
+    /**
+     * Devuelve los Contadores (ya en cero) a la reserva, salvo que ya esté llena:
+     * en ese caso se descartan.
+     */
+    private void devolverContadores(Contadores propios) {
+        if (cantidadContadoresLibres.incrementAndGet() <= MAX_CONTADORES_LIBRES) {
+            contadoresLibres.offer(propios);
+        } else {
+            cantidadContadoresLibres.decrementAndGet();
+        }
+    }
+
+    /**
+     * Cantidad de empleados indexados.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Normalización y trigramas ---
+
+    /**
+     * Pasa a minúsculas, quita acentos/diéresis y reemplaza los signos por
+     * espacios ("Núñez-Pérez" → "nunez perez").
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("");
+        return SEPARADORES.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Trigramas de un texto ya normalizado, palabra por palabra y con relleno.
+     */
+    static Set<String> trigramas(String normalizado) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (String palabra : normalizado.split(" ")) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            String relleno = "  " + palabra + " ";
+            for (int i = 0; i + 3 <= relleno.length(); i++) {
+                trigramas.add(relleno.substring(i, i + 3));
+            }
+        }
+        return trigramas;
+    }
+
+    /**
+     * Puntos extra: +1 si el nombre contiene el texto buscado y +0,5 más si lo
+     * contiene al comienzo de una palabra.
+     */
+    private static double bonificacion(String nombre, String consulta) {
+        if (nombre.startsWith(consulta) || nombre.contains(" " + consulta)) {
+            return 1.5;
+        }
+        return nombre.contains(consulta) ? 1 : 0;
+    }
+
+    private static String unir(String nombre, String apellido) {
+        return (nombre == null ? "" : nombre) + " " + (apellido == null ? "" : apellido);
+    }
+
+    private int nuevoSlot() {
+        if (slotsUsados == entradasPorSlot.length) {
+            entradasPorSlot = Arrays.copyOf(entradasPorSlot, slotsUsados * 2);
+        }
+        return slotsUsados++;
+    }
+
+    private void quitarSinLock(long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String trigrama : entradasPorSlot[slot].trigramas) {
+            ListaEnteros slots = postings.get(trigrama);
+            if (slots != null && slots.quitar(slot) && slots.size == 0) {
+                postings.remove(trigrama);
+            }
+        }
+        entradasPorSlot[slot] = null;
+        slotsLibres.agregar(slot);
+    }
+
+    // --- Clases auxiliares ---
+
+    private static final class Entrada {
+        private final long id;
+        private final String texto;
+        private final String[] trigramas;
+
+        private Entrada(long id, String texto) {
+            this.id = id;
+            this.texto = texto;
+            this.trigramas = trigramas(texto).toArray(new String[0]);
+        }
+    }
+
+    private static final class Candidato {
+        private final Entrada entrada;
+        private final double puntaje;
+
+        private Candidato(Entrada entrada, double puntaje) {
+            this.entrada = entrada;
+            this.puntaje = puntaje;
+        }
+    }
+
+    /**
+     * Contadores de una búsqueda: coincidencias por slot (todo en cero entre
+     * búsquedas) y los slots con alguna coincidencia.
+     */
+    private static final class Contadores {
+        private int[] comunes = new int[0];
+        private final ListaEnteros tocados = new ListaEnteros();
+
+        /**
+         * Devuelve el arreglo de coincidencias, agrandándolo si el índice creció.
+         */
+        private int[] preparar(int slots) {
+            if (comunes.length < slots) {
+                comunes = new int[Math.max(slots, comunes.length * 2)];
+            }
+            return comunes;
+        }
+
+        /**
+         * Vuelve a cero sólo los slots tocados por la búsqueda.
+         */
+        private void limpiar() {
+            for (int i = 0; i < tocados.size; i++) {
+                comunes[tocados.valores[i]] = 0;
+            }
+            tocados.size = 0;
+        }
+    }
+
+    /**
+     * Lista de enteros sobre un int[] (4 bytes por elemento, en lugar de un
+     * objeto Integer por elemento en una colección).
+     */
+    private static final class ListaEnteros {
+        private int[] valores = new int[4];
+        private int size;
+
+        private void agregar(int valor) {
+            if (size == valores.length) {
+                valores = Arrays.copyOf(valores, size * 2);
+            }
+            valores[size++] = valor;
+        }
+
+        private boolean quitar(int valor) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (valores[i] == valor) {
+                    valores[i] = valores[--size]; // el orden no importa
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dao;
+
+import entities.Base;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterador perezoso sobre una tabla paginada por clave (keyset pagination).
+ * <p>
+ * En lugar de cargar todas las filas de una vez, pide páginas de tamaño fijo
+ * con {@code WHERE id > ? ORDER BY id LIMIT ?}, usando el último id recibido
+ * como cursor. Sólo se mantiene en memoria la página actual y no se retiene
+ * ninguna conexión entre páginas, por lo que el consumidor puede procesar
+ * cada elemento a su ritmo.
+ *
+ * @param <T> tipo de entidad (debe tener id, por eso extiende {@link Base}).
+ */
+public class KeysetPageIterator<T extends Base> implements Iterator<T> {
+
+    /**
+     * Carga una página de entidades con id mayor a {@code afterId}, ordenadas por id.
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> load(long afterId, int limit) throws SQLException;
+    }
+
+    private final PageLoader<T> pageLoader;
+    private final int pageSize;
+
+    private Iterator<T> currentPage;
+    private long lastId;
+    private boolean lastPageLoaded;
+
+    /**
+     * @param pageLoader función que carga cada página (normalmente un método leerPagina del DAO).
+     * @param pageSize   cantidad de filas por página (> 0).
+     */
+    public KeysetPageIterator(PageLoader<T> pageLoader, int pageSize) {
+        if (pageLoader == null) {
+            throw new IllegalArgumentException("El PageLoader no puede ser null");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+        this.lastId = 0;
+    }
+
+    /**
+     * Crea un Stream secuencial respaldado por un {@link KeysetPageIterator}.
+     *
+     * @throws UncheckedSQLException (al consumir el Stream) si falla la carga de una página.
+     */
+    public static <T extends Base> Stream<T> stream(PageLoader<T> pageLoader, int pageSize) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(
+                new KeysetPageIterator<>(pageLoader, pageSize),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (currentPage == null || !currentPage.hasNext()) {
+            if (lastPageLoaded) {
+                return false;
+            }
+            loadNextPage();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T entidad = currentPage.next();
+        lastId = entidad.getId();
+        return entidad;
+    }
+
+    private void loadNextPage() {
+        List<T> page;
+        try {
+            page = pageLoader.load(lastId, pageSize);
+        } catch (SQLException e) {
+            throw new UncheckedSQLException(e);
+        }
+        // Una página incompleta indica que ya no quedan filas
+        lastPageLoaded = page.size() < pageSize;
+        currentPage = page.iterator();
+    }
+}
@@ -1,354 +1,111 @@
 package dao;
 
-import config.DatabaseConnection;
 import entities.EstadoLegajo;
 import entities.Legajo;
+import entities.LegajoResumen;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Types;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
- * Data Access Object (DAO) para la entidad Legajo. Implementa
- * GenericDAO<Legajo> y gestiona toda la persistencia de los objetos Legajo en
- * la base de datos.
- *
- * Características:
- * - Implementa GenericDAO<Legajo> para operaciones CRUD estándar.
- * - Usa PreparedStatements en TODAS las consultas.
- * - No realiza JOINs (es la entidad 'B' o 'hija').
- * - Maneja la inserción/actualización de la FK 'empleado_id'.
- * - Implementa baja lógica (eliminado = TRUE).
- *
- * Esta clase es una "entidad hija": depende de Empleado. Sus métodos de creación
- * deben ser llamados dentro de una transacción manejada por el Service, que provea el
- * 'empleado_id'.
+ * Contrato de acceso a datos de Legajo: las operaciones CRUD de
+ * {@link GenericDAO} más el alta asociada a un Empleado, las búsquedas y las
+ * proyecciones que usa el Service.
+ * <p>
+ * Implementaciones:
+ * - {@link LegajoDAOImpl}: MySQL por JDBC.
+ * - {@link LegajoDAOMemoria}: índices en memoria, opcionalmente con escritura
+ *   directa (write-through) a la implementación JDBC.
+ * <p>
+ * Un Legajo no se crea sin su Empleado: el alta se hace con
+ * {@link #crearTx(Legajo, long, Connection)}. Todas las lecturas devuelven sólo
+ * Legajos activos (eliminado = FALSE).
  */
-public class LegajoDAO implements GenericDAO<Legajo> {
-
-    // --- QUERIES SQL (LEGAJO) ---
-
-    /**
-     * SQL para insertar un Legajo (B). Requiere el 'empleado_id' (FK de A).
-     */
-    private static final String INSERT_SQL =
-            "INSERT INTO legajo (nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id) " +
-                    "VALUES (?, ?, ?, ?, ?, ?)";
-
-    /**
-     * SQL para actualizar un Legajo. Permite cambiar todos los campos excepto
-     * el 'empleado_id', ya que la relación 1-a-1 es fija.
-     */
-    private static final String UPDATE_SQL =
-            "UPDATE legajo SET nro_legajo = ?, categoria = ?, estado = ?, fecha_alta = ?, observaciones = ? " +
-                    "WHERE id = ?";
-
-    /**
-     * SQL para realizar una BAJA LÓGICA (soft delete).
-     */
-    private static final String DELETE_SQL =
-            "UPDATE legajo SET eliminado = TRUE WHERE id = ?";
+public interface LegajoDAO extends GenericDAO<Legajo> {
 
     /**
-     * SQL para leer un Legajo por ID. Filtra por 'eliminado = FALSE' sin
-     * necesidad de JOINs.
+     * Tamaño de página por defecto para {@link #leerTodosStream()}.
      */
-    private static final String SELECT_BY_ID_SQL =
-            "SELECT * FROM legajo WHERE id = ? AND eliminado = FALSE";
+    int DEFAULT_PAGE_SIZE = 500;
 
     /**
-     * SQL para leer TODOS los Legajos. Filtra por 'eliminado = FALSE' sin
-     * necesidad de JOINs.
-     */
-    private static final String SELECT_ALL_SQL =
-            "SELECT * FROM legajo WHERE eliminado = FALSE";
-
-    // --- QUERIES DE BÚSQUEDA ---
-
-    /**
-     * SQL para buscar un Legajo por 'nro_legajo' (búsqueda exacta).
-     * El 'nro_legajo' es UNIQUE en la BD.
-     */
-    private static final String SELECT_BY_NRO_LEGAJO_SQL =
-            "SELECT * FROM legajo WHERE nro_legajo = ? AND eliminado = FALSE";
-
-    /**
-     * SQL para buscar Legajos por 'estado'.
+     * Inserta un Legajo asociado a un Empleado dentro de una transacción
+     * existente y le asigna el ID generado. NO cierra la conexión.
+     *
+     * @param empleadoId El ID del Empleado al que pertenece.
+     * @throws SQLException Si hay un error de base de datos (ej. nro_legajo repetido).
      */
-    private static final String SELECT_BY_ESTADO_SQL =
-            "SELECT * FROM legajo WHERE estado = ? AND eliminado = FALSE";
-
-    // --- IMPLEMENTACIÓN DE MÉTODOS GENÉRICOS (GenericDAO) ---
+    void crearTx(Legajo legajo, long empleadoId, Connection conn) throws SQLException;
 
     /**
-     * Regla de negocio: un Legajo no puede crearse sin asociarse a un Empleado.
-     * Debe usarse {@link #crearTx(Legajo, long, Connection)} dentro de una transacción.
+     * Inserta un lote de Legajos dentro de una transacción existente y asigna los
+     * IDs generados en el mismo orden de la lista. NO cierra la conexión.
+     *
+     * @param empleadoIds IDs de los Empleados dueños, en la misma posición que cada Legajo.
+     * @throws SQLException Si falla alguna fila (el lote debe descartarse con rollback).
      */
-    @Override
-    public void crear(Legajo legajo) throws SQLException {
-        throw new UnsupportedOperationException(
-                "No puede crear Legajo sin Empleado. " +
-                        "Use crearTx(Legajo legajo, long empleadoId, Connection conn)."
-        );
-    }
+    void crearLoteTx(List<Legajo> legajos, List<Long> empleadoIds, Connection conn) throws SQLException;
 
     /**
-     * Regla de negocio: este método genérico no se usa para Legajo porque requiere
-     * un empleadoId explícito. Se fuerza a usar la versión especializada con empleadoId.
+     * Recorre todos los Legajos activos de forma incremental con el tamaño de
+     * página por defecto.
      */
-    @Override
-    public void crearTx(Legajo legajo, Connection conn) throws SQLException {
-        throw new UnsupportedOperationException(GenericDAO.UNSUPPORTED_TRANSACTION_MESSAGE);
+    default Stream<Legajo> leerTodosStream() {
+        return leerTodosStream(DEFAULT_PAGE_SIZE);
     }
 
     /**
-     * MÉTODO ESPECIALIZADO PARA EL SERVICE.
-     * Este es el método correcto para crear un Legajo (B).
-     * Es llamado por el EmpleadoService dentro de una transacción.
+     * Recorre todos los Legajos activos de forma incremental, página por página
+     * (ver {@link #leerPagina(long, int)}).
      *
-     * @param legajo     El objeto Legajo a insertar.
-     * @param empleadoId El ID del Empleado (A) al que pertenece.
-     * @param conn       La conexión transaccional.
-     * @throws SQLException Si hay un error de SQL.
+     * @param pageSize cantidad de filas por página.
+     * @return Stream perezoso de Legajos ordenados por id. Los errores de base de
+     *         datos se propagan como {@link UncheckedSQLException} al consumirlo.
      */
-    public void crearTx(Legajo legajo, long empleadoId, Connection conn) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
-            setInsertParameters(stmt, legajo, empleadoId);
-            stmt.executeUpdate();
-            assignGeneratedId(stmt, legajo);
-        }
-    }
-
-    // --- Métodos de Actualización (Genéricos) ---
-
-    @Override
-    public void actualizar(Legajo legajo) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            executeUpdate(legajo, conn);
-        }
-    }
-
-    @Override
-    public void actualizarTx(Legajo legajo, Connection conn) throws SQLException {
-        executeUpdate(legajo, conn);
-    }
-
-    // --- Métodos de Eliminación (Genéricos) ---
-
-    @Override
-    public void eliminar(long id) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            executeSoftDelete(id, conn);
-        }
-    }
-
-    @Override
-    public void eliminarTx(long id, Connection conn) throws SQLException {
-        executeSoftDelete(id, conn);
-    }
-
-    // --- Métodos de Lectura (Genéricos) ---
-
-    @Override
-    public Legajo leer(long id) throws SQLException {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            return findByIdInternal(conn, id);
-        }
-    }
-
-    @Override
-    public List<Legajo> leerTodos() throws SQLException {
-        List<Legajo> legajos = new ArrayList<>();
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                legajos.add(mapRowToLegajo(rs));
-            }
-        }
-        return legajos;
+    default Stream<Legajo> leerTodosStream(int pageSize) {
+        return KeysetPageIterator.stream(this::leerPagina, pageSize);
     }
 
-    // --- MÉTODOS DE BÚSQUEDA ESPECIALIZADOS ---
-
     /**
-     * Busca un Legajo por su 'nro_legajo' (búsqueda exacta).
+     * Busca un Legajo activo por su número (búsqueda exacta).
      *
-     * @param nroLegajo El número de legajo exacto a buscar.
      * @return El Legajo encontrado o null si no existe.
-     * @throws SQLException Si hay un error de base de datos.
      */
-    public Legajo buscarPorNroLegajo(String nroLegajo) throws SQLException {
-        if (nroLegajo == null || nroLegajo.trim().isEmpty()) {
-            return null;
-        }
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_NRO_LEGAJO_SQL)) {
-
-            stmt.setString(1, nroLegajo.trim());
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapRowToLegajo(rs);
-                }
-            }
-        }
-        return null;
-    }
+    Legajo buscarPorNroLegajo(String nroLegajo) throws SQLException;
 
     /**
-     * Busca Legajos por su estado (ACTIVO/INACTIVO).
+     * Busca Legajos activos por su estado (ACTIVO/INACTIVO).
      *
-     * @param estado El estado a buscar.
      * @return Una lista de Legajos que coinciden (puede estar vacía).
-     * @throws SQLException Si hay un error de base de datos.
      */
-    public List<Legajo> buscarPorEstado(EstadoLegajo estado) throws SQLException {
-        List<Legajo> legajos = new ArrayList<>();
-        if (estado == null) {
-            return legajos;
-        }
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ESTADO_SQL)) {
-
-            stmt.setString(1, estado.name());
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    legajos.add(mapRowToLegajo(rs));
-                }
-            }
-        }
-        return legajos;
-    }
-
-    // --- MÉTODOS AUXILIARES (Helpers) ---
+    List<Legajo> buscarPorEstado(EstadoLegajo estado) throws SQLException;
 
     /**
-     * Setea los parámetros de inserción de un Legajo en el PreparedStatement.
-     * Incluye el empleadoId (FK).
-     */
-    private void setInsertParameters(PreparedStatement stmt, Legajo legajo, long empleadoId) throws SQLException {
-        stmt.setString(1, legajo.getNumeroLegajo());
-        stmt.setString(2, legajo.getCategoria());
-
-        if (legajo.getEstado() != null) {
-            stmt.setString(3, legajo.getEstado().name()); // "ACTIVO" / "INACTIVO"
-        } else {
-            stmt.setNull(3, Types.VARCHAR);
-        }
-
-        if (legajo.getFechaAlta() != null) {
-            stmt.setDate(4, java.sql.Date.valueOf(legajo.getFechaAlta()));
-        } else {
-            stmt.setNull(4, Types.DATE);
-        }
-
-        stmt.setString(5, legajo.getObservaciones());
-        stmt.setLong(6, empleadoId);
-    }
-
-    /**
-     * Extrae el ID autogenerado del PreparedStatement y lo asigna al Legajo.
-     */
-    private void assignGeneratedId(PreparedStatement stmt, Legajo legajo) throws SQLException {
-        try (ResultSet rs = stmt.getGeneratedKeys()) {
-            if (rs.next()) {
-                legajo.setId(rs.getLong(1));
-            }
-        }
-    }
-
-    /**
-     * Ejecuta la lógica de actualización. NO cierra la conexión.
+     * Lee un Legajo activo por id cargando sólo los campos pedidos.
+     *
+     * @param campos campos a leer; el resto queda sin cargar en el Legajo devuelto.
+     * @return Legajo parcial o null si no existe.
      */
-    private void executeUpdate(Legajo legajo, Connection conn) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
-            stmt.setString(1, legajo.getNumeroLegajo());
-            stmt.setString(2, legajo.getCategoria());
-
-            if (legajo.getEstado() != null) {
-                stmt.setString(3, legajo.getEstado().name());
-            } else {
-                stmt.setNull(3, Types.VARCHAR);
-            }
-
-            if (legajo.getFechaAlta() != null) {
-                stmt.setDate(4, java.sql.Date.valueOf(legajo.getFechaAlta()));
-            } else {
-                stmt.setNull(4, Types.DATE);
-            }
-
-            stmt.setString(5, legajo.getObservaciones());
-            stmt.setLong(6, legajo.getId());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("No se pudo actualizar el Legajo. ID no encontrado: " + legajo.getId());
-            }
-        }
-    }
+    Legajo leer(long id, Set<CampoLegajo> campos) throws SQLException;
 
     /**
-     * Ejecuta la baja lógica (soft delete). NO cierra la conexión.
+     * Busca Legajos activos por estado cargando sólo los campos pedidos.
+     *
+     * @param campos campos a leer; el resto queda sin cargar en cada Legajo.
+     * @return Legajos parciales (la lista puede estar vacía).
      */
-    private void executeSoftDelete(long id, Connection conn) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
-            stmt.setLong(1, id);
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("No se pudo eliminar (baja lógica) el Legajo. ID no encontrado: " + id);
-            }
-        }
-    }
+    List<Legajo> buscarPorEstado(EstadoLegajo estado, Set<CampoLegajo> campos) throws SQLException;
 
     /**
-     * Mapea una fila de ResultSet a un objeto Legajo.
+     * Lista el resumen (id, número, estado, categoría) de todos los Legajos activos.
      */
-    private Legajo mapRowToLegajo(ResultSet rs) throws SQLException {
-        Legajo legajo = new Legajo();
-
-        legajo.setId(rs.getLong("id"));
-        legajo.setNumeroLegajo(rs.getString("nro_legajo"));
-        legajo.setCategoria(rs.getString("categoria"));
-
-        String estadoStr = rs.getString("estado");
-        if (estadoStr != null) {
-            legajo.setEstado(EstadoLegajo.valueOf(estadoStr));
-        }
-
-        java.sql.Date fechaAlta = rs.getDate("fecha_alta");
-        if (fechaAlta != null) {
-            legajo.setFechaAlta(fechaAlta.toLocalDate());
-        }
-
-        legajo.setObservaciones(rs.getString("observaciones"));
-
-        // No mapeamos empleado_id para mantener la unidireccionalidad desde Empleado.
-        return legajo;
-    }
+    List<LegajoResumen> listarResumen() throws SQLException;
 
     /**
-     * Helper para leer un Legajo por id usando una conexión existente.
+     * Lista el resumen de los Legajos activos con el estado indicado.
      */
-    private Legajo findByIdInternal(Connection conn, long id) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
-            stmt.setLong(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapRowToLegajo(rs);
-                }
-            }
-        }
-        return null;
-    }
-}
\ No newline at end of file
+    List<LegajoResumen> buscarResumenPorEstado(EstadoLegajo estado) throws SQLException;
+}
@@ -0,0 +1,647 @@
+package dao;
+
+import config.DatabaseConnection;
+import config.StatementRegistry;
+import entities.EstadoLegajo;
+import entities.Legajo;
+import entities.LegajoResumen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data Access Object (DAO) JDBC para la entidad Legajo. Implementa
+ * LegajoDAO y gestiona toda la persistencia de los objetos Legajo en
+ * la base de datos.
+ *
+ * Características:
+ * - Implementa LegajoDAO (y GenericDAO<Legajo>) para operaciones CRUD estándar.
+ * - Usa PreparedStatements en TODAS las consultas.
+ * - No realiza JOINs (es la entidad 'B' o 'hija').
+ * - Maneja la inserción/actualización de la FK 'empleado_id'.
+ * - Implementa baja lógica (eliminado = TRUE).
+ *
+ * Esta clase es una "entidad hija": depende de Empleado. Sus métodos de creación
+ * deben ser llamados dentro de una transacción manejada por el Service, que provea el
+ * 'empleado_id'.
+ */
+public class LegajoDAOImpl implements LegajoDAO {
+
+    // --- QUERIES SQL (LEGAJO) ---
+
+    /**
+     * SQL para insertar un Legajo (B). Requiere el 'empleado_id' (FK de A).
+     */
+    private static final String INSERT_SQL =
+            "INSERT INTO legajo (nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * SQL para actualizar un Legajo. Permite cambiar todos los campos excepto
+     * el 'empleado_id', ya que la relación 1-a-1 es fija. Sólo modifica la fila si
+     * sigue en la versión leída (control de concurrencia optimista) y la incrementa.
+     */
+    private static final String UPDATE_SQL =
+            "UPDATE legajo SET nro_legajo = ?, categoria = ?, estado = ?, fecha_alta = ?, observaciones = ?, " +
+                    "version = version + 1 WHERE id = ? AND version = ?";
+
+    /**
+     * SQL para realizar una BAJA LÓGICA (soft delete). También incrementa la versión.
+     */
+    private static final String DELETE_SQL =
+            "UPDATE legajo SET eliminado = TRUE, version = version + 1 WHERE id = ?";
+
+    /**
+     * SQL para leer la versión actual cuando un UPDATE no coincide con ninguna fila.
+     */
+    private static final String SELECT_VERSION_SQL =
+            "SELECT version FROM legajo WHERE id = ?";
+
+    /**
+     * Columnas que mapea {@link #mapRowToLegajo(ResultSet)}. Se listan en lugar de
+     * usar SELECT * para no traer empleado_id ni las columnas de auditoría.
+     */
+    private static final String SELECT_COLUMNS =
+            "SELECT id, nro_legajo, categoria, estado, fecha_alta, observaciones, version FROM legajo ";
+
+    /**
+     * SQL para leer un Legajo por ID. Filtra por 'eliminado = FALSE' sin
+     * necesidad de JOINs.
+     */
+    private static final String SELECT_BY_ID_SQL =
+            SELECT_COLUMNS + "WHERE id = ? AND eliminado = FALSE";
+
+    /**
+     * SQL para leer TODOS los Legajos. Filtra por 'eliminado = FALSE' sin
+     * necesidad de JOINs.
+     */
+    private static final String SELECT_ALL_SQL =
+            SELECT_COLUMNS + "WHERE eliminado = FALSE";
+
+    /**
+     * SQL para leer una página de Legajos (keyset pagination sobre la PK).
+     */
+    private static final String SELECT_PAGE_SQL =
+            SELECT_COLUMNS + "WHERE eliminado = FALSE AND id > ? ORDER BY id LIMIT ?";
+
+    // --- QUERIES DE BÚSQUEDA ---
+
+    /**
+     * SQL para buscar un Legajo por 'nro_legajo' (búsqueda exacta).
+     * El 'nro_legajo' es UNIQUE en la BD.
+     */
+    private static final String SELECT_BY_NRO_LEGAJO_SQL =
+            SELECT_COLUMNS + "WHERE nro_legajo = ? AND eliminado = FALSE";
+
+    /**
+     * SQL para buscar Legajos por 'estado'.
+     */
+    private static final String SELECT_BY_ESTADO_SQL =
+            SELECT_COLUMNS + "WHERE estado = ? AND eliminado = FALSE";
+
+    // --- QUERIES DE RESUMEN (índice de cobertura) ---
+
+    /**
+     * Columnas de {@link LegajoResumen}. Todas están en idx_legajo_resumen
+     * (eliminado, estado, categoria, nro_legajo) y el id viene incluido en todo
+     * índice secundario de InnoDB, así que estas consultas no leen la fila completa.
+     */
+    private static final String SELECT_RESUMEN_COLUMNS =
+            "SELECT id, nro_legajo, estado, categoria FROM legajo ";
+
+    private static final String SELECT_RESUMEN_ALL_SQL =
+            SELECT_RESUMEN_COLUMNS + "WHERE eliminado = FALSE";
+
+    private static final String SELECT_RESUMEN_BY_ESTADO_SQL =
+            SELECT_RESUMEN_COLUMNS + "WHERE eliminado = FALSE AND estado = ?";
+
+    // --- QUERIES DE PROYECCIÓN ---
+
+    private static final String PROYECCION_BY_ID_WHERE = "WHERE id = ? AND eliminado = FALSE";
+    private static final String PROYECCION_BY_ESTADO_WHERE = "WHERE estado = ? AND eliminado = FALSE";
+
+    /**
+     * SQL de proyección ya armado, por combinación de campos y consulta. Las
+     * combinaciones posibles son pocas (subconjuntos de {@link CampoLegajo}), así
+     * que se registran en el StatementRegistry igual que las sentencias fijas.
+     */
+    private static final Map<String, String> PROYECCION_SQL = new ConcurrentHashMap<>();
+
+    // Las sentencias fijas se preparan una vez por conexión del pool y se reutilizan
+    static {
+        StatementRegistry.register(INSERT_SQL, UPDATE_SQL, DELETE_SQL, SELECT_BY_ID_SQL, SELECT_ALL_SQL,
+                SELECT_PAGE_SQL, SELECT_BY_NRO_LEGAJO_SQL, SELECT_BY_ESTADO_SQL,
+                SELECT_RESUMEN_ALL_SQL, SELECT_RESUMEN_BY_ESTADO_SQL, SELECT_VERSION_SQL);
+    }
+
+    // --- IMPLEMENTACIÓN DE MÉTODOS GENÉRICOS (GenericDAO) ---
+
+    /**
+     * Regla de negocio: un Legajo no puede crearse sin asociarse a un Empleado.
+     * Debe usarse {@link #crearTx(Legajo, long, Connection)} dentro de una transacción.
+     */
+    @Override
+    public void crear(Legajo legajo) throws SQLException {
+        throw new UnsupportedOperationException(
+                "No puede crear Legajo sin Empleado. " +
+                        "Use crearTx(Legajo legajo, long empleadoId, Connection conn)."
+        );
+    }
+
+    /**
+     * Regla de negocio: este método genérico no se usa para Legajo porque requiere
+     * un empleadoId explícito. Se fuerza a usar la versión especializada con empleadoId.
+     */
+    @Override
+    public void crearTx(Legajo legajo, Connection conn) throws SQLException {
+        throw new UnsupportedOperationException(GenericDAO.UNSUPPORTED_TRANSACTION_MESSAGE);
+    }
+
+    /**
+     * MÉTODO ESPECIALIZADO PARA EL SERVICE.
+     * Este es el método correcto para crear un Legajo (B).
+     * Es llamado por el EmpleadoService dentro de una transacción.
+     *
+     * @param legajo     El objeto Legajo a insertar.
+     * @param empleadoId El ID del Empleado (A) al que pertenece.
+     * @param conn       La conexión transaccional.
+     * @throws SQLException Si hay un error de SQL.
+     */
+    @Override
+    public void crearTx(Legajo legajo, long empleadoId, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            setInsertParameters(stmt, legajo, empleadoId);
+            stmt.executeUpdate();
+            assignGeneratedId(stmt, legajo);
+        }
+    }
+
+    /**
+     * Inserta un lote de Legajos dentro de una transacción existente usando
+     * addBatch/executeBatch (un único INSERT multi-fila con rewriteBatchedStatements).
+     * Los IDs generados se asignan a cada Legajo en el mismo orden de la lista.
+     * NO cierra la conexión.
+     *
+     * @param legajos     Legajos a insertar (sin ID).
+     * @param empleadoIds IDs de los Empleados dueños, en la misma posición que cada Legajo.
+     * @param conn        La conexión transaccional.
+     * @throws SQLException Si falla alguna fila (el lote debe descartarse con rollback).
+     */
+    @Override
+    public void crearLoteTx(List<Legajo> legajos, List<Long> empleadoIds, Connection conn) throws SQLException {
+        if (legajos.size() != empleadoIds.size()) {
+            throw new IllegalArgumentException("Cada Legajo del lote debe tener su empleadoId.");
+        }
+        if (legajos.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < legajos.size(); i++) {
+                setInsertParameters(stmt, legajos.get(i), empleadoIds.get(i));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            assignGeneratedIds(stmt, legajos);
+        }
+    }
+
+    // --- Métodos de Actualización (Genéricos) ---
+
+    /**
+     * Actualiza el Legajo si la fila sigue en la versión del objeto y avanza esa
+     * versión (autocommit).
+     *
+     * @throws ConflictoVersionException si otro usuario lo modificó desde que se leyó.
+     */
+    @Override
+    public void actualizar(Legajo legajo) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            executeUpdate(legajo, conn);
+        }
+        DatabaseConnection.registrarEscritura();
+        legajo.incrementarVersion();
+    }
+
+    /**
+     * Actualiza el Legajo dentro de una transacción si la fila sigue en la versión
+     * del objeto. NO modifica la versión del objeto: el llamador la avanza
+     * después del commit.
+     *
+     * @throws ConflictoVersionException si otro usuario lo modificó desde que se leyó.
+     */
+    @Override
+    public void actualizarTx(Legajo legajo, Connection conn) throws SQLException {
+        executeUpdate(legajo, conn);
+    }
+
+    // --- Métodos de Eliminación (Genéricos) ---
+
+    @Override
+    public void eliminar(long id) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            executeSoftDelete(id, conn);
+        }
+        DatabaseConnection.registrarEscritura();
+    }
+
+    @Override
+    public void eliminarTx(long id, Connection conn) throws SQLException {
+        executeSoftDelete(id, conn);
+    }
+
+    // --- Métodos de Lectura (Genéricos) ---
+
+    @Override
+    public Legajo leer(long id) throws SQLException {
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            return findByIdInternal(conn, id);
+        }
+    }
+
+    @Override
+    public List<Legajo> leerTodos() throws SQLException {
+        List<Legajo> legajos = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                legajos.add(mapRowToLegajo(rs));
+            }
+        }
+        return legajos;
+    }
+
+    @Override
+    public List<Legajo> leerPagina(long afterId, int limit) throws SQLException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        List<Legajo> legajos = new ArrayList<>(limit);
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PAGE_SQL)) {
+
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+            stmt.setFetchSize(limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    legajos.add(mapRowToLegajo(rs));
+                }
+            }
+        }
+        return legajos;
+    }
+
+    // --- MÉTODOS DE BÚSQUEDA ESPECIALIZADOS ---
+
+    /**
+     * Busca un Legajo por su 'nro_legajo' (búsqueda exacta).
+     *
+     * @param nroLegajo El número de legajo exacto a buscar.
+     * @return El Legajo encontrado o null si no existe.
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    @Override
+    public Legajo buscarPorNroLegajo(String nroLegajo) throws SQLException {
+        if (nroLegajo == null || nroLegajo.trim().isEmpty()) {
+            return null;
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_NRO_LEGAJO_SQL)) {
+
+            stmt.setString(1, nroLegajo.trim());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToLegajo(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca Legajos por su estado (ACTIVO/INACTIVO).
+     *
+     * @param estado El estado a buscar.
+     * @return Una lista de Legajos que coinciden (puede estar vacía).
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    @Override
+    public List<Legajo> buscarPorEstado(EstadoLegajo estado) throws SQLException {
+        List<Legajo> legajos = new ArrayList<>();
+        if (estado == null) {
+            return legajos;
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ESTADO_SQL)) {
+
+            stmt.setString(1, estado.name());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    legajos.add(mapRowToLegajo(rs));
+                }
+            }
+        }
+        return legajos;
+    }
+
+    // --- PROYECCIONES ---
+
+    /**
+     * Lee un Legajo por id trayendo sólo las columnas pedidas.
+     *
+     * @param id     ID del Legajo.
+     * @param campos campos a leer; el resto queda sin cargar en el Legajo devuelto.
+     * @return Legajo parcial o null si no existe.
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    @Override
+    public Legajo leer(long id, Set<CampoLegajo> campos) throws SQLException {
+        EnumSet<CampoLegajo> proyeccion = toProyeccion(campos);
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(proyeccionSql(proyeccion, PROYECCION_BY_ID_WHERE))) {
+
+            stmt.setLong(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return CampoLegajo.mapear(rs, proyeccion);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca Legajos por estado trayendo sólo las columnas pedidas.
+     *
+     * @param estado El estado a buscar.
+     * @param campos campos a leer; el resto queda sin cargar en cada Legajo.
+     * @return Legajos parciales (la lista puede estar vacía).
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    @Override
+    public List<Legajo> buscarPorEstado(EstadoLegajo estado, Set<CampoLegajo> campos) throws SQLException {
+        EnumSet<CampoLegajo> proyeccion = toProyeccion(campos);
+        List<Legajo> legajos = new ArrayList<>();
+        if (estado == null) {
+            return legajos;
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(proyeccionSql(proyeccion, PROYECCION_BY_ESTADO_WHERE))) {
+
+            stmt.setString(1, estado.name());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    legajos.add(CampoLegajo.mapear(rs, proyeccion));
+                }
+            }
+        }
+        return legajos;
+    }
+
+    /**
+     * Lista el resumen (id, número, estado, categoría) de todos los Legajos activos.
+     * Se resuelve recorriendo sólo el índice idx_legajo_resumen.
+     *
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    @Override
+    public List<LegajoResumen> listarResumen() throws SQLException {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_RESUMEN_ALL_SQL)) {
+            return readResumenes(stmt);
+        }
+    }
+
+    /**
+     * Lista el resumen de los Legajos activos con el estado indicado.
+     * Se resuelve con un rango de idx_legajo_resumen (eliminado, estado).
+     *
+     * @param estado El estado a buscar.
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    @Override
+    public List<LegajoResumen> buscarResumenPorEstado(EstadoLegajo estado) throws SQLException {
+        if (estado == null) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_RESUMEN_BY_ESTADO_SQL)) {
+            stmt.setString(1, estado.name());
+            return readResumenes(stmt);
+        }
+    }
+
+    // --- MÉTODOS AUXILIARES (Helpers) ---
+
+    /**
+     * Valida y normaliza los campos de una proyección. El EnumSet asegura que
+     * las columnas se lean en el mismo orden en que se listaron en el SELECT.
+     */
+    private static EnumSet<CampoLegajo> toProyeccion(Set<CampoLegajo> campos) {
+        if (campos == null || campos.isEmpty()) {
+            throw new IllegalArgumentException("La proyección debe incluir al menos un campo.");
+        }
+        return EnumSet.copyOf(campos);
+    }
+
+    /**
+     * Devuelve (armándolo la primera vez) el SELECT de una proyección con el WHERE dado.
+     */
+    private static String proyeccionSql(EnumSet<CampoLegajo> proyeccion, String where) {
+        return PROYECCION_SQL.computeIfAbsent(proyeccion + where, key -> {
+            String sql = "SELECT " + CampoLegajo.columnas(proyeccion) + " FROM legajo " + where;
+            StatementRegistry.register(sql);
+            return sql;
+        });
+    }
+
+    /**
+     * Ejecuta una consulta de resumen y mapea cada fila a LegajoResumen.
+     */
+    private List<LegajoResumen> readResumenes(PreparedStatement stmt) throws SQLException {
+        List<LegajoResumen> resumenes = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String estado = rs.getString(3);
+                resumenes.add(new LegajoResumen(rs.getLong(1), rs.getString(2),
+                        estado != null ? EstadoLegajo.valueOf(estado) : null, rs.getString(4)));
+            }
+        }
+        return resumenes;
+    }
+
+    /**
+     * Setea los parámetros de inserción de un Legajo en el PreparedStatement.
+     * Incluye el empleadoId (FK).
+     */
+    private void setInsertParameters(PreparedStatement stmt, Legajo legajo, long empleadoId) throws SQLException {
+        stmt.setString(1, legajo.getNumeroLegajo());
+        stmt.setString(2, legajo.getCategoria());
+
+        if (legajo.getEstado() != null) {
+            stmt.setString(3, legajo.getEstado().name()); // "ACTIVO" / "INACTIVO"
+        } else {
+            stmt.setNull(3, Types.VARCHAR);
+        }
+
+        if (legajo.getFechaAlta() != null) {
+            stmt.setDate(4, java.sql.Date.valueOf(legajo.getFechaAlta()));
+        } else {
+            stmt.setNull(4, Types.DATE);
+        }
+
+        stmt.setString(5, legajo.getObservaciones());
+        stmt.setLong(6, empleadoId);
+    }
+
+    /**
+     * Extrae el ID autogenerado del PreparedStatement y lo asigna al Legajo.
+     */
+    private void assignGeneratedId(PreparedStatement stmt, Legajo legajo) throws SQLException {
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            if (rs.next()) {
+                legajo.setId(rs.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * Extrae los IDs autogenerados de un lote y los asigna, en orden, a los Legajos.
+     */
+    private void assignGeneratedIds(PreparedStatement stmt, List<Legajo> legajos) throws SQLException {
+        int index = 0;
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next() && index < legajos.size()) {
+                legajos.get(index++).setId(rs.getLong(1));
+            }
+        }
+        if (index != legajos.size()) {
+            throw new SQLException("El lote de Legajos devolvió " + index
+                    + " IDs generados para " + legajos.size() + " filas.");
+        }
+    }
+
+    /**
+     * Ejecuta la lógica de actualización. NO cierra la conexión.
+     */
+    private void executeUpdate(Legajo legajo, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            stmt.setString(1, legajo.getNumeroLegajo());
+            stmt.setString(2, legajo.getCategoria());
+
+            if (legajo.getEstado() != null) {
+                stmt.setString(3, legajo.getEstado().name());
+            } else {
+                stmt.setNull(3, Types.VARCHAR);
+            }
+
+            if (legajo.getFechaAlta() != null) {
+                stmt.setDate(4, java.sql.Date.valueOf(legajo.getFechaAlta()));
+            } else {
+                stmt.setNull(4, Types.DATE);
+            }
+
+            stmt.setString(5, legajo.getObservaciones());
+            stmt.setLong(6, legajo.getId());
+            stmt.setInt(7, legajo.getVersion());
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw versionConflictOrNotFound(legajo, conn);
+            }
+        }
+    }
+
+    /**
+     * Arma la excepción para un UPDATE que no coincidió con ninguna fila: si el
+     * Legajo existe, su versión cambió (conflicto); si no, el ID no existe.
+     */
+    private SQLException versionConflictOrNotFound(Legajo legajo, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_VERSION_SQL)) {
+            stmt.setLong(1, legajo.getId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new ConflictoVersionException("Legajo", legajo.getId(),
+                            legajo.getVersion(), rs.getInt(1));
+                }
+            }
+        }
+        return new SQLException("No se pudo actualizar el Legajo. ID no encontrado: " + legajo.getId());
+    }
+
+    /**
+     * Ejecuta la baja lógica (soft delete). NO cierra la conexión.
+     */
+    private void executeSoftDelete(long id, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
+            stmt.setLong(1, id);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("No se pudo eliminar (baja lógica) el Legajo. ID no encontrado: " + id);
+            }
+        }
+    }
+
+    /**
+     * Mapea una fila de ResultSet a un objeto Legajo.
+     */
+    private Legajo mapRowToLegajo(ResultSet rs) throws SQLException {
+        Legajo legajo = new Legajo();
+
+        legajo.setId(rs.getLong("id"));
+        legajo.setNumeroLegajo(rs.getString("nro_legajo"));
+        legajo.setCategoria(rs.getString("categoria"));
+
+        String estadoStr = rs.getString("estado");
+        if (estadoStr != null) {
+            legajo.setEstado(EstadoLegajo.valueOf(estadoStr));
+        }
+
+        java.sql.Date fechaAlta = rs.getDate("fecha_alta");
+        if (fechaAlta != null) {
+            legajo.setFechaAlta(fechaAlta.toLocalDate());
+        }
+
+        legajo.setObservaciones(rs.getString("observaciones"));
+        legajo.setVersion(rs.getInt("version"));
+
+        // No mapeamos empleado_id para mantener la unidireccionalidad desde Empleado.
+        return legajo;
+    }
+
+    /**
+     * Helper para leer un Legajo por id usando una conexión existente.
+     */
+    private Legajo findByIdInternal(Connection conn, long id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToLegajo(rs);
+                }
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package dao;
+
+import config.TransactionManager;
+import entities.EstadoLegajo;
+import entities.Legajo;
+import entities.LegajoResumen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementación de {@link LegajoDAO} sobre un {@link AlmacenMemoria}, con los
+ * mismos dos modos que {@link EmpleadoDAOMemoria} (sólo memoria, o escritura
+ * directa a un DAO JDBC de respaldo). Debe compartir el almacén con el
+ * EmpleadoDAOMemoria, porque la FK y el UNIQUE de empleado_id se verifican
+ * contra los Empleados de ese almacén.
+ */
+public class LegajoDAOMemoria implements LegajoDAO {
+
+    private final AlmacenMemoria almacen;
+    private final LegajoDAO respaldo;
+
+    /**
+     * Crea el DAO sin respaldo: los datos sólo existen en memoria.
+     */
+    public LegajoDAOMemoria(AlmacenMemoria almacen) {
+        this(almacen, null);
+    }
+
+    /**
+     * @param respaldo DAO donde se escribe primero cada cambio (write-through), o
+     *                 null para trabajar sólo en memoria.
+     */
+    public LegajoDAOMemoria(AlmacenMemoria almacen, LegajoDAO respaldo) {
+        if (almacen == null) {
+            throw new IllegalArgumentException("AlmacenMemoria no puede ser null");
+        }
+        this.almacen = almacen;
+        this.respaldo = respaldo;
+    }
+
+    // --- ESCRITURAS ---
+
+    /**
+     * Regla de negocio: un Legajo no puede crearse sin asociarse a un Empleado.
+     */
+    @Override
+    public void crear(Legajo legajo) {
+        throw new UnsupportedOperationException(
+                "No puede crear Legajo sin Empleado. " +
+                        "Use crearTx(Legajo legajo, long empleadoId, Connection conn)."
+        );
+    }
+
+    @Override
+    public void crearTx(Legajo legajo, Connection conn) {
+        throw new UnsupportedOperationException(GenericDAO.UNSUPPORTED_TRANSACTION_MESSAGE);
+    }
+
+    @Override
+    public void crearTx(Legajo legajo, long empleadoId, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            almacen.crearLegajo(legajo, empleadoId);
+            long id = legajo.getId();
+            TransactionManager.alRevertir(() -> almacen.deshacerLegajo(id, null));
+            return;
+        }
+        respaldo.crearTx(legajo, empleadoId, conn);
+        Legajo fila = filaNueva(legajo);
+        TransactionManager.alConfirmar(() -> almacen.reflejarLegajo(fila, empleadoId));
+    }
+
+    @Override
+    public void crearLoteTx(List<Legajo> legajos, List<Long> empleadoIds, Connection conn) throws SQLException {
+        if (legajos.size() != empleadoIds.size()) {
+            throw new IllegalArgumentException("Cada Legajo del lote debe tener su empleadoId.");
+        }
+        if (respaldo == null) {
+            almacen.crearLegajos(legajos, empleadoIds);
+            List<Long> ids = new ArrayList<>(legajos.size());
+            for (Legajo legajo : legajos) {
+                ids.add(legajo.getId());
+            }
+            TransactionManager.alRevertir(() -> ids.forEach(id -> almacen.deshacerLegajo(id, null)));
+            return;
+        }
+        respaldo.crearLoteTx(legajos, empleadoIds, conn);
+        List<Legajo> filas = new ArrayList<>(legajos.size());
+        for (Legajo legajo : legajos) {
+            filas.add(filaNueva(legajo));
+        }
+        List<Long> duenios = new ArrayList<>(empleadoIds);
+        TransactionManager.alConfirmar(() -> {
+            for (int i = 0; i < filas.size(); i++) {
+                almacen.reflejarLegajo(filas.get(i), duenios.get(i));
+            }
+        });
+    }
+
+    @Override
+    public void actualizar(Legajo legajo) throws SQLException {
+        if (respaldo == null) {
+            almacen.actualizarLegajo(legajo);
+            legajo.incrementarVersion();
+            return;
+        }
+        respaldo.actualizar(legajo); // Ya avanza la versión del objeto
+        almacen.reflejarLegajo(AlmacenMemoria.copiar(legajo), 0);
+    }
+
+    @Override
+    public void actualizarTx(Legajo legajo, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            Legajo anterior = almacen.actualizarLegajo(legajo);
+            long id = legajo.getId();
+            TransactionManager.alRevertir(() -> almacen.deshacerLegajo(id, anterior));
+            return;
+        }
+        respaldo.actualizarTx(legajo, conn);
+        Legajo fila = AlmacenMemoria.copiar(legajo);
+        fila.setVersion(legajo.getVersion() + 1); // La versión que quedó en la BD
+        TransactionManager.alConfirmar(() -> almacen.reflejarLegajo(fila, 0));
+    }
+
+    @Override
+    public void eliminar(long id) throws SQLException {
+        if (respaldo == null) {
+            almacen.eliminarLegajo(id);
+            return;
+        }
+        respaldo.eliminar(id);
+        almacen.reflejarBajaLegajo(id);
+    }
+
+    @Override
+    public void eliminarTx(long id, Connection conn) throws SQLException {
+        if (respaldo == null) {
+            Legajo anterior = almacen.eliminarLegajo(id);
+            TransactionManager.alRevertir(() -> almacen.deshacerLegajo(id, anterior));
+            return;
+        }
+        respaldo.eliminarTx(id, conn);
+        TransactionManager.alConfirmar(() -> almacen.reflejarBajaLegajo(id));
+    }
+
+    // --- LECTURAS ---
+
+    @Override
+    public Legajo leer(long id) {
+        return almacen.legajo(id);
+    }
+
+    @Override
+    public List<Legajo> leerTodos() {
+        return legajos(almacen.idsLegajosActivos(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Legajo> leerPagina(long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        return legajos(almacen.idsLegajosActivos().tailSet(afterId, false), limit);
+    }
+
+    @Override
+    public Legajo buscarPorNroLegajo(String nroLegajo) {
+        if (nroLegajo == null || nroLegajo.trim().isEmpty()) {
+            return null;
+        }
+        return almacen.legajoPorNro(nroLegajo);
+    }
+
+    /**
+     * Recorre todos los Legajos activos (no hay un índice por estado: con dos
+     * valores posibles, cada uno abarca una fracción grande de la tabla).
+     */
+    @Override
+    public List<Legajo> buscarPorEstado(EstadoLegajo estado) {
+        List<Legajo> legajos = new ArrayList<>();
+        if (estado == null) {
+            return legajos;
+        }
+        for (Long id : almacen.idsLegajosActivos()) {
+            Legajo fila = almacen.filaLegajo(id);
+            if (fila != null && !fila.isEliminado() && fila.getEstado() == estado) {
+                legajos.add(AlmacenMemoria.copiar(fila));
+            }
+        }
+        return legajos;
+    }
+
+    @Override
+    public Legajo leer(long id, Set<CampoLegajo> campos) {
+        EnumSet<CampoLegajo> proyeccion = toProyeccion(campos);
+        Legajo legajo = almacen.legajo(id);
+        return legajo == null ? null : CampoLegajo.proyectar(legajo, proyeccion);
+    }
+
+    @Override
+    public List<Legajo> buscarPorEstado(EstadoLegajo estado, Set<CampoLegajo> campos) {
+        EnumSet<CampoLegajo> proyeccion = toProyeccion(campos);
+        List<Legajo> legajos = new ArrayList<>();
+        if (estado == null) {
+            return legajos;
+        }
+        for (Long id : almacen.idsLegajosActivos()) {
+            Legajo fila = almacen.filaLegajo(id);
+            if (fila != null && !fila.isEliminado() && fila.getEstado() == estado) {
+                legajos.add(CampoLegajo.proyectar(fila, proyeccion));
+            }
+        }
+        return legajos;
+    }
+
+    @Override
+    public List<LegajoResumen> listarResumen() {
+        return resumenes(null);
+    }
+
+    @Override
+    public List<LegajoResumen> buscarResumenPorEstado(EstadoLegajo estado) {
+        if (estado == null) {
+            return new ArrayList<>();
+        }
+        return resumenes(estado);
+    }
+
+    // --- HELPERS ---
+
+    private List<Legajo> legajos(Iterable<Long> ids, int limite) {
+        List<Legajo> legajos = new ArrayList<>();
+        for (Long id : ids) {
+            if (legajos.size() >= limite) {
+                break;
+            }
+            Legajo legajo = almacen.legajo(id);
+            if (legajo != null) {
+                legajos.add(legajo);
+            }
+        }
+        return legajos;
+    }
+
+    /**
+     * Resumen de los Legajos activos (de un estado, o de todos si es null).
+     */
+    private List<LegajoResumen> resumenes(EstadoLegajo estado) {
+        List<LegajoResumen> resumenes = new ArrayList<>();
+        for (Long id : almacen.idsLegajosActivos()) {
+            Legajo fila = almacen.filaLegajo(id);
+            if (fila != null && !fila.isEliminado() && (estado == null || fila.getEstado() == estado)) {
+                resumenes.add(new LegajoResumen(fila.getId(), fila.getNumeroLegajo(), fila.getEstado(),
+                        fila.getCategoria()));
+            }
+        }
+        return resumenes;
+    }
+
+    private static EnumSet<CampoLegajo> toProyeccion(Set<CampoLegajo> campos) {
+        if (campos == null || campos.isEmpty()) {
+            throw new IllegalArgumentException("La proyección debe incluir al menos un campo.");
+        }
+        return EnumSet.copyOf(campos);
+    }
+
+    /**
+     * Fila recién insertada en la BD: activa y en la versión inicial.
+     */
+    private static Legajo filaNueva(Legajo legajo) {
+        Legajo fila = AlmacenMemoria.copiar(legajo);
+        fila.setEliminado(false);
+        fila.setVersion(0);
+        return fila;
+    }
+}
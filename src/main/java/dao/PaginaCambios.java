@@ -0,0 +1,40 @@
+package dao;
+
+import entities.Empleado;
+import entities.MarcaSincronizacion;
+
+import java.util.List;
+
+/**
+ * Una página del feed de cambios (ver {@link SincronizacionDAO#leerCambios}):
+ * los Empleados modificados, en orden, y la marca de la última fila.
+ */
+public final class PaginaCambios {
+
+    private final List<Empleado> empleados;
+    private final MarcaSincronizacion ultimaMarca;
+
+    PaginaCambios(List<Empleado> empleados, MarcaSincronizacion ultimaMarca) {
+        this.empleados = empleados;
+        this.ultimaMarca = ultimaMarca;
+    }
+
+    /**
+     * Empleados cuya fila (de empleado o de legajo, según el origen) cambió,
+     * incluidas las bajas lógicas (isEliminado() en el Empleado o en su Legajo).
+     */
+    public List<Empleado> getEmpleados() {
+        return empleados;
+    }
+
+    /**
+     * Marca desde la que continúa la próxima página (la recibida si la página está vacía).
+     */
+    public MarcaSincronizacion getUltimaMarca() {
+        return ultimaMarca;
+    }
+
+    public boolean isEmpty() {
+        return empleados.isEmpty();
+    }
+}
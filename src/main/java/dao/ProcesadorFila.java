@@ -0,0 +1,24 @@
+package dao;
+
+import java.io.IOException;
+
+/**
+ * Recibe, una por una, las filas de un recorrido en modo streaming (ver
+ * {@link EmpleadoDAO#recorrerTodos(ProcesadorFila)}).
+ * <p>
+ * Se invoca mientras el ResultSet sigue abierto, por lo que no debe usar la
+ * misma conexión ni retener las entidades si se quiere memoria constante.
+ *
+ * @param <T> tipo de entidad recibida.
+ */
+@FunctionalInterface
+public interface ProcesadorFila<T> {
+
+    /**
+     * Procesa una fila (por ejemplo, la escribe en un archivo).
+     *
+     * @param fila entidad mapeada desde la fila actual.
+     * @throws IOException si falla la escritura; el recorrido se interrumpe.
+     */
+    void procesar(T fila) throws IOException;
+}
@@ -0,0 +1,112 @@
+package dao;
+
+import config.DatabaseConnection;
+import config.StatementRegistry;
+import entities.ConteoAgrupado;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consultas de reportes de dotación. Cada reporte es un GROUP BY que se
+ * resuelve en la BD y devuelve sólo los totales por grupo, en lugar de traer
+ * todas las filas y contarlas en Java.
+ * <p>
+ * Las agrupaciones se apoyan en índices que cubren las columnas usadas, así el
+ * motor cuenta recorriendo sólo el índice: idx_empleado_reporte_area
+ * (eliminado, area), idx_empleado_reporte_ingreso (eliminado, fecha_ingreso) e
+ * idx_legajo_resumen (eliminado, estado, categoria, ...).
+ */
+public class ReporteDAO {
+
+    /**
+     * Grupo usado cuando la columna agrupada es NULL (ej. empleado sin área).
+     */
+    public static final String SIN_DATO = "(sin dato)";
+
+    /**
+     * Reportes disponibles. La consulta de cada uno devuelve el grupo en la
+     * primera columna, el subgrupo (o NULL) en la segunda y la cantidad en la tercera.
+     */
+    public enum Agrupacion {
+        AREA("Empleados por área",
+                "SELECT area, NULL, COUNT(*) FROM empleado WHERE eliminado = FALSE "
+                        + "GROUP BY area ORDER BY area"),
+        ESTADO("Legajos por estado",
+                "SELECT estado, NULL, COUNT(*) FROM legajo WHERE eliminado = FALSE "
+                        + "GROUP BY estado ORDER BY estado"),
+        CATEGORIA("Legajos por categoría",
+                "SELECT categoria, NULL, COUNT(*) FROM legajo WHERE eliminado = FALSE "
+                        + "GROUP BY categoria ORDER BY categoria"),
+        ESTADO_CATEGORIA("Legajos por estado y categoría",
+                "SELECT estado, categoria, COUNT(*) FROM legajo WHERE eliminado = FALSE "
+                        + "GROUP BY estado, categoria ORDER BY estado, categoria"),
+        INGRESO_ANIO("Ingresos por año",
+                "SELECT YEAR(fecha_ingreso) AS anio, NULL, COUNT(*) FROM empleado "
+                        + "WHERE eliminado = FALSE GROUP BY anio ORDER BY anio"),
+        INGRESO_MES("Ingresos por año y mes",
+                "SELECT YEAR(fecha_ingreso) AS anio, LPAD(MONTH(fecha_ingreso), 2, '0') AS mes, COUNT(*) "
+                        + "FROM empleado WHERE eliminado = FALSE GROUP BY anio, mes ORDER BY anio, mes");
+
+        private final String titulo;
+        private final String sql;
+
+        Agrupacion(String titulo, String sql) {
+            this.titulo = titulo;
+            this.sql = sql;
+        }
+
+        public String getTitulo() {
+            return titulo;
+        }
+    }
+
+    // Las sentencias fijas se preparan una vez por conexión del pool y se reutilizan
+    static {
+        for (Agrupacion agrupacion : Agrupacion.values()) {
+            StatementRegistry.register(agrupacion.sql);
+        }
+    }
+
+    /**
+     * Ejecuta un reporte con una conexión propia.
+     *
+     * @param agrupacion reporte a ejecutar.
+     * @return totales por grupo, en el orden del GROUP BY.
+     * @throws SQLException si ocurre un error de base de datos.
+     */
+    public List<ConteoAgrupado> contar(Agrupacion agrupacion) throws SQLException {
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            return contarTx(agrupacion, conn);
+        }
+    }
+
+    /**
+     * Ejecuta un reporte sobre la conexión del llamador (por ejemplo, dentro de
+     * una transacción de sólo lectura para que varios reportes vean los mismos datos).
+     * NO cierra la conexión.
+     */
+    public List<ConteoAgrupado> contarTx(Agrupacion agrupacion, Connection conn) throws SQLException {
+        if (agrupacion == null) {
+            throw new IllegalArgumentException("La agrupación no puede ser null.");
+        }
+        List<ConteoAgrupado> conteos = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(agrupacion.sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                String grupo = rs.getString(1);
+                String subgrupo = rs.getString(2);
+                if (agrupacion == Agrupacion.ESTADO_CATEGORIA && subgrupo == null) {
+                    subgrupo = SIN_DATO;
+                }
+                conteos.add(new ConteoAgrupado(grupo != null ? grupo : SIN_DATO, subgrupo, rs.getLong(3)));
+            }
+        }
+        return conteos;
+    }
+}
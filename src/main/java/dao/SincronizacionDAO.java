@@ -0,0 +1,245 @@
+package dao;
+
+import config.DatabaseConnection;
+import config.StatementRegistry;
+import entities.Empleado;
+import entities.EstadoLegajo;
+import entities.Legajo;
+import entities.MarcaSincronizacion;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feed de cambios para sistemas externos (liquidación de sueldos, credenciales):
+ * devuelve sólo las filas modificadas desde una marca, en lugar de releer la
+ * tabla completa con leerTodos().
+ * <p>
+ * Se basa en fecha_actualizacion (ON UPDATE CURRENT_TIMESTAMP) y en los índices
+ * idx_empleado_fecha_actualizacion / idx_legajo_fecha_actualizacion: como InnoDB
+ * agrega la PK a todo índice secundario, el recorrido por (fecha_actualizacion, id)
+ * es un rango del índice ya ordenado. Incluye las bajas lógicas, que también
+ * modifican la fila.
+ * <p>
+ * También guarda la última marca leída por cada consumidor (tabla sincronizacion_marca).
+ * <p>
+ * Lee siempre del primario (no de la réplica): con retraso de replicación, el
+ * margen se calcularía sobre datos atrasados y la marca podría saltear filas.
+ */
+public class SincronizacionDAO {
+
+    /**
+     * Columnas del Empleado y su Legajo, sin filtrar eliminado (las bajas son cambios).
+     */
+    private static final String SELECT_CAMBIOS_COLUMNS =
+            "SELECT e.id AS emp_id, e.eliminado AS emp_eliminado, e.nombre, e.apellido, e.dni, e.email, " +
+                    "       e.fecha_ingreso, e.area, e.version AS emp_version, " +
+                    "       l.id AS leg_id, l.eliminado AS leg_eliminado, l.nro_legajo, l.categoria, l.estado, " +
+                    "       l.fecha_alta, l.observaciones, l.version AS leg_version, ";
+
+    /**
+     * Excluye las filas de los últimos segundos: una transacción que todavía no
+     * confirmó puede tener un fecha_actualizacion anterior al de filas ya visibles.
+     */
+    private static final String MARGEN_WHERE = " < CURRENT_TIMESTAMP - INTERVAL ? SECOND ";
+
+    /**
+     * Tabla cuyos cambios se leen. Cada fila del feed es el Empleado con su Legajo;
+     * lo que cambia es qué fecha_actualizacion (y qué id) define la marca.
+     */
+    public enum Origen {
+        EMPLEADO("e", "FROM empleado e LEFT JOIN legajo l ON e.id = l.empleado_id "),
+        LEGAJO("l", "FROM legajo l JOIN empleado e ON e.id = l.empleado_id ");
+
+        private final String sqlInicial;
+        private final String sqlDesde;
+
+        Origen(String alias, String from) {
+            String select = SELECT_CAMBIOS_COLUMNS + alias + ".fecha_actualizacion AS marca_fecha, "
+                    + alias + ".id AS marca_id " + from;
+            String fecha = alias + ".fecha_actualizacion";
+            String orden = "ORDER BY " + fecha + ", " + alias + ".id LIMIT ?";
+            this.sqlInicial = select + "WHERE " + fecha + MARGEN_WHERE + orden;
+            this.sqlDesde = select + "WHERE (" + fecha + " > ? OR (" + fecha + " = ? AND " + alias + ".id > ?)) "
+                    + "AND " + fecha + MARGEN_WHERE + orden;
+        }
+    }
+
+    // --- QUERIES DE MARCAS POR CONSUMIDOR ---
+
+    private static final String SELECT_MARCA_SQL =
+            "SELECT marca_fecha, marca_id FROM sincronizacion_marca WHERE consumidor = ? AND origen = ?";
+
+    private static final String UPSERT_MARCA_SQL =
+            "INSERT INTO sincronizacion_marca (consumidor, origen, marca_fecha, marca_id) VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE marca_fecha = VALUES(marca_fecha), marca_id = VALUES(marca_id)";
+
+    private static final String DELETE_MARCAS_SQL =
+            "DELETE FROM sincronizacion_marca WHERE consumidor = ?";
+
+    // Las sentencias fijas se preparan una vez por conexión del pool y se reutilizan
+    static {
+        for (Origen origen : Origen.values()) {
+            StatementRegistry.register(origen.sqlInicial, origen.sqlDesde);
+        }
+        StatementRegistry.register(SELECT_MARCA_SQL, UPSERT_MARCA_SQL, DELETE_MARCAS_SQL);
+    }
+
+    /**
+     * Lee la siguiente página de cambios después de una marca.
+     *
+     * @param origen         tabla cuyos cambios se leen.
+     * @param desde          marca de la última fila ya entregada ({@link MarcaSincronizacion#INICIAL} para empezar).
+     * @param margenSegundos no se leen filas modificadas en los últimos segundos
+     *                       (debe superar la duración de la transacción de escritura más larga).
+     * @param limite         cantidad máxima de filas.
+     * @return los Empleados modificados, ordenados por (fecha_actualizacion, id), y la marca de la última fila.
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    public PaginaCambios leerCambios(Origen origen, MarcaSincronizacion desde, int margenSegundos, int limite)
+            throws SQLException {
+        if (origen == null || desde == null) {
+            throw new IllegalArgumentException("El origen y la marca no pueden ser null.");
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        List<Empleado> empleados = new ArrayList<>(limite);
+        MarcaSincronizacion ultima = desde;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(desde.isInicial() ? origen.sqlInicial : origen.sqlDesde)) {
+
+            int index = 1;
+            if (!desde.isInicial()) {
+                Timestamp fecha = Timestamp.valueOf(desde.getFecha());
+                stmt.setTimestamp(index++, fecha);
+                stmt.setTimestamp(index++, fecha);
+                stmt.setLong(index++, desde.getId());
+            }
+            stmt.setInt(index++, margenSegundos);
+            stmt.setInt(index, limite);
+            stmt.setFetchSize(limite);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    empleados.add(mapRowToEmpleado(rs));
+                    ultima = new MarcaSincronizacion(rs.getTimestamp("marca_fecha").toLocalDateTime(),
+                            rs.getLong("marca_id"));
+                }
+            }
+        }
+        return new PaginaCambios(empleados, ultima);
+    }
+
+    /**
+     * Devuelve la última marca guardada por un consumidor, o
+     * {@link MarcaSincronizacion#INICIAL} si todavía no leyó nada.
+     *
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    public MarcaSincronizacion leerMarca(String consumidor, Origen origen) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_MARCA_SQL)) {
+
+            stmt.setString(1, consumidor);
+            stmt.setString(2, origen.name());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new MarcaSincronizacion(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2));
+                }
+            }
+        }
+        return MarcaSincronizacion.INICIAL;
+    }
+
+    /**
+     * Guarda (o reemplaza) la marca de un consumidor para un origen.
+     *
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    public void guardarMarca(String consumidor, Origen origen, MarcaSincronizacion marca) throws SQLException {
+        if (marca == null || marca.isInicial()) {
+            throw new IllegalArgumentException("Sólo se guardan marcas de filas leídas.");
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_MARCA_SQL)) {
+
+            stmt.setString(1, consumidor);
+            stmt.setString(2, origen.name());
+            stmt.setTimestamp(3, Timestamp.valueOf(marca.getFecha()));
+            stmt.setLong(4, marca.getId());
+            stmt.executeUpdate();
+        }
+        DatabaseConnection.registrarEscritura();
+    }
+
+    /**
+     * Borra las marcas de un consumidor: su próxima lectura empieza desde el principio.
+     *
+     * @return cantidad de marcas borradas.
+     * @throws SQLException Si hay un error de base de datos.
+     */
+    public int eliminarMarcas(String consumidor) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_MARCAS_SQL)) {
+
+            stmt.setString(1, consumidor);
+            int eliminadas = stmt.executeUpdate();
+            DatabaseConnection.registrarEscritura();
+            return eliminadas;
+        }
+    }
+
+    /**
+     * Mapea una fila del feed a un Empleado con su Legajo (si tiene), incluyendo
+     * el indicador de baja lógica de ambos.
+     */
+    private Empleado mapRowToEmpleado(ResultSet rs) throws SQLException {
+        Empleado empleado = new Empleado();
+        empleado.setId(rs.getLong("emp_id"));
+        empleado.setEliminado(rs.getBoolean("emp_eliminado"));
+        empleado.setNombre(rs.getString("nombre"));
+        empleado.setApellido(rs.getString("apellido"));
+        empleado.setDni(rs.getString("dni"));
+        empleado.setEmail(rs.getString("email"));
+
+        Date fechaIngreso = rs.getDate("fecha_ingreso");
+        if (fechaIngreso != null) {
+            empleado.setFechaIngreso(fechaIngreso.toLocalDate());
+        }
+        empleado.setArea(rs.getString("area"));
+        empleado.setVersion(rs.getInt("emp_version"));
+
+        long legajoId = rs.getLong("leg_id");
+        if (legajoId > 0 && !rs.wasNull()) {
+            Legajo legajo = new Legajo();
+            legajo.setId(legajoId);
+            legajo.setEliminado(rs.getBoolean("leg_eliminado"));
+            legajo.setNumeroLegajo(rs.getString("nro_legajo"));
+            legajo.setCategoria(rs.getString("categoria"));
+
+            String estadoStr = rs.getString("estado");
+            if (estadoStr != null) {
+                legajo.setEstado(EstadoLegajo.valueOf(estadoStr));
+            }
+
+            Date fechaAlta = rs.getDate("fecha_alta");
+            if (fechaAlta != null) {
+                legajo.setFechaAlta(fechaAlta.toLocalDate());
+            }
+            legajo.setObservaciones(rs.getString("observaciones"));
+            legajo.setVersion(rs.getInt("leg_version"));
+
+            empleado.setLegajo(legajo);
+        }
+        return empleado;
+    }
+}
@@ -0,0 +1,27 @@
+package dao;
+
+import java.sql.SQLException;
+
+/**
+ * Envoltorio no verificado de {@link SQLException}.
+ * <p>
+ * Se usa en los puntos donde la API de Java no permite lanzar excepciones
+ * verificadas (por ejemplo, {@link java.util.Iterator#next()} o un
+ * {@link java.util.stream.Stream}). La causa original siempre es la SQLException.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param cause la SQLException original.
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
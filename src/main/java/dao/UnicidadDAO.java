@@ -0,0 +1,226 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verificación de unicidad por conjuntos para las claves de negocio
+ * (dni, email y nro_legajo).
+ * <p>
+ * En lugar de un SELECT * por cada valor, arma una sola consulta
+ * {@code WHERE columna IN (?, ?, ...)} por campo y las une con UNION ALL, de modo
+ * que verificar un alta cuesta un único round trip y verificar un lote cuesta
+ * una consulta por bloque. Cada subconsulta sólo pide la columna única y el id,
+ * por lo que el motor la resuelve desde el índice UNIQUE (que en InnoDB incluye
+ * la PK) sin leer la fila.
+ * <p>
+ * No filtra por {@code eliminado}: las constraints UNIQUE de la BD también
+ * incluyen las filas con baja lógica, así que un valor usado por una fila
+ * eliminada tampoco puede reutilizarse.
+ * <p>
+ * Siempre trabaja sobre la conexión del llamador (normalmente la conexión
+ * transaccional del Service). NO cierra la conexión.
+ */
+public class UnicidadDAO {
+
+    /**
+     * Campos con restricción UNIQUE en la BD que se verifican antes de persistir.
+     */
+    public enum CampoUnico {
+        DNI("empleado", "dni"),
+        EMAIL("empleado", "email"),
+        NRO_LEGAJO("legajo", "nro_legajo");
+
+        private final String tabla;
+        private final String columna;
+
+        CampoUnico(String tabla, String columna) {
+            this.tabla = tabla;
+            this.columna = columna;
+        }
+
+        public String getTabla() {
+            return tabla;
+        }
+
+        public String getColumna() {
+            return columna;
+        }
+    }
+
+    /**
+     * Máximo de valores por lista IN. Los conjuntos más grandes se parten en
+     * varias consultas para no generar sentencias demasiado largas.
+     */
+    private static final int MAX_VALORES_POR_CONSULTA = 1000;
+
+    /**
+     * Busca, para cada campo, cuáles de los valores indicados ya existen en la BD.
+     *
+     * @param valoresPorCampo valores a verificar agrupados por campo (los null/vacíos se ignoran).
+     * @param conn            conexión del llamador (no se cierra).
+     * @return conflictos encontrados: por campo, valor existente → id de la fila dueña.
+     * @throws SQLException si ocurre un error de base de datos.
+     */
+    public Conflictos buscarExistentes(Map<CampoUnico, ? extends Collection<String>> valoresPorCampo,
+                                       Connection conn) throws SQLException {
+        Conflictos conflictos = new Conflictos();
+
+        Map<CampoUnico, List<String>> pendientes = new EnumMap<>(CampoUnico.class);
+        for (Map.Entry<CampoUnico, ? extends Collection<String>> entry : valoresPorCampo.entrySet()) {
+            List<String> normalizados = normalizar(entry.getValue());
+            if (!normalizados.isEmpty()) {
+                pendientes.put(entry.getKey(), normalizados);
+            }
+        }
+
+        // Cada iteración arma una consulta con, como máximo, un bloque de cada campo
+        int offset = 0;
+        while (!pendientes.isEmpty()) {
+            Map<CampoUnico, List<String>> bloque = new EnumMap<>(CampoUnico.class);
+            for (Map.Entry<CampoUnico, List<String>> entry : pendientes.entrySet()) {
+                List<String> valores = entry.getValue();
+                int hasta = Math.min(offset + MAX_VALORES_POR_CONSULTA, valores.size());
+                bloque.put(entry.getKey(), valores.subList(offset, hasta));
+            }
+            ejecutarConsulta(bloque, conn, conflictos);
+
+            offset += MAX_VALORES_POR_CONSULTA;
+            final int siguienteOffset = offset;
+            pendientes.values().removeIf(valores -> valores.size() <= siguienteOffset);
+        }
+        return conflictos;
+    }
+
+    /**
+     * Atajo para verificar un único valor por campo (por ejemplo, un alta individual).
+     */
+    public Conflictos buscarExistentes(Connection conn, String dni, String email, String nroLegajo)
+            throws SQLException {
+        Map<CampoUnico, List<String>> valores = new EnumMap<>(CampoUnico.class);
+        agregarSiNoVacio(valores, CampoUnico.DNI, dni);
+        agregarSiNoVacio(valores, CampoUnico.EMAIL, email);
+        agregarSiNoVacio(valores, CampoUnico.NRO_LEGAJO, nroLegajo);
+        return buscarExistentes(valores, conn);
+    }
+
+    // --- HELPERS ---
+
+    private void ejecutarConsulta(Map<CampoUnico, List<String>> bloque, Connection conn, Conflictos conflictos)
+            throws SQLException {
+        String sql = buildSql(bloque);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int parametro = 1;
+            for (List<String> valores : bloque.values()) {
+                for (String valor : valores) {
+                    stmt.setString(parametro++, valor);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    CampoUnico campo = CampoUnico.valueOf(rs.getString("campo"));
+                    conflictos.agregar(campo, rs.getString("valor"), rs.getLong("id"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Arma: SELECT 'DNI' AS campo, dni AS valor, id FROM empleado WHERE dni IN (?, ?)
+     * UNION ALL SELECT 'EMAIL' ... (una subconsulta por campo del bloque).
+     */
+    private String buildSql(Map<CampoUnico, List<String>> bloque) {
+        StringBuilder sql = new StringBuilder();
+        for (Map.Entry<CampoUnico, List<String>> entry : bloque.entrySet()) {
+            CampoUnico campo = entry.getKey();
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT '").append(campo.name()).append("' AS campo, ")
+                    .append(campo.getColumna()).append(" AS valor, id FROM ").append(campo.getTabla())
+                    .append(" WHERE ").append(campo.getColumna()).append(" IN (")
+                    .append(String.join(", ", Collections.nCopies(entry.getValue().size(), "?")))
+                    .append(")");
+        }
+        return sql.toString();
+    }
+
+    private List<String> normalizar(Collection<String> valores) {
+        Set<String> unicos = new LinkedHashSet<>();
+        if (valores != null) {
+            for (String valor : valores) {
+                if (valor != null && !valor.trim().isEmpty()) {
+                    unicos.add(valor.trim());
+                }
+            }
+        }
+        return new ArrayList<>(unicos);
+    }
+
+    private void agregarSiNoVacio(Map<CampoUnico, List<String>> valores, CampoUnico campo, String valor) {
+        if (valor != null && !valor.trim().isEmpty()) {
+            valores.put(campo, List.of(valor));
+        }
+    }
+
+    /**
+     * Resultado de una verificación: para cada campo, los valores que ya existen
+     * y el id de la fila que los usa.
+     */
+    public static final class Conflictos {
+
+        private final Map<CampoUnico, Map<String, Long>> existentes = new EnumMap<>(CampoUnico.class);
+
+        void agregar(CampoUnico campo, String valor, long id) {
+            existentes.computeIfAbsent(campo, c -> new HashMap<>()).put(clave(valor), id);
+        }
+
+        /**
+         * Id de la fila que ya usa el valor, o null si el valor está libre.
+         * No distingue mayúsculas, igual que la collation utf8mb4_unicode_ci de la BD.
+         */
+        public Long getIdExistente(CampoUnico campo, String valor) {
+            if (valor == null) {
+                return null;
+            }
+            Map<String, Long> valores = existentes.get(campo);
+            return valores == null ? null : valores.get(clave(valor));
+        }
+
+        /**
+         * Indica si el valor ya lo usa una fila distinta de {@code idPropio}
+         * (usar 0 como idPropio en las altas).
+         */
+        public boolean hayConflicto(CampoUnico campo, String valor, long idPropio) {
+            Long id = getIdExistente(campo, valor);
+            return id != null && id != idPropio;
+        }
+
+        /**
+         * Conflictos agrupados por campo (valor existente en minúsculas → id de la fila dueña).
+         */
+        public Map<CampoUnico, Map<String, Long>> asMap() {
+            return Collections.unmodifiableMap(existentes);
+        }
+
+        public boolean isEmpty() {
+            return existentes.isEmpty();
+        }
+
+        private static String clave(String valor) {
+            return valor.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package dao;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link UnicidadDAO} sobre un {@link AlmacenMemoria}, para el backend de DAOs
+ * sólo en memoria: busca los valores en los índices únicos del almacén (que
+ * también incluyen las filas dadas de baja) en lugar de consultar la BD, así
+ * verificar un alta no necesita una conexión. Ignora la conexión recibida.
+ */
+public class UnicidadDAOMemoria extends UnicidadDAO {
+
+    private final AlmacenMemoria almacen;
+
+    public UnicidadDAOMemoria(AlmacenMemoria almacen) {
+        if (almacen == null) {
+            throw new IllegalArgumentException("AlmacenMemoria no puede ser null");
+        }
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Conflictos buscarExistentes(Map<CampoUnico, ? extends Collection<String>> valoresPorCampo,
+                                       Connection conn) {
+        Conflictos conflictos = new Conflictos();
+        for (Map.Entry<CampoUnico, ? extends Collection<String>> entry : valoresPorCampo.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            for (String valor : entry.getValue()) {
+                if (valor == null || valor.trim().isEmpty()) {
+                    continue;
+                }
+                Long id = almacen.idConValorUnico(entry.getKey(), valor);
+                if (id != null) {
+                    conflictos.agregar(entry.getKey(), valor, id);
+                }
+            }
+        }
+        return conflictos;
+    }
+}
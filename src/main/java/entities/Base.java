@@ -23,12 +23,18 @@ public abstract class Base {
      */
     private boolean eliminado;
 
+    /**
+     * Versión de la fila leída de la BD (control de concurrencia optimista).
+     * Cada UPDATE exige que la fila siga en esta versión y la incrementa.
+     */
+    private int version;
+
     /**
      * Constructor protegido para que solo las subclases puedan instanciarse.
      * Deja que la capa de persistencia asigne el ID cuando corresponda.
      */
     protected Base() {
-        // Inicialización por defecto provista por Java (id = 0, eliminado = false)
+        // Inicialización por defecto provista por Java (id = 0, eliminado = false, version = 0)
     }
 
     // Getters y Setters
@@ -49,6 +55,22 @@ public abstract class Base {
         this.eliminado = eliminado;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Avanza la versión después de confirmar un UPDATE, para que la entidad pueda
+     * volver a actualizarse sin releerla.
+     */
+    public void incrementarVersion() {
+        this.version++;
+    }
+
     /**
      * Marca la entidad como eliminada lógicamente.
      * Método de utilidad para ser reutilizado por las subclases en eliminarRegistro().
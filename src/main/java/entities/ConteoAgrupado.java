@@ -0,0 +1,41 @@
+package entities;
+
+/**
+ * Fila de un reporte agregado: un grupo (y opcionalmente un subgrupo) con su
+ * cantidad de registros. Es el resultado de un GROUP BY resuelto en la BD.
+ * <p>
+ * Ejemplos: ("Sistemas", null, 120) para la dotación por área o
+ * ("ACTIVO", "Senior", 45) para la dotación por estado y categoría.
+ */
+public final class ConteoAgrupado {
+
+    private final String grupo;
+    private final String subgrupo;
+    private final long cantidad;
+
+    public ConteoAgrupado(String grupo, String subgrupo, long cantidad) {
+        this.grupo = grupo;
+        this.subgrupo = subgrupo;
+        this.cantidad = cantidad;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    /**
+     * Segundo nivel de agrupación, o null si el reporte tiene un solo nivel.
+     */
+    public String getSubgrupo() {
+        return subgrupo;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    @Override
+    public String toString() {
+        return (subgrupo == null ? grupo : grupo + " / " + subgrupo) + ": " + cantidad;
+    }
+}
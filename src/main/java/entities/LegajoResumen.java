@@ -0,0 +1,47 @@
+package entities;
+
+/**
+ * Vista liviana de un Legajo para listados: sólo id, número, estado y categoría.
+ * <p>
+ * Se lee con una consulta que resuelve el índice idx_legajo_resumen sin acceder
+ * a la fila completa (índice de cobertura), por eso no incluye fecha de alta ni
+ * observaciones. Es de sólo lectura: para modificar un legajo se usa {@link Legajo}.
+ */
+public final class LegajoResumen {
+
+    private final long id;
+    private final String numeroLegajo;
+    private final EstadoLegajo estado;
+    private final String categoria;
+
+    public LegajoResumen(long id, String numeroLegajo, EstadoLegajo estado, String categoria) {
+        this.id = id;
+        this.numeroLegajo = numeroLegajo;
+        this.estado = estado;
+        this.categoria = categoria;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getNumeroLegajo() {
+        return numeroLegajo;
+    }
+
+    public EstadoLegajo getEstado() {
+        return estado;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    @Override
+    public String toString() {
+        return "Legajo [ID: " + id
+                + ", Número: " + numeroLegajo
+                + ", Categoría: " + categoria
+                + ", Estado: " + estado + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package entities;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Posición en el feed de cambios: fecha_actualizacion e id de la última fila
+ * entregada a un consumidor.
+ * <p>
+ * Varias filas pueden compartir el mismo fecha_actualizacion (resolución de un
+ * segundo), por eso la marca incluye el id: la siguiente lectura continúa en
+ * (fecha_actualizacion, id) &gt; (fecha, id), sin repetir ni saltear filas.
+ * Es inmutable.
+ */
+public final class MarcaSincronizacion {
+
+    /**
+     * Marca de un consumidor que todavía no leyó nada: el próximo feed trae todas las filas.
+     */
+    public static final MarcaSincronizacion INICIAL = new MarcaSincronizacion(null, 0);
+
+    private final LocalDateTime fecha;
+    private final long id;
+
+    /**
+     * @param fecha fecha_actualizacion de la última fila leída (null en la marca inicial).
+     * @param id    id de esa fila.
+     */
+    public MarcaSincronizacion(LocalDateTime fecha, long id) {
+        this.fecha = fecha;
+        this.id = id;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean isInicial() {
+        return fecha == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MarcaSincronizacion)) {
+            return false;
+        }
+        MarcaSincronizacion otra = (MarcaSincronizacion) o;
+        return id == otra.id && Objects.equals(fecha, otra.fecha);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fecha, id);
+    }
+
+    @Override
+    public String toString() {
+        return isInicial() ? "Marca [inicial]" : "Marca [" + fecha + ", ID: " + id + "]";
+    }
+}
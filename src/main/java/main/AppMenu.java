@@ -1,10 +1,26 @@
 package main;
 
 import java.util.Scanner;
+import config.DatabaseConnection;
+import config.TransactionManager;
+import dao.AlmacenMemoria;
+import dao.ArchivoDAO;
+import dao.CargadorEmpleados;
+import dao.EmpleadoCache;
 import dao.EmpleadoDAO;
+import dao.EmpleadoDAOImpl;
+import dao.EmpleadoDAOMemoria;
+import dao.IndiceNombres;
 import dao.LegajoDAO;
+import dao.LegajoDAOImpl;
+import dao.LegajoDAOMemoria;
+import dao.ReporteDAO;
+import dao.UnicidadDAO;
+import dao.UnicidadDAOMemoria;
+import service.ArchivoService;
 import service.EmpleadoServiceImpl;
 import service.LegajoServiceImpl;
+import service.ReporteService;
 import service.ServiceException; // Importamos la clase de excepción
 
 /**
@@ -24,9 +40,44 @@ public class AppMenu {
     private static final String UNEXPECTED_ERROR_PREFIX = "\n[ERROR INESPERADO]: ";
     private static final String PRESS_ENTER_TO_CONTINUE_MESSAGE = "\nPresione Enter para continuar...";
 
+    // --- Configuración del caché de empleados (config.properties) ---
+    private static final String PROPERTY_CACHE_ENABLED = "cache.empleados.enabled";
+    private static final String PROPERTY_CACHE_MAX_SIZE = "cache.empleados.maxSize";
+    private static final String PROPERTY_CACHE_TTL_SECONDS = "cache.empleados.ttlSeconds";
+    private static final String DEFAULT_CACHE_ENABLED = "true";
+    private static final String DEFAULT_CACHE_MAX_SIZE = "1000";
+    private static final String DEFAULT_CACHE_TTL_SECONDS = "300";
+
+    // --- Configuración del cargador por lotes de empleados (config.properties) ---
+    private static final String PROPERTY_CARGADOR_VENTANA_MS = "cache.empleados.coalescingWindowMs";
+    private static final String PROPERTY_CARGADOR_MAX_LOTE = "cache.empleados.coalescingMaxBatch";
+    private static final String DEFAULT_CARGADOR_VENTANA_MS = "0";
+    private static final String DEFAULT_CARGADOR_MAX_LOTE = "100";
+
+    // --- Configuración de la implementación de los DAOs (config.properties) ---
+    private static final String PROPERTY_DAO_BACKEND = "dao.backend";
+    private static final String PROPERTY_DAO_MEMORIA_WRITE_THROUGH = "dao.memoria.writeThrough";
+    private static final String DEFAULT_DAO_BACKEND = "jdbc";
+    private static final String DEFAULT_DAO_MEMORIA_WRITE_THROUGH = "true";
+    private static final String DAO_BACKEND_MEMORIA = "memoria";
+
+    // --- Configuración del índice de búsqueda por nombre (config.properties) ---
+    private static final String PROPERTY_INDICE_NOMBRES_ENABLED = "busqueda.indiceNombres.enabled";
+    private static final String DEFAULT_INDICE_NOMBRES_ENABLED = "true";
+
+    // --- Configuración del snapshot de reportes (config.properties) ---
+    private static final String PROPERTY_REPORTES_INTERVALO = "reportes.snapshot.intervalSeconds";
+    private static final String DEFAULT_REPORTES_INTERVALO = "0";
+
+    // --- Configuración del archivado de bajas (config.properties) ---
+    private static final String PROPERTY_ARCHIVO_INTERVALO = "archivo.intervaloHoras";
+    private static final String DEFAULT_ARCHIVO_INTERVALO = "0";
+
     // --- Dependencias ---
     private final Scanner scanner;
     private final MenuHandler menuHandler;
+    private ReporteService reporteService;
+    private ArchivoService archivoService;
 
     /**
      * Constructor de AppMenu.
@@ -49,6 +100,9 @@ public class AppMenu {
             }
         }
         scanner.close();
+        reporteService.detener(); // Detiene la actualización periódica de reportes
+        archivoService.detener(); // Detiene el archivado periódico de bajas
+        DatabaseConnection.shutdown(); // Cierra las conexiones del pool
     }
 
     /**
@@ -83,11 +137,25 @@ public class AppMenu {
             case 4 -> () -> menuHandler.eliminarEmpleado();
             case 5 -> () -> menuHandler.buscarEmpleadoID();
             case 6 -> () -> menuHandler.buscarEmpleadoPorDNI();
+            case 14 -> () -> menuHandler.buscarEmpleadoPorNombre();
 
             // Opciones de Legajo (Re-numeradas)
             case 7 -> () -> menuHandler.listarLegajos();
             case 8 -> () -> menuHandler.listarLegajoPorEstado();
 
+            // Opciones de Importación / Exportación
+            case 9 -> () -> menuHandler.exportarEmpleados();
+            case 10 -> () -> menuHandler.importarEmpleados();
+
+            // Opciones de Reportes
+            case 11 -> () -> menuHandler.reporteDotacionPorArea();
+            case 12 -> () -> menuHandler.reporteLegajosPorEstadoYCategoria();
+            case 13 -> () -> menuHandler.reporteIngresos();
+
+            // Opciones de Histórico
+            case 15 -> () -> menuHandler.archivarBajas();
+            case 16 -> () -> menuHandler.restaurarEmpleado();
+
             default -> null; // Opción no válida
         };
 
@@ -139,15 +207,142 @@ public class AppMenu {
      */
     private MenuHandler initializeMenuHandler() {
         // 1. DAOs (capa de datos)
-        LegajoDAO legajoDAO = new LegajoDAO();
-        EmpleadoDAO empleadoDAO = new EmpleadoDAO();
+        EmpleadoDAO empleadoDAO = new EmpleadoDAOImpl();
+        LegajoDAO legajoDAO = new LegajoDAOImpl();
+        UnicidadDAO unicidadDAO = new UnicidadDAO();
+        if (DAO_BACKEND_MEMORIA.equalsIgnoreCase(
+                DatabaseConnection.getProperty(PROPERTY_DAO_BACKEND, DEFAULT_DAO_BACKEND).trim())) {
+            AlmacenMemoria almacen = new AlmacenMemoria();
+            if (Boolean.parseBoolean(DatabaseConnection.getProperty(
+                    PROPERTY_DAO_MEMORIA_WRITE_THROUGH, DEFAULT_DAO_MEMORIA_WRITE_THROUGH))) {
+                loadAlmacenMemoria(almacen, empleadoDAO);
+                empleadoDAO = new EmpleadoDAOMemoria(almacen, empleadoDAO);
+                legajoDAO = new LegajoDAOMemoria(almacen, legajoDAO);
+            } else {
+                // Sin BD: las transacciones sólo abren una conexión si el trabajo la usa
+                empleadoDAO = new EmpleadoDAOMemoria(almacen);
+                legajoDAO = new LegajoDAOMemoria(almacen);
+                unicidadDAO = new UnicidadDAOMemoria(almacen);
+                TransactionManager.setConexionDiferida(true);
+            }
+        }
+        EmpleadoCache empleadoCache = initializeEmpleadoCache();
+        IndiceNombres indiceNombres = Boolean.parseBoolean(DatabaseConnection.getProperty(
+                PROPERTY_INDICE_NOMBRES_ENABLED, DEFAULT_INDICE_NOMBRES_ENABLED)) ? new IndiceNombres() : null;
 
         // 2. Servicios (capa de negocio)
-        LegajoServiceImpl legajoService = new LegajoServiceImpl(legajoDAO);
-        EmpleadoServiceImpl empleadoService = new EmpleadoServiceImpl(empleadoDAO, legajoService);
+        LegajoServiceImpl legajoService = new LegajoServiceImpl(legajoDAO, unicidadDAO, empleadoCache);
+        EmpleadoServiceImpl empleadoService = new EmpleadoServiceImpl(empleadoDAO, legajoService,
+                unicidadDAO, empleadoCache, indiceNombres, initializeCargadorEmpleados(empleadoDAO));
+        if (indiceNombres != null) {
+            loadIndiceNombres(empleadoService);
+        }
+
+        // 3. Importación / exportación masiva
+        ExportadorEmpleados exportador = new ExportadorEmpleados(empleadoService);
+        ImportadorEmpleados importador = new ImportadorEmpleados(empleadoService);
 
-        // 3. MenuHandler (capa de presentación/controlador)
-        return new MenuHandler(this.scanner, empleadoService, legajoService);
+        // 4. Reportes de dotación
+        this.reporteService = initializeReporteService();
+
+        // 5. Archivado de bajas antiguas
+        this.archivoService = initializeArchivoService(empleadoService);
+
+        // 6. MenuHandler (capa de presentación/controlador)
+        return new MenuHandler(this.scanner, empleadoService, legajoService, exportador, importador,
+                reporteService, archivoService);
+    }
+
+    /**
+     * Crea el cargador que agrupa lecturas por id concurrentes según
+     * config.properties. Devuelve null si la ventana es 0 (valor por defecto: el
+     * menú tiene un solo hilo y no hay lecturas concurrentes que agrupar).
+     */
+    private CargadorEmpleados initializeCargadorEmpleados(EmpleadoDAO empleadoDAO) {
+        long ventanaMs = Long.parseLong(
+                DatabaseConnection.getProperty(PROPERTY_CARGADOR_VENTANA_MS, DEFAULT_CARGADOR_VENTANA_MS));
+        if (ventanaMs <= 0) {
+            return null;
+        }
+        int maxLote = Integer.parseInt(
+                DatabaseConnection.getProperty(PROPERTY_CARGADOR_MAX_LOTE, DEFAULT_CARGADOR_MAX_LOTE));
+        return new CargadorEmpleados(empleadoDAO, ventanaMs, maxLote);
+    }
+
+    /**
+     * Copia en memoria los Empleados y Legajos activos de la BD. Si falla, el
+     * almacén queda con lo que se llegó a copiar y el resto se lee de la BD a
+     * medida que se pide (ver {@link EmpleadoDAOMemoria#leer(long)}).
+     */
+    private void loadAlmacenMemoria(AlmacenMemoria almacen, EmpleadoDAO origen) {
+        long inicio = System.currentTimeMillis();
+        try {
+            long cantidad = almacen.cargarDesde(origen);
+            System.out.println("Almacén en memoria cargado: " + cantidad + " empleados en "
+                    + (System.currentTimeMillis() - inicio) + " ms.");
+        } catch (Exception e) {
+            System.err.println("No se pudo cargar el almacén en memoria: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Carga el índice de búsqueda por nombre. Si falla (ej. BD no disponible),
+     * la aplicación sigue funcionando y el índice queda vacío.
+     */
+    private void loadIndiceNombres(EmpleadoServiceImpl empleadoService) {
+        long inicio = System.currentTimeMillis();
+        try {
+            long cantidad = empleadoService.reconstruirIndiceNombres();
+            System.out.println("Índice de nombres cargado: " + cantidad + " empleados en "
+                    + (System.currentTimeMillis() - inicio) + " ms.");
+        } catch (Exception e) {
+            System.err.println("No se pudo cargar el índice de nombres: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Crea el servicio de reportes. Si reportes.snapshot.intervalSeconds es mayor
+     * a 0, inicia la actualización periódica del snapshot en memoria.
+     */
+    private ReporteService initializeReporteService() {
+        ReporteService service = new ReporteService(new ReporteDAO());
+        long intervalo = Long.parseLong(
+                DatabaseConnection.getProperty(PROPERTY_REPORTES_INTERVALO, DEFAULT_REPORTES_INTERVALO));
+        if (intervalo > 0) {
+            service.iniciarActualizacionPeriodica(intervalo);
+        }
+        return service;
+    }
+
+    /**
+     * Crea el servicio de archivado. Si archivo.intervaloHoras es mayor a 0,
+     * inicia el archivado periódico de bajas antiguas.
+     */
+    private ArchivoService initializeArchivoService(EmpleadoServiceImpl empleadoService) {
+        ArchivoService service = new ArchivoService(new ArchivoDAO(), empleadoService);
+        long intervalo = Long.parseLong(
+                DatabaseConnection.getProperty(PROPERTY_ARCHIVO_INTERVALO, DEFAULT_ARCHIVO_INTERVALO));
+        if (intervalo > 0) {
+            service.iniciarArchivadoPeriodico(intervalo);
+        }
+        return service;
+    }
+
+    /**
+     * Crea el caché de lectura de empleados según config.properties
+     * (cache.empleados.*). Devuelve null si está deshabilitado.
+     */
+    private EmpleadoCache initializeEmpleadoCache() {
+        boolean enabled = Boolean.parseBoolean(
+                DatabaseConnection.getProperty(PROPERTY_CACHE_ENABLED, DEFAULT_CACHE_ENABLED));
+        if (!enabled) {
+            return null;
+        }
+        int maxSize = Integer.parseInt(
+                DatabaseConnection.getProperty(PROPERTY_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE));
+        long ttlSeconds = Long.parseLong(
+                DatabaseConnection.getProperty(PROPERTY_CACHE_TTL_SECONDS, DEFAULT_CACHE_TTL_SECONDS));
+        return new EmpleadoCache(maxSize, ttlSeconds * 1000);
     }
 
     /**
@@ -0,0 +1,418 @@
+package main;
+
+import entities.Empleado;
+import entities.EstadoLegajo;
+import entities.Legajo;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Conversión entre un Empleado (con su Legajo) y una fila CSV o una línea JSON.
+ * <p>
+ * Ambos formatos usan los mismos nombres de campo (los de las columnas de la BD).
+ * Al leer, los campos desconocidos se ignoran y los vacíos se toman como null.
+ * No valida reglas de negocio: eso lo hace {@link service.EmpleadoServiceImpl#validarParaAlta}.
+ */
+final class CodecEmpleado {
+
+    // --- Campos (mismo nombre que las columnas de la BD) ---
+    static final String CAMPO_ID = "id";
+    static final String CAMPO_NOMBRE = "nombre";
+    static final String CAMPO_APELLIDO = "apellido";
+    static final String CAMPO_DNI = "dni";
+    static final String CAMPO_EMAIL = "email";
+    static final String CAMPO_FECHA_INGRESO = "fecha_ingreso";
+    static final String CAMPO_AREA = "area";
+    static final String CAMPO_NRO_LEGAJO = "nro_legajo";
+    static final String CAMPO_CATEGORIA = "categoria";
+    static final String CAMPO_ESTADO = "estado";
+    static final String CAMPO_FECHA_ALTA = "fecha_alta";
+    static final String CAMPO_OBSERVACIONES = "observaciones";
+
+    /** Orden de las columnas al exportar. */
+    static final List<String> CAMPOS = List.of(CAMPO_ID, CAMPO_NOMBRE, CAMPO_APELLIDO, CAMPO_DNI, CAMPO_EMAIL,
+            CAMPO_FECHA_INGRESO, CAMPO_AREA, CAMPO_NRO_LEGAJO, CAMPO_CATEGORIA, CAMPO_ESTADO, CAMPO_FECHA_ALTA,
+            CAMPO_OBSERVACIONES);
+
+    private static final char SEPARADOR_CSV = ',';
+    private static final char COMILLA = '"';
+
+    private static final String ERROR_FECHA_INVALIDA = "Fecha inválida en '%s' (formato AAAA-MM-DD): %s";
+    private static final String ERROR_ESTADO_INVALIDO = "Estado de legajo inválido (ACTIVO o INACTIVO): %s";
+    private static final String ERROR_JSON_INVALIDO = "JSON inválido en la posición %d: %s";
+
+    private CodecEmpleado() {
+    }
+
+    // --- Empleado <-> campos ---
+
+    /**
+     * Valores de los campos del Empleado en el orden de {@link #CAMPOS} (null si no hay dato).
+     */
+    static List<String> aValores(Empleado empleado) {
+        Legajo legajo = empleado.getLegajo();
+        List<String> valores = new ArrayList<>(CAMPOS.size());
+        valores.add(String.valueOf(empleado.getId()));
+        valores.add(empleado.getNombre());
+        valores.add(empleado.getApellido());
+        valores.add(empleado.getDni());
+        valores.add(empleado.getEmail());
+        valores.add(texto(empleado.getFechaIngreso()));
+        valores.add(empleado.getArea());
+        valores.add(legajo == null ? null : legajo.getNumeroLegajo());
+        valores.add(legajo == null ? null : legajo.getCategoria());
+        valores.add(legajo == null || legajo.getEstado() == null ? null : legajo.getEstado().name());
+        valores.add(legajo == null ? null : texto(legajo.getFechaAlta()));
+        valores.add(legajo == null ? null : legajo.getObservaciones());
+        return valores;
+    }
+
+    /**
+     * Arma un Empleado nuevo (id 0) con su Legajo a partir de los campos leídos.
+     * El id del archivo, si viene, se ignora: la BD asigna uno nuevo.
+     *
+     * @throws IllegalArgumentException si una fecha o el estado no tienen un formato válido.
+     */
+    static Empleado desdeCampos(Map<String, String> campos) {
+        Legajo legajo = new Legajo();
+        legajo.setNumeroLegajo(valor(campos, CAMPO_NRO_LEGAJO));
+        legajo.setCategoria(valor(campos, CAMPO_CATEGORIA));
+        legajo.setEstado(estado(valor(campos, CAMPO_ESTADO)));
+        legajo.setFechaAlta(fecha(campos, CAMPO_FECHA_ALTA));
+        legajo.setObservaciones(valor(campos, CAMPO_OBSERVACIONES));
+
+        return new Empleado(valor(campos, CAMPO_NOMBRE), valor(campos, CAMPO_APELLIDO), valor(campos, CAMPO_DNI),
+                valor(campos, CAMPO_EMAIL), fecha(campos, CAMPO_FECHA_INGRESO), valor(campos, CAMPO_AREA), legajo);
+    }
+
+    // --- CSV ---
+
+    static String aCsv(List<String> valores) {
+        StringBuilder linea = new StringBuilder();
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                linea.append(SEPARADOR_CSV);
+            }
+            linea.append(campoCsv(valores.get(i)));
+        }
+        return linea.toString();
+    }
+
+    /**
+     * Escapa un valor CSV: lo encierra entre comillas si contiene separador,
+     * comillas o saltos de línea (null se escribe como campo vacío).
+     */
+    static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        boolean requiereComillas = valor.indexOf(SEPARADOR_CSV) >= 0 || valor.indexOf(COMILLA) >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!requiereComillas) {
+            return valor;
+        }
+        return COMILLA + valor.replace("\"", "\"\"") + COMILLA;
+    }
+
+    /**
+     * Separa un registro CSV completo (puede contener saltos de línea dentro de comillas).
+     */
+    static List<String> parsearCsv(String registro) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < registro.length(); i++) {
+            char c = registro.charAt(i);
+            if (entreComillas) {
+                if (c == COMILLA && i + 1 < registro.length() && registro.charAt(i + 1) == COMILLA) {
+                    actual.append(COMILLA);
+                    i++;
+                } else if (c == COMILLA) {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == COMILLA) {
+                entreComillas = true;
+            } else if (c == SEPARADOR_CSV) {
+                valores.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.toString());
+        return valores;
+    }
+
+    /**
+     * Indica si el texto deja una comilla abierta (el registro CSV sigue en la próxima línea).
+     */
+    static boolean tieneComillasAbiertas(CharSequence texto) {
+        int comillas = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == COMILLA) {
+                comillas++;
+            }
+        }
+        return comillas % 2 != 0;
+    }
+
+    /**
+     * Asocia los valores de un registro CSV con los nombres del encabezado.
+     */
+    static Map<String, String> camposCsv(List<String> encabezado, List<String> valores) {
+        Map<String, String> campos = new HashMap<>();
+        for (int i = 0; i < encabezado.size() && i < valores.size(); i++) {
+            campos.put(encabezado.get(i), valores.get(i));
+        }
+        return campos;
+    }
+
+    // --- JSON Lines ---
+
+    static String aJson(List<String> valores) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < CAMPOS.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(COMILLA).append(CAMPOS.get(i)).append("\":");
+            String valor = valores.get(i);
+            if (valor == null) {
+                json.append("null");
+            } else if (CAMPO_ID.equals(CAMPOS.get(i))) {
+                json.append(valor);
+            } else {
+                json.append(textoJson(valor));
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Escribe un String como literal JSON (entre comillas y con escapes).
+     */
+    static String textoJson(String valor) {
+        StringBuilder json = new StringBuilder(valor.length() + 2).append(COMILLA);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append(COMILLA).toString();
+    }
+
+    /**
+     * Lee un objeto JSON plano (valores string, número, booleano o null) de una línea.
+     * Los números y booleanos se devuelven como texto.
+     *
+     * @throws IllegalArgumentException si la línea no es un objeto JSON plano válido.
+     */
+    static Map<String, String> parsearJson(String linea) {
+        LectorJson lector = new LectorJson(linea);
+        Map<String, String> campos = new HashMap<>();
+        lector.esperar('{');
+        if (!lector.consumirSi('}')) {
+            do {
+                String clave = lector.leerTexto();
+                lector.esperar(':');
+                campos.put(clave.toLowerCase(Locale.ROOT), lector.leerValor());
+            } while (lector.consumirSi(','));
+            lector.esperar('}');
+        }
+        lector.esperarFin();
+        return campos;
+    }
+
+    /**
+     * Quita de un objeto JSON plano los miembros con la clave indicada (sin
+     * distinguir mayúsculas), sin cambiar el texto de los demás. Devuelve la línea
+     * sin cambios si no tiene esa clave o no es un objeto JSON plano válido.
+     */
+    static String quitarCampoJson(String linea, String campo) {
+        LectorJson lector = new LectorJson(linea);
+        List<String> miembros = new ArrayList<>();
+        boolean quitado = false;
+        try {
+            lector.esperar('{');
+            if (!lector.consumirSi('}')) {
+                do {
+                    lector.saltarEspacios();
+                    int inicio = lector.posicion;
+                    String clave = lector.leerTexto();
+                    lector.esperar(':');
+                    lector.leerValor();
+                    if (clave.equalsIgnoreCase(campo)) {
+                        quitado = true;
+                    } else {
+                        miembros.add(linea.substring(inicio, lector.posicion).trim());
+                    }
+                } while (lector.consumirSi(','));
+                lector.esperar('}');
+            }
+            lector.esperarFin();
+        } catch (IllegalArgumentException e) {
+            return linea;
+        }
+        return quitado ? "{" + String.join(",", miembros) + "}" : linea;
+    }
+
+    // --- HELPERS ---
+
+    private static String valor(Map<String, String> campos, String campo) {
+        String valor = campos.get(campo);
+        if (valor == null) {
+            return null;
+        }
+        String limpio = valor.trim();
+        return limpio.isEmpty() ? null : limpio;
+    }
+
+    private static LocalDate fecha(Map<String, String> campos, String campo) {
+        String valor = valor(campos, campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(ERROR_FECHA_INVALIDA, campo, valor), e);
+        }
+    }
+
+    private static EstadoLegajo estado(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return EstadoLegajo.valueOf(valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(ERROR_ESTADO_INVALIDO, valor), e);
+        }
+    }
+
+    private static String texto(LocalDate fecha) {
+        return fecha == null ? null : fecha.toString();
+    }
+
+    /**
+     * Lector mínimo de JSON para objetos planos de una sola línea.
+     */
+    private static final class LectorJson {
+
+        private final String texto;
+        private int posicion;
+
+        private LectorJson(String texto) {
+            this.texto = texto;
+        }
+
+        private void esperar(char esperado) {
+            saltarEspacios();
+            if (posicion >= texto.length() || texto.charAt(posicion) != esperado) {
+                throw error("se esperaba '" + esperado + "'");
+            }
+            posicion++;
+        }
+
+        private boolean consumirSi(char caracter) {
+            saltarEspacios();
+            if (posicion < texto.length() && texto.charAt(posicion) == caracter) {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        private void esperarFin() {
+            saltarEspacios();
+            if (posicion != texto.length()) {
+                throw error("contenido inesperado después del objeto");
+            }
+        }
+
+        private String leerValor() {
+            saltarEspacios();
+            if (posicion < texto.length() && texto.charAt(posicion) == COMILLA) {
+                return leerTexto();
+            }
+            int inicio = posicion;
+            while (posicion < texto.length() && ",}".indexOf(texto.charAt(posicion)) < 0) {
+                posicion++;
+            }
+            String literal = texto.substring(inicio, posicion).trim();
+            if (literal.isEmpty() || literal.startsWith("{") || literal.startsWith("[")) {
+                throw error("sólo se admiten valores simples");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String leerTexto() {
+            esperar(COMILLA);
+            StringBuilder valor = new StringBuilder();
+            while (posicion < texto.length()) {
+                char c = texto.charAt(posicion++);
+                if (c == COMILLA) {
+                    return valor.toString();
+                }
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                if (posicion >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(posicion++);
+                switch (escape) {
+                    case 'n' -> valor.append('\n');
+                    case 'r' -> valor.append('\r');
+                    case 't' -> valor.append('\t');
+                    case 'b' -> valor.append('\b');
+                    case 'f' -> valor.append('\f');
+                    case 'u' -> {
+                        if (posicion + 4 > texto.length()) {
+                            throw error("escape \\u incompleto");
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(texto.substring(posicion, posicion + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("escape \\u inválido");
+                        }
+                        posicion += 4;
+                    }
+                    default -> valor.append(escape); // \" \\ \/
+                }
+            }
+            throw error("texto sin cerrar");
+        }
+
+        private void saltarEspacios() {
+            while (posicion < texto.length() && Character.isWhitespace(texto.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        private IllegalArgumentException error(String detalle) {
+            return new IllegalArgumentException(String.format(ERROR_JSON_INVALIDO, posicion, detalle));
+        }
+    }
+}
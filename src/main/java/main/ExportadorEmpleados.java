@@ -0,0 +1,55 @@
+package main;
+
+import service.EmpleadoServiceImpl;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Exporta todos los Empleados activos (con su Legajo) a CSV o JSON Lines.
+ * <p>
+ * Lee con {@link EmpleadoServiceImpl#recorrerTodos}, que usa un ResultSet en
+ * modo streaming sobre el LEFT JOIN de EmpleadoDAO, y escribe cada fila apenas
+ * llega: la memoria usada es constante sin importar el tamaño de la tabla.
+ */
+public class ExportadorEmpleados {
+
+    private final EmpleadoServiceImpl empleadoService;
+
+    public ExportadorEmpleados(EmpleadoServiceImpl empleadoService) {
+        if (empleadoService == null) {
+            throw new IllegalArgumentException("EmpleadoService no puede ser null");
+        }
+        this.empleadoService = empleadoService;
+    }
+
+    /**
+     * Escribe el archivo (lo reemplaza si existe) en UTF-8.
+     * CSV: una línea de encabezado con los nombres de columna y una fila por empleado.
+     * JSONL: un objeto JSON por empleado.
+     *
+     * @param destino archivo a generar.
+     * @param formato formato de salida.
+     * @return cantidad de empleados exportados.
+     * @throws Exception si falla la lectura de la BD o la escritura del archivo.
+     */
+    public long exportar(Path destino, FormatoArchivo formato) throws Exception {
+        if (destino == null || formato == null) {
+            throw new IllegalArgumentException("El archivo de destino y el formato son obligatorios.");
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            if (formato == FormatoArchivo.CSV) {
+                writer.write(CodecEmpleado.aCsv(CodecEmpleado.CAMPOS));
+                writer.newLine();
+            }
+            return empleadoService.recorrerTodos(empleado -> {
+                List<String> valores = CodecEmpleado.aValores(empleado);
+                writer.write(formato == FormatoArchivo.CSV ? CodecEmpleado.aCsv(valores) : CodecEmpleado.aJson(valores));
+                writer.newLine();
+            });
+        }
+    }
+}
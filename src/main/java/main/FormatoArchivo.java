@@ -0,0 +1,40 @@
+package main;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de archivo soportados para importar y exportar Empleados.
+ */
+public enum FormatoArchivo {
+    /** Valores separados por coma, con encabezado (RFC 4180). */
+    CSV("csv"),
+    /** JSON Lines: un objeto JSON por línea. */
+    JSONL("jsonl");
+
+    private final String extension;
+
+    FormatoArchivo(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Deduce el formato a partir de la extensión del archivo (.csv, .jsonl o .json).
+     *
+     * @throws IllegalArgumentException si la extensión no es reconocida.
+     */
+    public static FormatoArchivo desdeArchivo(Path archivo) {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nombre.endsWith(".jsonl") || nombre.endsWith(".json")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Extensión de archivo no soportada (use .csv o .jsonl): " + nombre);
+    }
+}
@@ -0,0 +1,385 @@
+package main;
+
+import entities.Empleado;
+import service.EmpleadoServiceImpl;
+import service.ResultadoLote;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importa Empleados (cada uno con su Legajo) desde un archivo CSV o JSON Lines.
+ * <p>
+ * Funciona como un pipeline:
+ * 1. El hilo llamador lee el archivo de forma secuencial y arma bloques de registros.
+ * 2. Un pool de hilos parsea y valida los bloques en paralelo, con las mismas
+ *    reglas que el alta individual ({@link EmpleadoServiceImpl#validarParaAlta}).
+ * 3. El hilo llamador toma los bloques en el orden del archivo y carga las filas
+ *    válidas con {@link EmpleadoServiceImpl#insertarLote} (inserts por lotes con
+ *    verificación de unicidad).
+ * <p>
+ * Como mucho se mantienen en memoria {@code 2 * paralelismo} bloques pendientes,
+ * así que la memoria no depende del tamaño del archivo. Las filas rechazadas
+ * (por formato, validación o duplicados) se escriben, con su motivo, en un
+ * archivo de rechazos del mismo formato que se puede corregir y volver a importar.
+ */
+public class ImportadorEmpleados {
+
+    /**
+     * Recibe el avance de la importación (una copia de los contadores).
+     */
+    @FunctionalInterface
+    public interface ProgresoListener {
+        void onProgreso(ResultadoImportacion parcial);
+    }
+
+    /** Registros que parsea cada tarea del pool. */
+    private static final int REGISTROS_POR_TAREA = 1000;
+
+    private static final String CAMPO_MOTIVO_RECHAZO = "motivo_rechazo";
+    private static final String SUFIJO_RECHAZOS = ".rechazados.";
+    private static final char BOM = '\uFEFF';
+
+    private static final List<String> CAMPOS_OBLIGATORIOS = List.of(CodecEmpleado.CAMPO_NOMBRE,
+            CodecEmpleado.CAMPO_APELLIDO, CodecEmpleado.CAMPO_DNI, CodecEmpleado.CAMPO_NRO_LEGAJO,
+            CodecEmpleado.CAMPO_ESTADO, CodecEmpleado.CAMPO_FECHA_ALTA);
+
+    private static final String ERROR_COLUMNAS_FALTANTES = "Faltan columnas obligatorias en el encabezado: ";
+    private static final String ERROR_ARCHIVO_VACIO = "El archivo está vacío.";
+    private static final String PREFIJO_LINEA = "Línea %d: %s";
+
+    private final EmpleadoServiceImpl empleadoService;
+    private final int paralelismo;
+    private final int tamanioLote;
+
+    /**
+     * Usa un hilo de parseo por procesador y el tamaño de lote por defecto del Service.
+     */
+    public ImportadorEmpleados(EmpleadoServiceImpl empleadoService) {
+        this(empleadoService, Runtime.getRuntime().availableProcessors(),
+                EmpleadoServiceImpl.TAMANIO_LOTE_POR_DEFECTO);
+    }
+
+    /**
+     * @param empleadoService Service usado para validar e insertar.
+     * @param paralelismo     cantidad de hilos que parsean y validan (> 0).
+     * @param tamanioLote     filas por transacción al insertar (> 0).
+     */
+    public ImportadorEmpleados(EmpleadoServiceImpl empleadoService, int paralelismo, int tamanioLote) {
+        if (empleadoService == null) {
+            throw new IllegalArgumentException("EmpleadoService no puede ser null");
+        }
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("El paralelismo debe ser mayor a 0");
+        }
+        if (tamanioLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor a 0");
+        }
+        this.empleadoService = empleadoService;
+        this.paralelismo = paralelismo;
+        this.tamanioLote = tamanioLote;
+    }
+
+    /**
+     * Importa el archivo. Los rechazos se guardan junto al archivo de origen
+     * (ej: empleados.csv → empleados.rechazados.csv); si no hubo rechazos no se
+     * deja ningún archivo.
+     *
+     * @param origen   archivo a importar (UTF-8).
+     * @param formato  formato del archivo.
+     * @param progreso recibe el avance después de cada bloque (puede ser null).
+     * @return contadores finales y ruta del archivo de rechazos.
+     * @throws IllegalArgumentException si el archivo está vacío o al encabezado CSV le faltan columnas.
+     * @throws Exception                si falla la lectura o escritura de archivos.
+     */
+    public ResultadoImportacion importar(Path origen, FormatoArchivo formato, ProgresoListener progreso)
+            throws Exception {
+        if (origen == null || formato == null) {
+            throw new IllegalArgumentException("El archivo de origen y el formato son obligatorios.");
+        }
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Path archivoRechazos = rutaRechazos(origen, formato);
+
+        ExecutorService parseadores = Executors.newFixedThreadPool(paralelismo);
+        try (BufferedReader reader = Files.newBufferedReader(origen, StandardCharsets.UTF_8);
+             BufferedWriter rechazos = Files.newBufferedWriter(archivoRechazos, StandardCharsets.UTF_8)) {
+            new Ejecucion(reader, rechazos, formato, resultado, progreso).ejecutar(parseadores);
+        } finally {
+            parseadores.shutdownNow();
+            if (resultado.getRechazadas() == 0) {
+                Files.deleteIfExists(archivoRechazos);
+            }
+        }
+        if (resultado.getRechazadas() > 0) {
+            resultado.setArchivoRechazos(archivoRechazos);
+        }
+        return resultado;
+    }
+
+    private static Path rutaRechazos(Path origen, FormatoArchivo formato) {
+        String nombre = origen.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto > 0 ? nombre.substring(0, punto) : nombre;
+        return origen.resolveSibling(base + SUFIJO_RECHAZOS + formato.getExtension());
+    }
+
+    /**
+     * Registro del archivo: número de la línea donde empieza y texto original.
+     */
+    private static final class Registro {
+
+        private final long linea;
+        private final String texto;
+
+        private Registro(long linea, String texto) {
+            this.linea = linea;
+            this.texto = texto;
+        }
+    }
+
+    /**
+     * Registro ya parseado: el Empleado listo para insertar o el motivo del rechazo.
+     */
+    private static final class FilaImportada {
+
+        private final Registro registro;
+        private final Empleado empleado;
+        private final String error;
+
+        private FilaImportada(Registro registro, Empleado empleado, String error) {
+            this.registro = registro;
+            this.empleado = empleado;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Estado de una importación en curso (lector, rechazos, lote actual y contadores).
+     */
+    private final class Ejecucion {
+
+        private final BufferedReader reader;
+        private final BufferedWriter rechazos;
+        private final FormatoArchivo formato;
+        private final ResultadoImportacion resultado;
+        private final ProgresoListener progreso;
+
+        private final List<FilaImportada> lote = new ArrayList<>();
+        private List<String> encabezado;
+        /** Posición de la columna motivo_rechazo en el CSV de entrada, o -1 si no la tiene. */
+        private int columnaMotivo = -1;
+        private long numeroLinea;
+
+        private Ejecucion(BufferedReader reader, BufferedWriter rechazos, FormatoArchivo formato,
+                          ResultadoImportacion resultado, ProgresoListener progreso) {
+            this.reader = reader;
+            this.rechazos = rechazos;
+            this.formato = formato;
+            this.resultado = resultado;
+            this.progreso = progreso;
+        }
+
+        private void ejecutar(ExecutorService parseadores) throws Exception {
+            if (formato == FormatoArchivo.CSV) {
+                leerEncabezado();
+            }
+
+            Deque<Future<List<FilaImportada>>> pendientes = new ArrayDeque<>();
+            List<Registro> bloque = new ArrayList<>(REGISTROS_POR_TAREA);
+            Registro registro;
+            while ((registro = leerRegistro()) != null) {
+                bloque.add(registro);
+                if (bloque.size() == REGISTROS_POR_TAREA) {
+                    pendientes.add(enviar(parseadores, bloque));
+                    bloque = new ArrayList<>(REGISTROS_POR_TAREA);
+                    // Contrapresión: si el parseo va más rápido que la BD, se espera al bloque más viejo
+                    if (pendientes.size() >= paralelismo * 2) {
+                        consumir(esperar(pendientes.poll()));
+                    }
+                }
+            }
+            if (!bloque.isEmpty()) {
+                pendientes.add(enviar(parseadores, bloque));
+            }
+            while (!pendientes.isEmpty()) {
+                consumir(esperar(pendientes.poll()));
+            }
+            insertarLote();
+            informarProgreso();
+        }
+
+        // --- Lectura ---
+
+        private void leerEncabezado() throws IOException {
+            Registro registro = leerRegistro();
+            if (registro == null) {
+                throw new IllegalArgumentException(ERROR_ARCHIVO_VACIO);
+            }
+            encabezado = new ArrayList<>();
+            for (String columna : CodecEmpleado.parsearCsv(registro.texto)) {
+                encabezado.add(columna.trim().toLowerCase(Locale.ROOT));
+            }
+            List<String> faltantes = new ArrayList<>(CAMPOS_OBLIGATORIOS);
+            faltantes.removeAll(encabezado);
+            if (!faltantes.isEmpty()) {
+                throw new IllegalArgumentException(ERROR_COLUMNAS_FALTANTES + String.join(", ", faltantes));
+            }
+            // Un archivo de rechazos que se reimporta ya trae la columna: se reemplaza su valor
+            columnaMotivo = encabezado.indexOf(CAMPO_MOTIVO_RECHAZO);
+            rechazos.write(columnaMotivo < 0 ? registro.texto + "," + CAMPO_MOTIVO_RECHAZO : registro.texto);
+            rechazos.newLine();
+        }
+
+        /**
+         * Lee el próximo registro no vacío. En CSV, un valor entre comillas puede
+         * ocupar varias líneas; el registro termina cuando se cierran las comillas.
+         */
+        private Registro leerRegistro() throws IOException {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                numeroLinea++;
+                if (numeroLinea == 1 && !linea.isEmpty() && linea.charAt(0) == BOM) {
+                    linea = linea.substring(1);
+                }
+                if (linea.isBlank()) {
+                    continue;
+                }
+                long inicio = numeroLinea;
+                if (formato == FormatoArchivo.CSV && CodecEmpleado.tieneComillasAbiertas(linea)) {
+                    StringBuilder texto = new StringBuilder(linea);
+                    String siguiente;
+                    while (CodecEmpleado.tieneComillasAbiertas(texto) && (siguiente = reader.readLine()) != null) {
+                        numeroLinea++;
+                        texto.append('\n').append(siguiente);
+                    }
+                    linea = texto.toString();
+                }
+                return new Registro(inicio, linea);
+            }
+            return null;
+        }
+
+        // --- Parseo (en los hilos del pool) ---
+
+        private Future<List<FilaImportada>> enviar(ExecutorService parseadores, List<Registro> bloque) {
+            return parseadores.submit(() -> parsear(bloque));
+        }
+
+        private List<FilaImportada> parsear(List<Registro> bloque) {
+            List<FilaImportada> filas = new ArrayList<>(bloque.size());
+            for (Registro registro : bloque) {
+                try {
+                    Map<String, String> campos = formato == FormatoArchivo.CSV
+                            ? CodecEmpleado.camposCsv(encabezado, CodecEmpleado.parsearCsv(registro.texto))
+                            : CodecEmpleado.parsearJson(registro.texto);
+                    Empleado empleado = CodecEmpleado.desdeCampos(campos);
+                    empleadoService.validarParaAlta(empleado);
+                    filas.add(new FilaImportada(registro, empleado, null));
+                } catch (IllegalArgumentException e) {
+                    filas.add(new FilaImportada(registro, null, e.getMessage()));
+                }
+            }
+            return filas;
+        }
+
+        private List<FilaImportada> esperar(Future<List<FilaImportada>> tarea) throws Exception {
+            try {
+                return tarea.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception causa ? causa : e;
+            }
+        }
+
+        // --- Carga (en el hilo llamador, en el orden del archivo) ---
+
+        private void consumir(List<FilaImportada> filas) throws IOException {
+            for (FilaImportada fila : filas) {
+                resultado.sumarLeidas(1);
+                if (fila.error != null) {
+                    rechazar(fila.registro, fila.error);
+                    continue;
+                }
+                lote.add(fila);
+                if (lote.size() >= tamanioLote) {
+                    insertarLote();
+                }
+            }
+            informarProgreso();
+        }
+
+        private void insertarLote() throws IOException {
+            if (lote.isEmpty()) {
+                return;
+            }
+            List<Empleado> empleados = new ArrayList<>(lote.size());
+            for (FilaImportada fila : lote) {
+                empleados.add(fila.empleado);
+            }
+            ResultadoLote resultadoLote = empleadoService.insertarLote(empleados, tamanioLote);
+            resultado.sumarInsertadas(resultadoLote.getExitosos());
+            for (ResultadoLote.ErrorFila error : resultadoLote.getErrores()) {
+                rechazar(lote.get(error.getIndice()).registro, error.getMensaje());
+            }
+            lote.clear();
+        }
+
+        /**
+         * Escribe el registro original con el motivo agregado: una columna más en
+         * CSV o un campo más en JSON, de modo que el archivo se pueda reimportar.
+         * Si el registro ya trae un motivo_rechazo (ej. se reimporta un archivo de
+         * rechazos), se reemplaza por el nuevo.
+         */
+        private void rechazar(Registro registro, String motivo) throws IOException {
+            String mensaje = String.format(PREFIJO_LINEA, registro.linea, motivo);
+            if (formato == FormatoArchivo.CSV) {
+                rechazos.write(columnaMotivo < 0
+                        ? registro.texto + "," + CodecEmpleado.campoCsv(mensaje)
+                        : reemplazarMotivoCsv(registro.texto, mensaje));
+            } else {
+                rechazos.write(agregarCampoJson(registro.texto.trim(), mensaje));
+            }
+            rechazos.newLine();
+            resultado.sumarRechazadas(1);
+        }
+
+        private String reemplazarMotivoCsv(String texto, String mensaje) {
+            List<String> valores = new ArrayList<>(CodecEmpleado.parsearCsv(texto));
+            while (valores.size() <= columnaMotivo) {
+                valores.add("");
+            }
+            valores.set(columnaMotivo, mensaje);
+            return CodecEmpleado.aCsv(valores);
+        }
+
+        private String agregarCampoJson(String registro, String mensaje) {
+            String objeto = CodecEmpleado.quitarCampoJson(registro, CAMPO_MOTIVO_RECHAZO);
+            String campo = "\"" + CAMPO_MOTIVO_RECHAZO + "\":" + CodecEmpleado.textoJson(mensaje);
+            if (!objeto.startsWith("{") || !objeto.endsWith("}")) {
+                // No es un objeto: se guarda el texto original como valor
+                return "{" + campo + ",\"registro\":" + CodecEmpleado.textoJson(objeto) + "}";
+            }
+            String contenido = objeto.substring(1, objeto.length() - 1).trim();
+            return "{" + contenido + (contenido.isEmpty() ? "" : ",") + campo + "}";
+        }
+
+        private void informarProgreso() {
+            if (progreso != null) {
+                progreso.onProgreso(resultado.copia());
+            }
+        }
+    }
+}
@@ -9,6 +9,9 @@ public final class MenuDisplay {
     private static final String MENU_HEADER = "\n========= MENU PRINCIPAL =========";
     private static final String SEPARATOR_EMPLEADO = "--- Gestión de Empleados ---";
     private static final String SEPARATOR_LEGAJO = "---- Gestión de Legajos ----";
+    private static final String SEPARATOR_ARCHIVOS = "--- Importar / Exportar ---";
+    private static final String SEPARATOR_REPORTES = "--------- Reportes ---------";
+    private static final String SEPARATOR_HISTORICO = "-------- Histórico ---------";
     private static final String SEPARATOR_SALIR = "------------------------------";
 
     // Opciones de Empleado
@@ -18,11 +21,25 @@ public final class MenuDisplay {
     private static final String OPTION_4_ELIMINAR_EMPLEADO = "4. Eliminar Empleado";
     private static final String OPTION_5_BUSCAR_EMPLEADO_ID = "5. Buscar Empleado por ID";
     private static final String OPTION_6_BUSCAR_EMPLEADO_DNI = "6. Buscar Empleado por DNI";
+    private static final String OPTION_14_BUSCAR_EMPLEADO_NOMBRE = "14. Buscar Empleado por Nombre o Apellido";
 
     // Opciones de Legajo (Re-numeradas)
     private static final String OPTION_7_LISTAR_LEGAJOS = "7. Listar Legajos";
     private static final String OPTION_8_LISTAR_LEGAJOS_POR_ESTADO = "8. Listar Legajos por Estado";
 
+    // Opciones de Importación / Exportación
+    private static final String OPTION_9_EXPORTAR_EMPLEADOS = "9. Exportar Empleados (CSV / JSON Lines)";
+    private static final String OPTION_10_IMPORTAR_EMPLEADOS = "10. Importar Empleados (CSV / JSON Lines)";
+
+    // Opciones de Reportes
+    private static final String OPTION_11_REPORTE_AREA = "11. Dotación por Área";
+    private static final String OPTION_12_REPORTE_ESTADO_CATEGORIA = "12. Legajos por Estado y Categoría";
+    private static final String OPTION_13_REPORTE_INGRESOS = "13. Ingresos por Año y Mes";
+
+    // Opciones de Histórico (bajas archivadas)
+    private static final String OPTION_15_ARCHIVAR_BAJAS = "15. Archivar bajas antiguas";
+    private static final String OPTION_16_RESTAURAR_EMPLEADO = "16. Restaurar Empleado archivado";
+
     private static final String OPTION_0_SALIR = "0. Salir";
     private static final String PROMPT_MESSAGE = "Ingrese una opcion: ";
 
@@ -49,6 +66,9 @@ public final class MenuDisplay {
         printMenuHeader(out);
         printEmpleadoOptions(out);
         printLegajoOptions(out);
+        printArchivoOptions(out);
+        printReporteOptions(out);
+        printHistoricoOptions(out);
         printExitOption(out);
         printPrompt(out);
     }
@@ -65,6 +85,7 @@ public final class MenuDisplay {
         out.println(OPTION_4_ELIMINAR_EMPLEADO);
         out.println(OPTION_5_BUSCAR_EMPLEADO_ID);
         out.println(OPTION_6_BUSCAR_EMPLEADO_DNI);
+        out.println(OPTION_14_BUSCAR_EMPLEADO_NOMBRE);
     }
 
     private static void printLegajoOptions(java.io.PrintStream out) {
@@ -73,6 +94,25 @@ public final class MenuDisplay {
         out.println(OPTION_8_LISTAR_LEGAJOS_POR_ESTADO);
     }
 
+    private static void printArchivoOptions(java.io.PrintStream out) {
+        out.println(SEPARATOR_ARCHIVOS);
+        out.println(OPTION_9_EXPORTAR_EMPLEADOS);
+        out.println(OPTION_10_IMPORTAR_EMPLEADOS);
+    }
+
+    private static void printReporteOptions(java.io.PrintStream out) {
+        out.println(SEPARATOR_REPORTES);
+        out.println(OPTION_11_REPORTE_AREA);
+        out.println(OPTION_12_REPORTE_ESTADO_CATEGORIA);
+        out.println(OPTION_13_REPORTE_INGRESOS);
+    }
+
+    private static void printHistoricoOptions(java.io.PrintStream out) {
+        out.println(SEPARATOR_HISTORICO);
+        out.println(OPTION_15_ARCHIVAR_BAJAS);
+        out.println(OPTION_16_RESTAURAR_EMPLEADO);
+    }
+
     private static void printExitOption(java.io.PrintStream out) {
         out.println(SEPARATOR_SALIR);
         out.println(OPTION_0_SALIR);
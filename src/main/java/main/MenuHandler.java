@@ -1,16 +1,30 @@
 package main;
 
+import dao.ArchivoDAO;
+import dao.ReporteDAO;
+import dao.ReporteDAO.Agrupacion;
+import entities.ConteoAgrupado;
 import entities.Empleado;
 import entities.EstadoLegajo;
 import entities.Legajo;
+import entities.LegajoResumen;
+import service.ArchivoService;
 import service.EmpleadoServiceImpl;
 import service.LegajoServiceImpl;
+import service.ReporteDotacion;
+import service.ReporteService;
 import service.ServiceException;
 
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 /**
  * Controlador de las operaciones del menú (Menu Handler).
@@ -21,6 +35,10 @@ public class MenuHandler {
     private final Scanner scanner;
     private final EmpleadoServiceImpl empleadoService;
     private final LegajoServiceImpl legajoService;
+    private final ExportadorEmpleados exportador;
+    private final ImportadorEmpleados importador;
+    private final ReporteService reporteService;
+    private final ArchivoService archivoService;
 
     // Constantes para logging / mensajes
     private static final String EMPLOYEE_LIST_HEADER = "--- Listando Empleados ---";
@@ -36,14 +54,70 @@ public class MenuHandler {
     private static final String TITLE_BUSCAR_EMPLEADO_DNI = "== Buscar empleado por DNI ==";
     private static final String PROMPT_ID_EMPLEADO = "ID del empleado a buscar: ";
     private static final String PROMPT_DNI_EMPLEADO = "DNI del empleado a buscar: ";
+    private static final String TITLE_BUSCAR_EMPLEADO_NOMBRE = "== Buscar empleado por Nombre o Apellido ==";
+    private static final String PROMPT_NOMBRE_EMPLEADO = "Nombre y/o apellido (o parte): ";
     private static final String INVALID_OPTION_STATE_MESSAGE = "Opción inválida. Intente nuevamente.\n";
+    private static final String TITLE_EXPORTAR_EMPLEADOS = "== Exportar Empleados ==";
+    private static final String TITLE_IMPORTAR_EMPLEADOS = "== Importar Empleados ==";
+    private static final String PROMPT_ARCHIVO_EXPORTAR = "Archivo de destino (.csv o .jsonl): ";
+    private static final String PROMPT_ARCHIVO_IMPORTAR = "Archivo a importar (.csv o .jsonl): ";
+    private static final String TITLE_REPORTE_AREA = "== Reporte: Dotación por Área ==";
+    private static final String TITLE_REPORTE_ESTADO_CATEGORIA = "== Reporte: Legajos por Estado y Categoría ==";
+    private static final String TITLE_REPORTE_INGRESOS = "== Reporte: Ingresos por Año y Mes ==";
+    private static final String NO_DATOS_REPORTE = "Sin datos.";
+    private static final String TITLE_ARCHIVAR_BAJAS = "== Archivar bajas antiguas ==";
+    private static final String TITLE_RESTAURAR_EMPLEADO = "== Restaurar Empleado archivado ==";
+    private static final String PROMPT_ID_RESTAURAR = "ID del empleado a restaurar: ";
 
     /**
      * Constructor con inyección de dependencias (DI).
+     * Crea el exportador y el importador con la configuración por defecto.
      */
     public MenuHandler(Scanner scanner,
             EmpleadoServiceImpl empleadoService,
             LegajoServiceImpl legajoService) {
+        this(scanner, empleadoService, legajoService,
+                empleadoService == null ? null : new ExportadorEmpleados(empleadoService),
+                empleadoService == null ? null : new ImportadorEmpleados(empleadoService));
+    }
+
+    /**
+     * Constructor con importación/exportación y un servicio de reportes sin snapshot periódico.
+     */
+    public MenuHandler(Scanner scanner,
+            EmpleadoServiceImpl empleadoService,
+            LegajoServiceImpl legajoService,
+            ExportadorEmpleados exportador,
+            ImportadorEmpleados importador) {
+        this(scanner, empleadoService, legajoService, exportador, importador,
+                new ReporteService(new ReporteDAO()));
+    }
+
+    /**
+     * Constructor con importación/exportación, reportes y un servicio de
+     * archivado sin ejecución periódica.
+     */
+    public MenuHandler(Scanner scanner,
+            EmpleadoServiceImpl empleadoService,
+            LegajoServiceImpl legajoService,
+            ExportadorEmpleados exportador,
+            ImportadorEmpleados importador,
+            ReporteService reporteService) {
+        this(scanner, empleadoService, legajoService, exportador, importador, reporteService,
+                empleadoService == null ? null : new ArchivoService(new ArchivoDAO(), empleadoService));
+    }
+
+    /**
+     * Constructor con inyección de dependencias (DI), incluyendo la importación/exportación,
+     * los reportes y el archivado de bajas.
+     */
+    public MenuHandler(Scanner scanner,
+            EmpleadoServiceImpl empleadoService,
+            LegajoServiceImpl legajoService,
+            ExportadorEmpleados exportador,
+            ImportadorEmpleados importador,
+            ReporteService reporteService,
+            ArchivoService archivoService) {
         if (scanner == null) {
             throw new IllegalArgumentException("Scanner no puede ser null");
         }
@@ -53,9 +127,25 @@ public class MenuHandler {
         if (legajoService == null) {
             throw new IllegalArgumentException("LegajoService no puede ser null");
         }
+        if (exportador == null) {
+            throw new IllegalArgumentException("ExportadorEmpleados no puede ser null");
+        }
+        if (importador == null) {
+            throw new IllegalArgumentException("ImportadorEmpleados no puede ser null");
+        }
+        if (reporteService == null) {
+            throw new IllegalArgumentException("ReporteService no puede ser null");
+        }
+        if (archivoService == null) {
+            throw new IllegalArgumentException("ArchivoService no puede ser null");
+        }
         this.scanner = scanner;
         this.empleadoService = empleadoService;
         this.legajoService = legajoService;
+        this.exportador = exportador;
+        this.importador = importador;
+        this.reporteService = reporteService;
+        this.archivoService = archivoService;
     }
 
     // --- MÉTODOS DE EMPLEADO ---
@@ -68,8 +158,9 @@ public class MenuHandler {
     }
 
     public void listarEmpleados() throws Exception {
-        List<Empleado> empleados = empleadoService.getAll();
-        printList(EMPLOYEE_LIST_HEADER, NO_EMPLOYEES_FOUND, empleados);
+        try (Stream<Empleado> empleados = empleadoService.getAllStream()) {
+            printStream(EMPLOYEE_LIST_HEADER, NO_EMPLOYEES_FOUND, empleados);
+        }
     }
 
     public void actualizarEmpleado() throws Exception {
@@ -206,22 +297,100 @@ public class MenuHandler {
         System.out.println(empleado);
     }
 
+    public void buscarEmpleadoPorNombre() throws Exception {
+        System.out.println(TITLE_BUSCAR_EMPLEADO_NOMBRE);
+        System.out.print(PROMPT_NOMBRE_EMPLEADO);
+        String texto = scanner.nextLine().trim();
+        List<Empleado> empleados = empleadoService.buscarPorNombre(texto);
+        printList("--- Resultados para \"" + texto + "\" ---",
+                "No se encontraron empleados para: " + texto, empleados);
+    }
+
     // --- MÉTODOS DE LEGAJO ---
 
     public void listarLegajos() throws Exception {
-        List<Legajo> legajos = legajoService.getAll();
-        printList(LEGAJO_LIST_HEADER, NO_LEGAJOS_FOUND, legajos);
+        try (Stream<Legajo> legajos = legajoService.getAllStream()) {
+            printStream(LEGAJO_LIST_HEADER, NO_LEGAJOS_FOUND, legajos);
+        }
     }
 
     public void listarLegajoPorEstado() throws Exception {
         System.out.println("== Listar Legajos por Estado ==");
         EstadoLegajo estado = leerEstadoLegajo(); // Re-use existing helper
-        List<Legajo> legajos = legajoService.getByEstado(estado);
+        List<LegajoResumen> legajos = legajoService.getResumenPorEstado(estado);
         printList("--- Listando Legajos con estado " + estado + " ---",
                 "No se encontraron legajos con el estado " + estado + ".",
                 legajos);
     }
 
+    // --- MÉTODOS DE IMPORTACIÓN / EXPORTACIÓN ---
+
+    public void exportarEmpleados() throws Exception {
+        System.out.println(TITLE_EXPORTAR_EMPLEADOS);
+        Path destino = readArchivoFromInput(PROMPT_ARCHIVO_EXPORTAR);
+        long exportados = exportador.exportar(destino, FormatoArchivo.desdeArchivo(destino));
+        System.out.println("\nSe exportaron " + exportados + " empleados a " + destino.toAbsolutePath());
+    }
+
+    public void importarEmpleados() throws Exception {
+        System.out.println(TITLE_IMPORTAR_EMPLEADOS);
+        Path origen = readArchivoFromInput(PROMPT_ARCHIVO_IMPORTAR);
+        if (!Files.isRegularFile(origen)) {
+            throw new IllegalArgumentException("No se encontró el archivo: " + origen.toAbsolutePath());
+        }
+        ResultadoImportacion resultado = importador.importar(origen, FormatoArchivo.desdeArchivo(origen),
+                parcial -> System.out.println("Procesadas: " + parcial.getLeidas()
+                        + " | Insertadas: " + parcial.getInsertadas()
+                        + " | Rechazadas: " + parcial.getRechazadas()));
+
+        System.out.println("\nImportación finalizada. " + resultado);
+        if (resultado.getArchivoRechazos() != null) {
+            System.out.println("Las filas rechazadas (con su motivo) se guardaron en: "
+                    + resultado.getArchivoRechazos().toAbsolutePath());
+        }
+    }
+
+    // --- MÉTODOS DE REPORTES ---
+
+    public void reporteDotacionPorArea() throws Exception {
+        System.out.println(TITLE_REPORTE_AREA);
+        printReporte(reporteService.obtener(Agrupacion.AREA), Agrupacion.AREA);
+    }
+
+    public void reporteLegajosPorEstadoYCategoria() throws Exception {
+        System.out.println(TITLE_REPORTE_ESTADO_CATEGORIA);
+        printReporte(reporteService.obtener(Agrupacion.ESTADO, Agrupacion.CATEGORIA, Agrupacion.ESTADO_CATEGORIA),
+                Agrupacion.ESTADO, Agrupacion.CATEGORIA, Agrupacion.ESTADO_CATEGORIA);
+    }
+
+    public void reporteIngresos() throws Exception {
+        System.out.println(TITLE_REPORTE_INGRESOS);
+        printReporte(reporteService.obtener(Agrupacion.INGRESO_ANIO, Agrupacion.INGRESO_MES),
+                Agrupacion.INGRESO_ANIO, Agrupacion.INGRESO_MES);
+    }
+
+    // --- MÉTODOS DE HISTÓRICO ---
+
+    public void archivarBajas() throws Exception {
+        System.out.println(TITLE_ARCHIVAR_BAJAS);
+        long archivados = archivoService.archivar();
+        System.out.println("Empleados archivados: " + archivados);
+    }
+
+    public void restaurarEmpleado() throws Exception {
+        System.out.println(TITLE_RESTAURAR_EMPLEADO);
+        System.out.print(PROMPT_ID_RESTAURAR);
+        long id;
+        try {
+            id = Long.parseLong(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El ID debe ser un número válido.");
+        }
+        archivoService.restaurar(id);
+        System.out.println("Empleado restaurado:");
+        System.out.println(empleadoService.getById(id));
+    }
+
     // --- Helpers privados (entrada de datos) ---
 
     /**
@@ -267,6 +436,22 @@ public class MenuHandler {
         return new Empleado(nombre, apellido, dni, email, fechaIngreso, area, legajoNuevo);
     }
 
+    /**
+     * Helper para leer la ruta de un archivo desde consola.
+     */
+    private Path readArchivoFromInput(String prompt) {
+        System.out.print(prompt);
+        String ruta = scanner.nextLine().trim();
+        if (ruta.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar un archivo.");
+        }
+        try {
+            return Paths.get(ruta);
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Ruta de archivo inválida: " + ruta);
+        }
+    }
+
     /**
      * Helper para leer y validar el ID de empleado desde consola.
      * Lanza IllegalArgumentException si no es un número.
@@ -307,6 +492,20 @@ public class MenuHandler {
 
     // --- Helpers privados (presentación) ---
 
+    private void printReporte(ReporteDotacion reporte, Agrupacion... agrupaciones) {
+        System.out.println("(Datos al " + reporte.getGeneradoEn().withNano(0) + ")");
+        for (Agrupacion agrupacion : agrupaciones) {
+            System.out.println("\n--- " + agrupacion.getTitulo() + " ---");
+            List<ConteoAgrupado> conteos = reporte.get(agrupacion);
+            if (conteos.isEmpty()) {
+                System.out.println(NO_DATOS_REPORTE);
+            }
+            for (ConteoAgrupado conteo : conteos) {
+                System.out.println(conteo);
+            }
+        }
+    }
+
     private void printList(String header, String emptyMessage, List<?> items) {
         System.out.println(header);
         if (items == null || items.isEmpty()) {
@@ -319,4 +518,21 @@ public class MenuHandler {
         }
     }
 
+    /**
+     * Igual que printList, pero imprime cada elemento a medida que llega
+     * (no necesita tener toda la lista en memoria).
+     */
+    private void printStream(String header, String emptyMessage, Stream<?> items) {
+        System.out.println(header);
+        Iterator<?> iterator = items.iterator();
+        if (!iterator.hasNext()) {
+            System.out.println(emptyMessage);
+            return;
+        }
+        while (iterator.hasNext()) {
+            System.out.println(iterator.next());
+            System.out.println(SEPARATOR);
+        }
+    }
+
 }
@@ -0,0 +1,71 @@
+package main;
+
+import java.nio.file.Path;
+
+/**
+ * Resultado (parcial o final) de una importación de Empleados.
+ */
+public class ResultadoImportacion {
+
+    private long leidas;
+    private long insertadas;
+    private long rechazadas;
+    private Path archivoRechazos;
+
+    void sumarLeidas(long cantidad) {
+        leidas += cantidad;
+    }
+
+    void sumarInsertadas(long cantidad) {
+        insertadas += cantidad;
+    }
+
+    void sumarRechazadas(long cantidad) {
+        rechazadas += cantidad;
+    }
+
+    void setArchivoRechazos(Path archivoRechazos) {
+        this.archivoRechazos = archivoRechazos;
+    }
+
+    /**
+     * Registros leídos del archivo (sin contar el encabezado ni las líneas vacías).
+     */
+    public long getLeidas() {
+        return leidas;
+    }
+
+    public long getInsertadas() {
+        return insertadas;
+    }
+
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    /**
+     * Archivo con las filas rechazadas y su motivo, o null si no hubo rechazos.
+     */
+    public Path getArchivoRechazos() {
+        return archivoRechazos;
+    }
+
+    /**
+     * Copia de los contadores, para informar el progreso sin exponer el objeto en uso.
+     */
+    ResultadoImportacion copia() {
+        ResultadoImportacion copia = new ResultadoImportacion();
+        copia.leidas = leidas;
+        copia.insertadas = insertadas;
+        copia.rechazadas = rechazadas;
+        copia.archivoRechazos = archivoRechazos;
+        return copia;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacion [Leídas: " + leidas
+                + ", Insertadas: " + insertadas
+                + ", Rechazadas: " + rechazadas + "]";
+    }
+}
@@ -0,0 +1,195 @@
+package service;
+
+import config.DatabaseConnection;
+import config.TransactionManager;
+import dao.ArchivoDAO;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archivado de empleados dados de baja: los que tienen la baja lógica hace más
+ * de archivo.retencionDias días se mueven a las tablas históricas (ver
+ * {@link ArchivoDAO}), y se pueden restaurar a pedido.
+ * <p>
+ * El archivado avanza en bloques chicos, cada uno en su propia transacción, con
+ * una pausa entre bloques: así no retiene bloqueos ni genera un pico de escritura
+ * que compita con el uso normal de la aplicación. Puede ejecutarse a pedido o
+ * periódicamente en un hilo daemon.
+ */
+public class ArchivoService {
+
+    public static final String PROPERTY_RETENCION_DIAS = "archivo.retencionDias";
+    public static final String PROPERTY_TAMANIO_BLOQUE = "archivo.tamanioBloque";
+    public static final String PROPERTY_PAUSA_MS = "archivo.pausaMs";
+    private static final String DEFAULT_RETENCION_DIAS = "365";
+    private static final String DEFAULT_TAMANIO_BLOQUE = "500";
+    private static final String DEFAULT_PAUSA_MS = "200";
+
+    private static final String ERROR_INTERVALO = "El intervalo de archivado debe ser mayor a 0.";
+    private static final String ERROR_ID_INVALIDO = "El ID debe ser mayor a 0.";
+    private static final String ERROR_NO_ARCHIVADO = "No hay un empleado archivado con el ID: ";
+    private static final String ERROR_RESTAURAR_DUPLICADO =
+            "Error: No se puede restaurar: el DNI, el email o el número de legajo ya los usa otro empleado.";
+    private static final String HILO_ARCHIVADO = "archivo-bajas";
+
+    private final ArchivoDAO archivoDAO;
+    private final EmpleadoServiceImpl empleadoService;
+    private final int retencionDias;
+    private final int tamanioBloque;
+    private final long pausaMs;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor con la retención, el tamaño de bloque y la pausa de
+     * config.properties (archivo.*).
+     */
+    public ArchivoService(ArchivoDAO archivoDAO, EmpleadoServiceImpl empleadoService) {
+        this(archivoDAO, empleadoService,
+                Integer.parseInt(DatabaseConnection.getProperty(PROPERTY_RETENCION_DIAS, DEFAULT_RETENCION_DIAS)),
+                Integer.parseInt(DatabaseConnection.getProperty(PROPERTY_TAMANIO_BLOQUE, DEFAULT_TAMANIO_BLOQUE)),
+                Long.parseLong(DatabaseConnection.getProperty(PROPERTY_PAUSA_MS, DEFAULT_PAUSA_MS)));
+    }
+
+    /**
+     * @param empleadoService se le avisa de cada restauración (caché e índice de nombres).
+     * @param retencionDias   días desde la baja lógica antes de archivar.
+     * @param tamanioBloque   empleados por transacción.
+     * @param pausaMs         espera entre bloques (0 = sin pausa).
+     */
+    public ArchivoService(ArchivoDAO archivoDAO, EmpleadoServiceImpl empleadoService,
+                          int retencionDias, int tamanioBloque, long pausaMs) {
+        if (archivoDAO == null) {
+            throw new IllegalArgumentException("ArchivoDAO no puede ser null");
+        }
+        if (empleadoService == null) {
+            throw new IllegalArgumentException("EmpleadoService no puede ser null");
+        }
+        if (retencionDias < 0 || tamanioBloque <= 0 || pausaMs < 0) {
+            throw new IllegalArgumentException(
+                    "La retención y la pausa no pueden ser negativas y el bloque debe ser mayor a 0.");
+        }
+        this.archivoDAO = archivoDAO;
+        this.empleadoService = empleadoService;
+        this.retencionDias = retencionDias;
+        this.tamanioBloque = tamanioBloque;
+        this.pausaMs = pausaMs;
+    }
+
+    /**
+     * Archiva, bloque por bloque, todos los empleados dados de baja hace más del
+     * período de retención. Si el hilo se interrumpe (ej. {@link #detener()}),
+     * termina después del bloque en curso; los bloques ya confirmados quedan archivados.
+     *
+     * @return cantidad de empleados archivados.
+     * @throws ServiceException si falla un bloque (los anteriores quedan archivados).
+     */
+    public long archivar() throws ServiceException {
+        long archivados = 0;
+        int ultimoBloque;
+        do {
+            try {
+                // Búsqueda (FOR UPDATE), copia y borrado en una transacción corta
+                ultimoBloque = TransactionManager.executeInTransaction(conn -> {
+                    List<Long> ids = archivoDAO.buscarArchivablesTx(retencionDias, tamanioBloque, conn);
+                    return archivoDAO.archivarTx(ids, conn);
+                });
+            } catch (Exception e) {
+                throw new ServiceException("Error al archivar bajas (" + archivados
+                        + " empleados ya archivados): " + e.getMessage(), e);
+            }
+            archivados += ultimoBloque;
+        } while (ultimoBloque == tamanioBloque && pausar());
+        return archivados;
+    }
+
+    /**
+     * Devuelve un empleado archivado (con su legajo) a las tablas principales,
+     * nuevamente activo.
+     *
+     * @throws IllegalArgumentException si no hay un empleado archivado con ese id.
+     * @throws ServiceException         si sus datos únicos ya los usa otro empleado o falla la BD.
+     */
+    public void restaurar(long empleadoId) throws Exception {
+        if (empleadoId <= 0) {
+            throw new IllegalArgumentException(ERROR_ID_INVALIDO);
+        }
+        boolean restaurado;
+        try {
+            restaurado = TransactionManager.executeInTransaction(conn -> archivoDAO.restaurarTx(empleadoId, conn));
+        } catch (SQLException e) {
+            if ("23000".equals(e.getSQLState())) {
+                throw new ServiceException(ERROR_RESTAURAR_DUPLICADO, e);
+            }
+            throw new ServiceException("Error al restaurar el empleado: " + e.getMessage(), e);
+        }
+        if (!restaurado) {
+            throw new IllegalArgumentException(ERROR_NO_ARCHIVADO + empleadoId);
+        }
+        empleadoService.registrarRestaurado(empleadoId);
+    }
+
+    /**
+     * Inicia el archivado periódico en un hilo daemon. La primera ejecución es
+     * inmediata. Si una ejecución falla se informa por consola y se reintenta en
+     * la siguiente.
+     *
+     * @param intervaloHoras horas entre el fin de una ejecución y el inicio de la siguiente.
+     */
+    public synchronized void iniciarArchivadoPeriodico(long intervaloHoras) {
+        if (intervaloHoras <= 0) {
+            throw new IllegalArgumentException(ERROR_INTERVALO);
+        }
+        detener();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, HILO_ARCHIVADO);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                long archivados = archivar();
+                if (archivados > 0) {
+                    System.out.println("Archivado de bajas: " + archivados + " empleados movidos al histórico.");
+                }
+            } catch (Exception e) {
+                System.err.println("No se pudo completar el archivado de bajas: " + e.getMessage());
+            }
+        }, 0, intervaloHoras, TimeUnit.HOURS);
+    }
+
+    /**
+     * Detiene el archivado periódico (el bloque en curso termina su transacción).
+     */
+    public synchronized void detener() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Espera entre bloques.
+     *
+     * @return false si el hilo fue interrumpido (se deja de archivar).
+     */
+    private boolean pausar() {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (pausaMs == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pausaMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package service;
+
+import config.ConnectionPool;
+import config.DatabaseConnection;
+import config.QueryDeadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta llamadas bloqueantes a los servicios en hilos virtuales y devuelve
+ * un {@link CompletableFuture}, para atender muchas consultas concurrentes sin
+ * un hilo de plataforma por pedido.
+ * <p>
+ * Límites:
+ * - Concurrencia: como cada llamada usa una conexión, no se ejecutan más
+ *   llamadas a la vez que conexiones tiene el pool (db.pool.maxSize). El resto
+ *   espera un permiso en su hilo virtual, que no ocupa un hilo de plataforma.
+ * - Contrapresión: si ya hay maxPendientes llamadas en curso o en espera, las
+ *   nuevas se rechazan de inmediato con {@link RejectedExecutionException}.
+ * - Timeout: si una llamada no termina en timeoutMs, el future se completa con
+ *   {@link TimeoutException}. El hilo virtual no se interrumpe (interrumpirlo en
+ *   medio de una lectura del socket cerraría la conexión): las consultas de la
+ *   llamada tienen como plazo el mismo instante ({@link QueryDeadline}) y el
+ *   driver las cancela en el servidor al vencerse.
+ */
+public class EjecutorAsincrono implements AutoCloseable {
+
+    // --- Configuración (config.properties) ---
+    private static final String PROPERTY_MAX_PENDIENTES = "async.maxPendientes";
+    private static final String PROPERTY_TIMEOUT_MS = "async.timeoutMs";
+    private static final String PROPERTY_MAX_SIZE = "db.pool.maxSize";
+    private static final String DEFAULT_MAX_PENDIENTES = "10000";
+    private static final String DEFAULT_TIMEOUT_MS = "30000";
+    private static final String DEFAULT_MAX_SIZE = "10";
+
+    private static final String ERROR_CERRADO = "El ejecutor asíncrono está cerrado.";
+    private static final String ERROR_SATURADO =
+            "Servicio saturado: hay %d llamadas en curso o en espera (máximo: %d).";
+    private static final String ERROR_TIMEOUT = "La llamada no terminó en %d ms.";
+
+    /**
+     * Llamada bloqueante a un servicio.
+     *
+     * @param <R> tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface LlamadaServicio<R> {
+        R ejecutar() throws Exception;
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permisos;
+    private final AtomicInteger pendientes = new AtomicInteger();
+    private final int maxConcurrencia;
+    private final int maxPendientes;
+    private final long timeoutMs;
+
+    /**
+     * @param maxConcurrencia llamadas ejecutándose a la vez (normalmente, el tamaño del pool).
+     * @param maxPendientes   llamadas en curso o en espera antes de rechazar nuevas.
+     * @param timeoutMs       tiempo máximo de cada llamada, incluida la espera de un permiso.
+     */
+    public EjecutorAsincrono(int maxConcurrencia, int maxPendientes, long timeoutMs) {
+        if (maxConcurrencia <= 0 || maxPendientes < maxConcurrencia || timeoutMs <= 0) {
+            throw new IllegalArgumentException("Configuración inválida: maxConcurrencia > 0, "
+                    + "maxPendientes >= maxConcurrencia y timeoutMs > 0.");
+        }
+        this.permisos = new Semaphore(maxConcurrencia, true);
+        this.maxConcurrencia = maxConcurrencia;
+        this.maxPendientes = maxPendientes;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Crea un ejecutor con la concurrencia igual al tamaño máximo del pool de
+     * conexiones y el resto de los límites de config.properties (async.*).
+     */
+    public static EjecutorAsincrono desdeConfiguracion() {
+        ConnectionPool pool = DatabaseConnection.getPool();
+        int maxConcurrencia = pool != null
+                ? pool.getConfig().getMaxSize()
+                : Integer.parseInt(DatabaseConnection.getProperty(PROPERTY_MAX_SIZE, DEFAULT_MAX_SIZE));
+        int maxPendientes = Integer.parseInt(
+                DatabaseConnection.getProperty(PROPERTY_MAX_PENDIENTES, DEFAULT_MAX_PENDIENTES));
+        long timeoutMs = Long.parseLong(DatabaseConnection.getProperty(PROPERTY_TIMEOUT_MS, DEFAULT_TIMEOUT_MS));
+        return new EjecutorAsincrono(maxConcurrencia, Math.max(maxPendientes, maxConcurrencia), timeoutMs);
+    }
+
+    /**
+     * Ejecuta la llamada en un hilo virtual respetando los límites de
+     * concurrencia, contrapresión y timeout.
+     *
+     * @return future con el resultado, o completado con la excepción de la llamada,
+     *         {@link RejectedExecutionException} si el servicio está saturado o
+     *         {@link TimeoutException} si se agotó el tiempo.
+     */
+    public <R> CompletableFuture<R> ejecutar(LlamadaServicio<R> llamada) {
+        if (llamada == null) {
+            throw new IllegalArgumentException("La llamada no puede ser null.");
+        }
+        if (executor.isShutdown()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(ERROR_CERRADO));
+        }
+        int enCurso = pendientes.incrementAndGet();
+        if (enCurso > maxPendientes) {
+            pendientes.decrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException(String.format(ERROR_SATURADO, enCurso - 1, maxPendientes)));
+        }
+
+        CompletableFuture<R> resultado = new CompletableFuture<>();
+        long plazo = System.currentTimeMillis() + timeoutMs;
+        Future<?> tarea;
+        try {
+            tarea = executor.submit(() -> ejecutarConPermiso(llamada, resultado, plazo));
+        } catch (RejectedExecutionException e) {
+            pendientes.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+        resultado.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((valor, error) -> {
+            if (error instanceof TimeoutException) {
+                tarea.cancel(false); // Sólo evita que empiece; si ya empezó, la corta el plazo de sus consultas
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Cuerpo de la tarea: espera un permiso hasta el plazo, ejecuta la llamada con
+     * ese plazo para sus consultas y completa el future.
+     */
+    private <R> void ejecutarConPermiso(LlamadaServicio<R> llamada, CompletableFuture<R> resultado, long plazo) {
+        try {
+            long restante = plazo - System.currentTimeMillis();
+            if (restante <= 0 || !permisos.tryAcquire(restante, TimeUnit.MILLISECONDS)) {
+                resultado.completeExceptionally(new TimeoutException(String.format(ERROR_TIMEOUT, timeoutMs)));
+                return;
+            }
+            QueryDeadline.set(plazo);
+            try {
+                resultado.complete(llamada.ejecutar());
+            } finally {
+                QueryDeadline.clear();
+                permisos.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado.completeExceptionally(e);
+        } catch (Exception e) {
+            resultado.completeExceptionally(e);
+        } finally {
+            pendientes.decrementAndGet();
+        }
+    }
+
+    /**
+     * Llamadas en curso o esperando un permiso.
+     */
+    public int getPendientes() {
+        return pendientes.get();
+    }
+
+    public int getMaxConcurrencia() {
+        return maxConcurrencia;
+    }
+
+    public int getMaxPendientes() {
+        return maxPendientes;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Deja de aceptar llamadas y espera (hasta timeoutMs) a que terminen las que
+     * están en curso; las que sigan después se interrumpen.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
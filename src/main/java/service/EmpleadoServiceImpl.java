@@ -1,14 +1,28 @@
 package service;
 
-import config.DatabaseConnection;
 import config.TransactionManager;
+import dao.CargadorEmpleados;
+import dao.ConflictoVersionException;
+import dao.EmpleadoCache;
 import dao.EmpleadoDAO;
+import dao.IndiceNombres;
+import dao.ProcesadorFila;
+import dao.UnicidadDAO;
+import dao.UnicidadDAO.CampoUnico;
 import entities.Empleado;
 import entities.Legajo;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de negocio para la entidad Empleado. Capa
@@ -32,21 +46,110 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
     private final EmpleadoDAO empleadoDAO;
     private final LegajoServiceImpl legajoService;
 
+    /**
+     * Verificación de unicidad (DNI, email y nro_legajo) en una sola consulta.
+     */
+    private final UnicidadDAO unicidadDAO;
+
+    /**
+     * Caché de lectura de empleados (por id, DNI y nro_legajo). Puede ser null
+     * (caché deshabilitado), en cuyo caso todas las lecturas van al DAO.
+     */
+    private final EmpleadoCache empleadoCache;
+
+    /**
+     * Índice en memoria para la búsqueda por nombre. Puede ser null (índice
+     * deshabilitado), en cuyo caso se busca por prefijo en SQL. Se actualiza
+     * después de cada commit, igual que la invalidación del caché.
+     */
+    private final IndiceNombres indiceNombres;
+
+    /**
+     * Agrupa en una sola consulta las lecturas por id concurrentes (incluidos los
+     * fallos del caché). Puede ser null, en cuyo caso cada lectura es una consulta.
+     */
+    private final CargadorEmpleados cargadorEmpleados;
+
+    /**
+     * Cantidad de empleados que se insertan (y se confirman) por transacción en
+     * {@link #insertarLote(List)}.
+     */
+    public static final int TAMANIO_LOTE_POR_DEFECTO = 500;
+
+    private static final String SQL_STATE_INTEGRITY_PREFIX = "23";
+    private static final String SQL_STATE_DATA_PREFIX = "22";
+
     private static final String DNI_REGEX = "\\d+";
     private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@(.+)$";
 
+    private static final String ERROR_DNI_DUPLICADO = "Error: El DNI ya está en uso por otro empleado.";
+    private static final String ERROR_EMAIL_DUPLICADO = "Error: El email ya está en uso por otro empleado.";
+    private static final String ERROR_NRO_LEGAJO_DUPLICADO = "Error: El número de legajo ya está en uso.";
+    private static final String ERROR_DUPLICADO_EN_LOTE = " (repetido dentro del mismo lote)";
+    private static final String ERROR_CONFLICTO_CONCURRENTE =
+            "Error: La operación chocó con cambios simultáneos de otros usuarios y no pudo completarse "
+                    + "después de reintentarla. Intente nuevamente.";
+    private static final String ERROR_VERSION_DESACTUALIZADA =
+            "Error: El empleado fue modificado o dado de baja por otro usuario mientras se editaba. "
+                    + "Vuelva a buscarlo y repita los cambios.";
+
     /**
      * constructor con inyección de dependencias
      */
     public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO, LegajoServiceImpl legajoService) {
+        this(empleadoDAO, legajoService, new UnicidadDAO(), null);
+    }
+
+    /**
+     * constructor con inyección de dependencias, incluyendo el verificador de unicidad
+     */
+    public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO, LegajoServiceImpl legajoService,
+                               UnicidadDAO unicidadDAO) {
+        this(empleadoDAO, legajoService, unicidadDAO, null);
+    }
+
+    /**
+     * constructor con inyección de dependencias, incluyendo el caché de lectura
+     * (null para deshabilitarlo)
+     */
+    public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO, LegajoServiceImpl legajoService,
+                               UnicidadDAO unicidadDAO, EmpleadoCache empleadoCache) {
+        this(empleadoDAO, legajoService, unicidadDAO, empleadoCache, null);
+    }
+
+    /**
+     * constructor con inyección de dependencias, incluyendo el caché de lectura y
+     * el índice de búsqueda por nombre (null para deshabilitarlos)
+     */
+    public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO, LegajoServiceImpl legajoService,
+                               UnicidadDAO unicidadDAO, EmpleadoCache empleadoCache,
+                               IndiceNombres indiceNombres) {
+        this(empleadoDAO, legajoService, unicidadDAO, empleadoCache, indiceNombres, null);
+    }
+
+    /**
+     * constructor con inyección de dependencias completa: caché de lectura, índice
+     * de búsqueda por nombre y cargador que agrupa las lecturas por id concurrentes
+     * (null para deshabilitar cualquiera de ellos)
+     */
+    public EmpleadoServiceImpl(EmpleadoDAO empleadoDAO, LegajoServiceImpl legajoService,
+                               UnicidadDAO unicidadDAO, EmpleadoCache empleadoCache,
+                               IndiceNombres indiceNombres, CargadorEmpleados cargadorEmpleados) {
         if (empleadoDAO == null) {
             throw new IllegalArgumentException("EmpleadoDAO no puede ser null");
         }
         if (legajoService == null) {
             throw new IllegalArgumentException("LegajoService no puede ser null");
         }
+        if (unicidadDAO == null) {
+            throw new IllegalArgumentException("UnicidadDAO no puede ser null");
+        }
         this.empleadoDAO = empleadoDAO;
         this.legajoService = legajoService;
+        this.unicidadDAO = unicidadDAO;
+        this.empleadoCache = empleadoCache;
+        this.indiceNombres = indiceNombres;
+        this.cargadorEmpleados = cargadorEmpleados;
     }
 
     @Override
@@ -57,29 +160,114 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
             throw new IllegalArgumentException("Un Empleado debe ser creado con un Legajo.");
         }
 
-        try (TransactionManager txManager = new TransactionManager(DatabaseConnection.getConnection())) {
-            txManager.startTransaction();
-            Connection conn = txManager.getConnection();
+        try {
+            // Ante un deadlock o espera de bloqueo agotada se reintenta el bloque completo
+            TransactionManager.executeInTransaction(conn -> {
+                validateUnicidad(empleado, conn); // DNI, email y nro_legajo en una sola consulta
 
-            empleadoDAO.crearTx(empleado, conn); // 1ro creamos el empleado con un nuevo ID
-            if (empleado.getId() == 0) {
-                throw new SQLException("No se pudo crear el empleado, ID es 0.");
-            }
-
-            Legajo legajo = empleado.getLegajo(); // 2do creamos el legajo para el empleado
-            legajoService.insertarTx(legajo, empleado.getId(), conn);
+                empleadoDAO.crearTx(empleado, conn); // 1ro creamos el empleado con un nuevo ID
+                if (empleado.getId() == 0) {
+                    throw new SQLException("No se pudo crear el empleado, ID es 0.");
+                }
 
-            txManager.commit();
+                Legajo legajo = empleado.getLegajo(); // 2do creamos el legajo para el empleado
+                legajoService.insertarTxPrevalidado(legajo, empleado.getId(), conn);
+                return null;
+            });
+            indexarNombre(empleado);
         } catch (SQLException e) {
-            // El rollback se maneja en el close() del TransactionManager.
+            // El rollback se maneja en executeInTransaction.
             // El nuevo método handleSqlException se encargará de la lógica.
             handleSqlException(e);
+        } catch (ServiceException e) {
+            // Conflicto de unicidad detectado antes de escribir: el mensaje ya es claro
+            throw e;
         } catch (Exception e) {
             // El rollback se maneja en el close() del TransactionManager
             throw new ServiceException("Error al crear empleado: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Alta de un Empleado con su Legajo en un único viaje al servidor, mediante
+     * el procedimiento sp_alta_empleado_legajo (sql/Scripts/procedimientos.sql).
+     * <p>
+     * Mismas validaciones y misma atomicidad que {@link #insertar(Empleado)}, pero
+     * la unicidad de DNI, email y nro_legajo la verifican las constraints dentro
+     * del procedimiento (en lugar de la consulta previa) y los errores se traducen
+     * a los mismos mensajes. Requiere haber ejecutado procedimientos.sql.
+     */
+    public void insertarConProcedimiento(Empleado empleado) throws Exception {
+        validateEmpleado(empleado);
+
+        if (empleado.getLegajo() == null) {
+            throw new IllegalArgumentException("Un Empleado debe ser creado con un Legajo.");
+        }
+        legajoService.validateLegajoData(empleado.getLegajo());
+
+        try {
+            empleadoDAO.crearConLegajo(empleado);
+            indexarNombre(empleado);
+        } catch (SQLException e) {
+            // El procedimiento ya hizo rollback de su transacción
+            handleSqlException(e);
+        }
+    }
+
+    /**
+     * Inserta un lote de Empleados (cada uno con su Legajo) con el tamaño de
+     * transacción por defecto. Ver {@link #insertarLote(List, int)}.
+     */
+    public ResultadoLote insertarLote(List<Empleado> empleados) {
+        return insertarLote(empleados, TAMANIO_LOTE_POR_DEFECTO);
+    }
+
+    /**
+     * Inserta un lote de Empleados (cada uno con su Legajo) pensado para altas masivas.
+     * <p>
+     * - Valida cada fila en memoria; las inválidas se reportan y no se envían a la BD.
+     * - Las filas válidas se agrupan en bloques de {@code tamanioLote}. Cada bloque
+     *   se inserta en una transacción que verifica la unicidad de todo el bloque
+     *   con una sola consulta (descartando las filas en conflicto) y luego hace dos
+     *   executeBatch (empleados y legajos).
+     * - Si un bloque falla por una fila con datos duplicados o inválidos, se hace
+     *   rollback sólo de ese bloque y se reintenta fila por fila para aislar las
+     *   filas culpables. Los bloques ya confirmados no se ven afectados.
+     *
+     * @param empleados   Empleados a insertar, cada uno con su Legajo.
+     * @param tamanioLote Cantidad de filas por transacción (> 0).
+     * @return Resultado con la cantidad de filas insertadas y los errores por fila.
+     */
+    public ResultadoLote insertarLote(List<Empleado> empleados, int tamanioLote) {
+        if (empleados == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser null.");
+        }
+        if (tamanioLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor a 0.");
+        }
+
+        ResultadoLote resultado = new ResultadoLote(empleados.size());
+        List<Integer> indicesBloque = new ArrayList<>(Math.min(tamanioLote, empleados.size()));
+
+        for (int i = 0; i < empleados.size(); i++) {
+            try {
+                validateEmpleadoConLegajo(empleados.get(i));
+            } catch (IllegalArgumentException e) {
+                resultado.agregarError(i, e.getMessage());
+                continue;
+            }
+            indicesBloque.add(i);
+            if (indicesBloque.size() == tamanioLote) {
+                insertarBloque(empleados, indicesBloque, resultado);
+                indicesBloque.clear();
+            }
+        }
+        if (!indicesBloque.isEmpty()) {
+            insertarBloque(empleados, indicesBloque, resultado);
+        }
+        return resultado;
+    }
+
     @Override
     public void actualizar(Empleado empleado) throws Exception {
 
@@ -93,17 +281,28 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
 
         validateEmpleado(empleado); // Valida Nombre, Apellido, DNI
 
-        try (TransactionManager txManager = new TransactionManager(DatabaseConnection.getConnection())) {
-            txManager.startTransaction();
-            Connection conn = txManager.getConnection();
+        try {
+            TransactionManager.executeInTransaction(conn -> {
+                validateUnicidad(empleado, conn); // Ignora los valores del propio empleado/legajo
 
-            legajoService.actualizarTx(empleado.getLegajo(), conn); // Actualiza legajo
-            empleadoDAO.actualizarTx(empleado, conn); // Actualiza empleado
-
-            txManager.commit();
+                legajoService.actualizarTxPrevalidado(empleado.getLegajo(), conn); // Actualiza legajo
+                empleadoDAO.actualizarTx(empleado, conn); // Actualiza empleado
+                return null;
+            });
+            // Las versiones avanzan sólo al confirmar: un reintento vuelve a usar las leídas
+            empleado.incrementarVersion();
+            empleado.getLegajo().incrementarVersion();
+            invalidateCache(empleado.getId()); // Sólo después de confirmar los cambios
+            indexarNombre(empleado);
         } catch (SQLException e) {
-            // El rollback se maneja en el close() del TransactionManager.
+            // El rollback se maneja en executeInTransaction.
+            if (e instanceof ConflictoVersionException) {
+                invalidateCache(empleado.getId()); // La próxima lectura debe traer la versión nueva
+            }
             handleSqlException(e);
+        } catch (ServiceException e) {
+            // Conflicto de unicidad detectado antes de escribir: el mensaje ya es claro
+            throw e;
         } catch (Exception e) {
             // El rollback se maneja en el close() del TransactionManager
             throw new ServiceException("Error al actualizar empleado: " + e.getMessage(), e);
@@ -118,7 +317,7 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
         }
 
         // Buscamos al empleado para asegurarnos de que existe y obtener el ID de su
-        // legajo.
+        // legajo. Se lee de la BD (no del caché) porque la baja depende de este dato.
         Empleado empleado = empleadoDAO.leer(id);
         if (empleado == null) {
             throw new IllegalArgumentException("No se encontró un empleado (activo) con el ID: " + id);
@@ -129,16 +328,21 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
 
         long legajoId = empleado.getLegajo().getId();
 
-        try (TransactionManager txManager = new TransactionManager(DatabaseConnection.getConnection())) {
-            txManager.startTransaction();
-            Connection conn = txManager.getConnection();
-
-            legajoService.eliminarTx(legajoId, conn); // Primero se elimina el Legajo
-            empleadoDAO.eliminarTx(id, conn); // Luego se elimina a Empleado
-
-            txManager.commit();
+        try {
+            TransactionManager.executeInTransaction(conn -> {
+                legajoService.eliminarTx(legajoId, conn); // Primero se elimina el Legajo
+                empleadoDAO.eliminarTx(id, conn); // Luego se elimina a Empleado
+                return null;
+            });
+            invalidateCache(id); // Sólo después de confirmar la baja
+            if (indiceNombres != null) {
+                indiceNombres.quitar(id);
+            }
         } catch (Exception e) {
-            // El rollback se maneja en el close() del TransactionManager
+            // El rollback se maneja en executeInTransaction
+            if (TransactionManager.isTransient(e)) {
+                throw new ServiceException(ERROR_CONFLICTO_CONCURRENTE, e);
+            }
             throw new ServiceException("Error al eliminar empleado: " + e.getMessage(), e);
         }
     }
@@ -148,7 +352,12 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
         if (id <= 0) {
             throw new IllegalArgumentException("El ID debe ser mayor a 0");
         }
-        return empleadoDAO.leer(id);
+        EmpleadoCache.Loader<Long> loader =
+                cargadorEmpleados != null ? cargadorEmpleados::cargar : empleadoDAO::leer;
+        if (empleadoCache == null) {
+            return loader.load(id);
+        }
+        return empleadoCache.getById(id, loader);
     }
 
     @Override
@@ -156,11 +365,368 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
         return empleadoDAO.leerTodos();
     }
 
+    /**
+     * Recorre todos los empleados activos página por página (keyset pagination),
+     * sin cargarlos todos en memoria.
+     */
+    @Override
+    public Stream<Empleado> getAllStream() {
+        return empleadoDAO.leerTodosStream();
+    }
+
     public Empleado getByDni(String dni) throws Exception {
         if (dni == null || dni.trim().isEmpty()) {
             throw new IllegalArgumentException("El DNI no puede estar vacío.");
         }
-        return empleadoDAO.buscarPorDni(dni);
+        if (empleadoCache == null) {
+            return empleadoDAO.buscarPorDni(dni);
+        }
+        return empleadoCache.getByDni(dni.trim(), empleadoDAO::buscarPorDni);
+    }
+
+    /**
+     * Obtiene el empleado dueño de un número de legajo (con su legajo cargado).
+     *
+     * @param nroLegajo número de legajo exacto.
+     * @return el empleado, o null si no existe.
+     */
+    public Empleado getByNroLegajo(String nroLegajo) throws Exception {
+        if (nroLegajo == null || nroLegajo.trim().isEmpty()) {
+            throw new IllegalArgumentException("El número de legajo no puede estar vacío.");
+        }
+        if (empleadoCache == null) {
+            return empleadoDAO.buscarPorNroLegajo(nroLegajo);
+        }
+        return empleadoCache.getByNroLegajo(nroLegajo.trim(), empleadoDAO::buscarPorNroLegajo);
+    }
+
+    /**
+     * Recorre todos los Empleados activos en modo streaming (ver
+     * {@link EmpleadoDAO#recorrerTodos}), sin pasar por el caché. Pensado para
+     * exportaciones: la memoria usada no depende de la cantidad de empleados.
+     *
+     * @return cantidad de Empleados recorridos.
+     */
+    public long recorrerTodos(ProcesadorFila<Empleado> procesador) throws Exception {
+        if (procesador == null) {
+            throw new IllegalArgumentException("El procesador no puede ser null.");
+        }
+        return empleadoDAO.recorrerTodos(procesador);
+    }
+
+    /**
+     * Aplica a un Empleado nuevo (y su Legajo) las mismas validaciones de datos
+     * que {@link #insertar} e {@link #insertarLote}, sin acceder a la BD. No tiene
+     * estado, así que puede llamarse desde varios hilos (ej: importaciones).
+     *
+     * @throws IllegalArgumentException con el motivo, si los datos son inválidos.
+     */
+    public void validarParaAlta(Empleado empleado) {
+        validateEmpleadoConLegajo(empleado);
+    }
+
+    /**
+     * Busca empleados por nombre y/o apellido.
+     * <p>
+     * Con el índice de nombres habilitado, la búsqueda es por fragmento (en
+     * cualquier parte del nombre), sin distinguir acentos y tolerando errores de
+     * tipeo; los ids más relevantes se leen luego con una sola consulta. Sin el
+     * índice, se usa la búsqueda por prefijo en SQL (nombre o apellido que comienza
+     * con el texto), que aprovecha los índices de la tabla.
+     *
+     * @param texto texto a buscar.
+     * @return empleados ordenados por relevancia (o por apellido y nombre, sin índice).
+     */
+    public List<Empleado> buscarPorNombre(String texto) throws Exception {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto a buscar no puede estar vacío.");
+        }
+        if (indiceNombres == null) {
+            return empleadoDAO.buscarPorNombreApellido(texto, EmpleadoDAO.DEFAULT_NAME_SEARCH_LIMIT);
+        }
+        List<Long> ids = indiceNombres.buscar(texto, EmpleadoDAO.DEFAULT_NAME_SEARCH_LIMIT);
+        Map<Long, Empleado> porId = empleadoDAO.leerPorIds(ids);
+        List<Empleado> empleados = new ArrayList<>(porId.size());
+        for (Long id : ids) { // Respeta el orden por relevancia
+            Empleado empleado = porId.get(id);
+            if (empleado != null) {
+                empleados.add(empleado);
+            }
+        }
+        return empleados;
+    }
+
+    /**
+     * Vuelve a cargar el índice de nombres con un recorrido completo (streaming)
+     * de los empleados activos. No hace nada si el índice está deshabilitado.
+     *
+     * @return cantidad de empleados indexados.
+     */
+    public long reconstruirIndiceNombres() throws Exception {
+        if (indiceNombres == null) {
+            return 0;
+        }
+        indiceNombres.limpiar();
+        return empleadoDAO.recorrerNombres(this::indexarNombre);
+    }
+
+    /**
+     * Devuelve los contadores del caché de empleados, o null si está deshabilitado.
+     */
+    public EmpleadoCache.Stats getCacheStats() {
+        return empleadoCache == null ? null : empleadoCache.getStats();
+    }
+
+    /**
+     * Actualiza el caché y el índice de nombres con un empleado que volvió del
+     * archivo histórico (ver {@link ArchivoService#restaurar(long)}).
+     */
+    void registrarRestaurado(long id) throws SQLException {
+        invalidateCache(id);
+        if (indiceNombres != null) {
+            Empleado empleado = empleadoDAO.leer(id);
+            if (empleado != null) {
+                indexarNombre(empleado);
+            }
+        }
+    }
+
+    /**
+     * Inserta un bloque del lote en una única transacción. Primero descarta (y
+     * reporta) las filas cuyo DNI, email o nro_legajo ya existen. Si el insert
+     * igualmente falla por datos (constraint o valor inválido) reintenta fila por
+     * fila; si falla por otro motivo (ej: conexión) marca el bloque como rechazado.
+     * Un deadlock o una espera de bloqueo agotada repite el bloque completo
+     * (executeInTransaction) antes de darlo por fallido.
+     */
+    private void insertarBloque(List<Empleado> empleados, List<Integer> indices, ResultadoLote resultado) {
+        // Los reemplaza cada intento, por eso se reportan recién al terminar
+        List<Integer> aceptados = new ArrayList<>(indices);
+        Map<Integer, String> enConflicto = new LinkedHashMap<>();
+        List<Empleado> bloque = new ArrayList<>(indices.size());
+
+        try {
+            TransactionManager.executeInTransaction(conn -> {
+                Map<Integer, String> conflictosIntento = new LinkedHashMap<>();
+                List<Integer> aceptadosIntento = descartarConflictos(empleados, indices, conn, conflictosIntento);
+                enConflicto.clear();
+                enConflicto.putAll(conflictosIntento);
+                aceptados.clear();
+                aceptados.addAll(aceptadosIntento);
+                bloque.clear();
+                for (int indice : aceptados) {
+                    bloque.add(empleados.get(indice));
+                }
+                insertarBloqueTx(bloque, conn);
+                return null;
+            });
+            agregarErrores(enConflicto, resultado);
+            resultado.sumarExitosos(bloque.size());
+            for (Empleado empleado : bloque) {
+                indexarNombre(empleado);
+            }
+            return;
+        } catch (SQLException e) {
+            // El rollback invalida los IDs asignados por el lote
+            resetIds(bloque);
+            agregarErrores(enConflicto, resultado);
+            if (!isDataError(e)) {
+                for (int indice : aceptados) {
+                    resultado.agregarError(indice, "Error de base de datos: " + e.getMessage());
+                }
+                return;
+            }
+        } catch (Exception e) {
+            resetIds(bloque);
+            agregarErrores(enConflicto, resultado);
+            for (int indice : aceptados) {
+                resultado.agregarError(indice, e.getMessage());
+            }
+            return;
+        }
+
+        // Reintento fila por fila para aislar las filas que violan una restricción
+        for (int indice : aceptados) {
+            try {
+                insertar(empleados.get(indice));
+                resultado.sumarExitosos(1);
+            } catch (Exception e) {
+                resetIds(List.of(empleados.get(indice)));
+                resultado.agregarError(indice, e.getMessage());
+            }
+        }
+    }
+
+    private void insertarBloqueTx(List<Empleado> bloque, Connection conn) throws Exception {
+        empleadoDAO.crearLoteTx(bloque, conn);
+
+        List<Legajo> legajos = new ArrayList<>(bloque.size());
+        List<Long> empleadoIds = new ArrayList<>(bloque.size());
+        for (Empleado empleado : bloque) {
+            legajos.add(empleado.getLegajo());
+            empleadoIds.add(empleado.getId());
+        }
+        legajoService.insertarLoteTx(legajos, empleadoIds, conn);
+    }
+
+    /**
+     * Verifica la unicidad de todo el bloque con una sola consulta y devuelve los
+     * índices de las filas sin conflicto. Las filas que chocan con la BD o con una
+     * fila anterior del mismo bloque se agregan a {@code rechazados} (índice → error).
+     */
+    private List<Integer> descartarConflictos(List<Empleado> empleados, List<Integer> indices,
+                                              Connection conn, Map<Integer, String> rechazados)
+            throws SQLException {
+        Map<CampoUnico, List<String>> valores = new EnumMap<>(CampoUnico.class);
+        for (CampoUnico campo : CampoUnico.values()) {
+            valores.put(campo, new ArrayList<>(indices.size()));
+        }
+        for (int indice : indices) {
+            Empleado empleado = empleados.get(indice);
+            valores.get(CampoUnico.DNI).add(empleado.getDni());
+            valores.get(CampoUnico.EMAIL).add(empleado.getEmail());
+            valores.get(CampoUnico.NRO_LEGAJO).add(empleado.getLegajo().getNumeroLegajo());
+        }
+        UnicidadDAO.Conflictos conflictos = unicidadDAO.buscarExistentes(valores, conn);
+
+        Map<CampoUnico, Set<String>> vistosEnBloque = new EnumMap<>(CampoUnico.class);
+        for (CampoUnico campo : CampoUnico.values()) {
+            vistosEnBloque.put(campo, new HashSet<>());
+        }
+
+        List<Integer> aceptados = new ArrayList<>(indices.size());
+        for (int indice : indices) {
+            Empleado empleado = empleados.get(indice);
+            String error = findConflicto(empleado, conflictos, 0, 0);
+            if (error == null) {
+                error = findDuplicadoEnBloque(empleado, vistosEnBloque);
+            }
+            if (error != null) {
+                rechazados.put(indice, error);
+            } else {
+                aceptados.add(indice);
+            }
+        }
+        return aceptados;
+    }
+
+    private void agregarErrores(Map<Integer, String> errores, ResultadoLote resultado) {
+        for (Map.Entry<Integer, String> error : errores.entrySet()) {
+            resultado.agregarError(error.getKey(), error.getValue());
+        }
+    }
+
+    /**
+     * Registra los valores únicos del empleado y devuelve un mensaje de error si
+     * alguno ya apareció antes en el mismo bloque.
+     */
+    private String findDuplicadoEnBloque(Empleado empleado, Map<CampoUnico, Set<String>> vistos) {
+        String error = null;
+        if (!agregarClave(vistos.get(CampoUnico.DNI), empleado.getDni())) {
+            error = ERROR_DNI_DUPLICADO + ERROR_DUPLICADO_EN_LOTE;
+        } else if (!agregarClave(vistos.get(CampoUnico.EMAIL), empleado.getEmail())) {
+            error = ERROR_EMAIL_DUPLICADO + ERROR_DUPLICADO_EN_LOTE;
+        } else if (!agregarClave(vistos.get(CampoUnico.NRO_LEGAJO), empleado.getLegajo().getNumeroLegajo())) {
+            error = ERROR_NRO_LEGAJO_DUPLICADO + ERROR_DUPLICADO_EN_LOTE;
+        }
+        return error;
+    }
+
+    /**
+     * Agrega el valor (normalizado) al conjunto. Devuelve false si ya estaba.
+     * Los valores vacíos nunca se consideran duplicados (ej: email opcional).
+     */
+    private boolean agregarClave(Set<String> vistos, String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return true;
+        }
+        return vistos.add(valor.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Verifica en una sola consulta que DNI, email y nro_legajo no estén en uso por
+     * otras filas (para actualizaciones se ignoran las filas del propio empleado).
+     *
+     * @throws ServiceException si algún valor ya está en uso.
+     */
+    private void validateUnicidad(Empleado empleado, Connection conn) throws SQLException, ServiceException {
+        Legajo legajo = empleado.getLegajo();
+        UnicidadDAO.Conflictos conflictos = unicidadDAO.buscarExistentes(conn,
+                empleado.getDni(), empleado.getEmail(), legajo.getNumeroLegajo());
+        String error = findConflicto(empleado, conflictos, empleado.getId(), legajo.getId());
+        if (error != null) {
+            throw new ServiceException(error);
+        }
+    }
+
+    /**
+     * Devuelve el mensaje de error del primer campo en conflicto, o null si no hay conflictos.
+     */
+    private String findConflicto(Empleado empleado, UnicidadDAO.Conflictos conflictos,
+                                 long empleadoId, long legajoId) {
+        if (conflictos.hayConflicto(CampoUnico.DNI, empleado.getDni(), empleadoId)) {
+            return ERROR_DNI_DUPLICADO;
+        }
+        if (conflictos.hayConflicto(CampoUnico.EMAIL, empleado.getEmail(), empleadoId)) {
+            return ERROR_EMAIL_DUPLICADO;
+        }
+        if (conflictos.hayConflicto(CampoUnico.NRO_LEGAJO, empleado.getLegajo().getNumeroLegajo(), legajoId)) {
+            return ERROR_NRO_LEGAJO_DUPLICADO;
+        }
+        return null;
+    }
+
+    /**
+     * Agrega/actualiza el nombre en el índice (si está habilitado).
+     */
+    private void indexarNombre(Empleado empleado) {
+        if (indiceNombres != null) {
+            indiceNombres.indexar(empleado.getId(), empleado.getNombre(), empleado.getApellido());
+        }
+    }
+
+    /**
+     * Quita al empleado del caché de lectura (si está habilitado).
+     */
+    private void invalidateCache(long id) {
+        if (empleadoCache != null) {
+            empleadoCache.invalidate(id);
+        }
+    }
+
+    private void resetIds(List<Empleado> empleados) {
+        for (Empleado empleado : empleados) {
+            empleado.setId(0);
+            if (empleado.getLegajo() != null) {
+                empleado.getLegajo().setId(0);
+            }
+        }
+    }
+
+    /**
+     * Indica si la SQLException se debe a los datos de alguna fila (violación de
+     * constraint o valor inválido) y no a un problema de conexión o del servidor.
+     */
+    private boolean isDataError(SQLException e) {
+        for (SQLException actual = e; actual != null; actual = actual.getNextException()) {
+            String sqlState = actual.getSQLState();
+            if (sqlState != null && (sqlState.startsWith(SQL_STATE_INTEGRITY_PREFIX)
+                    || sqlState.startsWith(SQL_STATE_DATA_PREFIX))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Valida un Empleado y su Legajo obligatorio (mismas reglas que {@link #insertar}).
+     */
+    private void validateEmpleadoConLegajo(Empleado empleado) {
+        validateEmpleado(empleado);
+        if (empleado.getLegajo() == null) {
+            throw new IllegalArgumentException("Un Empleado debe ser creado con un Legajo.");
+        }
+        legajoService.validateLegajoData(empleado.getLegajo());
     }
 
     private void validateEmpleado(Empleado empleado) {
@@ -196,17 +762,25 @@ public class EmpleadoServiceImpl implements GenericService<Empleado> {
      * @throws ServiceException La excepción de negocio correspondiente.
      */
     private void handleSqlException(SQLException e) throws ServiceException {
+        // Otro usuario actualizó la fila después de leerla: reintentar no sirve
+        if (e instanceof ConflictoVersionException) {
+            throw new ServiceException(ERROR_VERSION_DESACTUALIZADA, e);
+        }
+        // Deadlock o espera de bloqueo agotada que persistió en todos los reintentos
+        if (TransactionManager.isTransient(e)) {
+            throw new ServiceException(ERROR_CONFLICTO_CONCURRENTE, e);
+        }
         // El código de estado '23000' es el estándar SQL para violación de restricción de integridad.
         if ("23000".equals(e.getSQLState())) {
             String message = e.getMessage().toLowerCase();
             if (message.contains("uq_empleado_dni")) {
-                throw new ServiceException("Error: El DNI ya está en uso por otro empleado.", e);
+                throw new ServiceException(ERROR_DNI_DUPLICADO, e);
             }
             if (message.contains("uq_empleado_email")) {
-                throw new ServiceException("Error: El email ya está en uso por otro empleado.", e);
+                throw new ServiceException(ERROR_EMAIL_DUPLICADO, e);
             }
             if (message.contains("uq_legajo_nro_legajo")) {
-                throw new ServiceException("Error: El número de legajo ya está en uso.", e);
+                throw new ServiceException(ERROR_NRO_LEGAJO_DUPLICADO, e);
             }
             // Mensaje genérico si no podemos identificar la constraint específica
             throw new ServiceException("Error: Se ha violado una restricción de datos únicos (DNI, email o Nro. de Legajo ya existen).", e);
@@ -1,6 +1,7 @@
 package service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz Genérica de Servicio.
@@ -48,4 +49,18 @@ public interface GenericService<T> {
      * @throws Exception Si hay un error de BD.
      */
     List<T> getAll() throws Exception;
+
+    /**
+     * Obtiene todas las entidades activas de forma incremental, sin cargarlas
+     * todas en memoria a la vez. Conviene cerrar el Stream (try-with-resources).
+     * <p>
+     * Implementación por defecto: delega en {@link #getAll()}. Los servicios
+     * cuyos DAO soportan paginación deben sobrescribirlo.
+     *
+     * @return Stream de entidades activas.
+     * @throws Exception Si hay un error de BD.
+     */
+    default Stream<T> getAllStream() throws Exception {
+        return getAll().stream();
+    }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package service;
 
+import config.TransactionManager;
+import dao.ConflictoVersionException;
+import dao.EmpleadoCache;
 import dao.LegajoDAO;
+import dao.UnicidadDAO;
+import dao.UnicidadDAO.CampoUnico;
 import entities.EstadoLegajo;
 import entities.Legajo;
+import entities.LegajoResumen;
 
 import java.sql.Connection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de negocio para la entidad Legajo.
@@ -39,6 +46,9 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
     private static final String ERROR_NUMERO_LEGAJO_DUPLICADO = "Error: El número de legajo ya existe.";
     private static final String ERROR_NUMERO_LEGAJO_DUPLICADO_OTRO =
             "Error: El número de legajo ya existe y pertenece a otra persona.";
+    private static final String ERROR_VERSION_DESACTUALIZADA =
+            "Error: El legajo fue modificado o dado de baja por otro usuario mientras se editaba. "
+                    + "Vuelva a buscarlo y repita los cambios.";
 
     /**
      * DAO para acceso a datos de legajos.
@@ -46,15 +56,46 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
      */
     private final LegajoDAO legajoDAO;
 
+    /**
+     * Verificación de unicidad de nro_legajo sobre la conexión transaccional.
+     */
+    private final UnicidadDAO unicidadDAO;
+
+    /**
+     * Caché de lectura de Empleados (null si está deshabilitado). Guarda a cada
+     * Empleado junto con su Legajo, así que se invalida al modificar el Legajo.
+     */
+    private final EmpleadoCache empleadoCache;
+
     /**
      * Constructor con inyección de dependencias.
      * Valida que el DAO no sea null.
      */
     public LegajoServiceImpl(LegajoDAO legajoDAO) {
+        this(legajoDAO, new UnicidadDAO());
+    }
+
+    /**
+     * Constructor con inyección de dependencias, incluyendo el verificador de unicidad.
+     */
+    public LegajoServiceImpl(LegajoDAO legajoDAO, UnicidadDAO unicidadDAO) {
+        this(legajoDAO, unicidadDAO, null);
+    }
+
+    /**
+     * Constructor con inyección de dependencias, incluyendo el caché de lectura de
+     * Empleados que comparte con EmpleadoServiceImpl (null si está deshabilitado).
+     */
+    public LegajoServiceImpl(LegajoDAO legajoDAO, UnicidadDAO unicidadDAO, EmpleadoCache empleadoCache) {
         if (legajoDAO == null) {
             throw new IllegalArgumentException("LegajoDAO no puede ser null");
         }
+        if (unicidadDAO == null) {
+            throw new IllegalArgumentException("UnicidadDAO no puede ser null");
+        }
         this.legajoDAO = legajoDAO;
+        this.unicidadDAO = unicidadDAO;
+        this.empleadoCache = empleadoCache;
     }
 
     // --- Métodos de Negocio Transaccionales (Llamados por EmpleadoService) ---
@@ -80,10 +121,39 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
      */
     public void insertarTx(Legajo legajo, long empleadoId, Connection conn) throws Exception {
         validateLegajoData(legajo);
-        validateNumeroLegajoUniqueForInsert(legajo);
+        validateNumeroLegajoUniqueForInsert(legajo, conn);
+        legajoDAO.crearTx(legajo, empleadoId, conn);
+    }
+
+    /**
+     * Igual que {@link #insertarTx(Legajo, long, Connection)}, pero sin verificar la
+     * unicidad de nro_legajo porque el llamador ya la verificó en la misma
+     * transacción (junto con DNI y email, en una sola consulta).
+     */
+    void insertarTxPrevalidado(Legajo legajo, long empleadoId, Connection conn) throws Exception {
+        validateLegajoData(legajo);
         legajoDAO.crearTx(legajo, empleadoId, conn);
     }
 
+    /**
+     * Inserta un lote de Legajos DENTRO de una transacción existente con un único
+     * executeBatch. Este método es llamado por EmpleadoServiceImpl.insertarLote.
+     * <p>
+     * Valida los datos de cada Legajo; la unicidad de nro_legajo la garantiza la
+     * constraint uq_legajo_nro_legajo (si una fila la viola, falla el lote completo
+     * y el llamador decide cómo reintentar).
+     *
+     * @param legajos     Legajos a insertar.
+     * @param empleadoIds IDs de los Empleados dueños, en la misma posición que cada Legajo.
+     * @param conn        La conexión transaccional.
+     */
+    public void insertarLoteTx(List<Legajo> legajos, List<Long> empleadoIds, Connection conn) throws Exception {
+        for (Legajo legajo : legajos) {
+            validateLegajoData(legajo);
+        }
+        legajoDAO.crearLoteTx(legajos, empleadoIds, conn);
+    }
+
     /**
      * Actualiza un Legajo DENTRO de una transacción existente.
      * Este método es llamado por EmpleadoServiceImpl.
@@ -91,7 +161,17 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
     public void actualizarTx(Legajo legajo, Connection conn) throws Exception {
         validateLegajoForUpdate(legajo);
         validateLegajoData(legajo);
-        validateNumeroLegajoUniqueForUpdate(legajo);
+        validateNumeroLegajoUniqueForUpdate(legajo, conn);
+        legajoDAO.actualizarTx(legajo, conn);
+    }
+
+    /**
+     * Igual que {@link #actualizarTx(Legajo, Connection)}, pero sin verificar la
+     * unicidad de nro_legajo porque el llamador ya la verificó en la misma transacción.
+     */
+    void actualizarTxPrevalidado(Legajo legajo, Connection conn) throws Exception {
+        validateLegajoForUpdate(legajo);
+        validateLegajoData(legajo);
         legajoDAO.actualizarTx(legajo, conn);
     }
 
@@ -110,8 +190,19 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
     public void actualizar(Legajo legajo) throws Exception {
         validateLegajoForUpdate(legajo);
         validateLegajoData(legajo);
-        validateNumeroLegajoUniqueForUpdate(legajo);
-        legajoDAO.actualizar(legajo);
+        // Verificación y UPDATE en la misma transacción (con reintento ante deadlocks)
+        try {
+            TransactionManager.executeInTransaction(conn -> {
+                validateNumeroLegajoUniqueForUpdate(legajo, conn);
+                legajoDAO.actualizarTx(legajo, conn);
+                TransactionManager.alConfirmar(() -> invalidateEmpleadoCache(legajo.getId()));
+                return null;
+            });
+        } catch (ConflictoVersionException e) {
+            invalidateEmpleadoCache(legajo.getId()); // La próxima lectura debe traer la versión nueva
+            throw new ServiceException(ERROR_VERSION_DESACTUALIZADA, e);
+        }
+        legajo.incrementarVersion(); // Sólo después de confirmar el UPDATE
     }
 
     /**
@@ -151,6 +242,15 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
         return legajoDAO.leerTodos();
     }
 
+    /**
+     * Recorre todos los legajos activos página por página (keyset pagination),
+     * sin cargarlos todos en memoria.
+     */
+    @Override
+    public Stream<Legajo> getAllStream() {
+        return legajoDAO.leerTodosStream();
+    }
+
     /**
      * Obtiene todos los legajos que coinciden con un estado específico.
      * @param estado El estado a buscar.
@@ -164,13 +264,28 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
         return legajoDAO.buscarPorEstado(estado);
     }
 
+    /**
+     * Obtiene el resumen (id, número, estado y categoría) de los legajos con un
+     * estado específico. Más liviano que {@link #getByEstado} para listados.
+     * @param estado El estado a buscar.
+     * @return Lista de resúmenes de legajo.
+     * @throws Exception Si el estado es null o hay un error de BD.
+     */
+    public List<LegajoResumen> getResumenPorEstado(EstadoLegajo estado) throws Exception {
+        if (estado == null) {
+            throw new IllegalArgumentException("El estado no puede ser null.");
+        }
+        return legajoDAO.buscarResumenPorEstado(estado);
+    }
+
     // --- Métodos Privados de Validación ---
 
     /**
      * Valida todas las reglas de negocio de un Legajo relacionadas con sus datos
      * (campos obligatorios, longitudes, etc.).
+     * Visible en el paquete para que EmpleadoServiceImpl pueda pre-validar lotes.
      */
-    private void validateLegajoData(Legajo legajo) {
+    void validateLegajoData(Legajo legajo) {
         if (legajo == null) {
             throw new IllegalArgumentException(ERROR_LEGAJO_NULL);
         }
@@ -197,6 +312,15 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
         }
     }
 
+    /**
+     * Quita del caché de lectura al Empleado dueño del legajo (si está habilitado).
+     */
+    private void invalidateEmpleadoCache(long legajoId) {
+        if (empleadoCache != null) {
+            empleadoCache.invalidateByLegajo(legajoId);
+        }
+    }
+
     /**
      * Valida que el ID de un legajo sea válido (> 0).
      */
@@ -216,11 +340,13 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
     }
 
     /**
-     * Valida la unicidad del número de legajo para operaciones de inserción.
+     * Valida la unicidad del número de legajo para operaciones de inserción,
+     * usando la conexión de la transacción en curso.
      */
-    private void validateNumeroLegajoUniqueForInsert(Legajo legajo) throws Exception {
-        Legajo existente = legajoDAO.buscarPorNroLegajo(legajo.getNumeroLegajo());
-        if (existente != null) {
+    private void validateNumeroLegajoUniqueForInsert(Legajo legajo, Connection conn) throws Exception {
+        UnicidadDAO.Conflictos conflictos =
+                unicidadDAO.buscarExistentes(conn, null, null, legajo.getNumeroLegajo());
+        if (conflictos.hayConflicto(CampoUnico.NRO_LEGAJO, legajo.getNumeroLegajo(), 0)) {
             throw new IllegalArgumentException(ERROR_NUMERO_LEGAJO_DUPLICADO);
         }
     }
@@ -229,9 +355,10 @@ public class LegajoServiceImpl implements GenericService<Legajo> {
      * Valida la unicidad del número de legajo para operaciones de actualización,
      * ignorando el propio legajo.
      */
-    private void validateNumeroLegajoUniqueForUpdate(Legajo legajo) throws Exception {
-        Legajo legajoExistente = legajoDAO.buscarPorNroLegajo(legajo.getNumeroLegajo());
-        if (legajoExistente != null && legajoExistente.getId() != legajo.getId()) {
+    private void validateNumeroLegajoUniqueForUpdate(Legajo legajo, Connection conn) throws Exception {
+        UnicidadDAO.Conflictos conflictos =
+                unicidadDAO.buscarExistentes(conn, null, null, legajo.getNumeroLegajo());
+        if (conflictos.hayConflicto(CampoUnico.NRO_LEGAJO, legajo.getNumeroLegajo(), legajo.getId())) {
             throw new IllegalArgumentException(ERROR_NUMERO_LEGAJO_DUPLICADO_OTRO);
         }
     }
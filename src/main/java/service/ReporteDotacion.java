@@ -0,0 +1,51 @@
+package service;
+
+import dao.ReporteDAO.Agrupacion;
+import entities.ConteoAgrupado;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto de reportes de dotación leídos en un mismo momento.
+ * Es inmutable: el snapshot periódico de {@link ReporteService} se reemplaza
+ * entero en cada actualización, así los lectores nunca ven datos a medio cargar.
+ */
+public final class ReporteDotacion {
+
+    private final Map<Agrupacion, List<ConteoAgrupado>> conteos;
+    private final LocalDateTime generadoEn;
+
+    ReporteDotacion(Map<Agrupacion, List<ConteoAgrupado>> conteos, LocalDateTime generadoEn) {
+        EnumMap<Agrupacion, List<ConteoAgrupado>> copia = new EnumMap<>(Agrupacion.class);
+        for (Map.Entry<Agrupacion, List<ConteoAgrupado>> entry : conteos.entrySet()) {
+            copia.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        this.conteos = Collections.unmodifiableMap(copia);
+        this.generadoEn = generadoEn;
+    }
+
+    /**
+     * Totales de un reporte, o una lista vacía si no se incluyó en este conjunto.
+     */
+    public List<ConteoAgrupado> get(Agrupacion agrupacion) {
+        return conteos.getOrDefault(agrupacion, List.of());
+    }
+
+    /**
+     * Indica si el reporte fue incluido en este conjunto.
+     */
+    public boolean contiene(Agrupacion agrupacion) {
+        return conteos.containsKey(agrupacion);
+    }
+
+    /**
+     * Momento en que se leyeron los datos.
+     */
+    public LocalDateTime getGeneradoEn() {
+        return generadoEn;
+    }
+}
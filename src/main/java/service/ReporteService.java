@@ -0,0 +1,158 @@
+package service;
+
+import config.TransactionManager;
+import config.TransactionPolicy;
+import dao.ReporteDAO;
+import dao.ReporteDAO.Agrupacion;
+import entities.ConteoAgrupado;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de reportes de dotación (empleados por área, legajos por estado y
+ * categoría, ingresos por año/mes).
+ * <p>
+ * Los totales se calculan en la BD con GROUP BY (ver {@link ReporteDAO}). Si se
+ * activa la actualización periódica, todos los reportes se leen cada cierto
+ * intervalo en un snapshot en memoria y las consultas se responden desde ahí,
+ * sin ir a la BD; si no, cada consulta ejecuta sólo los reportes pedidos.
+ */
+public class ReporteService {
+
+    private static final String ERROR_INTERVALO = "El intervalo de actualización debe ser mayor a 0.";
+    private static final String ERROR_AGRUPACIONES = "Debe indicar al menos un reporte.";
+    private static final String HILO_SNAPSHOT = "reportes-snapshot";
+
+    private final ReporteDAO reporteDAO;
+
+    /** Scheduler de la actualización periódica en curso, o null si está detenida. */
+    private volatile ScheduledExecutorService scheduler;
+    private volatile ReporteDotacion snapshot;
+
+    public ReporteService(ReporteDAO reporteDAO) {
+        if (reporteDAO == null) {
+            throw new IllegalArgumentException("ReporteDAO no puede ser null");
+        }
+        this.reporteDAO = reporteDAO;
+    }
+
+    /**
+     * Devuelve los reportes pedidos. Usa el snapshot en memoria si la
+     * actualización periódica está activa y ya hay uno cargado; si no, los
+     * consulta en la BD.
+     *
+     * @param agrupaciones reportes a obtener.
+     * @throws Exception si falla la consulta a la BD.
+     */
+    public ReporteDotacion obtener(Agrupacion... agrupaciones) throws Exception {
+        if (agrupaciones == null || agrupaciones.length == 0) {
+            throw new IllegalArgumentException(ERROR_AGRUPACIONES);
+        }
+        ReporteDotacion actual = snapshot;
+        if (scheduler != null && actual != null) {
+            return actual;
+        }
+        return generar(agrupaciones);
+    }
+
+    /**
+     * Ejecuta los reportes indicados en la BD, dentro de una misma transacción
+     * de lectura para que todos reflejen el mismo estado de los datos.
+     *
+     * @param agrupaciones reportes a ejecutar.
+     * @throws ServiceException si falla la consulta a la BD.
+     */
+    public ReporteDotacion generar(Agrupacion... agrupaciones) throws ServiceException {
+        if (agrupaciones == null || agrupaciones.length == 0) {
+            throw new IllegalArgumentException(ERROR_AGRUPACIONES);
+        }
+        Map<Agrupacion, List<ConteoAgrupado>> conteos = new EnumMap<>(Agrupacion.class);
+        try {
+            // Sólo lectura: el servidor no asigna id de transacción ni registra cambios
+            TransactionManager.executeInTransaction(conn -> {
+                for (Agrupacion agrupacion : agrupaciones) {
+                    conteos.put(agrupacion, reporteDAO.contarTx(agrupacion, conn));
+                }
+                return null;
+            }, TransactionPolicy.readOnlyDefaults());
+        } catch (Exception e) {
+            throw new ServiceException("Error al generar los reportes: " + e.getMessage(), e);
+        }
+        return new ReporteDotacion(conteos, LocalDateTime.now());
+    }
+
+    /**
+     * Ejecuta todos los reportes y reemplaza el snapshot en memoria. El snapshot
+     * sólo se usa en {@link #obtener} mientras la actualización periódica esté activa.
+     *
+     * @throws ServiceException si falla la consulta (el snapshot anterior se conserva).
+     */
+    public ReporteDotacion actualizarSnapshot() throws ServiceException {
+        ReporteDotacion nuevo = generar(Agrupacion.values());
+        snapshot = nuevo;
+        return nuevo;
+    }
+
+    /**
+     * Snapshot en memoria actual, o null si todavía no se cargó ninguno.
+     */
+    public ReporteDotacion getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Inicia la actualización periódica del snapshot en un hilo daemon. La primera
+     * carga se hace de inmediato. Si una actualización falla se informa por
+     * consola y se conserva el snapshot anterior.
+     *
+     * @param intervaloSegundos segundos entre el fin de una actualización y el inicio de la siguiente.
+     */
+    public synchronized void iniciarActualizacionPeriodica(long intervaloSegundos) {
+        if (intervaloSegundos <= 0) {
+            throw new IllegalArgumentException(ERROR_INTERVALO);
+        }
+        detener();
+        ScheduledExecutorService propio = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, HILO_SNAPSHOT);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = propio;
+        propio.scheduleWithFixedDelay(() -> {
+            try {
+                publicar(propio, generar(Agrupacion.values()));
+            } catch (Exception e) {
+                System.err.println("No se pudo actualizar el snapshot de reportes: " + e.getMessage());
+            }
+        }, 0, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Publica el snapshot leído por una actualización periódica sólo si su
+     * scheduler sigue siendo el actual: una lectura en curso cuando se llamó a
+     * {@link #detener()} no debe volver a dejar un snapshot.
+     */
+    private synchronized void publicar(ScheduledExecutorService origen, ReporteDotacion nuevo) {
+        if (scheduler == origen) {
+            snapshot = nuevo;
+        }
+    }
+
+    /**
+     * Detiene la actualización periódica y descarta el snapshot, de modo que
+     * las consultas vuelvan a leer de la BD.
+     */
+    public synchronized void detener() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        snapshot = null;
+    }
+}
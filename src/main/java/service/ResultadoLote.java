@@ -0,0 +1,91 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una operación por lotes (por ejemplo, {@link EmpleadoServiceImpl#insertarLote}).
+ * <p>
+ * Informa cuántas filas se procesaron correctamente y el detalle de cada fila
+ * rechazada (posición en la lista original y motivo), para poder reportarlas
+ * sin abortar el lote completo.
+ */
+public class ResultadoLote {
+
+    /**
+     * Fila rechazada dentro de un lote.
+     */
+    public static final class ErrorFila {
+
+        private final int indice;
+        private final String mensaje;
+
+        public ErrorFila(int indice, String mensaje) {
+            this.indice = indice;
+            this.mensaje = mensaje;
+        }
+
+        /**
+         * Posición (base 0) de la fila en la lista recibida.
+         */
+        public int getIndice() {
+            return indice;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        @Override
+        public String toString() {
+            return "Fila " + indice + ": " + mensaje;
+        }
+    }
+
+    private final int total;
+    private int exitosos;
+    private final List<ErrorFila> errores = new ArrayList<>();
+
+    public ResultadoLote(int total) {
+        this.total = total;
+    }
+
+    void sumarExitosos(int cantidad) {
+        exitosos += cantidad;
+    }
+
+    void agregarError(int indice, String mensaje) {
+        errores.add(new ErrorFila(indice, mensaje));
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getExitosos() {
+        return exitosos;
+    }
+
+    public int getRechazados() {
+        return errores.size();
+    }
+
+    /**
+     * Errores por fila, ordenados por el momento en que se detectaron.
+     */
+    public List<ErrorFila> getErrores() {
+        return Collections.unmodifiableList(errores);
+    }
+
+    public boolean tieneErrores() {
+        return !errores.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote [Total: " + total
+                + ", Exitosos: " + exitosos
+                + ", Rechazados: " + getRechazados() + "]";
+    }
+}
@@ -0,0 +1,92 @@
+package service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona sobre un {@link GenericService}: cada operación se ejecuta
+ * con la misma lógica (validaciones, transacciones, caché) del servicio
+ * envuelto, pero en un hilo virtual del {@link EjecutorAsincrono}, y devuelve
+ * un {@link CompletableFuture}.
+ * <p>
+ * Pensada para front ends multiusuario. Las fachadas de Empleado y Legajo deben
+ * compartir el mismo EjecutorAsincrono, ya que ambas usan el mismo pool de conexiones.
+ * <p>
+ * Ejemplo:
+ * <pre>
+ * EjecutorAsincrono ejecutor = EjecutorAsincrono.desdeConfiguracion();
+ * ServicioAsincrono&lt;Empleado&gt; empleados = new ServicioAsincrono&lt;&gt;(empleadoService, ejecutor);
+ * empleados.getByIdAsync(10).thenAccept(System.out::println);
+ * empleados.ejecutar(() -&gt; empleadoService.getByDni("40000001"));
+ * </pre>
+ *
+ * @param <T> tipo de la entidad del servicio.
+ */
+public class ServicioAsincrono<T> {
+
+    private final GenericService<T> servicio;
+    private final EjecutorAsincrono ejecutor;
+
+    public ServicioAsincrono(GenericService<T> servicio, EjecutorAsincrono ejecutor) {
+        if (servicio == null) {
+            throw new IllegalArgumentException("El servicio no puede ser null");
+        }
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("EjecutorAsincrono no puede ser null");
+        }
+        this.servicio = servicio;
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Versión asíncrona de {@link GenericService#insertar}.
+     */
+    public CompletableFuture<Void> insertarAsync(T entidad) {
+        return ejecutor.ejecutar(() -> {
+            servicio.insertar(entidad);
+            return null;
+        });
+    }
+
+    /**
+     * Versión asíncrona de {@link GenericService#actualizar}.
+     */
+    public CompletableFuture<Void> actualizarAsync(T entidad) {
+        return ejecutor.ejecutar(() -> {
+            servicio.actualizar(entidad);
+            return null;
+        });
+    }
+
+    /**
+     * Versión asíncrona de {@link GenericService#eliminar}.
+     */
+    public CompletableFuture<Void> eliminarAsync(long id) {
+        return ejecutor.ejecutar(() -> {
+            servicio.eliminar(id);
+            return null;
+        });
+    }
+
+    /**
+     * Versión asíncrona de {@link GenericService#getById}.
+     */
+    public CompletableFuture<T> getByIdAsync(long id) {
+        return ejecutor.ejecutar(() -> servicio.getById(id));
+    }
+
+    /**
+     * Versión asíncrona de {@link GenericService#getAll}.
+     */
+    public CompletableFuture<List<T>> getAllAsync() {
+        return ejecutor.ejecutar(servicio::getAll);
+    }
+
+    /**
+     * Ejecuta cualquier otra operación del servicio (por ejemplo, getByDni o
+     * getByEstado) con los mismos límites de concurrencia y timeout.
+     */
+    public <R> CompletableFuture<R> ejecutar(EjecutorAsincrono.LlamadaServicio<R> llamada) {
+        return ejecutor.ejecutar(llamada);
+    }
+}
@@ -0,0 +1,148 @@
+package service;
+
+import config.DatabaseConnection;
+import dao.PaginaCambios;
+import dao.ProcesadorFila;
+import dao.SincronizacionDAO;
+import dao.SincronizacionDAO.Origen;
+import entities.Empleado;
+import entities.MarcaSincronizacion;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Sincronización incremental para sistemas externos: cada consumidor recibe
+ * sólo los Empleados/Legajos modificados (o dados de baja) desde su última
+ * lectura, y el volumen transferido depende de la cantidad de cambios y no del
+ * tamaño de la tabla.
+ * <p>
+ * Los cambios se leen en páginas (ver {@link SincronizacionDAO}) y se entregan
+ * de a uno; después de cada página completa se guarda la marca del consumidor.
+ * Si el procesador falla, la página en curso se vuelve a entregar en la próxima
+ * sincronización (entrega al menos una vez), por lo que el consumidor debe
+ * aplicar cada cambio de forma idempotente (ej. upsert por id). Un Empleado cuyo
+ * empleado y legajo cambiaron aparece en ambos orígenes.
+ */
+public class SincronizacionService {
+
+    public static final String PROPERTY_MARGEN_SEGUNDOS = "sync.margenSegundos";
+    public static final String PROPERTY_TAMANIO_PAGINA = "sync.tamanioPagina";
+    private static final String DEFAULT_MARGEN_SEGUNDOS = "5";
+    private static final String DEFAULT_TAMANIO_PAGINA = "1000";
+
+    private static final int CONSUMIDOR_MAX_LENGTH = 50;
+
+    private final SincronizacionDAO sincronizacionDAO;
+    private final int margenSegundos;
+    private final int tamanioPagina;
+
+    /**
+     * Constructor con el margen y el tamaño de página de config.properties (sync.*).
+     */
+    public SincronizacionService(SincronizacionDAO sincronizacionDAO) {
+        this(sincronizacionDAO,
+                Integer.parseInt(DatabaseConnection.getProperty(PROPERTY_MARGEN_SEGUNDOS, DEFAULT_MARGEN_SEGUNDOS)),
+                Integer.parseInt(DatabaseConnection.getProperty(PROPERTY_TAMANIO_PAGINA, DEFAULT_TAMANIO_PAGINA)));
+    }
+
+    /**
+     * @param margenSegundos no se entregan filas modificadas en los últimos
+     *                       segundos; debe superar la duración de la transacción
+     *                       de escritura más larga, para no saltear cambios que
+     *                       se confirman tarde.
+     * @param tamanioPagina  filas por consulta (y cada cuántas filas se guarda la marca).
+     */
+    public SincronizacionService(SincronizacionDAO sincronizacionDAO, int margenSegundos, int tamanioPagina) {
+        if (sincronizacionDAO == null) {
+            throw new IllegalArgumentException("SincronizacionDAO no puede ser null");
+        }
+        if (margenSegundos < 0) {
+            throw new IllegalArgumentException("El margen no puede ser negativo.");
+        }
+        if (tamanioPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        this.sincronizacionDAO = sincronizacionDAO;
+        this.margenSegundos = margenSegundos;
+        this.tamanioPagina = tamanioPagina;
+    }
+
+    /**
+     * Entrega al procesador los cambios de un origen posteriores a la marca del
+     * consumidor y avanza su marca.
+     *
+     * @param consumidor identificador del sistema externo (ej. "sueldos").
+     * @param origen     tabla cuyos cambios se leen.
+     * @param procesador recibe cada Empleado modificado (con isEliminado() en las bajas).
+     * @return cantidad de cambios entregados.
+     * @throws IOException      si el procesador falla (la página en curso se reentrega después).
+     * @throws ServiceException si falla la BD.
+     */
+    public long sincronizar(String consumidor, Origen origen, ProcesadorFila<Empleado> procesador)
+            throws ServiceException, IOException {
+        validateConsumidor(consumidor);
+        if (origen == null || procesador == null) {
+            throw new IllegalArgumentException("El origen y el procesador no pueden ser null.");
+        }
+        long entregados = 0;
+        try {
+            MarcaSincronizacion marca = sincronizacionDAO.leerMarca(consumidor, origen);
+            PaginaCambios pagina;
+            do {
+                pagina = sincronizacionDAO.leerCambios(origen, marca, margenSegundos, tamanioPagina);
+                for (Empleado empleado : pagina.getEmpleados()) {
+                    procesador.procesar(empleado);
+                    entregados++;
+                }
+                if (!pagina.isEmpty()) {
+                    marca = pagina.getUltimaMarca();
+                    sincronizacionDAO.guardarMarca(consumidor, origen, marca);
+                }
+            } while (pagina.getEmpleados().size() == tamanioPagina);
+        } catch (SQLException e) {
+            throw new ServiceException("Error al leer los cambios de " + origen + " para " + consumidor
+                    + ": " + e.getMessage(), e);
+        }
+        return entregados;
+    }
+
+    /**
+     * Devuelve la marca actual de un consumidor para un origen.
+     *
+     * @throws ServiceException si falla la BD.
+     */
+    public MarcaSincronizacion getMarca(String consumidor, Origen origen) throws ServiceException {
+        validateConsumidor(consumidor);
+        try {
+            return sincronizacionDAO.leerMarca(consumidor, origen);
+        } catch (SQLException e) {
+            throw new ServiceException("Error al leer la marca de " + consumidor + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Olvida las marcas de un consumidor: la próxima sincronización entrega todas las filas.
+     *
+     * @throws ServiceException si falla la BD.
+     */
+    public void reiniciar(String consumidor) throws ServiceException {
+        validateConsumidor(consumidor);
+        try {
+            sincronizacionDAO.eliminarMarcas(consumidor);
+        } catch (SQLException e) {
+            throw new ServiceException("Error al reiniciar la sincronización de " + consumidor
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void validateConsumidor(String consumidor) {
+        if (consumidor == null || consumidor.trim().isEmpty()) {
+            throw new IllegalArgumentException("El consumidor no puede estar vacío.");
+        }
+        if (consumidor.length() > CONSUMIDOR_MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "El consumidor no puede exceder los " + CONSUMIDOR_MAX_LENGTH + " caracteres.");
+        }
+    }
+}